@@ -36,6 +36,10 @@ public class SlippyMap {
         return this.cache.getTile(pos);
     }
 
+    public void updateRequests() {
+        this.cache.updateRequests(this.camera.getZoom());
+    }
+
     public void focus(double latitude, double longitude, int zoom) {
         int scale = new ScaledResolution(MC).getScaleFactor();
         SlippyMapPoint point = new SlippyMapPoint(latitude, longitude);
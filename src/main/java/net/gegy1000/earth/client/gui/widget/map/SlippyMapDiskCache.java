@@ -0,0 +1,110 @@
+package net.gegy1000.earth.client.gui.widget.map;
+
+import net.gegy1000.terrarium.Terrarium;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+import javax.annotation.Nullable;
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@SideOnly(Side.CLIENT)
+public class SlippyMapDiskCache {
+    private final File root;
+    private final long capacity;
+
+    private final Map<String, Long> entries = new LinkedHashMap<>(256, 0.75F, true);
+    private long size;
+    private boolean indexed;
+
+    public SlippyMapDiskCache(File root, long capacity) {
+        this.root = root;
+        this.capacity = capacity;
+    }
+
+    @Nullable
+    public InputStream read(String name) throws IOException {
+        File file = new File(this.root, name);
+        if (!file.exists()) {
+            return null;
+        }
+
+        synchronized (this.entries) {
+            this.index();
+            if (this.entries.get(name) == null) {
+                this.entries.put(name, file.length());
+                this.size += file.length();
+            }
+        }
+        if (!file.setLastModified(System.currentTimeMillis())) {
+            Terrarium.LOGGER.debug("Failed to update access time of cached map tile {}", name);
+        }
+
+        return new BufferedInputStream(new FileInputStream(file));
+    }
+
+    public void write(String name, byte[] data) {
+        if (!this.root.exists()) {
+            this.root.mkdirs();
+        }
+
+        try (OutputStream output = new FileOutputStream(new File(this.root, name))) {
+            output.write(data);
+        } catch (IOException e) {
+            Terrarium.LOGGER.error("Failed to cache map raster tile", e);
+            return;
+        }
+
+        synchronized (this.entries) {
+            this.index();
+            Long previousSize = this.entries.put(name, (long) data.length);
+            if (previousSize != null) {
+                this.size -= previousSize;
+            }
+            this.size += data.length;
+            this.evict();
+        }
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<String, Long>> iterator = this.entries.entrySet().iterator();
+        while (this.size > this.capacity && iterator.hasNext()) {
+            Map.Entry<String, Long> entry = iterator.next();
+            File file = new File(this.root, entry.getKey());
+            if (file.exists() && !file.delete()) {
+                Terrarium.LOGGER.warn("Failed to evict cached map tile {}", entry.getKey());
+                continue;
+            }
+            this.size -= entry.getValue();
+            iterator.remove();
+        }
+    }
+
+    private void index() {
+        if (this.indexed) {
+            return;
+        }
+        this.indexed = true;
+
+        File[] files = this.root.listFiles(File::isFile);
+        if (files == null) {
+            return;
+        }
+
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        for (File file : files) {
+            this.entries.put(file.getName(), file.length());
+            this.size += file.length();
+        }
+    }
+}
@@ -1,24 +1,26 @@
 package net.gegy1000.earth.client.gui.widget.map;
 
+import net.gegy1000.earth.TerrariumEarth;
 import net.minecraft.client.Minecraft;
-import net.minecraft.client.renderer.texture.DynamicTexture;
+import net.minecraft.client.renderer.texture.TextureManager;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.math.MathHelper;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
-import java.awt.image.BufferedImage;
-
 @SideOnly(Side.CLIENT)
 public class SlippyMapTile {
+    private static final ResourceLocation ERROR_LOCATION = new ResourceLocation(TerrariumEarth.MODID, "map_tile_error");
+
     private final SlippyMapTilePos pos;
 
     private final Object lock = new Object();
 
     private float transition;
 
-    private BufferedImage image;
+    private SlippyMapTileImage image;
     private ResourceLocation location;
+    private int memorySize;
 
     public SlippyMapTile(SlippyMapTilePos pos) {
         this.pos = pos;
@@ -30,15 +32,31 @@ public class SlippyMapTile {
         }
     }
 
-    public void supplyImage(BufferedImage image) {
+    public void supplyImage(SlippyMapTileImage image) {
         synchronized (this.lock) {
             this.image = image;
+            if (image != SlippyMapTileImage.ERROR) {
+                this.memorySize = image.getMemorySize();
+            }
+        }
+    }
+
+    public int getMemorySize() {
+        synchronized (this.lock) {
+            return this.memorySize;
         }
     }
 
     public ResourceLocation getLocation() {
-        if (this.location == null && this.image != null) {
-            this.location = this.uploadImage();
+        if (this.location == null) {
+            SlippyMapTileImage image;
+            synchronized (this.lock) {
+                image = this.image;
+                this.image = null;
+            }
+            if (image != null) {
+                this.location = this.uploadImage(image);
+            }
         }
         return this.location;
     }
@@ -48,17 +66,23 @@ public class SlippyMapTile {
     }
 
     public void delete() {
-        Minecraft.getMinecraft().getTextureManager().deleteTexture(this.location);
+        if (this.location != null && this.location != ERROR_LOCATION) {
+            Minecraft.getMinecraft().getTextureManager().deleteTexture(this.location);
+        }
     }
 
-    private ResourceLocation uploadImage() {
-        synchronized (this.lock) {
-            BufferedImage image = this.image;
-            this.image = null;
-
-            DynamicTexture texture = new DynamicTexture(image);
-            return Minecraft.getMinecraft().getTextureManager().getDynamicTextureLocation("terrarium_map_" + this.pos.toString(), texture);
+    private ResourceLocation uploadImage(SlippyMapTileImage image) {
+        TextureManager textureManager = Minecraft.getMinecraft().getTextureManager();
+        if (image == SlippyMapTileImage.ERROR) {
+            if (textureManager.getTexture(ERROR_LOCATION) == null) {
+                textureManager.loadTexture(ERROR_LOCATION, image.createTexture());
+            }
+            return ERROR_LOCATION;
         }
+
+        ResourceLocation location = new ResourceLocation(TerrariumEarth.MODID, "map_tile_" + this.pos.toString());
+        textureManager.loadTexture(location, image.createTexture());
+        return location;
     }
 
     public boolean isReady() {
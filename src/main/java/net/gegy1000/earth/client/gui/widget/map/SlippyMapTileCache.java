@@ -1,8 +1,5 @@
 package net.gegy1000.earth.client.gui.widget.map;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import net.gegy1000.earth.server.world.pipeline.source.EarthRemoteData;
 import net.gegy1000.terrarium.Terrarium;
@@ -11,20 +8,21 @@ import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 import org.apache.commons.io.IOUtils;
 
-import javax.imageio.ImageIO;
-import java.awt.FontMetrics;
-import java.awt.Graphics2D;
-import java.awt.image.BufferedImage;
 import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.net.HttpURLConnection;
 import java.net.URL;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Queue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -33,48 +31,96 @@ import java.util.concurrent.LinkedBlockingQueue;
 @SideOnly(Side.CLIENT)
 public class SlippyMapTileCache {
     private static final File CACHE_ROOT = new File(CachedRemoteSource.GLOBAL_CACHE_ROOT, "carto");
-    private static final int CACHE_SIZE = 256;
+    private static final long DISK_CAPACITY = 128L * 1024 * 1024;
+    private static final long MEMORY_BUDGET = 64L * 1024 * 1024;
 
     private final ExecutorService loadingService = Executors.newFixedThreadPool(2, new ThreadFactoryBuilder()
             .setDaemon(true)
             .setNameFormat("terrarium-map-load-%d")
             .build());
 
-    private final LoadingCache<SlippyMapTilePos, SlippyMapTile> tileCache = CacheBuilder.newBuilder()
-            .maximumSize(CACHE_SIZE)
-            .<SlippyMapTilePos, SlippyMapTile>removalListener(notification -> {
-                SlippyMapTile tile = notification.getValue();
-                if (tile != null) {
-                    tile.delete();
-                }
-            })
-            .build(new CacheLoader<SlippyMapTilePos, SlippyMapTile>() {
-                @Override
-                public SlippyMapTile load(SlippyMapTilePos key) {
-                    SlippyMapTile tile = new SlippyMapTile(key);
-                    SlippyMapTileCache.this.loadingService.submit(() -> tile.supplyImage(SlippyMapTileCache.this.downloadImage(key)));
-                    return tile;
-                }
-            });
+    private final SlippyMapDiskCache diskCache = new SlippyMapDiskCache(CACHE_ROOT, DISK_CAPACITY);
+
+    private final Map<SlippyMapTilePos, Entry> entries = new LinkedHashMap<>(256, 0.75F, true);
+    private final Deque<Entry> requests = new ArrayDeque<>();
+    private int frame;
 
     private final Queue<InputStream> loadingStreams = new LinkedBlockingQueue<>();
 
     public SlippyMapTile getTile(SlippyMapTilePos pos) {
-        try {
-            return this.tileCache.get(pos);
-        } catch (Exception e) {
-            SlippyMapTile tile = new SlippyMapTile(pos);
-            tile.supplyImage(this.createErrorImage());
-            return tile;
+        Entry entry = this.entries.get(pos);
+        if (entry == null) {
+            entry = new Entry(pos);
+            this.entries.put(pos, entry);
+            synchronized (this.requests) {
+                this.requests.addFirst(entry);
+            }
+            this.loadingService.submit(this::loadNext);
+        }
+        entry.lastFrame = this.frame;
+        return entry.tile;
+    }
+
+    public void updateRequests(int cameraZoom) {
+        synchronized (this.requests) {
+            List<Entry> retained = new ArrayList<>(this.requests.size());
+            for (Entry entry : this.requests) {
+                if (entry.lastFrame == this.frame) {
+                    retained.add(entry);
+                } else {
+                    this.entries.remove(entry.pos);
+                }
+            }
+            retained.sort(Comparator.comparingInt(entry -> Math.abs(cameraZoom - entry.pos.getZoom())));
+
+            this.requests.clear();
+            this.requests.addAll(retained);
+        }
+
+        this.trimMemory();
+        this.frame++;
+    }
+
+    private void trimMemory() {
+        long memoryUsage = 0;
+        for (Entry entry : this.entries.values()) {
+            memoryUsage += entry.tile.getMemorySize();
+        }
+
+        Iterator<Entry> iterator = this.entries.values().iterator();
+        while (memoryUsage > MEMORY_BUDGET && iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.lastFrame == this.frame) {
+                break;
+            }
+            int memorySize = entry.tile.getMemorySize();
+            if (memorySize > 0) {
+                entry.tile.delete();
+                iterator.remove();
+                memoryUsage -= memorySize;
+            }
+        }
+    }
+
+    private void loadNext() {
+        Entry entry;
+        synchronized (this.requests) {
+            entry = this.requests.pollFirst();
+        }
+        if (entry != null) {
+            entry.tile.supplyImage(this.downloadImage(entry.pos));
         }
     }
 
     public void shutdown() {
-        for (SlippyMapTile tile : this.tileCache.asMap().values()) {
-            tile.delete();
+        for (Entry entry : this.entries.values()) {
+            entry.tile.delete();
         }
+        this.entries.clear();
 
-        this.tileCache.invalidateAll();
+        synchronized (this.requests) {
+            this.requests.clear();
+        }
         this.loadingService.shutdown();
 
         while (!this.loadingStreams.isEmpty()) {
@@ -86,19 +132,19 @@ public class SlippyMapTileCache {
         }
     }
 
-    private BufferedImage downloadImage(SlippyMapTilePos pos) {
+    private SlippyMapTileImage downloadImage(SlippyMapTilePos pos) {
         try (InputStream input = this.getStream(pos)) {
-            return ImageIO.read(input);
+            return SlippyMapTileImage.decode(input);
         } catch (IOException e) {
             Terrarium.LOGGER.error("Failed to load map tile {}", e.getClass().getName());
         }
-        return this.createErrorImage();
+        return SlippyMapTileImage.ERROR;
     }
 
     private InputStream getStream(SlippyMapTilePos pos) throws IOException {
-        File cacheFile = new File(CACHE_ROOT, pos.getCacheName());
-        if (cacheFile.exists()) {
-            return new BufferedInputStream(new FileInputStream(cacheFile));
+        InputStream cachedStream = this.diskCache.read(pos.getCacheName());
+        if (cachedStream != null) {
+            return cachedStream;
         }
         String query = String.format(EarthRemoteData.info.getRasterMapQuery(), pos.getZoom(), pos.getX(), pos.getY());
         URL url = new URL(EarthRemoteData.info.getRasterMapEndpoint() + "/" + query);
@@ -110,36 +156,20 @@ public class SlippyMapTileCache {
         this.loadingStreams.add(stream);
         try (InputStream input = new BufferedInputStream(stream)) {
             byte[] data = IOUtils.toByteArray(input);
-            this.cacheData(cacheFile, data);
+            this.diskCache.write(pos.getCacheName(), data);
             this.loadingStreams.remove(stream);
             return new ByteArrayInputStream(data);
         }
     }
 
-    private void cacheData(File cacheFile, byte[] data) {
-        if (!CACHE_ROOT.exists()) {
-            CACHE_ROOT.mkdirs();
-        }
-        try (OutputStream output = new FileOutputStream(cacheFile)) {
-            output.write(data);
-        } catch (IOException e) {
-            Terrarium.LOGGER.error("Failed to cache map raster tile", e);
-        }
-    }
-
-    private BufferedImage createErrorImage() {
-        BufferedImage result = new BufferedImage(SlippyMap.TILE_SIZE, SlippyMap.TILE_SIZE, BufferedImage.TYPE_INT_RGB);
-        Graphics2D graphics = result.createGraphics();
-        FontMetrics metrics = graphics.getFontMetrics();
+    private static class Entry {
+        private final SlippyMapTilePos pos;
+        private final SlippyMapTile tile;
+        private int lastFrame;
 
-        String message = "Failed to download tile";
-
-        int x = (SlippyMap.TILE_SIZE - metrics.stringWidth(message)) / 2;
-        int y = (SlippyMap.TILE_SIZE - metrics.getHeight()) / 2;
-        graphics.drawString(message, x, y);
-
-        graphics.dispose();
-
-        return result;
+        private Entry(SlippyMapTilePos pos) {
+            this.pos = pos;
+            this.tile = new SlippyMapTile(pos);
+        }
     }
 }
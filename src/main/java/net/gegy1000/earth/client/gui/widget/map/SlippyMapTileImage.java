@@ -0,0 +1,94 @@
+package net.gegy1000.earth.client.gui.widget.map;
+
+import net.minecraft.client.renderer.GLAllocation;
+import net.minecraft.client.renderer.GlStateManager;
+import net.minecraft.client.renderer.texture.AbstractTexture;
+import net.minecraft.client.renderer.texture.ITextureObject;
+import net.minecraft.client.renderer.texture.TextureUtil;
+import net.minecraft.client.resources.IResourceManager;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL12;
+
+import javax.imageio.ImageIO;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.IntBuffer;
+
+@SideOnly(Side.CLIENT)
+public class SlippyMapTileImage {
+    public static final SlippyMapTileImage ERROR = SlippyMapTileImage.createErrorImage();
+
+    private final int width;
+    private final int height;
+    private final IntBuffer pixels;
+
+    private SlippyMapTileImage(int width, int height, IntBuffer pixels) {
+        this.width = width;
+        this.height = height;
+        this.pixels = pixels;
+    }
+
+    public static SlippyMapTileImage decode(InputStream input) throws IOException {
+        BufferedImage image = ImageIO.read(input);
+        if (image == null) {
+            throw new IOException("Map tile was not a readable image");
+        }
+        return SlippyMapTileImage.fromImage(image);
+    }
+
+    private static SlippyMapTileImage fromImage(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+
+        int[] row = new int[width];
+        IntBuffer pixels = GLAllocation.createDirectIntBuffer(width * height);
+        for (int y = 0; y < height; y++) {
+            image.getRGB(0, y, width, 1, row, 0, width);
+            pixels.put(row);
+        }
+        pixels.flip();
+
+        return new SlippyMapTileImage(width, height, pixels);
+    }
+
+    private static SlippyMapTileImage createErrorImage() {
+        BufferedImage result = new BufferedImage(SlippyMap.TILE_SIZE, SlippyMap.TILE_SIZE, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = result.createGraphics();
+        FontMetrics metrics = graphics.getFontMetrics();
+
+        String message = "Failed to download tile";
+
+        int x = (SlippyMap.TILE_SIZE - metrics.stringWidth(message)) / 2;
+        int y = (SlippyMap.TILE_SIZE - metrics.getHeight()) / 2;
+        graphics.drawString(message, x, y);
+
+        graphics.dispose();
+
+        return SlippyMapTileImage.fromImage(result);
+    }
+
+    public int getMemorySize() {
+        return this.width * this.height * 4;
+    }
+
+    public ITextureObject createTexture() {
+        return new Texture();
+    }
+
+    private class Texture extends AbstractTexture {
+        @Override
+        public void loadTexture(IResourceManager resourceManager) {
+            SlippyMapTileImage image = SlippyMapTileImage.this;
+
+            TextureUtil.allocateTexture(this.getGlTextureId(), image.width, image.height);
+            GlStateManager.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MIN_FILTER, GL11.GL_NEAREST);
+            GlStateManager.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MAG_FILTER, GL11.GL_NEAREST);
+            GlStateManager.glTexSubImage2D(GL11.GL_TEXTURE_2D, 0, 0, 0, image.width, image.height, GL12.GL_BGRA, GL12.GL_UNSIGNED_INT_8_8_8_8_REV, image.pixels.duplicate());
+        }
+    }
+}
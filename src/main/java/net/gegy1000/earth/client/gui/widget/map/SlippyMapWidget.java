@@ -85,6 +85,7 @@ public class SlippyMapWidget extends Gui {
             SlippyMapTile tile = this.map.getTile(pos);
             this.renderTile(cameraX, cameraY, cameraZoom, pos, tile, partialTicks);
         }
+        this.map.updateRequests();
 
         GlStateManager.color(1.0F, 1.0F, 1.0F, 1.0F);
         for (MapComponent component : this.components) {
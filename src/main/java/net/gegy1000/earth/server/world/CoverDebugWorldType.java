@@ -13,7 +13,9 @@ import net.gegy1000.terrarium.server.world.coordinate.CoordinateState;
 import net.gegy1000.terrarium.server.world.cover.ConstructedCover;
 import net.gegy1000.terrarium.server.world.cover.CoverGenerationContext;
 import net.gegy1000.terrarium.server.world.cover.TerrariumCoverTypes;
+import net.gegy1000.terrarium.server.world.generator.BasicCompositionProcedure;
 import net.gegy1000.terrarium.server.world.generator.BasicTerrariumGenerator;
+import net.gegy1000.terrarium.server.world.generator.ChunkCompositionProcedure;
 import net.gegy1000.terrarium.server.world.generator.TerrariumGenerator;
 import net.gegy1000.terrarium.server.world.generator.customization.GenerationSettings;
 import net.gegy1000.terrarium.server.world.generator.customization.TerrariumCustomization;
@@ -72,16 +74,23 @@ public class CoverDebugWorldType extends TerrariumWorldType {
 
         @Override
         public TerrariumGenerator buildGenerator() {
+            return BasicTerrariumGenerator.builder()
+                    .withCompositionProcedure(this::buildCompositionProcedure)
+                    .withSpawnPosition(Coordinate.fromBlock(0.0, 0.0))
+                    .build();
+        }
+
+        private ChunkCompositionProcedure buildCompositionProcedure() {
             CoordinateState zoneGeoCoordinates = new DebugLatLngCoordinateState();
             List<ConstructedCover<?>> coverTypes = this.buildCoverTypes(zoneGeoCoordinates);
-            return BasicTerrariumGenerator.builder()
+            return BasicCompositionProcedure.builder()
                     .withSurfaceComposer(new HeightmapSurfaceComposer(RegionComponentType.HEIGHT, Blocks.QUARTZ_BLOCK.getDefaultState()))
                     .withSurfaceComposer(new CoverSurfaceComposer(this.world, RegionComponentType.COVER, coverTypes, true,Blocks.QUARTZ_BLOCK.getDefaultState()))
                     .withSurfaceComposer(new BedrockSurfaceComposer(this.world, Blocks.BEDROCK.getDefaultState(), 0))
                     .withDecorationComposer(new CoverDecorationComposer(this.world, RegionComponentType.COVER, coverTypes))
                     .withDecorationComposer(new DebugSignDecorationComposer(RegionComponentType.HEIGHT))
                     .withBiomeComposer(new CoverBiomeComposer(RegionComponentType.COVER, coverTypes))
-                    .withSpawnPosition(Coordinate.fromBlock(0.0, 0.0))
+                    .withHeightComponent(RegionComponentType.HEIGHT)
                     .build();
         }
 
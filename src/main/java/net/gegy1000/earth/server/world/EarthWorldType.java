@@ -6,6 +6,8 @@ import net.gegy1000.earth.server.capability.EarthCapability;
 import net.gegy1000.earth.server.world.cover.EarthCoverContext;
 import net.gegy1000.earth.server.world.cover.EarthCoverTypes;
 import net.gegy1000.earth.server.world.pipeline.EarthComponentTypes;
+import net.gegy1000.earth.server.world.pipeline.adapter.OsmCoastlineAdapter;
+import net.gegy1000.earth.server.world.pipeline.adapter.WaterFlattenAdapter;
 import net.gegy1000.earth.server.world.pipeline.composer.BoulderDecorationComposer;
 import net.gegy1000.earth.server.world.pipeline.layer.OsmPopulatorLayer;
 import net.gegy1000.earth.server.world.pipeline.layer.OsmSampleLayer;
@@ -24,7 +26,9 @@ import net.gegy1000.terrarium.server.world.coordinate.ScaledCoordinateState;
 import net.gegy1000.terrarium.server.world.cover.ConstructedCover;
 import net.gegy1000.terrarium.server.world.cover.CoverGenerationContext;
 import net.gegy1000.terrarium.server.world.cover.TerrariumCoverTypes;
+import net.gegy1000.terrarium.server.world.generator.BasicCompositionProcedure;
 import net.gegy1000.terrarium.server.world.generator.BasicTerrariumGenerator;
+import net.gegy1000.terrarium.server.world.generator.ChunkCompositionProcedure;
 import net.gegy1000.terrarium.server.world.generator.TerrariumGenerator;
 import net.gegy1000.terrarium.server.world.generator.customization.GenerationSettings;
 import net.gegy1000.terrarium.server.world.generator.customization.PropertyContainer;
@@ -49,11 +53,10 @@ import net.gegy1000.terrarium.server.world.pipeline.composer.surface.CoverSurfac
 import net.gegy1000.terrarium.server.world.pipeline.composer.surface.HeightmapSurfaceComposer;
 import net.gegy1000.terrarium.server.world.pipeline.composer.surface.OceanFillSurfaceComposer;
 import net.gegy1000.terrarium.server.world.pipeline.layer.CoverTileSampleLayer;
-import net.gegy1000.terrarium.server.world.pipeline.layer.ScaledByteLayer;
 import net.gegy1000.terrarium.server.world.pipeline.layer.ScaledCoverLayer;
 import net.gegy1000.terrarium.server.world.pipeline.layer.ScaledShortLayer;
+import net.gegy1000.terrarium.server.world.pipeline.layer.ScaledSlopeLayer;
 import net.gegy1000.terrarium.server.world.pipeline.layer.ShortTileSampleLayer;
-import net.gegy1000.terrarium.server.world.pipeline.layer.SlopeProducerLayer;
 import net.gegy1000.terrarium.server.world.pipeline.source.tile.ByteRasterTile;
 import net.gegy1000.terrarium.server.world.pipeline.source.tile.CoverRasterTile;
 import net.gegy1000.terrarium.server.world.pipeline.source.tile.ShortRasterTile;
@@ -159,16 +162,24 @@ public class EarthWorldType extends TerrariumWorldType {
 
         @Override
         public TerrariumGenerator buildGenerator() {
+            return BasicTerrariumGenerator.builder()
+                    .withCompositionProcedure(this::buildCompositionProcedure)
+                    .withSpawnPosition(new Coordinate(this.earthCoordinates, this.properties.getDouble(SPAWN_LATITUDE), this.properties.getDouble(SPAWN_LONGITUDE)))
+                    .withCapability(new EarthCapability.Impl(this.earthCoordinates))
+                    .build();
+        }
+
+        private ChunkCompositionProcedure buildCompositionProcedure() {
             int heightOrigin = this.properties.getInteger(HEIGHT_ORIGIN);
             List<ConstructedCover<?>> coverTypes = this.constructCoverTypes();
-            BasicTerrariumGenerator.Builder builder = BasicTerrariumGenerator.builder()
+            BasicCompositionProcedure.Builder builder = BasicCompositionProcedure.builder()
                     .withSurfaceComposer(new HeightmapSurfaceComposer(RegionComponentType.HEIGHT, Blocks.STONE.getDefaultState()))
                     .withSurfaceComposer(new OceanFillSurfaceComposer(RegionComponentType.HEIGHT, Blocks.WATER.getDefaultState(), heightOrigin + 1))
                     .withSurfaceComposer(new CoverSurfaceComposer(this.world, RegionComponentType.COVER, coverTypes, this.properties.getBoolean(ENABLE_DECORATION), Blocks.STONE.getDefaultState()))
                     .withSurfaceComposer(new BedrockSurfaceComposer(this.world, Blocks.BEDROCK.getDefaultState(), Math.min(heightOrigin - 1, 5)))
                     .withBiomeComposer(new CoverBiomeComposer(RegionComponentType.COVER, coverTypes))
-                    .withSpawnPosition(new Coordinate(this.earthCoordinates, this.properties.getDouble(SPAWN_LATITUDE), this.properties.getDouble(SPAWN_LONGITUDE)))
-                    .withCapability(new EarthCapability.Impl(this.earthCoordinates));
+                    .withHeightComponent(RegionComponentType.HEIGHT)
+                    .withOceanLevel(heightOrigin + 1);
             if (this.properties.getBoolean(ENABLE_DECORATION)) {
                 builder.withDecorationComposer(new CoverDecorationComposer(this.world, RegionComponentType.COVER, coverTypes));
                 builder.withDecorationComposer(new BoulderDecorationComposer(this.world, RegionComponentType.SLOPE));
@@ -196,12 +207,14 @@ public class EarthWorldType extends TerrariumWorldType {
                     .withComponent(RegionComponentType.SLOPE, this.createSlopePopulator(heightSampler))
                     .withComponent(RegionComponentType.COVER, this.createCoverPopulator())
                     .withComponent(EarthComponentTypes.OSM, this.createOsmPopulator())
-//                    .withAdapter(new OsmCoastlineAdapter(RegionComponentType.HEIGHT, RegionComponentType.COVER, EarthComponentTypes.OSM, this.earthCoordinates))
+                    .withAdapter(new OsmCoastlineAdapter(RegionComponentType.HEIGHT, RegionComponentType.COVER, EarthComponentTypes.OSM, this.earthCoordinates))
 //                    .withAdapter(new HeightNoiseAdapter(this.world, RegionComponentType.HEIGHT, 2, 0.08, this.properties.getDouble(NOISE_SCALE)))
-                    .withAdapter(new HeightTransformAdapter(RegionComponentType.HEIGHT, this.properties.getDouble(HEIGHT_SCALE) * this.worldScale, heightOrigin))
+                    .withAdapter(new HeightTransformAdapter(RegionComponentType.HEIGHT, this.properties.getDouble(HEIGHT_SCALE) * this.worldScale, heightOrigin), HEIGHT_SCALE, HEIGHT_ORIGIN)
 //                    .withAdapter(new OceanDepthCorrectionAdapter(RegionComponentType.HEIGHT, this.properties.getInteger(OCEAN_DEPTH)))
-                    .withAdapter(new BeachAdapter(this.world, RegionComponentType.COVER, this.properties.getInteger(BEACH_SIZE), EarthCoverTypes.WATER, EarthCoverTypes.BEACH))
-//                    .withAdapter(new WaterFlattenAdapter(RegionComponentType.HEIGHT, RegionComponentType.COVER, 15, EarthCoverTypes.WATER))
+                    .withAdapter(new BeachAdapter(this.world, RegionComponentType.COVER, this.properties.getInteger(BEACH_SIZE), EarthCoverTypes.WATER, EarthCoverTypes.BEACH), BEACH_SIZE)
+                    .withAdapter(new WaterFlattenAdapter(RegionComponentType.HEIGHT, RegionComponentType.COVER, 15, EarthCoverTypes.WATER))
+                    .withIndependentProperties(SPAWN_LATITUDE, SPAWN_LONGITUDE, NOISE_SCALE, OCEAN_DEPTH, ENABLE_DECORATION)
+                    .withIndependentProperties(ENABLE_BUILDINGS, ENABLE_STREETS, ENABLE_VANILLA_FEATURES, ENABLE_CAVE_GENERATION, ENABLE_RESOURCE_GENERATION)
                     .build();
         }
 
@@ -211,9 +224,7 @@ public class EarthWorldType extends TerrariumWorldType {
         }
 
         private DataLayerProducer<ByteRasterTile> createSlopePopulator(DataLayerProducer<ShortRasterTile> heightSampler) {
-            DataLayerProducer<ByteRasterTile> layer = DataLayer.of(new SlopeProducerLayer(), heightSampler);
-            layer = DataLayer.of(new ScaledByteLayer(this.srtmRaster, Interpolation.Method.LINEAR), layer);
-            return layer;
+            return DataLayer.of(new ScaledSlopeLayer(this.srtmRaster), heightSampler);
         }
 
         private DataLayerProducer<CoverRasterTile> createCoverPopulator() {
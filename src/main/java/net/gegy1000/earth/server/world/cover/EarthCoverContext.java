@@ -2,6 +2,7 @@ package net.gegy1000.earth.server.world.cover;
 
 import net.gegy1000.terrarium.server.world.chunk.PseudoRandomMap;
 import net.gegy1000.terrarium.server.world.coordinate.CoordinateState;
+import net.gegy1000.terrarium.server.world.cover.CoverChunkMask;
 import net.gegy1000.terrarium.server.world.cover.CoverGenerationContext;
 import net.gegy1000.terrarium.server.world.pipeline.component.RegionComponentType;
 import net.gegy1000.terrarium.server.world.pipeline.source.tile.ByteRasterTile;
@@ -18,6 +19,8 @@ public class EarthCoverContext implements CoverGenerationContext {
     private final RegionComponentType<CoverRasterTile> coverComponent;
     private final RegionComponentType<ByteRasterTile> slopeComponent;
 
+    private GenerationRegionHandler regionHandler;
+    private CoverChunkMask coverMask;
     private ShortRasterTile heightTile;
     private CoverRasterTile coverTile;
     private ByteRasterTile slopeTile;
@@ -56,12 +59,19 @@ public class EarthCoverContext implements CoverGenerationContext {
     }
 
     @Override
-    public void prepareChunk(GenerationRegionHandler regionHandler) {
+    public void prepareChunk(GenerationRegionHandler regionHandler, CoverChunkMask coverMask) {
+        this.regionHandler = regionHandler;
+        this.coverMask = coverMask;
         this.heightTile = regionHandler.getCachedChunkRaster(this.heightComponent);
         this.coverTile = regionHandler.getCachedChunkRaster(this.coverComponent);
         this.slopeTile = regionHandler.getCachedChunkRaster(this.slopeComponent);
     }
 
+    @Override
+    public GenerationRegionHandler getRegionHandler() {
+        return this.regionHandler;
+    }
+
     @Override
     public ShortRasterTile getHeightRaster() {
         return this.heightTile;
@@ -72,6 +82,11 @@ public class EarthCoverContext implements CoverGenerationContext {
         return this.coverTile;
     }
 
+    @Override
+    public CoverChunkMask getCoverMask() {
+        return this.coverMask;
+    }
+
     public ByteRasterTile getSlopeRaster() {
         return this.slopeTile;
     }
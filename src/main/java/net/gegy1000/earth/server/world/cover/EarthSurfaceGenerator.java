@@ -2,9 +2,9 @@ package net.gegy1000.earth.server.world.cover;
 
 import net.gegy1000.terrarium.server.world.cover.CoverSurfaceGenerator;
 import net.gegy1000.terrarium.server.world.cover.CoverType;
+import net.gegy1000.terrarium.server.world.cover.generator.layer.SelectionStack;
 import net.gegy1000.terrarium.server.world.pipeline.source.tile.ByteRasterTile;
 import net.minecraft.block.state.IBlockState;
-import net.minecraft.world.gen.layer.GenLayer;
 
 public abstract class EarthSurfaceGenerator extends CoverSurfaceGenerator<EarthCoverContext> {
     protected EarthSurfaceGenerator(EarthCoverContext context, CoverType<EarthCoverContext> coverType) {
@@ -12,9 +12,9 @@ public abstract class EarthSurfaceGenerator extends CoverSurfaceGenerator<EarthC
     }
 
     @Override
-    protected void coverFromLayer(IBlockState[] blockBuffer, int originX, int originZ, GenLayer layer, BlockProvider blockProvider) {
+    protected void coverFromLayer(IBlockState[] blockBuffer, int originX, int originZ, SelectionStack selector, BlockProvider blockProvider) {
         ByteRasterTile slopeRaster = this.context.getSlopeRaster();
-        super.coverFromLayer(blockBuffer, originX, originZ, layer, (sampledValue, localX, localZ) -> {
+        super.coverFromLayer(blockBuffer, originX, originZ, selector, (sampledValue, localX, localZ) -> {
             IBlockState state = blockProvider.provideBlock(sampledValue, localX, localZ);
             if (slopeRaster.getUnsigned(localX, localZ) >= CLIFF_SLOPE) {
                 if (state == GRASS || state == PODZOL) {
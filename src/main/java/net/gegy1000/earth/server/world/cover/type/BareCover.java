@@ -5,17 +5,18 @@ import net.gegy1000.earth.server.world.cover.EarthCoverType;
 import net.gegy1000.earth.server.world.cover.EarthDecorationGenerator;
 import net.gegy1000.earth.server.world.cover.EarthSurfaceGenerator;
 import net.gegy1000.terrarium.server.world.cover.CoverType;
+import net.gegy1000.terrarium.server.world.cover.generator.layer.FuzzyZoomLayer;
 import net.gegy1000.terrarium.server.world.cover.generator.layer.SelectWeightedLayer;
+import net.gegy1000.terrarium.server.world.cover.generator.layer.SelectionLayer;
+import net.gegy1000.terrarium.server.world.cover.generator.layer.SelectionStack;
+import net.gegy1000.terrarium.server.world.cover.generator.layer.VoronoiZoomLayer;
 import net.gegy1000.terrarium.server.world.cover.generator.primer.CoverPrimer;
+import net.gegy1000.terrarium.server.world.pipeline.composer.decoration.DecorationWriteBuffer;
 import net.gegy1000.terrarium.server.world.pipeline.source.tile.ByteRasterTile;
 import net.gegy1000.terrarium.server.world.pipeline.source.tile.ShortRasterTile;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.init.Biomes;
-import net.minecraft.world.World;
 import net.minecraft.world.biome.Biome;
-import net.minecraft.world.gen.layer.GenLayer;
-import net.minecraft.world.gen.layer.GenLayerFuzzyZoom;
-import net.minecraft.world.gen.layer.GenLayerVoronoiZoom;
 
 import java.util.Random;
 
@@ -40,20 +41,19 @@ public class BareCover extends EarthCoverType {
     }
 
     private static class Surface extends EarthSurfaceGenerator {
-        private final GenLayer coverSelector;
+        private final SelectionStack coverSelector;
 
         private Surface(EarthCoverContext context, CoverType<EarthCoverContext> coverType) {
             super(context, coverType);
 
-            GenLayer layer = new SelectWeightedLayer(1,
+            SelectionLayer layer = new SelectWeightedLayer(1,
                     new SelectWeightedLayer.Entry(LAYER_GRAVEL, 2),
                     new SelectWeightedLayer.Entry(LAYER_DIRT, 10),
                     new SelectWeightedLayer.Entry(LAYER_SAND, 5));
-            layer = new GenLayerVoronoiZoom(1000, layer);
-            layer = new GenLayerFuzzyZoom(2000, layer);
+            layer = new VoronoiZoomLayer(1000, layer);
+            layer = new FuzzyZoomLayer(2000, layer);
 
-            this.coverSelector = layer;
-            this.coverSelector.initWorldGenSeed(context.getSeed());
+            this.coverSelector = SelectionStack.compile(layer, context.getSeed());
         }
 
         @Override
@@ -109,15 +109,14 @@ public class BareCover extends EarthCoverType {
         }
 
         @Override
-        public void decorate(int originX, int originZ, Random random) {
-            World world = this.context.getWorld();
+        public void decorate(DecorationWriteBuffer writeBuffer, int originX, int originZ, Random random) {
             ByteRasterTile slopeRaster = this.context.getSlopeRaster();
 
             this.preventIntersection(5);
 
-            this.decorateScatter(random, originX, originZ, this.range(random, -16, 1), (pos, localX, localZ) -> {
+            this.decorateScatter(writeBuffer, random, originX, originZ, this.range(random, -16, 1), (pos, localX, localZ) -> {
                 if (slopeRaster.getUnsigned(localX, localZ) < MOUNTAINOUS_SLOPE) {
-                    OAK_TALL_SHRUB.generate(world, random, pos);
+                    writeBuffer.generate(OAK_TALL_SHRUB, random, pos);
                 }
             });
 
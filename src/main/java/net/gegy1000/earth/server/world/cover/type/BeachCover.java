@@ -7,10 +7,10 @@ import net.gegy1000.earth.server.world.cover.LatitudinalZone;
 import net.gegy1000.terrarium.server.world.cover.CoverSurfaceGenerator;
 import net.gegy1000.terrarium.server.world.cover.CoverType;
 import net.gegy1000.terrarium.server.world.feature.tree.GenerousTreeGenerator;
+import net.gegy1000.terrarium.server.world.pipeline.composer.decoration.DecorationWriteBuffer;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.init.Biomes;
 import net.minecraft.init.Blocks;
-import net.minecraft.world.World;
 import net.minecraft.world.biome.Biome;
 
 import java.util.Random;
@@ -38,13 +38,12 @@ public class BeachCover extends EarthCoverType {
         }
 
         @Override
-        public void decorate(int originX, int originZ, Random random) {
+        public void decorate(DecorationWriteBuffer writeBuffer, int originX, int originZ, Random random) {
             LatitudinalZone zone = this.context.getZone(originX, originZ);
             if (zone == LatitudinalZone.TROPICS) {
-                World world = this.context.getWorld();
-                this.decorateScatter(random, originX, originZ, this.range(random, 0, 2), (pos, localX, localZ) -> {
+                this.decorateScatter(writeBuffer, random, originX, originZ, this.range(random, 0, 2), (pos, localX, localZ) -> {
                     int height = this.range(random, 6, 7);
-                    new GenerousTreeGenerator(false, height, JUNGLE_LOG, JUNGLE_LEAF, true, true).generate(world, random, pos);
+                    writeBuffer.generate(new GenerousTreeGenerator(false, height, JUNGLE_LOG, JUNGLE_LEAF, true, true), random, pos);
                 });
             }
         }
@@ -6,7 +6,7 @@ import net.gegy1000.earth.server.world.cover.LatitudinalZone;
 import net.gegy1000.terrarium.server.world.cover.CoverBiomeSelectors;
 import net.gegy1000.terrarium.server.world.cover.CoverType;
 import net.gegy1000.terrarium.server.world.feature.tree.GenerousTreeGenerator;
-import net.minecraft.world.World;
+import net.gegy1000.terrarium.server.world.pipeline.composer.decoration.DecorationWriteBuffer;
 import net.minecraft.world.biome.Biome;
 
 import java.util.Random;
@@ -28,35 +28,34 @@ public class ClosedBroadleafDeciduousCover extends ClosedForestCover {
         }
 
         @Override
-        public void decorate(int originX, int originZ, Random random) {
-            World world = this.context.getWorld();
+        public void decorate(DecorationWriteBuffer writeBuffer, int originX, int originZ, Random random) {
             LatitudinalZone zone = this.context.getZone(originX, originZ);
 
             this.preventIntersection(zone == LatitudinalZone.TROPICS ? 1 : 2);
 
-            int[] heightOffsetLayer = this.sampleChunk(this.heightOffsetSelector, originX, originZ);
+            int[] heightOffsetLayer = this.sampleChunk(this.heightOffsetSelector, this.heightOffsetBuffer, originX, originZ);
 
             int oakCount = this.getOakCount(random, zone);
-            this.decorateScatter(random, originX, originZ, oakCount, (pos, localX, localZ) -> {
+            this.decorateScatter(writeBuffer, random, originX, originZ, oakCount, (pos, localX, localZ) -> {
                 int height = this.range(random, 5, 7) + this.sampleHeightOffset(heightOffsetLayer, localX, localZ);
-                new GenerousTreeGenerator(false, height, OAK_LOG, OAK_LEAF, false, false).generate(world, random, pos);
+                writeBuffer.generate(new GenerousTreeGenerator(false, height, OAK_LOG, OAK_LEAF, false, false), random, pos);
             });
 
-            this.decorateScatter(random, originX, originZ, this.getBirchCount(random, zone), (pos, localX, localZ) -> {
+            this.decorateScatter(writeBuffer, random, originX, originZ, this.getBirchCount(random, zone), (pos, localX, localZ) -> {
                 int height = this.range(random, 5, 7) + this.sampleHeightOffset(heightOffsetLayer, localX, localZ);
-                new GenerousTreeGenerator(false, height, BIRCH_LOG, BIRCH_LEAF, false, false).generate(world, random, pos);
+                writeBuffer.generate(new GenerousTreeGenerator(false, height, BIRCH_LOG, BIRCH_LEAF, false, false), random, pos);
             });
 
             int jungleCount = this.getJungleCount(random, zone);
-            this.decorateScatter(random, originX, originZ, jungleCount, (pos, localX, localZ) -> {
+            this.decorateScatter(writeBuffer, random, originX, originZ, jungleCount, (pos, localX, localZ) -> {
                 int height = this.range(random, 5, 7) + this.sampleHeightOffset(heightOffsetLayer, localX, localZ);
-                new GenerousTreeGenerator(false, height, JUNGLE_LOG, JUNGLE_LEAF, false, false).generate(world, random, pos);
+                writeBuffer.generate(new GenerousTreeGenerator(false, height, JUNGLE_LOG, JUNGLE_LEAF, false, false), random, pos);
             });
 
             this.stopIntersectionPrevention();
 
-            this.decorateScatter(random, originX, originZ, oakCount + 4, (pos, localX, localZ) -> OAK_DENSE_SHRUB.generate(world, random, pos));
-            this.decorateScatter(random, originX, originZ, jungleCount + 4, (pos, localX, localZ) -> JUNGLE_DENSE_SHRUB.generate(world, random, pos));
+            this.decorateScatter(writeBuffer, random, originX, originZ, oakCount + 4, (pos, localX, localZ) -> writeBuffer.generate(OAK_DENSE_SHRUB, random, pos));
+            this.decorateScatter(writeBuffer, random, originX, originZ, jungleCount + 4, (pos, localX, localZ) -> writeBuffer.generate(JUNGLE_DENSE_SHRUB, random, pos));
         }
 
         private int getOakCount(Random random, LatitudinalZone zone) {
@@ -3,11 +3,11 @@ package net.gegy1000.earth.server.world.cover.type;
 import net.gegy1000.earth.server.world.cover.EarthCoverContext;
 import net.gegy1000.earth.server.world.cover.EarthSurfaceGenerator;
 import net.gegy1000.terrarium.server.world.cover.CoverType;
+import net.gegy1000.terrarium.server.world.cover.generator.layer.FuzzyZoomLayer;
 import net.gegy1000.terrarium.server.world.cover.generator.layer.ReplaceRandomLayer;
+import net.gegy1000.terrarium.server.world.cover.generator.layer.SelectionLayer;
 import net.gegy1000.terrarium.server.world.cover.generator.layer.SelectionSeedLayer;
-import net.minecraft.world.gen.layer.GenLayer;
-import net.minecraft.world.gen.layer.GenLayerFuzzyZoom;
-import net.minecraft.world.gen.layer.GenLayerVoronoiZoom;
+import net.gegy1000.terrarium.server.world.cover.generator.layer.VoronoiZoomLayer;
 
 public abstract class ClosedForestCover extends ForestCover {
     @Override
@@ -21,12 +21,12 @@ public abstract class ClosedForestCover extends ForestCover {
         }
 
         @Override
-        protected GenLayer createCoverSelector() {
-            GenLayer cover = new SelectionSeedLayer(2, 1);
+        protected SelectionLayer createCoverSelector() {
+            SelectionLayer cover = new SelectionSeedLayer(2, 1);
             cover = new ReplaceRandomLayer(ForestCover.LAYER_PRIMARY, ForestCover.LAYER_DIRT, 2, 6000, cover);
-            cover = new GenLayerVoronoiZoom(7000, cover);
+            cover = new VoronoiZoomLayer(7000, cover);
             cover = new ReplaceRandomLayer(ForestCover.LAYER_DIRT, ForestCover.LAYER_PODZOL, 2, 8000, cover);
-            cover = new GenLayerFuzzyZoom(9000, cover);
+            cover = new FuzzyZoomLayer(9000, cover);
             return cover;
         }
     }
@@ -6,7 +6,7 @@ import net.gegy1000.earth.server.world.cover.LatitudinalZone;
 import net.gegy1000.terrarium.server.world.cover.CoverBiomeSelectors;
 import net.gegy1000.terrarium.server.world.cover.CoverType;
 import net.gegy1000.terrarium.server.world.feature.tree.GenerousTreeGenerator;
-import net.minecraft.world.World;
+import net.gegy1000.terrarium.server.world.pipeline.composer.decoration.DecorationWriteBuffer;
 import net.minecraft.world.biome.Biome;
 
 import java.util.Random;
@@ -28,25 +28,24 @@ public class ClosedNeedleleafEvergreenCover extends ClosedForestCover {
         }
 
         @Override
-        public void decorate(int originX, int originZ, Random random) {
-            World world = this.context.getWorld();
+        public void decorate(DecorationWriteBuffer writeBuffer, int originX, int originZ, Random random) {
             LatitudinalZone zone = this.context.getZone(originX, originZ);
 
             this.preventIntersection(1);
 
-            int[] heightOffsetLayer = this.sampleChunk(this.heightOffsetSelector, originX, originZ);
+            int[] heightOffsetLayer = this.sampleChunk(this.heightOffsetSelector, this.heightOffsetBuffer, originX, originZ);
 
-            this.decorateScatter(random, originX, originZ, this.getSpruceCount(random, zone), (pos, localX, localZ) -> {
+            this.decorateScatter(writeBuffer, random, originX, originZ, this.getSpruceCount(random, zone), (pos, localX, localZ) -> {
                 if (random.nextInt(3) == 0) {
-                    PINE_TREE.generate(world, random, pos);
+                    writeBuffer.generate(PINE_TREE, random, pos);
                 } else {
-                    SPRUCE_TREE.generate(world, random, pos);
+                    writeBuffer.generate(SPRUCE_TREE, random, pos);
                 }
             });
 
-            this.decorateScatter(random, originX, originZ, this.getBirchCount(random, zone), (pos, localX, localZ) -> {
+            this.decorateScatter(writeBuffer, random, originX, originZ, this.getBirchCount(random, zone), (pos, localX, localZ) -> {
                 int height = this.range(random, 5, 6) + this.sampleHeightOffset(heightOffsetLayer, localX, localZ);
-                new GenerousTreeGenerator(false, height, BIRCH_LOG, BIRCH_LEAF, true, false).generate(world, random, pos);
+                writeBuffer.generate(new GenerousTreeGenerator(false, height, BIRCH_LOG, BIRCH_LEAF, true, false), random, pos);
             });
 
             this.stopIntersectionPrevention();
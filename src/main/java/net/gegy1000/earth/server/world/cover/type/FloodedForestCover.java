@@ -2,14 +2,15 @@ package net.gegy1000.earth.server.world.cover.type;
 
 import net.gegy1000.earth.server.world.cover.EarthCoverContext;
 import net.gegy1000.terrarium.server.world.cover.CoverType;
+import net.gegy1000.terrarium.server.world.cover.generator.layer.FuzzyZoomLayer;
 import net.gegy1000.terrarium.server.world.cover.generator.layer.OutlineEdgeLayer;
 import net.gegy1000.terrarium.server.world.cover.generator.layer.ReplaceRandomLayer;
+import net.gegy1000.terrarium.server.world.cover.generator.layer.SelectionLayer;
 import net.gegy1000.terrarium.server.world.cover.generator.layer.SelectionSeedLayer;
+import net.gegy1000.terrarium.server.world.cover.generator.layer.SelectionStack;
+import net.gegy1000.terrarium.server.world.cover.generator.layer.VoronoiZoomLayer;
+import net.gegy1000.terrarium.server.world.cover.generator.layer.ZoomLayer;
 import net.minecraft.block.state.IBlockState;
-import net.minecraft.world.gen.layer.GenLayer;
-import net.minecraft.world.gen.layer.GenLayerFuzzyZoom;
-import net.minecraft.world.gen.layer.GenLayerVoronoiZoom;
-import net.minecraft.world.gen.layer.GenLayerZoom;
 
 import java.util.Random;
 
@@ -21,7 +22,9 @@ public abstract class FloodedForestCover extends ForestCover {
         private final IBlockState primaryCover;
         private final boolean addPodzol;
 
-        protected final GenLayer waterSelector;
+        protected final SelectionStack waterSelector;
+        private final int[] coverBuffer = new int[16 * 16];
+        private final int[] waterBuffer = new int[16 * 16];
 
         protected Surface(EarthCoverContext context, CoverType<EarthCoverContext> coverType, IBlockState primaryCover, boolean addPodzol) {
             super(context, coverType);
@@ -29,34 +32,33 @@ public abstract class FloodedForestCover extends ForestCover {
             this.primaryCover = primaryCover;
             this.addPodzol = addPodzol;
 
-            GenLayer water = new SelectionSeedLayer(2, 2);
-            water = new GenLayerFuzzyZoom(11000, water);
-            water = new GenLayerVoronoiZoom(12000, water);
+            SelectionLayer water = new SelectionSeedLayer(2, 2);
+            water = new FuzzyZoomLayer(11000, water);
+            water = new VoronoiZoomLayer(12000, water);
             water = new OutlineEdgeLayer(3, 13000, water);
-            water = new GenLayerZoom(14000, water);
+            water = new ZoomLayer(14000, water);
 
-            this.waterSelector = water;
-            this.waterSelector.initWorldGenSeed(context.getSeed());
+            this.waterSelector = SelectionStack.compile(water, context.getSeed());
         }
 
         @Override
-        protected GenLayer createCoverSelector() {
-            GenLayer cover = new SelectionSeedLayer(2, 1);
+        protected SelectionLayer createCoverSelector() {
+            SelectionLayer cover = new SelectionSeedLayer(2, 1);
             if (this.addPodzol) {
                 cover = new ReplaceRandomLayer(LAYER_PRIMARY, LAYER_PODZOL, 2, 6000, cover);
             }
-            cover = new GenLayerVoronoiZoom(7000, cover);
+            cover = new VoronoiZoomLayer(7000, cover);
             if (this.addPodzol) {
                 cover = new ReplaceRandomLayer(LAYER_PODZOL, LAYER_DIRT, 3, 8000, cover);
             }
-            cover = new GenLayerFuzzyZoom(9000, cover);
+            cover = new FuzzyZoomLayer(9000, cover);
             return cover;
         }
 
         @Override
         public void populateBlockCover(Random random, int originX, int originZ, IBlockState[] coverBlockBuffer) {
-            int[] cover = this.sampleChunk(this.coverSelector, originX, originZ);
-            int[] water = this.sampleChunk(this.waterSelector, originX, originZ);
+            int[] cover = this.sampleChunk(this.coverSelector, this.coverBuffer, originX, originZ);
+            int[] water = this.sampleChunk(this.waterSelector, this.waterBuffer, originX, originZ);
             this.iterateChunk((localX, localZ) -> {
                 int index = localX + localZ * 16;
                 if (water[index] == 3) {
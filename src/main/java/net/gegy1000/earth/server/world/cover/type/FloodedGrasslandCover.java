@@ -6,19 +6,20 @@ import net.gegy1000.earth.server.world.cover.EarthSurfaceGenerator;
 import net.gegy1000.terrarium.server.world.cover.CoverBiomeSelectors;
 import net.gegy1000.terrarium.server.world.cover.CoverDecorationGenerator;
 import net.gegy1000.terrarium.server.world.cover.CoverType;
+import net.gegy1000.terrarium.server.world.cover.generator.layer.FuzzyZoomLayer;
 import net.gegy1000.terrarium.server.world.cover.generator.layer.OutlineEdgeLayer;
 import net.gegy1000.terrarium.server.world.cover.generator.layer.ReplaceRandomLayer;
+import net.gegy1000.terrarium.server.world.cover.generator.layer.SelectionLayer;
 import net.gegy1000.terrarium.server.world.cover.generator.layer.SelectionSeedLayer;
+import net.gegy1000.terrarium.server.world.cover.generator.layer.SelectionStack;
+import net.gegy1000.terrarium.server.world.cover.generator.layer.VoronoiZoomLayer;
+import net.gegy1000.terrarium.server.world.cover.generator.layer.ZoomLayer;
 import net.gegy1000.terrarium.server.world.cover.generator.primer.CoverPrimer;
 import net.gegy1000.terrarium.server.world.pipeline.source.tile.ShortRasterTile;
 import net.minecraft.block.BlockDoublePlant;
 import net.minecraft.block.BlockLiquid;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.world.biome.Biome;
-import net.minecraft.world.gen.layer.GenLayer;
-import net.minecraft.world.gen.layer.GenLayerFuzzyZoom;
-import net.minecraft.world.gen.layer.GenLayerVoronoiZoom;
-import net.minecraft.world.gen.layer.GenLayerZoom;
 
 import java.util.Random;
 
@@ -43,43 +44,43 @@ public class FloodedGrasslandCover extends EarthCoverType {
     }
 
     private static class Surface extends EarthSurfaceGenerator {
-        private final GenLayer coverSelector;
-        private final GenLayer waterSelector;
-        private final GenLayer grassSelector;
+        private final SelectionStack coverSelector;
+        private final SelectionStack waterSelector;
+        private final SelectionStack grassSelector;
+        private final int[] coverBuffer = new int[16 * 16];
+        private final int[] waterBuffer = new int[16 * 16];
+        private final int[] grassBuffer = new int[16 * 16];
 
         private Surface(EarthCoverContext context, CoverType<EarthCoverContext> coverType) {
             super(context, coverType);
 
-            GenLayer cover = new SelectionSeedLayer(2, 1);
+            SelectionLayer cover = new SelectionSeedLayer(2, 1);
             cover = new ReplaceRandomLayer(LAYER_GRASS, LAYER_DIRT, 2, 6000, cover);
-            cover = new GenLayerVoronoiZoom(7000, cover);
+            cover = new VoronoiZoomLayer(7000, cover);
             cover = new ReplaceRandomLayer(LAYER_DIRT, LAYER_PODZOL, 3, 8000, cover);
-            cover = new GenLayerFuzzyZoom(9000, cover);
+            cover = new FuzzyZoomLayer(9000, cover);
 
-            this.coverSelector = cover;
-            this.coverSelector.initWorldGenSeed(context.getSeed());
+            this.coverSelector = SelectionStack.compile(cover, context.getSeed());
 
-            GenLayer water = new SelectionSeedLayer(2, 2);
-            water = new GenLayerFuzzyZoom(11000, water);
-            water = new GenLayerVoronoiZoom(12000, water);
+            SelectionLayer water = new SelectionSeedLayer(2, 2);
+            water = new FuzzyZoomLayer(11000, water);
+            water = new VoronoiZoomLayer(12000, water);
             water = new OutlineEdgeLayer(3, 13000, water);
-            water = new GenLayerZoom(14000, water);
+            water = new ZoomLayer(14000, water);
 
-            this.waterSelector = water;
-            this.waterSelector.initWorldGenSeed(context.getSeed());
+            this.waterSelector = SelectionStack.compile(water, context.getSeed());
 
-            GenLayer grass = new SelectionSeedLayer(2, 3000);
-            grass = new GenLayerVoronoiZoom(1000, grass);
-            grass = new GenLayerFuzzyZoom(2000, grass);
+            SelectionLayer grass = new SelectionSeedLayer(2, 3000);
+            grass = new VoronoiZoomLayer(1000, grass);
+            grass = new FuzzyZoomLayer(2000, grass);
 
-            this.grassSelector = grass;
-            this.grassSelector.initWorldGenSeed(context.getSeed());
+            this.grassSelector = SelectionStack.compile(grass, context.getSeed());
         }
 
         @Override
         public void populateBlockCover(Random random, int originX, int originZ, IBlockState[] coverBlockBuffer) {
-            int[] cover = this.sampleChunk(this.coverSelector, originX, originZ);
-            int[] water = this.sampleChunk(this.waterSelector, originX, originZ);
+            int[] cover = this.sampleChunk(this.coverSelector, this.coverBuffer, originX, originZ);
+            int[] water = this.sampleChunk(this.waterSelector, this.waterBuffer, originX, originZ);
             this.iterateChunk((localX, localZ) -> {
                 int index = localX + localZ * 16;
                 if (water[index] == 3) {
@@ -109,7 +110,7 @@ public class FloodedGrasslandCover extends EarthCoverType {
         public void decorate(int originX, int originZ, CoverPrimer primer, Random random) {
             ShortRasterTile heightRaster = this.context.getHeightRaster();
 
-            int[] grassLayer = this.sampleChunk(this.grassSelector, originX, originZ);
+            int[] grassLayer = this.sampleChunk(this.grassSelector, this.grassBuffer, originX, originZ);
 
             this.iterateChunk((localX, localZ) -> {
                 int index = localX + localZ * 16;
@@ -5,16 +5,17 @@ import net.gegy1000.earth.server.world.cover.EarthCoverType;
 import net.gegy1000.earth.server.world.cover.EarthDecorationGenerator;
 import net.gegy1000.earth.server.world.cover.EarthSurfaceGenerator;
 import net.gegy1000.terrarium.server.world.cover.CoverType;
+import net.gegy1000.terrarium.server.world.cover.generator.layer.FuzzyZoomLayer;
 import net.gegy1000.terrarium.server.world.cover.generator.layer.ReplaceRandomLayer;
 import net.gegy1000.terrarium.server.world.cover.generator.layer.SelectWeightedLayer;
+import net.gegy1000.terrarium.server.world.cover.generator.layer.SelectionLayer;
 import net.gegy1000.terrarium.server.world.cover.generator.layer.SelectionSeedLayer;
+import net.gegy1000.terrarium.server.world.cover.generator.layer.SelectionStack;
+import net.gegy1000.terrarium.server.world.cover.generator.layer.VoronoiZoomLayer;
 import net.gegy1000.terrarium.server.world.cover.generator.primer.CoverPrimer;
 import net.gegy1000.terrarium.server.world.pipeline.source.tile.ShortRasterTile;
 import net.minecraft.block.material.Material;
 import net.minecraft.block.state.IBlockState;
-import net.minecraft.world.gen.layer.GenLayer;
-import net.minecraft.world.gen.layer.GenLayerFuzzyZoom;
-import net.minecraft.world.gen.layer.GenLayerVoronoiZoom;
 
 import java.util.Random;
 
@@ -31,36 +32,35 @@ public abstract class ForestCover extends EarthCoverType {
     }
 
     protected static abstract class Decoration extends EarthDecorationGenerator {
-        protected final GenLayer clearingSelector;
-        protected final GenLayer heightOffsetSelector;
+        protected final SelectionStack clearingSelector;
+        protected final SelectionStack heightOffsetSelector;
+        protected final int[] clearingBuffer = new int[16 * 16];
+        protected final int[] heightOffsetBuffer = new int[16 * 16];
 
         protected Decoration(EarthCoverContext context, CoverType<EarthCoverContext> coverType) {
             super(context, coverType);
 
-            GenLayer clearing = new SelectWeightedLayer(2,
+            SelectionLayer clearing = new SelectWeightedLayer(2,
                     new SelectWeightedLayer.Entry(0, 6),
                     new SelectWeightedLayer.Entry(1, 4));
-            clearing = new GenLayerVoronoiZoom(4000, clearing);
+            clearing = new VoronoiZoomLayer(4000, clearing);
             clearing = new ReplaceRandomLayer(0, 2, 16, 6000, clearing);
             clearing = new ReplaceRandomLayer(1, 0, 10, 7000, clearing);
-            clearing = new GenLayerFuzzyZoom(5000, clearing);
-            clearing = new GenLayerVoronoiZoom(8000, clearing);
-            clearing = new GenLayerFuzzyZoom(9000, clearing);
+            clearing = new FuzzyZoomLayer(5000, clearing);
+            clearing = new VoronoiZoomLayer(8000, clearing);
+            clearing = new FuzzyZoomLayer(9000, clearing);
 
-            this.clearingSelector = clearing;
+            this.clearingSelector = SelectionStack.compile(clearing, context.getSeed());
 
-            this.clearingSelector.initWorldGenSeed(context.getSeed());
+            SelectionLayer heightOffset = new SelectionSeedLayer((this.getMaxHeightOffset() / HEIGHT_STEP) + 1, 3);
+            heightOffset = new VoronoiZoomLayer(10000, heightOffset);
+            heightOffset = new FuzzyZoomLayer(11000, heightOffset);
+            heightOffset = new VoronoiZoomLayer(12000, heightOffset);
+            heightOffset = new FuzzyZoomLayer(13000, heightOffset);
+            heightOffset = new VoronoiZoomLayer(14000, heightOffset);
+            heightOffset = new FuzzyZoomLayer(15000, heightOffset);
 
-            GenLayer heightOffset = new SelectionSeedLayer((this.getMaxHeightOffset() / HEIGHT_STEP) + 1, 3);
-            heightOffset = new GenLayerVoronoiZoom(10000, heightOffset);
-            heightOffset = new GenLayerFuzzyZoom(11000, heightOffset);
-            heightOffset = new GenLayerVoronoiZoom(12000, heightOffset);
-            heightOffset = new GenLayerFuzzyZoom(13000, heightOffset);
-            heightOffset = new GenLayerVoronoiZoom(14000, heightOffset);
-            heightOffset = new GenLayerFuzzyZoom(15000, heightOffset);
-
-            this.heightOffsetSelector = heightOffset;
-            this.heightOffsetSelector.initWorldGenSeed(context.getSeed());
+            this.heightOffsetSelector = SelectionStack.compile(heightOffset, context.getSeed());
         }
 
         protected int sampleHeightOffset(int[] heightOffsetLayer, int localX, int localZ) {
@@ -73,20 +73,19 @@ public abstract class ForestCover extends EarthCoverType {
     }
 
     protected static class Surface extends EarthSurfaceGenerator {
-        protected final GenLayer coverSelector;
+        protected final SelectionStack coverSelector;
 
         protected Surface(EarthCoverContext context, CoverType<EarthCoverContext> coverType) {
             super(context, coverType);
 
-            this.coverSelector = this.createCoverSelector();
-            this.coverSelector.initWorldGenSeed(this.context.getSeed());
+            this.coverSelector = SelectionStack.compile(this.createCoverSelector(), this.context.getSeed());
         }
 
-        protected GenLayer createCoverSelector() {
-            GenLayer cover = new SelectionSeedLayer(2, 1);
-            cover = new GenLayerVoronoiZoom(1000, cover);
+        protected SelectionLayer createCoverSelector() {
+            SelectionLayer cover = new SelectionSeedLayer(2, 1);
+            cover = new VoronoiZoomLayer(1000, cover);
             cover = new ReplaceRandomLayer(ForestCover.LAYER_DIRT, ForestCover.LAYER_PODZOL, 4, 2000, cover);
-            cover = new GenLayerFuzzyZoom(3000, cover);
+            cover = new FuzzyZoomLayer(3000, cover);
             return cover;
         }
 
@@ -6,8 +6,8 @@ import net.gegy1000.earth.server.world.cover.LatitudinalZone;
 import net.gegy1000.terrarium.server.world.cover.CoverBiomeSelectors;
 import net.gegy1000.terrarium.server.world.cover.CoverType;
 import net.gegy1000.terrarium.server.world.feature.tree.GenerousTreeGenerator;
+import net.gegy1000.terrarium.server.world.pipeline.composer.decoration.DecorationWriteBuffer;
 import net.minecraft.init.Blocks;
-import net.minecraft.world.World;
 import net.minecraft.world.biome.Biome;
 
 import java.util.Random;
@@ -34,31 +34,29 @@ public class FreshFloodedForestCover extends FloodedForestCover {
         }
 
         @Override
-        public void decorate(int originX, int originZ, Random random) {
-            World world = this.context.getWorld();
-
+        public void decorate(DecorationWriteBuffer writeBuffer, int originX, int originZ, Random random) {
             LatitudinalZone zone = this.context.getZone(originX, originZ);
 
             this.preventIntersection(1);
 
-            int[] clearingLayer = this.sampleChunk(this.clearingSelector, originX, originZ);
-            int[] heightOffsetLayer = this.sampleChunk(this.heightOffsetSelector, originX, originZ);
+            int[] clearingLayer = this.sampleChunk(this.clearingSelector, this.clearingBuffer, originX, originZ);
+            int[] heightOffsetLayer = this.sampleChunk(this.heightOffsetSelector, this.heightOffsetBuffer, originX, originZ);
 
-            this.decorateScatter(random, originX, originZ, this.range(random, 10, 14), (pos, localX, localZ) -> {
+            this.decorateScatter(writeBuffer, random, originX, originZ, this.range(random, 10, 14), (pos, localX, localZ) -> {
                 int index = localX + localZ * 16;
                 if (clearingLayer[index] == 0) {
                     int height = this.range(random, 5, 8) + this.sampleHeightOffset(heightOffsetLayer, localX, localZ);
                     if (zone == LatitudinalZone.TROPICS || zone == LatitudinalZone.SUBTROPICS) {
                         if (random.nextInt(3) == 0) {
-                            new GenerousTreeGenerator(false, height, OAK_LOG, OAK_LEAF, true, false).generate(world, random, pos);
+                            writeBuffer.generate(new GenerousTreeGenerator(false, height, OAK_LOG, OAK_LEAF, true, false), random, pos);
                         } else {
-                            new GenerousTreeGenerator(false, height, JUNGLE_LOG, JUNGLE_LEAF, true, true).generate(world, random, pos);
+                            writeBuffer.generate(new GenerousTreeGenerator(false, height, JUNGLE_LOG, JUNGLE_LEAF, true, true), random, pos);
                         }
                     } else {
                         if (random.nextInt(3) != 0) {
-                            new GenerousTreeGenerator(false, height, OAK_LOG, OAK_LEAF, true, false).generate(world, random, pos);
+                            writeBuffer.generate(new GenerousTreeGenerator(false, height, OAK_LOG, OAK_LEAF, true, false), random, pos);
                         } else {
-                            new GenerousTreeGenerator(false, height, BIRCH_LOG, BIRCH_LEAF, true, false).generate(world, random, pos);
+                            writeBuffer.generate(new GenerousTreeGenerator(false, height, BIRCH_LOG, BIRCH_LEAF, true, false), random, pos);
                         }
                     }
                 }
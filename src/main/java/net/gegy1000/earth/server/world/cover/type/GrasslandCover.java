@@ -6,16 +6,18 @@ import net.gegy1000.earth.server.world.cover.EarthDecorationGenerator;
 import net.gegy1000.earth.server.world.cover.EarthSurfaceGenerator;
 import net.gegy1000.terrarium.server.world.cover.CoverBiomeSelectors;
 import net.gegy1000.terrarium.server.world.cover.CoverType;
+import net.gegy1000.terrarium.server.world.cover.generator.layer.FuzzyZoomLayer;
 import net.gegy1000.terrarium.server.world.cover.generator.layer.ReplaceRandomLayer;
+import net.gegy1000.terrarium.server.world.cover.generator.layer.SelectionLayer;
 import net.gegy1000.terrarium.server.world.cover.generator.layer.SelectionSeedLayer;
+import net.gegy1000.terrarium.server.world.cover.generator.layer.SelectionStack;
+import net.gegy1000.terrarium.server.world.cover.generator.layer.VoronoiZoomLayer;
 import net.gegy1000.terrarium.server.world.cover.generator.primer.CoverPrimer;
+import net.gegy1000.terrarium.server.world.pipeline.composer.decoration.DecorationWriteBuffer;
 import net.gegy1000.terrarium.server.world.pipeline.source.tile.ShortRasterTile;
 import net.minecraft.block.BlockDoublePlant;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.world.biome.Biome;
-import net.minecraft.world.gen.layer.GenLayer;
-import net.minecraft.world.gen.layer.GenLayerFuzzyZoom;
-import net.minecraft.world.gen.layer.GenLayerVoronoiZoom;
 
 import java.util.Random;
 
@@ -40,26 +42,25 @@ public class GrasslandCover extends EarthCoverType {
     }
 
     private static class Surface extends EarthSurfaceGenerator {
-        private final GenLayer coverSelector;
-        private final GenLayer grassSelector;
+        private final SelectionStack coverSelector;
+        private final SelectionStack grassSelector;
+        private final int[] grassBuffer = new int[16 * 16];
 
         private Surface(EarthCoverContext context, CoverType<EarthCoverContext> coverType) {
             super(context, coverType);
 
-            GenLayer cover = new SelectionSeedLayer(2, 1);
-            cover = new GenLayerVoronoiZoom(1000, cover);
+            SelectionLayer cover = new SelectionSeedLayer(2, 1);
+            cover = new VoronoiZoomLayer(1000, cover);
             cover = new ReplaceRandomLayer(LAYER_DIRT, LAYER_PODZOL, 6, 2000, cover);
-            cover = new GenLayerFuzzyZoom(3000, cover);
+            cover = new FuzzyZoomLayer(3000, cover);
 
-            this.coverSelector = cover;
-            this.coverSelector.initWorldGenSeed(context.getSeed());
+            this.coverSelector = SelectionStack.compile(cover, context.getSeed());
 
-            GenLayer grass = new SelectionSeedLayer(2, 3000);
-            grass = new GenLayerVoronoiZoom(1000, grass);
-            grass = new GenLayerFuzzyZoom(2000, grass);
+            SelectionLayer grass = new SelectionSeedLayer(2, 3000);
+            grass = new VoronoiZoomLayer(1000, grass);
+            grass = new FuzzyZoomLayer(2000, grass);
 
-            this.grassSelector = grass;
-            this.grassSelector.initWorldGenSeed(context.getSeed());
+            this.grassSelector = SelectionStack.compile(grass, context.getSeed());
         }
 
         @Override
@@ -79,7 +80,7 @@ public class GrasslandCover extends EarthCoverType {
         @Override
         public void decorate(int originX, int originZ, CoverPrimer primer, Random random) {
             ShortRasterTile heightRaster = this.context.getHeightRaster();
-            int[] grassLayer = this.sampleChunk(this.grassSelector, originX, originZ);
+            int[] grassLayer = this.sampleChunk(this.grassSelector, this.grassBuffer, originX, originZ);
 
             this.iterateChunk((localX, localZ) -> {
                 int index = localX + localZ * 16;
@@ -104,8 +105,8 @@ public class GrasslandCover extends EarthCoverType {
         }
 
         @Override
-        public void decorate(int originX, int originZ, Random random) {
-            this.decorateScatter(random, originX, originZ, this.range(random, -1, 2), (pos, localX, localZ) -> ACACIA_SMALL_SHRUB.generate(this.context.getWorld(), random, pos));
+        public void decorate(DecorationWriteBuffer writeBuffer, int originX, int originZ, Random random) {
+            this.decorateScatter(writeBuffer, random, originX, originZ, this.range(random, -1, 2), (pos, localX, localZ) -> writeBuffer.generate(ACACIA_SMALL_SHRUB, random, pos));
         }
     }
 }
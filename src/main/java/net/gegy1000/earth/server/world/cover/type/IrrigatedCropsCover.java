@@ -7,8 +7,12 @@ import net.gegy1000.terrarium.server.world.cover.CoverBiomeSelectors;
 import net.gegy1000.terrarium.server.world.cover.CoverDecorationGenerator;
 import net.gegy1000.terrarium.server.world.cover.CoverType;
 import net.gegy1000.terrarium.server.world.cover.generator.layer.ConnectHorizontalLayer;
+import net.gegy1000.terrarium.server.world.cover.generator.layer.FuzzyZoomLayer;
 import net.gegy1000.terrarium.server.world.cover.generator.layer.OutlineEdgeLayer;
+import net.gegy1000.terrarium.server.world.cover.generator.layer.SelectionLayer;
 import net.gegy1000.terrarium.server.world.cover.generator.layer.SelectionSeedLayer;
+import net.gegy1000.terrarium.server.world.cover.generator.layer.SelectionStack;
+import net.gegy1000.terrarium.server.world.cover.generator.layer.VoronoiZoomLayer;
 import net.gegy1000.terrarium.server.world.cover.generator.primer.CoverPrimer;
 import net.gegy1000.terrarium.server.world.pipeline.source.tile.ShortRasterTile;
 import net.minecraft.block.BlockCrops;
@@ -16,9 +20,6 @@ import net.minecraft.block.BlockFarmland;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.init.Blocks;
 import net.minecraft.world.biome.Biome;
-import net.minecraft.world.gen.layer.GenLayer;
-import net.minecraft.world.gen.layer.GenLayerFuzzyZoom;
-import net.minecraft.world.gen.layer.GenLayerVoronoiZoom;
 
 import java.util.Random;
 
@@ -29,7 +30,7 @@ public class IrrigatedCropsCover extends EarthCoverType {
     private static final int LAYER_CARROTS = 1;
     private static final int LAYER_POTATOES = 2;
 
-    private static final int LAYER_FENCE = 65535;
+    private static final int LAYER_FENCE = 3;
 
     protected static final IBlockState FARMLAND = Blocks.FARMLAND.getDefaultState().withProperty(BlockFarmland.MOISTURE, 7);
 
@@ -55,20 +56,20 @@ public class IrrigatedCropsCover extends EarthCoverType {
     }
 
     private static class Surface extends EarthSurfaceGenerator {
-        private final GenLayer cropSelector;
+        private final SelectionStack cropSelector;
+        private final int[] cropBuffer = new int[16 * 16];
 
         private Surface(EarthCoverContext context, CoverType<EarthCoverContext> coverType) {
             super(context, coverType);
 
-            GenLayer layer = new SelectionSeedLayer(CROP_COUNT, 1);
-            layer = new GenLayerVoronoiZoom(1000, layer);
-            layer = new GenLayerFuzzyZoom(2000, layer);
-            layer = new GenLayerVoronoiZoom(3000, layer);
+            SelectionLayer layer = new SelectionSeedLayer(CROP_COUNT, 1);
+            layer = new VoronoiZoomLayer(1000, layer);
+            layer = new FuzzyZoomLayer(2000, layer);
+            layer = new VoronoiZoomLayer(3000, layer);
             layer = new OutlineEdgeLayer(LAYER_FENCE, 4000, layer);
             layer = new ConnectHorizontalLayer(LAYER_FENCE, 5000, layer);
 
-            this.cropSelector = layer;
-            this.cropSelector.initWorldGenSeed(context.getSeed());
+            this.cropSelector = SelectionStack.compile(layer, context.getSeed());
         }
 
         @Override
@@ -91,7 +92,7 @@ public class IrrigatedCropsCover extends EarthCoverType {
         @Override
         public void decorate(int originX, int originZ, CoverPrimer primer, Random random) {
             ShortRasterTile heightRaster = this.context.getHeightRaster();
-            int[] cropLayer = this.sampleChunk(this.cropSelector, originX, originZ);
+            int[] cropLayer = this.sampleChunk(this.cropSelector, this.cropBuffer, originX, originZ);
 
             this.iterateChunk((localX, localZ) -> {
                 int y = heightRaster.getShort(localX, localZ);
@@ -5,8 +5,8 @@ import net.gegy1000.earth.server.world.cover.EarthDecorationGenerator;
 import net.gegy1000.earth.server.world.cover.LatitudinalZone;
 import net.gegy1000.terrarium.server.world.cover.CoverType;
 import net.gegy1000.terrarium.server.world.feature.tree.GenerousTreeGenerator;
+import net.gegy1000.terrarium.server.world.pipeline.composer.decoration.DecorationWriteBuffer;
 import net.minecraft.init.Biomes;
-import net.minecraft.world.World;
 import net.minecraft.world.biome.Biome;
 
 import java.util.Random;
@@ -28,44 +28,43 @@ public class MixedBroadNeedleleafCover extends ForestCover {
         }
 
         @Override
-        public void decorate(int originX, int originZ, Random random) {
-            World world = this.context.getWorld();
+        public void decorate(DecorationWriteBuffer writeBuffer, int originX, int originZ, Random random) {
             LatitudinalZone zone = this.context.getZone(originX, originZ);
 
             this.preventIntersection(1);
 
-            int[] clearingLayer = this.sampleChunk(this.clearingSelector, originX, originZ);
-            int[] heightOffsetLayer = this.sampleChunk(this.heightOffsetSelector, originX, originZ);
+            int[] clearingLayer = this.sampleChunk(this.clearingSelector, this.clearingBuffer, originX, originZ);
+            int[] heightOffsetLayer = this.sampleChunk(this.heightOffsetSelector, this.heightOffsetBuffer, originX, originZ);
 
-            this.decorateScatter(random, originX, originZ, this.getSpruceCount(random, zone), (pos, localX, localZ) -> {
+            this.decorateScatter(writeBuffer, random, originX, originZ, this.getSpruceCount(random, zone), (pos, localX, localZ) -> {
                 if (clearingLayer[localX + localZ * 16] == 0) {
                     if (random.nextInt(3) == 0) {
-                        PINE_TREE.generate(world, random, pos);
+                        writeBuffer.generate(PINE_TREE, random, pos);
                     } else {
-                        SPRUCE_TREE.generate(world, random, pos);
+                        writeBuffer.generate(SPRUCE_TREE, random, pos);
                     }
                 }
             });
 
-            this.decorateScatter(random, originX, originZ, this.getOakCount(random, zone), (pos, localX, localZ) -> {
+            this.decorateScatter(writeBuffer, random, originX, originZ, this.getOakCount(random, zone), (pos, localX, localZ) -> {
                 if (clearingLayer[localX + localZ * 16] == 0) {
                     int height = this.range(random, 5, 7) + this.sampleHeightOffset(heightOffsetLayer, localX, localZ);
-                    new GenerousTreeGenerator(false, height, OAK_LOG, OAK_LEAF, false, false).generate(world, random, pos);
+                    writeBuffer.generate(new GenerousTreeGenerator(false, height, OAK_LOG, OAK_LEAF, false, false), random, pos);
                 }
             });
 
-            this.decorateScatter(random, originX, originZ, this.getBirchCount(random, zone), (pos, localX, localZ) -> {
+            this.decorateScatter(writeBuffer, random, originX, originZ, this.getBirchCount(random, zone), (pos, localX, localZ) -> {
                 if (clearingLayer[localX + localZ * 16] == 0) {
                     int height = this.range(random, 5, 7) + this.sampleHeightOffset(heightOffsetLayer, localX, localZ);
-                    new GenerousTreeGenerator(false, height, BIRCH_LOG, BIRCH_LEAF, false, false).generate(world, random, pos);
+                    writeBuffer.generate(new GenerousTreeGenerator(false, height, BIRCH_LOG, BIRCH_LEAF, false, false), random, pos);
                 }
             });
 
-            this.decorateScatter(random, originX, originZ, this.getJungleCount(random, zone), (pos, localX, localZ) -> {
+            this.decorateScatter(writeBuffer, random, originX, originZ, this.getJungleCount(random, zone), (pos, localX, localZ) -> {
                 int index = localX + localZ * 16;
                 if (clearingLayer[index] == 0) {
                     int height = this.range(random, 5, 9) + this.sampleHeightOffset(heightOffsetLayer, localX, localZ);
-                    new GenerousTreeGenerator(false, height, JUNGLE_LOG, JUNGLE_LEAF, true, true).generate(world, random, pos);
+                    writeBuffer.generate(new GenerousTreeGenerator(false, height, JUNGLE_LOG, JUNGLE_LEAF, true, true), random, pos);
                 }
             });
 
@@ -6,7 +6,7 @@ import net.gegy1000.earth.server.world.cover.LatitudinalZone;
 import net.gegy1000.terrarium.server.world.cover.CoverBiomeSelectors;
 import net.gegy1000.terrarium.server.world.cover.CoverType;
 import net.gegy1000.terrarium.server.world.feature.tree.GenerousTreeGenerator;
-import net.minecraft.world.World;
+import net.gegy1000.terrarium.server.world.pipeline.composer.decoration.DecorationWriteBuffer;
 import net.minecraft.world.biome.Biome;
 
 import java.util.Random;
@@ -28,46 +28,45 @@ public class OpenBroadleafDeciduousCover extends ForestCover {
         }
 
         @Override
-        public void decorate(int originX, int originZ, Random random) {
-            World world = this.context.getWorld();
+        public void decorate(DecorationWriteBuffer writeBuffer, int originX, int originZ, Random random) {
             LatitudinalZone zone = this.context.getZone(originX, originZ);
             
             this.preventIntersection(1);
 
-            int[] clearingLayer = this.sampleChunk(this.clearingSelector, originX, originZ);
-            int[] heightOffsetLayer = this.sampleChunk(this.heightOffsetSelector, originX, originZ);
+            int[] clearingLayer = this.sampleChunk(this.clearingSelector, this.clearingBuffer, originX, originZ);
+            int[] heightOffsetLayer = this.sampleChunk(this.heightOffsetSelector, this.heightOffsetBuffer, originX, originZ);
 
             int oakCount = this.getOakCount(random, zone);
-            this.decorateScatter(random, originX, originZ, oakCount, (pos, localX, localZ) -> {
+            this.decorateScatter(writeBuffer, random, originX, originZ, oakCount, (pos, localX, localZ) -> {
                 if (clearingLayer[localX + localZ * 16] == 0) {
                     int height = this.range(random, 4, 6) + this.sampleHeightOffset(heightOffsetLayer, localX, localZ);
-                    new GenerousTreeGenerator(false, height, OAK_LOG, OAK_LEAF, false, false).generate(world, random, pos);
+                    writeBuffer.generate(new GenerousTreeGenerator(false, height, OAK_LOG, OAK_LEAF, false, false), random, pos);
                 }
             });
 
             int birchCount = this.getBirchCount(random, zone);
-            this.decorateScatter(random, originX, originZ, birchCount, (pos, localX, localZ) -> {
+            this.decorateScatter(writeBuffer, random, originX, originZ, birchCount, (pos, localX, localZ) -> {
                 if (clearingLayer[localX + localZ * 16] == 0) {
                     int height = this.range(random, 4, 6) + this.sampleHeightOffset(heightOffsetLayer, localX, localZ);
-                    new GenerousTreeGenerator(false, height, BIRCH_LOG, BIRCH_LEAF, false, false).generate(world, random, pos);
+                    writeBuffer.generate(new GenerousTreeGenerator(false, height, BIRCH_LOG, BIRCH_LEAF, false, false), random, pos);
                 }
             });
 
             int jungleCount = this.getJungleCount(random, zone);
-            this.decorateScatter(random, originX, originZ, jungleCount, (pos, localX, localZ) -> {
+            this.decorateScatter(writeBuffer, random, originX, originZ, jungleCount, (pos, localX, localZ) -> {
                 if (clearingLayer[localX + localZ * 16] == 0) {
                     int height = this.range(random, 4, 8) + this.sampleHeightOffset(heightOffsetLayer, localX, localZ);
-                    new GenerousTreeGenerator(false, height, JUNGLE_LOG, JUNGLE_LEAF, false, false).generate(world, random, pos);
+                    writeBuffer.generate(new GenerousTreeGenerator(false, height, JUNGLE_LOG, JUNGLE_LEAF, false, false), random, pos);
                 }
             });
 
             this.stopIntersectionPrevention();
 
-            this.decorateScatter(random, originX, originZ, oakCount, (pos, localX, localZ) -> OAK_SMALL_SHRUB.generate(world, random, pos));
+            this.decorateScatter(writeBuffer, random, originX, originZ, oakCount, (pos, localX, localZ) -> writeBuffer.generate(OAK_SMALL_SHRUB, random, pos));
 
-            this.decorateScatter(random, originX, originZ, birchCount, (pos, localX, localZ) -> BIRCH_SMALL_SHRUB.generate(world, random, pos));
+            this.decorateScatter(writeBuffer, random, originX, originZ, birchCount, (pos, localX, localZ) -> writeBuffer.generate(BIRCH_SMALL_SHRUB, random, pos));
 
-            this.decorateScatter(random, originX, originZ, jungleCount, (pos, localX, localZ) -> JUNGLE_SMALL_SHRUB.generate(world, random, pos));
+            this.decorateScatter(writeBuffer, random, originX, originZ, jungleCount, (pos, localX, localZ) -> writeBuffer.generate(JUNGLE_SMALL_SHRUB, random, pos));
         }
 
         @Override
@@ -6,7 +6,7 @@ import net.gegy1000.earth.server.world.cover.LatitudinalZone;
 import net.gegy1000.terrarium.server.world.cover.CoverBiomeSelectors;
 import net.gegy1000.terrarium.server.world.cover.CoverType;
 import net.gegy1000.terrarium.server.world.feature.tree.GenerousTreeGenerator;
-import net.minecraft.world.World;
+import net.gegy1000.terrarium.server.world.pipeline.composer.decoration.DecorationWriteBuffer;
 import net.minecraft.world.biome.Biome;
 
 import java.util.Random;
@@ -28,40 +28,39 @@ public class OpenNeedleleafCover extends ForestCover {
         }
 
         @Override
-        public void decorate(int originX, int originZ, Random random) {
-            World world = this.context.getWorld();
+        public void decorate(DecorationWriteBuffer writeBuffer, int originX, int originZ, Random random) {
             LatitudinalZone zone = this.context.getZone(originX, originZ);
 
             this.preventIntersection(1);
 
-            int[] clearingLayer = this.sampleChunk(this.clearingSelector, originX, originZ);
-            int[] heightOffsetLayer = this.sampleChunk(this.heightOffsetSelector, originX, originZ);
+            int[] clearingLayer = this.sampleChunk(this.clearingSelector, this.clearingBuffer, originX, originZ);
+            int[] heightOffsetLayer = this.sampleChunk(this.heightOffsetSelector, this.heightOffsetBuffer, originX, originZ);
 
             int spruceCount = this.getSpruceCount(random, zone);
-            this.decorateScatter(random, originX, originZ, spruceCount, (pos, localX, localZ) -> {
+            this.decorateScatter(writeBuffer, random, originX, originZ, spruceCount, (pos, localX, localZ) -> {
                 if (clearingLayer[localX + localZ * 16] == 0) {
                     if (random.nextInt(3) == 0) {
-                        PINE_TREE.generate(world, random, pos);
+                        writeBuffer.generate(PINE_TREE, random, pos);
                     } else {
-                        SPRUCE_TREE.generate(world, random, pos);
+                        writeBuffer.generate(SPRUCE_TREE, random, pos);
                     }
                 }
             });
 
             int birchCount = this.getBirchCount(random, zone);
-            this.decorateScatter(random, originX, originZ, birchCount, (pos, localX, localZ) -> {
+            this.decorateScatter(writeBuffer, random, originX, originZ, birchCount, (pos, localX, localZ) -> {
                 if (clearingLayer[localX + localZ * 16] == 0) {
                     int height = this.range(random, 5, 7) + this.sampleHeightOffset(heightOffsetLayer, localX, localZ);
                     boolean vines = random.nextInt(4) == 0;
-                    new GenerousTreeGenerator(false, height, BIRCH_LOG, BIRCH_LEAF, vines, false).generate(world, random, pos);
+                    writeBuffer.generate(new GenerousTreeGenerator(false, height, BIRCH_LOG, BIRCH_LEAF, vines, false), random, pos);
                 }
             });
 
             this.stopIntersectionPrevention();
 
-            this.decorateScatter(random, originX, originZ, spruceCount, (pos, localX, localZ) -> SPRUCE_SMALL_SHRUB.generate(world, random, pos));
+            this.decorateScatter(writeBuffer, random, originX, originZ, spruceCount, (pos, localX, localZ) -> writeBuffer.generate(SPRUCE_SMALL_SHRUB, random, pos));
 
-            this.decorateScatter(random, originX, originZ, birchCount, (pos, localX, localZ) -> BIRCH_SMALL_SHRUB.generate(world, random, pos));
+            this.decorateScatter(writeBuffer, random, originX, originZ, birchCount, (pos, localX, localZ) -> writeBuffer.generate(BIRCH_SMALL_SHRUB, random, pos));
         }
 
         private int getSpruceCount(Random random, LatitudinalZone zone) {
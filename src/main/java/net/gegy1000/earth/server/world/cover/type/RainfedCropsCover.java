@@ -6,15 +6,16 @@ import net.gegy1000.earth.server.world.cover.EarthSurfaceGenerator;
 import net.gegy1000.terrarium.server.world.cover.CoverBiomeSelectors;
 import net.gegy1000.terrarium.server.world.cover.CoverDecorationGenerator;
 import net.gegy1000.terrarium.server.world.cover.CoverType;
+import net.gegy1000.terrarium.server.world.cover.generator.layer.FuzzyZoomLayer;
 import net.gegy1000.terrarium.server.world.cover.generator.layer.SelectWeightedLayer;
+import net.gegy1000.terrarium.server.world.cover.generator.layer.SelectionLayer;
+import net.gegy1000.terrarium.server.world.cover.generator.layer.SelectionStack;
+import net.gegy1000.terrarium.server.world.cover.generator.layer.VoronoiZoomLayer;
 import net.gegy1000.terrarium.server.world.cover.generator.primer.CoverPrimer;
 import net.gegy1000.terrarium.server.world.pipeline.source.tile.ShortRasterTile;
 import net.minecraft.block.BlockDoublePlant;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.world.biome.Biome;
-import net.minecraft.world.gen.layer.GenLayer;
-import net.minecraft.world.gen.layer.GenLayerFuzzyZoom;
-import net.minecraft.world.gen.layer.GenLayerVoronoiZoom;
 
 import java.util.Random;
 
@@ -41,29 +42,28 @@ public class RainfedCropsCover extends EarthCoverType {
     }
 
     private static class Surface extends EarthSurfaceGenerator {
-        private final GenLayer coverSelector;
-        private final GenLayer grassSelector;
+        private final SelectionStack coverSelector;
+        private final SelectionStack grassSelector;
+        private final int[] grassBuffer = new int[16 * 16];
 
         private Surface(EarthCoverContext context, CoverType<EarthCoverContext> coverType) {
             super(context, coverType);
 
-            GenLayer cover = new SelectWeightedLayer(10,
+            SelectionLayer cover = new SelectWeightedLayer(10,
                     new SelectWeightedLayer.Entry(LAYER_GRASS, 10),
                     new SelectWeightedLayer.Entry(LAYER_PODZOL, 4));
-            cover = new GenLayerVoronoiZoom(2000, cover);
-            cover = new GenLayerFuzzyZoom(3000, cover);
+            cover = new VoronoiZoomLayer(2000, cover);
+            cover = new FuzzyZoomLayer(3000, cover);
 
-            this.coverSelector = cover;
-            this.coverSelector.initWorldGenSeed(context.getSeed());
+            this.coverSelector = SelectionStack.compile(cover, context.getSeed());
 
-            GenLayer grass = new SelectWeightedLayer(50,
+            SelectionLayer grass = new SelectWeightedLayer(50,
                     new SelectWeightedLayer.Entry(LAYER_SHORT_GRASS, 10),
                     new SelectWeightedLayer.Entry(LAYER_TALL_GRASS, 5));
-            grass = new GenLayerFuzzyZoom(4000, grass);
-            grass = new GenLayerFuzzyZoom(5000, grass);
+            grass = new FuzzyZoomLayer(4000, grass);
+            grass = new FuzzyZoomLayer(5000, grass);
 
-            this.grassSelector = grass;
-            this.grassSelector.initWorldGenSeed(context.getSeed());
+            this.grassSelector = SelectionStack.compile(grass, context.getSeed());
         }
 
         @Override
@@ -81,7 +81,7 @@ public class RainfedCropsCover extends EarthCoverType {
         @Override
         public void decorate(int originX, int originZ, CoverPrimer primer, Random random) {
             ShortRasterTile heightRaster = this.context.getHeightRaster();
-            int[] grassLayer = this.sampleChunk(this.grassSelector, originX, originZ);
+            int[] grassLayer = this.sampleChunk(this.grassSelector, this.grassBuffer, originX, originZ);
 
             this.iterateChunk((localX, localZ) -> {
                 int y = heightRaster.getShort(localX, localZ);
@@ -6,11 +6,11 @@ import net.gegy1000.terrarium.server.world.cover.CoverBiomeSelectors;
 import net.gegy1000.terrarium.server.world.cover.CoverType;
 import net.gegy1000.terrarium.server.world.cover.generator.primer.CoverPrimer;
 import net.gegy1000.terrarium.server.world.feature.tree.GenerousTreeGenerator;
+import net.gegy1000.terrarium.server.world.pipeline.composer.decoration.DecorationWriteBuffer;
 import net.gegy1000.terrarium.server.world.pipeline.source.tile.ShortRasterTile;
 import net.minecraft.block.material.Material;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.world.World;
 import net.minecraft.world.biome.Biome;
 
 import java.util.Random;
@@ -58,25 +58,23 @@ public class SalineFloodedForestCover extends FloodedForestCover {
         }
 
         @Override
-        public void decorate(int originX, int originZ, Random random) {
-            World world = this.context.getWorld();
-
+        public void decorate(DecorationWriteBuffer writeBuffer, int originX, int originZ, Random random) {
             this.preventIntersection(1);
 
-            int[] clearingLayer = this.sampleChunk(this.clearingSelector, originX, originZ);
-            int[] heightOffsetLayer = this.sampleChunk(this.heightOffsetSelector, originX, originZ);
+            int[] clearingLayer = this.sampleChunk(this.clearingSelector, this.clearingBuffer, originX, originZ);
+            int[] heightOffsetLayer = this.sampleChunk(this.heightOffsetSelector, this.heightOffsetBuffer, originX, originZ);
 
-            this.decorateScatter(random, originX, originZ, this.range(random, 8, 10), (pos, localX, localZ) -> {
+            this.decorateScatter(writeBuffer, random, originX, originZ, this.range(random, 8, 10), (pos, localX, localZ) -> {
                 if (clearingLayer[localX + localZ * 16] == 0) {
                     int height = this.range(random, 5, 8) + this.sampleHeightOffset(heightOffsetLayer, localX, localZ);
                     BlockPos ground = pos.down();
-                    if (world.getBlockState(ground).getMaterial() == Material.SAND) {
-                        world.setBlockState(ground, COARSE_DIRT);
+                    if (writeBuffer.getBlockState(ground).getMaterial() == Material.SAND) {
+                        writeBuffer.setBlockState(ground, COARSE_DIRT);
                     }
                     if (random.nextInt(4) == 0) {
-                        new GenerousTreeGenerator(false, height, OAK_LOG, OAK_LEAF, false, false).generate(world, random, pos);
+                        writeBuffer.generate(new GenerousTreeGenerator(false, height, OAK_LOG, OAK_LEAF, false, false), random, pos);
                     } else {
-                        new GenerousTreeGenerator(false, height, BIRCH_LOG, BIRCH_LEAF, false, false).generate(world, random, pos);
+                        writeBuffer.generate(new GenerousTreeGenerator(false, height, BIRCH_LOG, BIRCH_LEAF, false, false), random, pos);
                     }
                 }
             });
@@ -5,15 +5,16 @@ import net.gegy1000.earth.server.world.cover.EarthCoverType;
 import net.gegy1000.earth.server.world.cover.EarthSurfaceGenerator;
 import net.gegy1000.terrarium.server.world.cover.CoverDecorationGenerator;
 import net.gegy1000.terrarium.server.world.cover.CoverType;
+import net.gegy1000.terrarium.server.world.cover.generator.layer.FuzzyZoomLayer;
+import net.gegy1000.terrarium.server.world.cover.generator.layer.SelectionContext;
+import net.gegy1000.terrarium.server.world.cover.generator.layer.SelectionLayer;
 import net.gegy1000.terrarium.server.world.cover.generator.layer.SelectionSeedLayer;
+import net.gegy1000.terrarium.server.world.cover.generator.layer.SelectionStack;
+import net.gegy1000.terrarium.server.world.cover.generator.layer.VoronoiZoomLayer;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.init.Biomes;
 import net.minecraft.init.Blocks;
 import net.minecraft.world.biome.Biome;
-import net.minecraft.world.gen.layer.GenLayer;
-import net.minecraft.world.gen.layer.GenLayerFuzzyZoom;
-import net.minecraft.world.gen.layer.GenLayerVoronoiZoom;
-import net.minecraft.world.gen.layer.IntCache;
 
 import java.util.Random;
 
@@ -34,19 +35,18 @@ public class WaterCover extends EarthCoverType {
     }
 
     private static class Surface extends EarthSurfaceGenerator {
-        private final GenLayer coverSelector;
+        private final SelectionStack coverSelector;
 
         private Surface(EarthCoverContext context, CoverType<EarthCoverContext> coverType) {
             super(context, coverType);
 
-            GenLayer layer = new SelectionSeedLayer(2, 1);
-            layer = new GenLayerFuzzyZoom(1000, layer);
+            SelectionLayer layer = new SelectionSeedLayer(2, 1);
+            layer = new FuzzyZoomLayer(1000, layer);
             layer = new CoverLayer(2000, layer);
-            layer = new GenLayerVoronoiZoom(3000, layer);
-            layer = new GenLayerFuzzyZoom(4000, layer);
+            layer = new VoronoiZoomLayer(3000, layer);
+            layer = new FuzzyZoomLayer(4000, layer);
 
-            this.coverSelector = layer;
-            this.coverSelector.initWorldGenSeed(context.getSeed());
+            this.coverSelector = SelectionStack.compile(layer, context.getSeed());
         }
 
         @Override
@@ -73,29 +73,25 @@ public class WaterCover extends EarthCoverType {
         }
     }
 
-    private static class CoverLayer extends GenLayer {
-        private CoverLayer(long seed, GenLayer parent) {
-            super(seed);
-            this.parent = parent;
+    private static class CoverLayer extends SelectionLayer {
+        private CoverLayer(long seed, SelectionLayer parent) {
+            super(seed, parent);
         }
 
         @Override
-        public int[] getInts(int areaX, int areaY, int areaWidth, int areaHeight) {
-            int[] parent = this.parent.getInts(areaX, areaY, areaWidth, areaHeight);
-            int[] result = IntCache.getIntCache(areaWidth * areaHeight);
-            for (int z = 0; z < areaHeight; z++) {
-                for (int x = 0; x < areaWidth; x++) {
-                    this.initChunkSeed(areaX + x, areaY + z);
-                    int index = x + z * areaWidth;
+        public void sample(SelectionContext context, int[] parent, int[] result, int x, int z, int width, int height) {
+            for (int localZ = 0; localZ < height; localZ++) {
+                for (int localX = 0; localX < width; localX++) {
+                    context.initChunkSeed(x + localX, z + localZ);
+                    int index = localX + localZ * width;
                     int sample = parent[index];
                     if (sample == 0) {
-                        result[index] = this.nextInt(2);
+                        result[index] = context.nextInt(2);
                     } else {
-                        result[index] = this.nextInt(20) == 0 ? 3 : 2;
+                        result[index] = context.nextInt(20) == 0 ? 3 : 2;
                     }
                 }
             }
-            return result;
         }
     }
 }
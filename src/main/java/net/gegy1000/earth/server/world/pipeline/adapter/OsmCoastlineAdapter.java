@@ -1,77 +1,56 @@
 package net.gegy1000.earth.server.world.pipeline.adapter;
 
-import com.vividsolutions.jts.geom.LineString;
-import com.vividsolutions.jts.geom.Point;
+import de.topobyte.osm4j.core.model.iface.OsmNode;
 import de.topobyte.osm4j.core.model.iface.OsmWay;
-import it.unimi.dsi.fastutil.objects.Object2IntMap;
-import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import de.topobyte.osm4j.core.resolve.EntityNotFoundException;
 import net.gegy1000.earth.server.world.cover.EarthCoverTypes;
 import net.gegy1000.earth.server.world.pipeline.source.osm.OsmDataParser;
 import net.gegy1000.earth.server.world.pipeline.source.tile.OsmTile;
+import net.gegy1000.terrarium.server.util.DistanceField;
 import net.gegy1000.terrarium.server.util.FloodFill;
-import net.gegy1000.terrarium.server.util.Interpolation;
-import net.gegy1000.terrarium.server.world.coordinate.Coordinate;
 import net.gegy1000.terrarium.server.world.coordinate.CoordinateState;
-import net.gegy1000.terrarium.server.world.cover.TerrariumCoverTypes;
 import net.gegy1000.terrarium.server.world.cover.CoverType;
+import net.gegy1000.terrarium.server.world.cover.TerrariumCoverTypes;
 import net.gegy1000.terrarium.server.world.generator.customization.GenerationSettings;
 import net.gegy1000.terrarium.server.world.pipeline.adapter.RegionAdapter;
-import net.gegy1000.terrarium.server.world.pipeline.adapter.debug.DebugImageWriter;
 import net.gegy1000.terrarium.server.world.pipeline.component.RegionComponentType;
 import net.gegy1000.terrarium.server.world.pipeline.source.tile.CoverRasterTile;
 import net.gegy1000.terrarium.server.world.pipeline.source.tile.ShortRasterTile;
 import net.gegy1000.terrarium.server.world.region.RegionData;
 import net.minecraft.util.math.MathHelper;
 
-import java.util.ArrayList;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Map;
-import java.util.function.Consumer;
-import java.util.stream.Collectors;
+import java.util.Arrays;
 
 public class OsmCoastlineAdapter implements RegionAdapter {
-    private static final DebugImageWriter.ColorSelector<Integer> COASTLINE_DEBUG = value -> {
-        int coastType = value & OsmCoastlineAdapter.COAST_TYPE_MASK;
-        switch (coastType) {
-            case OsmCoastlineAdapter.FREE_FLOOD:
-                return 0x404040;
-            case OsmCoastlineAdapter.COAST_UP:
-                return 0xFF0000;
-            case OsmCoastlineAdapter.COAST_DOWN:
-                return 0xFFFF00;
-            case OsmCoastlineAdapter.COAST_IGNORE:
-                return 0xFFFFFF;
-        }
-        int landType = value & OsmCoastlineAdapter.LAND_TYPE_MASK;
-        switch (landType) {
-            case OsmCoastlineAdapter.OCEAN:
-                return 0x0000FF;
-            case OsmCoastlineAdapter.LAND:
-                return 0x00FF00;
-            case OsmCoastlineAdapter.COAST:
-                return 0x009000;
-        }
-        return 0;
-    };
-
-    public static final int OCEAN = 0;
-    public static final int LAND = 1;
-    public static final int COAST = 2;
+    public static final byte UNCLASSIFIED = 0;
+    public static final byte OCEAN = 1;
+    public static final byte LAND = 2;
+    public static final byte COAST = 3;
 
-    public static final int COAST_UP = 4;
-    public static final int COAST_DOWN = 8;
-    public static final int FREE_FLOOD = 16;
-    public static final int COAST_IGNORE = 32;
-
-    public static final int LAND_TYPE_MASK = 3;
-    public static final int COAST_TYPE_MASK = 252;
+    private static final byte COAST_UP = 0;
+    private static final byte COAST_DOWN = 1;
 
     private final RegionComponentType<ShortRasterTile> heightComponent;
     private final RegionComponentType<CoverRasterTile> coverComponent;
     private final RegionComponentType<OsmTile> osmComponent;
     private final CoordinateState latLngCoordinateState;
 
+    private final DistanceField distanceField = new DistanceField();
+
+    private double[] pointX = new double[256];
+    private double[] pointZ = new double[256];
+    private int pointCount;
+
+    private int[] rowOffsets = new int[0];
+    private int[] rowCursors = new int[0];
+    private double[] crossingX = new double[256];
+    private byte[] crossingType = new byte[256];
+
+    private byte[] landmap = new byte[0];
+    private boolean[] landCoverMask = new boolean[0];
+
+    private final CoastWaterVisitor coastWaterVisitor = new CoastWaterVisitor();
+
     public OsmCoastlineAdapter(RegionComponentType<ShortRasterTile> heightComponent, RegionComponentType<CoverRasterTile> coverComponent, RegionComponentType<OsmTile> osmComponent, CoordinateState latLngCoordinateState) {
         this.heightComponent = heightComponent;
         this.coverComponent = coverComponent;
@@ -85,267 +64,269 @@ public class OsmCoastlineAdapter implements RegionAdapter {
         CoverRasterTile coverTile = data.getOrExcept(this.coverComponent);
         OsmTile osmTile = data.getOrExcept(this.osmComponent);
 
-        short[] heightBuffer = heightTile.getShortData();
-        CoverType[] coverBuffer = coverTile.getData();
+        this.pointCount = 0;
+        for (OsmWay way : osmTile.getWays().valueCollection()) {
+            if (OsmDataParser.hasTag(way, "natural", "coastline")) {
+                this.collectPoints(osmTile, way, x, z);
+            }
+        }
 
-        List<OsmWay> coastlines = osmTile.getWays().valueCollection().stream()
-                .filter(way -> OsmDataParser.hasTag(way, "natural", "coastline"))
-                .collect(Collectors.toList());
+        if (this.pointCount == 0) {
+            return;
+        }
 
-        if (!coastlines.isEmpty()) {
-            int[] landmap = new int[width * height];
-            for (int i = 0; i < landmap.length; i++) {
-                landmap[i] = coverBuffer[i] == EarthCoverTypes.WATER ? OCEAN : LAND;
-            }
+        this.prepareBuffers(width, height);
 
-            for (OsmWay coastline : coastlines) {
-                List<Point> linePoints = new LinkedList<>();
-                List<LineString> lines = OsmDataParser.createLines(osmTile, coastline);
+        this.collectCrossings(height);
+        this.rasterizeCoast(width, height);
+        this.classifyRows(width, height);
 
-                for (LineString line : lines) {
-                    for (int i = 0; i < line.getNumPoints(); i++) {
-                        linePoints.add(line.getPointN(i));
-                    }
-                }
+        this.applyLandmap(heightTile.getShortData(), coverTile.getData(), width, height);
+    }
 
-                this.rasterizeLine(x, z, width, height, landmap, linePoints);
+    private void collectPoints(OsmTile osmTile, OsmWay way, int originX, int originZ) {
+        for (int i = 0; i < way.getNumberOfNodes(); i++) {
+            try {
+                OsmNode node = osmTile.getNode(way.getNodeId(i));
+                double latitude = node.getLatitude();
+                double longitude = node.getLongitude();
+                double blockX = this.latLngCoordinateState.getBlockX(latitude, longitude);
+                double blockZ = this.latLngCoordinateState.getBlockZ(latitude, longitude);
+                this.addPoint(blockX - originX, blockZ - originZ);
+            } catch (EntityNotFoundException e) {
+                this.addPoint(Double.NaN, Double.NaN);
             }
+        }
+        this.addPoint(Double.NaN, Double.NaN);
+    }
 
-            this.removeProblematicLines(width, height, landmap);
+    private void addPoint(double x, double z) {
+        if (this.pointCount >= this.pointX.length) {
+            this.pointX = Arrays.copyOf(this.pointX, this.pointX.length << 1);
+            this.pointZ = Arrays.copyOf(this.pointZ, this.pointZ.length << 1);
+        }
+        this.pointX[this.pointCount] = x;
+        this.pointZ[this.pointCount] = z;
+        this.pointCount++;
+    }
 
-            this.floodFillMap(width, height, landmap);
+    private void collectCrossings(int height) {
+        int[] rowOffsets = this.rowOffsets;
+        Arrays.fill(rowOffsets, 0, height + 1, 0);
 
-            this.processFloodedMap(width, height, heightBuffer, coverBuffer, landmap);
+        for (int i = 1; i < this.pointCount; i++) {
+            int minRow = this.getMinCrossingRow(i);
+            int maxRow = this.getMaxCrossingRow(i, height);
+            for (int row = minRow; row <= maxRow; row++) {
+                rowOffsets[row + 1]++;
+            }
         }
-    }
 
-    private void rasterizeLine(int x, int y, int width, int height, int[] landmap, List<Point> line) {
-        for (int nodeIndex = 1; nodeIndex < line.size(); nodeIndex++) {
-            Point current = line.get(nodeIndex - 1);
-            Point next = line.get(nodeIndex);
+        for (int row = 0; row < height; row++) {
+            rowOffsets[row + 1] += rowOffsets[row];
+        }
 
-            Coordinate currentCoordinate = new Coordinate(this.latLngCoordinateState, current.getX(), current.getY());
+        int crossingCount = rowOffsets[height];
+        if (this.crossingX.length < crossingCount) {
+            this.crossingX = new double[crossingCount];
+            this.crossingType = new byte[crossingCount];
+        }
 
-            double originX = currentCoordinate.getBlockX();
-            double originY = currentCoordinate.getBlockZ();
+        System.arraycopy(rowOffsets, 0, this.rowCursors, 0, height);
 
-            Coordinate nextCoordinate = new Coordinate(this.latLngCoordinateState, next.getX(), next.getY());
-            while (Math.abs(nextCoordinate.getBlockX() - originX) < 3.0 && Math.abs(nextCoordinate.getBlockZ() - originY) < 3.0 && ++nodeIndex < line.size()) {
-                Point node = line.get(nodeIndex);
-                nextCoordinate = new Coordinate(this.latLngCoordinateState, node.getX(), node.getY());
+        for (int i = 1; i < this.pointCount; i++) {
+            int minRow = this.getMinCrossingRow(i);
+            int maxRow = this.getMaxCrossingRow(i, height);
+            if (minRow > maxRow) {
+                continue;
             }
 
-            double targetX = nextCoordinate.getBlockX();
-            double targetY = nextCoordinate.getBlockZ();
+            double originX = this.pointX[i - 1];
+            double originZ = this.pointZ[i - 1];
+            double slope = (this.pointX[i] - originX) / (this.pointZ[i] - originZ);
+            byte type = this.pointZ[i] < originZ ? COAST_UP : COAST_DOWN;
 
-            int lineType = this.getLineType(currentCoordinate, nextCoordinate);
-            int coastType = lineType & COAST_TYPE_MASK;
+            for (int row = minRow; row <= maxRow; row++) {
+                int crossing = this.rowCursors[row]++;
+                this.crossingX[crossing] = originX + (row + 0.5 - originZ) * slope;
+                this.crossingType[crossing] = type;
+            }
+        }
 
-            this.rasterizeLineSegment(x, y, width, height, landmap, originX, originY, targetX, targetY, lineType, coastType);
+        for (int row = 0; row < height; row++) {
+            this.sortCrossings(rowOffsets[row], rowOffsets[row + 1]);
         }
     }
 
-    private void rasterizeLineSegment(int x, int y, int width, int height, int[] landmap, double originX, double originY, double targetX, double targetY, int lineType, int coastType) {
-        List<FloodFill.Point> points = new ArrayList<>();
-        Interpolation.interpolateLine(originX, originY, targetX, targetY, false, point -> {
-            int localX = point.x - x;
-            int localY = point.y - y;
-            if (localX >= 0 && localY >= 0 && localX < width && localY < height) {
-                landmap[localX + localY * width] = COAST | COAST_IGNORE;
+    private int getMinCrossingRow(int pointIndex) {
+        double minZ = Math.min(this.pointZ[pointIndex - 1], this.pointZ[pointIndex]);
+        return Math.max(MathHelper.ceil(minZ - 0.5), 0);
+    }
 
-                this.freeNeighbours(width, height, landmap, localX, localY);
+    private int getMaxCrossingRow(int pointIndex, int height) {
+        double originZ = this.pointZ[pointIndex - 1];
+        double targetZ = this.pointZ[pointIndex];
+        if (originZ == targetZ || Double.isNaN(originZ) || Double.isNaN(targetZ)) {
+            return -1;
+        }
+        double maxZ = Math.max(originZ, targetZ);
+        return Math.min(MathHelper.ceil(maxZ - 0.5) - 1, height - 1);
+    }
 
-                points.add(new FloodFill.Point(point.x, point.y));
-            }
-        });
-
-        if (points.size() > 2) {
-            for (int i = 1; i < points.size() - 1; i++) {
-                FloodFill.Point point = points.get(i);
-                int localX = point.getX() - x;
-                int localY = point.getY() - y;
-                if (coastType != 0) {
-                    landmap[localX + localY * width] = lineType;
-                }
+    private void sortCrossings(int start, int end) {
+        double[] crossingX = this.crossingX;
+        byte[] crossingType = this.crossingType;
+        for (int i = start + 1; i < end; i++) {
+            double x = crossingX[i];
+            byte type = crossingType[i];
+            int j = i - 1;
+            while (j >= start && crossingX[j] > x) {
+                crossingX[j + 1] = crossingX[j];
+                crossingType[j + 1] = crossingType[j];
+                j--;
             }
+            crossingX[j + 1] = x;
+            crossingType[j + 1] = type;
         }
     }
 
-    private void freeNeighbours(int width, int height, int[] landmap, int localX, int localY) {
-        this.iterateNeighbours(localX, localY, width, height, true, neighbourIndex -> {
-            int sample = landmap[neighbourIndex];
-            if ((sample & LAND_TYPE_MASK) != COAST) {
-                landmap[neighbourIndex] = sample | FREE_FLOOD;
+    private void rasterizeCoast(int width, int height) {
+        for (int i = 1; i < this.pointCount; i++) {
+            double originX = this.pointX[i - 1];
+            double originZ = this.pointZ[i - 1];
+            double targetX = this.pointX[i];
+            double targetZ = this.pointZ[i];
+            if (Double.isNaN(originX) || Double.isNaN(targetX)) {
+                continue;
             }
-        });
-    }
 
-    private void removeProblematicLines(int width, int height, int[] landmap) {
-        for (int localY = 0; localY < height; localY++) {
-            for (int localX = 0; localX < width; localX++) {
-                int index = localX + localY * width;
-                int coastType = landmap[index] & COAST_TYPE_MASK;
-
-                if (this.isFillingCoastType(coastType)) {
-                    this.iterateNeighbours(localX, localY, width, height, false, neighbourIndex -> {
-                        int neighbour = landmap[neighbourIndex];
-                        int neighbourCoastType = neighbour & COAST_TYPE_MASK;
-
-                        if (this.isFillingCoastType(neighbourCoastType) && coastType != neighbourCoastType) {
-                            landmap[neighbourIndex] = COAST | COAST_IGNORE;
-                            landmap[index] = COAST | COAST_IGNORE;
-                        }
-                    });
-                }
+            if (Math.max(originX, targetX) < 0.0 || Math.min(originX, targetX) >= width
+                    || Math.max(originZ, targetZ) < 0.0 || Math.min(originZ, targetZ) >= height) {
+                continue;
             }
-        }
-    }
 
-    private void iterateNeighbours(int originX, int originY, int width, int height, boolean corners, Consumer<Integer> neighbourIndex) {
-        for (int neighbourY = -1; neighbourY <= 1; neighbourY++) {
-            for (int neighbourX = -1; neighbourX <= 1; neighbourX++) {
-                if (neighbourX != 0 || neighbourY != 0) {
-                    if (corners || this.isNeighbourCorner(neighbourX, neighbourY)) {
-                        int globalX = originX + neighbourX;
-                        int globalY = originY + neighbourY;
-                        if (globalX >= 0 && globalY >= 0 && globalX < width && globalY < height) {
-                            int index = globalX + globalY * width;
-                            neighbourIndex.accept(index);
-                        }
-                    }
+            double deltaX = targetX - originX;
+            double deltaZ = targetZ - originZ;
+            int steps = Math.max(1, MathHelper.ceil(Math.max(Math.abs(deltaX), Math.abs(deltaZ))));
+            double stepX = deltaX / steps;
+            double stepZ = deltaZ / steps;
+
+            for (int step = 0; step <= steps; step++) {
+                int localX = MathHelper.floor(originX + stepX * step);
+                int localZ = MathHelper.floor(originZ + stepZ * step);
+                if (localX >= 0 && localZ >= 0 && localX < width && localZ < height) {
+                    this.landmap[localX + localZ * width] = COAST;
                 }
             }
         }
     }
 
-    private boolean isNeighbourCorner(int neighbourX, int neighbourY) {
-        return neighbourX != 0 && neighbourY != 0;
-    }
-
-    private void floodFillMap(int width, int height, int[] landmap) {
-        Object2IntMap<FloodFill.Point> floodSources = this.createFloodSources(width, height, landmap);
-
-        for (Map.Entry<FloodFill.Point, Integer> entry : floodSources.entrySet()) {
-            FloodFill.Point point = entry.getKey();
-            int floodType = entry.getValue();
-            int sampled = landmap[point.getX() + point.getY() * width];
-            FillVisitor visitor = new FillVisitor(floodType);
-            if (visitor.canVisit(point, sampled)) {
-                FloodFill.floodVisit(landmap, width, height, point, visitor);
+    private void classifyRows(int width, int height) {
+        byte[] landmap = this.landmap;
+        for (int row = 0; row < height; row++) {
+            int start = this.rowOffsets[row];
+            int end = this.rowOffsets[row + 1];
+            if (start == end) {
+                continue;
             }
-        }
-    }
 
-    private Object2IntMap<FloodFill.Point> createFloodSources(int width, int height, int[] landmap) {
-        Object2IntMap<FloodFill.Point> floodSources = new Object2IntOpenHashMap<>();
+            boolean closed = (end - start) % 2 == 0;
+            byte state = closed ? this.getStateBefore(start) : UNCLASSIFIED;
+            int crossing = start;
 
-        for (int localY = 0; localY < height; localY++) {
+            int rowIndex = row * width;
             for (int localX = 0; localX < width; localX++) {
-                int coastType = landmap[localX + localY * width] & COAST_TYPE_MASK;
-                if (this.isFillingCoastType(coastType)) {
-                    if (localX > 0) {
-                        int left = coastType == COAST_UP ? LAND : OCEAN;
-                        floodSources.put(new FloodFill.Point(localX - 1, localY), left);
-                    }
-                    if (localX < width - 1) {
-                        int right = coastType == COAST_UP ? OCEAN : LAND;
-                        floodSources.put(new FloodFill.Point(localX + 1, localY), right);
+                double center = localX + 0.5;
+                while (crossing < end && this.crossingX[crossing] <= center) {
+                    state = this.getStateAfter(crossing);
+                    if (crossing + 1 < end ? this.getStateBefore(crossing + 1) != state : !closed) {
+                        state = UNCLASSIFIED;
                     }
+                    crossing++;
                 }
-            }
-        }
-
-        return floodSources;
-    }
 
-    private void processFloodedMap(int width, int height, short[] heightBuffer, CoverType[] coverBuffer, int[] landmap) {
-        List<FloodFill.Point> unselectedPoints = new LinkedList<>();
-        for (int localY = 0; localY < height; localY++) {
-            for (int localX = 0; localX < width; localX++) {
-                int index = localX + localY * width;
-                CoverType cover = coverBuffer[index];
-                int sample = landmap[index];
-                int landType = sample & LAND_TYPE_MASK;
-                int coastType = sample & COAST_TYPE_MASK;
-                if (landType == OCEAN) {
-                    if (cover != EarthCoverTypes.WATER) {
-                        coverBuffer[index] = EarthCoverTypes.WATER;
-                        heightBuffer[index] = 0;
-                    }
-                } else if ((landType == LAND || landType == COAST && coastType != FREE_FLOOD) && cover == EarthCoverTypes.WATER) {
-                    coverBuffer[index] = TerrariumCoverTypes.PLACEHOLDER;
-                    unselectedPoints.add(new FloodFill.Point(localX, localY));
+                int index = rowIndex + localX;
+                if (landmap[index] != COAST) {
+                    landmap[index] = state;
                 }
             }
         }
-
-        for (FloodFill.Point point : unselectedPoints) {
-            CoverSelectVisitor visitor = new CoverSelectVisitor();
-            FloodFill.floodVisit(coverBuffer, width, height, point, visitor);
-            coverBuffer[point.getX() + point.getY() * width] = visitor.getResult();
-        }
     }
 
-    private int getLineType(Coordinate currentCoordinate, Coordinate nextCoordinate) {
-        int nextBlockZ = MathHelper.floor(nextCoordinate.getBlockZ());
-        int currentBlockZ = MathHelper.floor(currentCoordinate.getBlockZ());
-        if (nextBlockZ > currentBlockZ) {
-            return COAST | COAST_DOWN;
-        } else if (nextBlockZ < currentBlockZ) {
-            return COAST | COAST_UP;
-        }
-        return COAST;
+    private byte getStateBefore(int crossing) {
+        return this.crossingType[crossing] == COAST_UP ? LAND : OCEAN;
     }
 
-    private boolean isFillingCoastType(int lineType) {
-        int coastType = lineType & COAST_TYPE_MASK;
-        return coastType == COAST_UP || coastType == COAST_DOWN;
+    private byte getStateAfter(int crossing) {
+        return this.crossingType[crossing] == COAST_UP ? OCEAN : LAND;
     }
 
-    private class FillVisitor implements FloodFill.IntVisitor {
-        private final int floodType;
+    private void applyLandmap(short[] heightBuffer, CoverType[] coverBuffer, int width, int height) {
+        byte[] landmap = this.landmap;
+        boolean[] landCoverMask = this.landCoverMask;
 
-        private FillVisitor(int floodType) {
-            this.floodType = floodType;
+        for (int index = 0; index < width * height; index++) {
+            if (landmap[index] == OCEAN && coverBuffer[index] != EarthCoverTypes.WATER) {
+                coverBuffer[index] = EarthCoverTypes.WATER;
+                heightBuffer[index] = 0;
+            }
         }
 
-        @Override
-        public int visit(FloodFill.Point point, int sampled) {
-            if ((sampled & COAST_TYPE_MASK) == FREE_FLOOD) {
-                return this.floodType | FREE_FLOOD;
+        boolean requiresCover = false;
+        this.coastWaterVisitor.width = width;
+        for (int index = 0; index < width * height; index++) {
+            if (landmap[index] == COAST && coverBuffer[index] == EarthCoverTypes.WATER) {
+                FloodFill.floodVisit(coverBuffer, width, height, new FloodFill.Point(index % width, index / width), this.coastWaterVisitor);
+                requiresCover = true;
             }
-            return this.floodType;
         }
 
-        @Override
-        public boolean canVisit(FloodFill.Point point, int sampled) {
-            int landType = sampled & LAND_TYPE_MASK;
-            return (landType == LAND || landType == OCEAN) && (landType != (this.floodType & 3) || (sampled & COAST_TYPE_MASK) == FREE_FLOOD);
+        if (!requiresCover) {
+            return;
+        }
+
+        for (int index = 0; index < width * height; index++) {
+            CoverType cover = coverBuffer[index];
+            landCoverMask[index] = cover != EarthCoverTypes.WATER && cover != TerrariumCoverTypes.PLACEHOLDER;
         }
-    }
 
-    private class CoverSelectVisitor implements FloodFill.Visitor<CoverType> {
-        private CoverType result = null;
+        this.distanceField.compute(landCoverMask, width, height);
 
-        @Override
-        public CoverType visit(FloodFill.Point point, CoverType sampled) {
-            if (sampled != TerrariumCoverTypes.PLACEHOLDER) {
-                this.result = sampled;
-                return null;
+        for (int index = 0; index < width * height; index++) {
+            byte landType = landmap[index];
+            if ((landType == LAND || landType == COAST) && coverBuffer[index] == TerrariumCoverTypes.PLACEHOLDER) {
+                int nearest = this.distanceField.getNearest(index);
+                coverBuffer[index] = nearest != DistanceField.NONE ? coverBuffer[nearest] : EarthCoverTypes.RAINFED_CROPS;
             }
-            return sampled;
         }
+    }
+
+    private void prepareBuffers(int width, int height) {
+        int size = width * height;
+        if (this.landmap.length < size) {
+            this.landmap = new byte[size];
+            this.landCoverMask = new boolean[size];
+        } else {
+            Arrays.fill(this.landmap, 0, size, UNCLASSIFIED);
+        }
+        if (this.rowOffsets.length < height + 1) {
+            this.rowOffsets = new int[height + 1];
+            this.rowCursors = new int[height + 1];
+        }
+    }
+
+    private class CoastWaterVisitor implements FloodFill.Visitor<CoverType> {
+        private int width;
 
         @Override
-        public boolean canVisit(FloodFill.Point point, CoverType sampled) {
-            return sampled != EarthCoverTypes.WATER;
+        public CoverType visit(int x, int y, CoverType sampled) {
+            return TerrariumCoverTypes.PLACEHOLDER;
         }
 
-        public CoverType getResult() {
-            if (this.result == null) {
-                return EarthCoverTypes.RAINFED_CROPS;
-            }
-            return this.result;
+        @Override
+        public boolean canVisit(int x, int y, CoverType sampled) {
+            byte landType = OsmCoastlineAdapter.this.landmap[x + y * this.width];
+            return sampled == EarthCoverTypes.WATER && (landType == LAND || landType == COAST);
         }
     }
 }
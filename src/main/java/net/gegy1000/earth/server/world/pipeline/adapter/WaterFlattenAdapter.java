@@ -1,8 +1,7 @@
 package net.gegy1000.earth.server.world.pipeline.adapter;
 
-import net.gegy1000.terrarium.server.util.FloodFill;
+import net.gegy1000.terrarium.server.util.DistanceField;
 import net.gegy1000.terrarium.server.world.cover.CoverType;
-import net.gegy1000.terrarium.server.world.cover.TerrariumCoverTypes;
 import net.gegy1000.terrarium.server.world.generator.customization.GenerationSettings;
 import net.gegy1000.terrarium.server.world.pipeline.adapter.RegionAdapter;
 import net.gegy1000.terrarium.server.world.pipeline.component.RegionComponentType;
@@ -11,18 +10,27 @@ import net.gegy1000.terrarium.server.world.pipeline.source.tile.ShortRasterTile;
 import net.gegy1000.terrarium.server.world.region.RegionData;
 import net.minecraft.util.math.MathHelper;
 
-import java.util.HashSet;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Set;
+import java.util.Arrays;
 
 public class WaterFlattenAdapter implements RegionAdapter {
+    private static final int FLAT_BANK_RANGE = 5;
+    private static final int LAND = -1;
+
     private final RegionComponentType<ShortRasterTile> heightComponent;
     private final RegionComponentType<CoverRasterTile> coverComponent;
     private final int flattenRange;
 
     private final CoverType waterCoverType;
 
+    private final DistanceField distanceField = new DistanceField();
+
+    private boolean[] waterMask = new boolean[0];
+    private int[] labels = new int[0];
+    private int[] labelParents = new int[0];
+    private int[] labelBodies = new int[0];
+    private long[] bodyHeights = new long[0];
+    private int[] bodySizes = new int[0];
+
     public WaterFlattenAdapter(RegionComponentType<ShortRasterTile> heightComponent, RegionComponentType<CoverRasterTile> coverComponent, int flattenRange, CoverType waterCoverType) {
         this.heightComponent = heightComponent;
         this.coverComponent = coverComponent;
@@ -38,138 +46,147 @@ public class WaterFlattenAdapter implements RegionAdapter {
         short[] heightBuffer = heightTile.getShortData();
         CoverType[] coverBuffer = coverTile.getData();
 
-        for (int localZ = 0; localZ < height; localZ++) {
-            for (int localX = 0; localX < width; localX++) {
-                if (coverBuffer[localX + localZ * width] == this.waterCoverType) {
-                    AverageCoverHeightVisitor visitor = new AverageCoverHeightVisitor(heightBuffer, width);
-                    FloodFill.floodVisit(coverBuffer, width, height, new FloodFill.Point(localX, localZ), visitor);
-
-                    List<FloodFill.Point> waterPoints = visitor.getVisitedPoints();
-                    if (!waterPoints.isEmpty()) {
-                        short averageHeight = visitor.getAverageHeight();
-                        this.flattenArea(waterPoints, averageHeight, heightBuffer, coverBuffer, width, height);
-                    }
-                }
-            }
-        }
+        this.prepareBuffers(width * height);
 
-        for (int i = 0; i < coverBuffer.length; i++) {
-            if (coverBuffer[i] == TerrariumCoverTypes.PLACEHOLDER) {
-                coverBuffer[i] = this.waterCoverType;
-            }
+        int bodyCount = this.labelWaterBodies(coverBuffer, width, height);
+        if (bodyCount == 0) {
+            return;
         }
-    }
 
-    private void flattenArea(List<FloodFill.Point> waterPoints, short targetHeight, short[] heightBuffer, CoverType[] coverBuffer, int width, int height) {
-        Set<FloodFill.Point> sourcePoints = new HashSet<>();
+        this.flattenWaterBodies(heightBuffer, bodyCount, width * height);
 
-        for (FloodFill.Point point : waterPoints) {
-            int x = point.getX();
-            int z = point.getY();
-            int index = x + z * width;
+        this.distanceField.compute(this.waterMask, width, height);
+        this.flattenBanks(heightBuffer, width * height);
+    }
 
-            heightBuffer[index] = targetHeight;
+    private int labelWaterBodies(CoverType[] coverBuffer, int width, int height) {
+        boolean[] waterMask = this.waterMask;
+        int[] labels = this.labels;
 
-            boolean canEffect = true;
-            for (FloodFill.Point sourcePoint : sourcePoints) {
-                if (Math.abs(point.getX() - sourcePoint.getX()) + Math.abs(point.getY() - sourcePoint.getY()) < 6) {
-                    canEffect = false;
-                    break;
+        int labelCount = 0;
+        for (int localZ = 0; localZ < height; localZ++) {
+            for (int localX = 0; localX < width; localX++) {
+                int index = localX + localZ * width;
+                boolean water = coverBuffer[index] == this.waterCoverType;
+                waterMask[index] = water;
+                if (!water) {
+                    labels[index] = LAND;
+                    continue;
                 }
-            }
 
-            if (canEffect && !this.isAlreadyFlattened(x, z, targetHeight, heightBuffer, width, height)
-                    && this.hasNeighbouringLand(x, z, coverBuffer, width, height)) {
-                sourcePoints.add(point);
-                AffectAreaVisitor visitor = new AffectAreaVisitor(point, this.flattenRange, targetHeight);
-                FloodFill.floodVisit(heightBuffer, width, height, point, visitor);
+                int left = localX > 0 ? labels[index - 1] : LAND;
+                int up = localZ > 0 ? labels[index - width] : LAND;
+                if (left == LAND && up == LAND) {
+                    labels[index] = labelCount;
+                    this.labelParents[labelCount] = labelCount;
+                    labelCount++;
+                } else if (left == LAND) {
+                    labels[index] = up;
+                } else if (up == LAND) {
+                    labels[index] = left;
+                } else {
+                    labels[index] = this.union(left, up);
+                }
             }
         }
-    }
-
-    private boolean isAlreadyFlattened(int x, int z, short targetHeight, short[] heightBuffer, int width, int height) {
-        int index = x + z * width;
-        return (x <= 0 || Math.abs(heightBuffer[index - 1] - targetHeight) > 0)
-                && (x >= width - 1 || Math.abs(heightBuffer[index + 1] - targetHeight) > 0)
-                && (z <= 0 || Math.abs(heightBuffer[index - width] - targetHeight) > 0)
-                && (z >= height - 1 || Math.abs(heightBuffer[index + width] - targetHeight) > 0);
-    }
-
-    private boolean hasNeighbouringLand(int x, int z, CoverType[] coverBuffer, int width, int height) {
-        int index = x + z * width;
-        return (x > 0 && coverBuffer[index - 1] != TerrariumCoverTypes.PLACEHOLDER)
-                || (x < width - 1 && coverBuffer[index + 1] != TerrariumCoverTypes.PLACEHOLDER)
-                || (z > 0 && coverBuffer[index - width] != TerrariumCoverTypes.PLACEHOLDER)
-                || (z < height - 1 && coverBuffer[index + width] != TerrariumCoverTypes.PLACEHOLDER);
-    }
-
-    private class AverageCoverHeightVisitor implements FloodFill.Visitor<CoverType> {
-        private final short[] heightBuffer;
-        private final int width;
 
-        private final List<FloodFill.Point> visitedPoints = new LinkedList<>();
+        int bodyCount = 0;
+        int[] bodyIds = this.labelBodies;
+        for (int label = 0; label < labelCount; label++) {
+            int root = this.find(label);
+            if (root == label) {
+                bodyIds[label] = bodyCount++;
+            }
+        }
 
-        private long totalHeight;
+        Arrays.fill(this.bodySizes, 0, bodyCount, 0);
+        Arrays.fill(this.bodyHeights, 0, bodyCount, 0L);
 
-        private AverageCoverHeightVisitor(short[] heightBuffer, int width) {
-            this.heightBuffer = heightBuffer;
-            this.width = width;
+        for (int index = 0; index < width * height; index++) {
+            int label = labels[index];
+            if (label != LAND) {
+                labels[index] = bodyIds[this.find(label)];
+            }
         }
 
-        @Override
-        public CoverType visit(FloodFill.Point point, CoverType sampled) {
-            this.totalHeight += this.heightBuffer[point.getX() + point.getY() * this.width];
-            this.visitedPoints.add(point);
-            return TerrariumCoverTypes.PLACEHOLDER;
-        }
+        return bodyCount;
+    }
 
-        @Override
-        public boolean canVisit(FloodFill.Point point, CoverType sampled) {
-            return sampled == WaterFlattenAdapter.this.waterCoverType;
+    private void flattenWaterBodies(short[] heightBuffer, int bodyCount, int size) {
+        int[] labels = this.labels;
+        for (int index = 0; index < size; index++) {
+            int body = labels[index];
+            if (body != LAND) {
+                this.bodyHeights[body] += heightBuffer[index];
+                this.bodySizes[body]++;
+            }
         }
 
-        private short getAverageHeight() {
-            return (short) (this.totalHeight / this.visitedPoints.size());
+        for (int body = 0; body < bodyCount; body++) {
+            this.bodyHeights[body] /= this.bodySizes[body];
         }
 
-        private List<FloodFill.Point> getVisitedPoints() {
-            return this.visitedPoints;
+        for (int index = 0; index < size; index++) {
+            int body = labels[index];
+            if (body != LAND) {
+                heightBuffer[index] = (short) this.bodyHeights[body];
+            }
         }
     }
 
-    private class AffectAreaVisitor implements FloodFill.ShortVisitor {
-        private final FloodFill.Point origin;
+    private void flattenBanks(short[] heightBuffer, int size) {
+        int rangeSquared = this.flattenRange * this.flattenRange;
+        int flatRangeSquared = FLAT_BANK_RANGE * FLAT_BANK_RANGE;
 
-        private final int range;
-        private final short target;
+        for (int index = 0; index < size; index++) {
+            if (this.waterMask[index]) {
+                continue;
+            }
 
-        private AffectAreaVisitor(FloodFill.Point origin, int range, short target) {
-            this.origin = origin;
+            int distance = this.distanceField.getDistanceSquared(index);
+            if (distance >= rangeSquared) {
+                continue;
+            }
 
-            this.range = range * range;
-            this.target = target;
+            short target = heightBuffer[this.distanceField.getNearest(index)];
+            if (distance <= flatRangeSquared) {
+                heightBuffer[index] = target;
+            } else {
+                double scale = (double) distance / rangeSquared;
+                heightBuffer[index] = (short) MathHelper.floor(target + (heightBuffer[index] - target) * scale);
+            }
         }
+    }
 
-        @Override
-        public short visit(FloodFill.Point point, short sampled) {
-            int deltaX = point.getX() - this.origin.getX();
-            int deltaZ = point.getY() - this.origin.getY();
-            double distance = deltaX * deltaX + deltaZ * deltaZ;
-            if (distance <= 5.0 * 5.0) {
-                return this.target;
-            }
-            double scale = MathHelper.clamp(distance / this.range, 0.0, 1.0);
-            return (short) MathHelper.floor(this.target + (sampled - this.target) * scale);
+    private int find(int label) {
+        int[] parents = this.labelParents;
+        while (parents[label] != label) {
+            parents[label] = parents[parents[label]];
+            label = parents[label];
         }
+        return label;
+    }
 
-        @Override
-        public boolean canVisit(FloodFill.Point point, short sampled) {
-            if (Math.abs(sampled - this.target) > 0) {
-                return false;
-            }
-            int deltaX = Math.abs(point.getX() - this.origin.getX());
-            int deltaZ = Math.abs(point.getY() - this.origin.getY());
-            return deltaX <= this.range && deltaZ <= this.range;
+    private int union(int left, int right) {
+        int leftRoot = this.find(left);
+        int rightRoot = this.find(right);
+        if (leftRoot < rightRoot) {
+            this.labelParents[rightRoot] = leftRoot;
+            return leftRoot;
+        } else {
+            this.labelParents[leftRoot] = rightRoot;
+            return rightRoot;
+        }
+    }
+
+    private void prepareBuffers(int size) {
+        if (this.labels.length < size) {
+            this.waterMask = new boolean[size];
+            this.labels = new int[size];
+            this.labelParents = new int[size];
+            this.labelBodies = new int[size];
+            this.bodyHeights = new long[size];
+            this.bodySizes = new int[size];
         }
     }
 }
@@ -5,11 +5,11 @@ import net.gegy1000.terrarium.server.world.cover.CoverGenerator;
 import net.gegy1000.terrarium.server.world.feature.BoulderGenerator;
 import net.gegy1000.terrarium.server.world.pipeline.component.RegionComponentType;
 import net.gegy1000.terrarium.server.world.pipeline.composer.decoration.DecorationComposer;
+import net.gegy1000.terrarium.server.world.pipeline.composer.decoration.DecorationWriteBuffer;
 import net.gegy1000.terrarium.server.world.pipeline.source.tile.ByteRasterTile;
 import net.gegy1000.terrarium.server.world.region.GenerationRegionHandler;
 import net.minecraft.block.BlockStone;
 import net.minecraft.init.Blocks;
-import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 
 import java.util.Random;
@@ -32,7 +32,7 @@ public class BoulderDecorationComposer implements DecorationComposer {
     }
 
     @Override
-    public void composeDecoration(World world, GenerationRegionHandler regionHandler, int chunkX, int chunkZ) {
+    public void composeDecoration(DecorationWriteBuffer writeBuffer, GenerationRegionHandler regionHandler, int chunkX, int chunkZ) {
         int globalX = chunkX << 4;
         int globalZ = chunkZ << 4;
 
@@ -50,7 +50,7 @@ public class BoulderDecorationComposer implements DecorationComposer {
                     int spawnX = localX + globalX + 8;
                     int spawnZ = localZ + globalZ + 8;
 
-                    BOULDER_GENERATOR.generate(world, this.random, world.getTopSolidOrLiquidBlock(new BlockPos(spawnX, 0, spawnZ)));
+                    writeBuffer.generate(BOULDER_GENERATOR, this.random, writeBuffer.getTopSolidBlock(spawnX, spawnZ));
                 }
             }
         }
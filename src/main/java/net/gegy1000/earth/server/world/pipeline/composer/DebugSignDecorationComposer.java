@@ -3,6 +3,7 @@ package net.gegy1000.earth.server.world.pipeline.composer;
 import net.gegy1000.earth.server.world.pipeline.layer.DebugMap;
 import net.gegy1000.terrarium.server.world.pipeline.component.RegionComponentType;
 import net.gegy1000.terrarium.server.world.pipeline.composer.decoration.DecorationComposer;
+import net.gegy1000.terrarium.server.world.pipeline.composer.decoration.DecorationWriteBuffer;
 import net.gegy1000.terrarium.server.world.pipeline.source.tile.ShortRasterTile;
 import net.gegy1000.terrarium.server.world.region.GenerationRegionHandler;
 import net.minecraft.init.Blocks;
@@ -20,12 +21,13 @@ public class DebugSignDecorationComposer implements DecorationComposer {
     }
 
     @Override
-    public void composeDecoration(World world, GenerationRegionHandler regionHandler, int chunkX, int chunkZ) {
+    public void composeDecoration(DecorationWriteBuffer writeBuffer, GenerationRegionHandler regionHandler, int chunkX, int chunkZ) {
         int globalX = chunkX << 4;
         int globalZ = chunkZ << 4;
 
         ShortRasterTile heightRaster = regionHandler.getCachedChunkRaster(this.heightComponent);
 
+        World world = writeBuffer.getWorld();
         BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
 
         for (int localZ = 0; localZ < 16; localZ++) {
@@ -229,13 +229,14 @@ public class TerrariumCustomizationGui extends GuiScreen {
     }
 
     protected void rebuildState() {
+        WorldPreview previous = this.preview;
         this.deletePreview();
 
         BufferBuilder[] builders = new BufferBuilder[8];
         for (int i = 0; i < builders.length; i++) {
             builders[i] = new BufferBuilder(0x4000);
         }
-        this.preview = new WorldPreview(this.worldType, this.settings, builders);
+        this.preview = new WorldPreview(this.worldType, this.settings, builders, previous);
     }
 
     private void previewLarge() {
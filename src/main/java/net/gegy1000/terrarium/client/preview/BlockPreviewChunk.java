@@ -0,0 +1,73 @@
+package net.gegy1000.terrarium.client.preview;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.IBlockAccess;
+import net.minecraft.world.biome.Biome;
+import net.minecraft.world.chunk.ChunkPrimer;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+@SideOnly(Side.CLIENT)
+public class BlockPreviewChunk extends PreviewChunk {
+    private final ChunkPrimer chunk;
+    private final Biome[] biomes;
+
+    public BlockPreviewChunk(ChunkPrimer chunk, Biome[] biomes, ChunkPos pos, IBlockAccess previewAccess) {
+        super(pos, previewAccess);
+        this.chunk = chunk;
+        this.biomes = biomes;
+    }
+
+    @Override
+    protected PreviewColumnSource createColumnSource() {
+        return new ColumnSource();
+    }
+
+    private class ColumnSource implements PreviewColumnSource {
+        private final int[] surfaces = new int[18 * 18];
+        private final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+
+        private ColumnSource() {
+            ChunkPrimer chunk = BlockPreviewChunk.this.chunk;
+            for (int z = 0; z < 16; z++) {
+                for (int x = 0; x < 16; x++) {
+                    this.surfaces[(x + 1) + (z + 1) * 18] = chunk.findGroundBlockIdx(x, z);
+                }
+            }
+
+            for (int i = 0; i < 16; i++) {
+                this.surfaces[(i + 1)] = this.findNeighbourSurface(i, -1, this.getSurface(i, 0));
+                this.surfaces[(i + 1) + 17 * 18] = this.findNeighbourSurface(i, 16, this.getSurface(i, 15));
+                this.surfaces[(i + 1) * 18] = this.findNeighbourSurface(-1, i, this.getSurface(0, i));
+                this.surfaces[17 + (i + 1) * 18] = this.findNeighbourSurface(16, i, this.getSurface(15, i));
+            }
+        }
+
+        private int findNeighbourSurface(int x, int z, int limit) {
+            IBlockAccess previewAccess = BlockPreviewChunk.this.previewAccess;
+            BlockPos.MutableBlockPos pos = this.pos;
+            for (int y = limit; y >= 0; y--) {
+                pos.setPos(BlockPreviewChunk.this.globalX + x, y, BlockPreviewChunk.this.globalZ + z);
+                if (previewAccess.getBlockState(pos).getBlock() != Blocks.AIR) {
+                    return y;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public int getSurface(int x, int z) {
+            return this.surfaces[(x + 1) + (z + 1) * 18];
+        }
+
+        @Override
+        public int getColor(int x, int y, int z) {
+            IBlockState state = BlockPreviewChunk.this.chunk.getBlockState(x, y, z);
+            this.pos.setPos(BlockPreviewChunk.this.globalX + x, y, BlockPreviewChunk.this.globalZ + z);
+            return BlockPreviewChunk.this.getBlockColor(state, BlockPreviewChunk.this.biomes[x + z * 16], this.pos);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package net.gegy1000.terrarium.client.preview;
+
+import net.gegy1000.terrarium.server.world.pipeline.source.tile.ShortRasterTile;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.IBlockAccess;
+import net.minecraft.world.biome.Biome;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+@SideOnly(Side.CLIENT)
+public class LodPreviewChunk extends PreviewChunk {
+    public static final int BORDER = 1;
+    public static final int SAMPLE_SIZE = 16 + BORDER * 2;
+
+    private final ShortRasterTile heights;
+    private final Biome[] biomes;
+    private final int oceanLevel;
+
+    public LodPreviewChunk(ShortRasterTile heights, Biome[] biomes, int oceanLevel, ChunkPos pos, IBlockAccess previewAccess) {
+        super(pos, previewAccess);
+        if (heights.getWidth() != SAMPLE_SIZE || heights.getHeight() != SAMPLE_SIZE) {
+            throw new IllegalArgumentException("LOD height sample must include a " + BORDER + " block border");
+        }
+        this.heights = heights;
+        this.biomes = biomes;
+        this.oceanLevel = oceanLevel;
+    }
+
+    @Override
+    protected PreviewColumnSource createColumnSource() {
+        int[] colors = new int[16 * 16];
+
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        for (int z = 0; z < 16; z++) {
+            for (int x = 0; x < 16; x++) {
+                pos.setPos(this.globalX + x, this.getSurface(x, z), this.globalZ + z);
+
+                Biome biome = this.biomes[x + z * 16];
+                IBlockState state = this.isSubmerged(x, z) ? Blocks.WATER.getDefaultState() : biome.topBlock;
+                colors[x + z * 16] = this.getBlockColor(state, biome, pos);
+            }
+        }
+
+        return new PreviewColumnSource() {
+            @Override
+            public int getSurface(int x, int z) {
+                return LodPreviewChunk.this.getSurface(x, z);
+            }
+
+            @Override
+            public int getColor(int x, int y, int z) {
+                return colors[x + z * 16];
+            }
+        };
+    }
+
+    private int getSurface(int x, int z) {
+        int height = this.heights.getShort(x + BORDER, z + BORDER);
+        if (height < this.oceanLevel) {
+            return Math.min(this.oceanLevel, 255);
+        }
+        return Math.max(Math.min(height, 255), 0);
+    }
+
+    private boolean isSubmerged(int x, int z) {
+        return this.heights.getShort(x + BORDER, z + BORDER) < this.oceanLevel;
+    }
+}
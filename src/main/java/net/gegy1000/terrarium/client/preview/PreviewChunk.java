@@ -8,40 +8,32 @@ import net.minecraft.client.renderer.BufferBuilder;
 import net.minecraft.client.renderer.GLAllocation;
 import net.minecraft.client.renderer.GlStateManager;
 import net.minecraft.client.renderer.WorldVertexBufferUploader;
-import net.minecraft.init.Blocks;
-import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.ColorizerGrass;
 import net.minecraft.world.IBlockAccess;
 import net.minecraft.world.biome.Biome;
-import net.minecraft.world.chunk.ChunkPrimer;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 import org.lwjgl.opengl.GL11;
 
-import java.util.ArrayList;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.function.Supplier;
 
 @SideOnly(Side.CLIENT)
-public class PreviewChunk {
-    private static final EnumFacing[] PREVIEW_FACES = new EnumFacing[] { EnumFacing.UP, EnumFacing.NORTH, EnumFacing.SOUTH, EnumFacing.WEST, EnumFacing.EAST };
+public abstract class PreviewChunk {
     private static final Map<Biome, Integer> BIOME_GRASS_COLORS = new HashMap<>();
+    private static final ThreadLocal<PreviewMesher> MESHER = ThreadLocal.withInitial(PreviewMesher::new);
 
-    private final ChunkPrimer chunk;
-    private final Biome[] biomes;
+    protected final ChunkPos pos;
+    protected final int globalX;
+    protected final int globalZ;
 
-    private final ChunkPos pos;
-    private final int globalX;
-    private final int globalZ;
-
-    private final IBlockAccess previewAccess;
+    protected final IBlockAccess previewAccess;
 
     private final Object buildLock = new Object();
     private Future<BufferBuilder> builderResult;
@@ -61,9 +53,7 @@ public class PreviewChunk {
         }
     }
 
-    public PreviewChunk(ChunkPrimer chunk, Biome[] biomes, ChunkPos pos, IBlockAccess previewAccess) {
-        this.chunk = chunk;
-        this.biomes = biomes;
+    protected PreviewChunk(ChunkPos pos, IBlockAccess previewAccess) {
         this.pos = pos;
         this.previewAccess = previewAccess;
 
@@ -71,9 +61,9 @@ public class PreviewChunk {
         this.globalZ = this.pos.getZStart();
     }
 
-    public void executeBuild(ExecutorService executor, Supplier<BufferBuilder> builderSupplier) {
+    public void executeBuild(PreviewJobScheduler.Token token, int priority, Supplier<BufferBuilder> builderSupplier) {
         synchronized (this.buildLock) {
-            this.builderResult = executor.submit(() -> {
+            this.builderResult = token.submit(priority, () -> {
                 BufferBuilder builder = builderSupplier.get();
                 if (builder == null) {
                     return null;
@@ -168,71 +158,21 @@ public class PreviewChunk {
         synchronized (this.buildLock) {
             Future<BufferBuilder> builderResult = this.builderResult;
             if (builderResult != null && !builderResult.isDone()) {
-                builderResult.cancel(true);
+                builderResult.cancel(false);
             }
         }
     }
 
     public void buildBlocks(BufferBuilder builder) {
-        builder.begin(GL11.GL_QUADS, TerrariumVertexFormats.POSITION_COLOR_NORMAL);
-
-        ChunkPrimer chunk = this.chunk;
-        IBlockAccess previewAccess = this.previewAccess;
-        int globalX = this.globalX;
-        int globalZ = this.globalZ;
-
-        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
-        for (int z = 0; z < 16; z++) {
-            for (int x = 0; x < 16; x++) {
-                Biome biome = this.biomes[x + z * 16];
-                for (int y = 0; y < 256; y++) {
-                    IBlockState state = chunk.getBlockState(x, y, z);
-                    if (state.getBlock() != Blocks.AIR) {
-                        this.buildBlock(builder, chunk, previewAccess, globalX, globalZ, pos, z, x, biome, y, state);
-                    }
-                }
-            }
-        }
+        ByteBuffer vertexData = MESHER.get().mesh(this.createColumnSource());
 
-        builder.setTranslation(0.0, 0.0, 0.0);
-    }
-
-    private void buildBlock(BufferBuilder builder, ChunkPrimer chunk, IBlockAccess previewAccess, int globalX, int globalZ, BlockPos.MutableBlockPos pos, int z, int x, Biome biome, int y, IBlockState state) {
-        pos.setPos(globalX + x, y, globalZ + z);
-
-        List<EnumFacing> faces = new ArrayList<>(6);
-        for (EnumFacing facing : PREVIEW_FACES) {
-            BlockPos offset = pos.offset(facing);
-            IBlockState neighbourState;
-            if (x > 0 && x < 15 && z > 0 && z < 15 && y > 0 && y < 255) {
-                neighbourState = chunk.getBlockState(offset.getX() & 15, offset.getY(), offset.getZ() & 15);
-            } else {
-                neighbourState = previewAccess.getBlockState(offset);
-            }
-            if (neighbourState.getBlock() == Blocks.AIR) {
-                faces.add(facing);
-            }
-        }
-
-        if (!faces.isEmpty()) {
-            this.buildFaces(builder, faces, state, biome, pos, x, z);
-        }
+        builder.begin(GL11.GL_QUADS, TerrariumVertexFormats.POSITION_COLOR_NORMAL);
+        builder.putBulkData(vertexData);
     }
 
-    private void buildFaces(BufferBuilder builder, List<EnumFacing> faces, IBlockState state, Biome biome, BlockPos pos, int x, int z) {
-        int color = this.getBlockColor(state, biome, pos);
-        int red = (color >> 16) & 0xFF;
-        int green = (color >> 8) & 0xFF;
-        int blue = color & 0xFF;
-
-        builder.setTranslation(x, pos.getY(), z);
-
-        for (EnumFacing face : faces) {
-            this.buildFace(builder, face, red, green, blue);
-        }
-    }
+    protected abstract PreviewColumnSource createColumnSource();
 
-    private int getBlockColor(IBlockState state, Biome biome, BlockPos pos) {
+    protected int getBlockColor(IBlockState state, Biome biome, BlockPos pos) {
         if (!(state.getBlock() instanceof BlockGrass)) {
             return state.getMapColor(this.previewAccess, pos).colorValue;
         } else {
@@ -240,47 +180,6 @@ public class PreviewChunk {
         }
     }
 
-    private void buildFace(BufferBuilder builder, EnumFacing facing, int red, int green, int blue) {
-        switch (facing) {
-            case NORTH:
-                builder.pos(0.0, 0.0, 0.0).color(red, green, blue, 255).normal(0.0F, 0.0F, -1.0F).endVertex();
-                builder.pos(0.0, 1.0, 0.0).color(red, green, blue, 255).normal(0.0F, 0.0F, -1.0F).endVertex();
-                builder.pos(1.0, 1.0, 0.0).color(red, green, blue, 255).normal(0.0F, 0.0F, -1.0F).endVertex();
-                builder.pos(1.0, 0.0, 0.0).color(red, green, blue, 255).normal(0.0F, 0.0F, -1.0F).endVertex();
-                break;
-            case SOUTH:
-                builder.pos(0.0, 0.0, 1.0).color(red, green, blue, 255).normal(0.0F, 0.0F, 1.0F).endVertex();
-                builder.pos(1.0, 0.0, 1.0).color(red, green, blue, 255).normal(0.0F, 0.0F, 1.0F).endVertex();
-                builder.pos(1.0, 1.0, 1.0).color(red, green, blue, 255).normal(0.0F, 0.0F, 1.0F).endVertex();
-                builder.pos(0.0, 1.0, 1.0).color(red, green, blue, 255).normal(0.0F, 0.0F, 1.0F).endVertex();
-                break;
-            case WEST:
-                builder.pos(0.0, 0.0, 0.0).color(red, green, blue, 255).normal(-1.0F, 0.0F, 0.0F).endVertex();
-                builder.pos(0.0, 0.0, 1.0).color(red, green, blue, 255).normal(-1.0F, 0.0F, 0.0F).endVertex();
-                builder.pos(0.0, 1.0, 1.0).color(red, green, blue, 255).normal(-1.0F, 0.0F, 0.0F).endVertex();
-                builder.pos(0.0, 1.0, 0.0).color(red, green, blue, 255).normal(-1.0F, 0.0F, 0.0F).endVertex();
-                break;
-            case EAST:
-                builder.pos(1.0, 1.0, 0.0).color(red, green, blue, 255).normal(1.0F, 0.0F, 0.0F).endVertex();
-                builder.pos(1.0, 1.0, 1.0).color(red, green, blue, 255).normal(1.0F, 0.0F, 0.0F).endVertex();
-                builder.pos(1.0, 0.0, 1.0).color(red, green, blue, 255).normal(1.0F, 0.0F, 0.0F).endVertex();
-                builder.pos(1.0, 0.0, 0.0).color(red, green, blue, 255).normal(1.0F, 0.0F, 0.0F).endVertex();
-                break;
-            case UP:
-                builder.pos(0.0, 1.0, 1.0).color(red, green, blue, 255).normal(0.0F, 1.0F, 0.0F).endVertex();
-                builder.pos(1.0, 1.0, 1.0).color(red, green, blue, 255).normal(0.0F, 1.0F, 0.0F).endVertex();
-                builder.pos(1.0, 1.0, 0.0).color(red, green, blue, 255).normal(0.0F, 1.0F, 0.0F).endVertex();
-                builder.pos(0.0, 1.0, 0.0).color(red, green, blue, 255).normal(0.0F, 1.0F, 0.0F).endVertex();
-                break;
-            case DOWN:
-                builder.pos(0.0, 0.0, 0.0).color(red, green, blue, 255).normal(0.0F, 1.0F, 0.0F).endVertex();
-                builder.pos(1.0, 0.0, 0.0).color(red, green, blue, 255).normal(0.0F, 1.0F, 0.0F).endVertex();
-                builder.pos(1.0, 0.0, 1.0).color(red, green, blue, 255).normal(0.0F, 1.0F, 0.0F).endVertex();
-                builder.pos(0.0, 0.0, 1.0).color(red, green, blue, 255).normal(0.0F, 1.0F, 0.0F).endVertex();
-                break;
-        }
-    }
-
     private interface Geometry {
         void render();
 
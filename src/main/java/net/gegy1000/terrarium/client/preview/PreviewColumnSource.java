@@ -0,0 +1,11 @@
+package net.gegy1000.terrarium.client.preview;
+
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+@SideOnly(Side.CLIENT)
+public interface PreviewColumnSource {
+    int getSurface(int x, int z);
+
+    int getColor(int x, int y, int z);
+}
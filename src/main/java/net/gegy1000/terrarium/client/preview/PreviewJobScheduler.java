@@ -0,0 +1,114 @@
+package net.gegy1000.terrarium.client.preview;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@SideOnly(Side.CLIENT)
+public class PreviewJobScheduler {
+    private final ThreadPoolExecutor executor;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    public PreviewJobScheduler() {
+        this(Math.max(Runtime.getRuntime().availableProcessors() - 1, 1));
+    }
+
+    public PreviewJobScheduler(int threadCount) {
+        this.executor = new ThreadPoolExecutor(
+                threadCount, threadCount,
+                0, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>(),
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat("terrarium-preview-%d").build()
+        );
+    }
+
+    public Token begin() {
+        return new Token();
+    }
+
+    public void shutdown() {
+        this.purgeCancelled();
+        this.executor.shutdown();
+    }
+
+    private void purgeCancelled() {
+        this.executor.getQueue().removeIf(runnable -> {
+            Job<?> job = (Job<?>) runnable;
+            if (job.token.isCancelled()) {
+                job.cancel(false);
+                return true;
+            }
+            return false;
+        });
+    }
+
+    public class Token {
+        private volatile boolean cancelled;
+
+        private Token() {
+        }
+
+        public boolean isCancelled() {
+            return this.cancelled || PreviewJobScheduler.this.executor.isShutdown();
+        }
+
+        public void cancel() {
+            this.cancelled = true;
+            PreviewJobScheduler.this.purgeCancelled();
+        }
+
+        public <T> Future<T> submit(int priority, Callable<T> task) {
+            Job<T> job = new Job<>(this, priority, PreviewJobScheduler.this.sequence.getAndIncrement(), task);
+            if (this.isCancelled()) {
+                job.cancel(false);
+            } else {
+                try {
+                    PreviewJobScheduler.this.executor.execute(job);
+                } catch (RejectedExecutionException e) {
+                    job.cancel(false);
+                }
+            }
+            return job;
+        }
+    }
+
+    private static class Job<T> extends FutureTask<T> implements Comparable<Job<?>> {
+        private final Token token;
+        private final int priority;
+        private final long sequence;
+
+        private Job(Token token, int priority, long sequence, Callable<T> task) {
+            super(task);
+            this.token = token;
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public void run() {
+            if (this.token.isCancelled()) {
+                this.cancel(false);
+                return;
+            }
+            super.run();
+        }
+
+        @Override
+        public int compareTo(Job<?> other) {
+            if (this.priority != other.priority) {
+                return Integer.compare(this.priority, other.priority);
+            }
+            return Long.compare(this.sequence, other.sequence);
+        }
+    }
+}
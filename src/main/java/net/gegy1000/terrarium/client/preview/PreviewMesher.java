@@ -0,0 +1,254 @@
+package net.gegy1000.terrarium.client.preview;
+
+import net.minecraft.util.EnumFacing;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+@SideOnly(Side.CLIENT)
+public class PreviewMesher {
+    public static final int VERTEX_SIZE = 20;
+
+    private static final int NONE = -1;
+    private static final int INITIAL_CAPACITY = 0x10000;
+
+    private static final EnumFacing[] SIDE_FACES = new EnumFacing[] { EnumFacing.NORTH, EnumFacing.SOUTH, EnumFacing.WEST, EnumFacing.EAST };
+
+    private final int[] surfaces = new int[18 * 18];
+    private final int[] topColors = new int[16 * 16];
+    private final int[] mask = new int[16 * 256];
+
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(INITIAL_CAPACITY).order(ByteOrder.nativeOrder());
+    private int vertexCount;
+
+    public ByteBuffer mesh(PreviewColumnSource source) {
+        this.buffer.clear();
+        this.vertexCount = 0;
+
+        for (int z = -1; z <= 16; z++) {
+            for (int x = -1; x <= 16; x++) {
+                this.surfaces[(x + 1) + (z + 1) * 18] = source.getSurface(x, z);
+            }
+        }
+
+        this.meshTop(source);
+        for (EnumFacing facing : SIDE_FACES) {
+            this.meshSide(source, facing);
+        }
+
+        ByteBuffer result = this.buffer.duplicate().order(ByteOrder.nativeOrder());
+        result.flip();
+        return result;
+    }
+
+    public int getVertexCount() {
+        return this.vertexCount;
+    }
+
+    private int getSurface(int x, int z) {
+        return this.surfaces[(x + 1) + (z + 1) * 18];
+    }
+
+    private void meshTop(PreviewColumnSource source) {
+        int[] colors = this.topColors;
+        for (int z = 0; z < 16; z++) {
+            for (int x = 0; x < 16; x++) {
+                colors[x + z * 16] = source.getColor(x, this.getSurface(x, z), z);
+            }
+        }
+
+        int[] mask = this.mask;
+        for (int i = 0; i < 256; i++) {
+            mask[i] = this.getSurface(i & 15, i >> 4);
+        }
+
+        for (int z = 0; z < 16; z++) {
+            for (int x = 0; x < 16; ) {
+                int index = x + z * 16;
+                int surface = mask[index];
+                if (surface == NONE) {
+                    x++;
+                    continue;
+                }
+                int color = colors[index];
+
+                int width = 1;
+                while (x + width < 16 && mask[index + width] == surface && colors[index + width] == color) {
+                    width++;
+                }
+
+                int depth = 1;
+                expand:
+                while (z + depth < 16) {
+                    int rowIndex = index + depth * 16;
+                    for (int offset = 0; offset < width; offset++) {
+                        if (mask[rowIndex + offset] != surface || colors[rowIndex + offset] != color) {
+                            break expand;
+                        }
+                    }
+                    depth++;
+                }
+
+                for (int offsetZ = 0; offsetZ < depth; offsetZ++) {
+                    Arrays.fill(mask, index + offsetZ * 16, index + offsetZ * 16 + width, NONE);
+                }
+
+                this.emitQuad(EnumFacing.UP, x, surface + 1, z, x + width, surface + 1, z + depth, color);
+                x += width;
+            }
+        }
+    }
+
+    private void meshSide(PreviewColumnSource source, EnumFacing facing) {
+        boolean alongX = facing.getAxis() == EnumFacing.Axis.Z;
+        int offsetX = facing.getDirectionVec().getX();
+        int offsetZ = facing.getDirectionVec().getZ();
+
+        int[] mask = this.mask;
+        for (int slice = 0; slice < 16; slice++) {
+            int minY = Integer.MAX_VALUE;
+            int maxY = Integer.MIN_VALUE;
+            for (int u = 0; u < 16; u++) {
+                int x = alongX ? u : slice;
+                int z = alongX ? slice : u;
+                int surface = this.getSurface(x, z);
+                int neighbourSurface = this.getSurface(x + offsetX, z + offsetZ);
+                if (neighbourSurface < surface) {
+                    minY = Math.min(minY, Math.max(neighbourSurface + 1, 0));
+                    maxY = Math.max(maxY, surface);
+                }
+            }
+
+            if (minY > maxY) {
+                continue;
+            }
+
+            int height = maxY - minY + 1;
+            Arrays.fill(mask, 0, height * 16, NONE);
+            for (int u = 0; u < 16; u++) {
+                int x = alongX ? u : slice;
+                int z = alongX ? slice : u;
+                int surface = this.getSurface(x, z);
+                int neighbourSurface = this.getSurface(x + offsetX, z + offsetZ);
+                for (int y = Math.max(neighbourSurface + 1, 0); y <= surface; y++) {
+                    mask[u + (y - minY) * 16] = source.getColor(x, y, z);
+                }
+            }
+
+            this.meshSlice(facing, alongX, slice, minY, height);
+        }
+    }
+
+    private void meshSlice(EnumFacing facing, boolean alongX, int slice, int minY, int height) {
+        int[] mask = this.mask;
+        for (int v = 0; v < height; v++) {
+            for (int u = 0; u < 16; ) {
+                int index = u + v * 16;
+                int color = mask[index];
+                if (color == NONE) {
+                    u++;
+                    continue;
+                }
+
+                int width = 1;
+                while (u + width < 16 && mask[index + width] == color) {
+                    width++;
+                }
+
+                int span = 1;
+                expand:
+                while (v + span < height) {
+                    int rowIndex = index + span * 16;
+                    for (int offset = 0; offset < width; offset++) {
+                        if (mask[rowIndex + offset] != color) {
+                            break expand;
+                        }
+                    }
+                    span++;
+                }
+
+                for (int offsetV = 0; offsetV < span; offsetV++) {
+                    Arrays.fill(mask, index + offsetV * 16, index + offsetV * 16 + width, NONE);
+                }
+
+                int minU = u;
+                int maxU = u + width;
+                int y0 = minY + v;
+                int y1 = minY + v + span;
+                if (alongX) {
+                    this.emitQuad(facing, minU, y0, slice, maxU, y1, slice + 1, color);
+                } else {
+                    this.emitQuad(facing, slice, y0, minU, slice + 1, y1, maxU, color);
+                }
+
+                u += width;
+            }
+        }
+    }
+
+    private void emitQuad(EnumFacing facing, float x0, float y0, float z0, float x1, float y1, float z1, int color) {
+        this.ensureCapacity(4 * VERTEX_SIZE);
+
+        int red = (color >> 16) & 0xFF;
+        int green = (color >> 8) & 0xFF;
+        int blue = color & 0xFF;
+
+        switch (facing) {
+            case NORTH:
+                this.putVertex(x0, y0, z0, red, green, blue, facing);
+                this.putVertex(x0, y1, z0, red, green, blue, facing);
+                this.putVertex(x1, y1, z0, red, green, blue, facing);
+                this.putVertex(x1, y0, z0, red, green, blue, facing);
+                break;
+            case SOUTH:
+                this.putVertex(x0, y0, z1, red, green, blue, facing);
+                this.putVertex(x1, y0, z1, red, green, blue, facing);
+                this.putVertex(x1, y1, z1, red, green, blue, facing);
+                this.putVertex(x0, y1, z1, red, green, blue, facing);
+                break;
+            case WEST:
+                this.putVertex(x0, y0, z0, red, green, blue, facing);
+                this.putVertex(x0, y0, z1, red, green, blue, facing);
+                this.putVertex(x0, y1, z1, red, green, blue, facing);
+                this.putVertex(x0, y1, z0, red, green, blue, facing);
+                break;
+            case EAST:
+                this.putVertex(x1, y1, z0, red, green, blue, facing);
+                this.putVertex(x1, y1, z1, red, green, blue, facing);
+                this.putVertex(x1, y0, z1, red, green, blue, facing);
+                this.putVertex(x1, y0, z0, red, green, blue, facing);
+                break;
+            case UP:
+                this.putVertex(x0, y1, z1, red, green, blue, facing);
+                this.putVertex(x1, y1, z1, red, green, blue, facing);
+                this.putVertex(x1, y1, z0, red, green, blue, facing);
+                this.putVertex(x0, y1, z0, red, green, blue, facing);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void putVertex(float x, float y, float z, int red, int green, int blue, EnumFacing facing) {
+        ByteBuffer buffer = this.buffer;
+        buffer.putFloat(x).putFloat(y).putFloat(z);
+        buffer.put((byte) red).put((byte) green).put((byte) blue).put((byte) 255);
+        buffer.put((byte) (facing.getDirectionVec().getX() * 127));
+        buffer.put((byte) (facing.getDirectionVec().getY() * 127));
+        buffer.put((byte) (facing.getDirectionVec().getZ() * 127));
+        buffer.put((byte) 0);
+        this.vertexCount++;
+    }
+
+    private void ensureCapacity(int bytes) {
+        if (this.buffer.remaining() < bytes) {
+            ByteBuffer grown = ByteBuffer.allocateDirect(Math.max(this.buffer.capacity() * 2, this.buffer.position() + bytes)).order(ByteOrder.nativeOrder());
+            this.buffer.flip();
+            grown.put(this.buffer);
+            this.buffer = grown;
+        }
+    }
+}
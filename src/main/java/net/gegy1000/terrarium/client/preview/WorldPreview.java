@@ -1,6 +1,5 @@
 package net.gegy1000.terrarium.client.preview;
 
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import net.gegy1000.terrarium.Terrarium;
@@ -8,7 +7,14 @@ import net.gegy1000.terrarium.server.capability.TerrariumCapabilities;
 import net.gegy1000.terrarium.server.capability.TerrariumWorldData;
 import net.gegy1000.terrarium.server.world.chunk.ComposableChunkGenerator;
 import net.gegy1000.terrarium.server.world.coordinate.Coordinate;
+import net.gegy1000.terrarium.server.world.generator.ChunkCompositionProcedure;
 import net.gegy1000.terrarium.server.world.generator.customization.GenerationSettings;
+import net.gegy1000.terrarium.server.world.generator.customization.property.PropertyKey;
+import net.gegy1000.terrarium.server.world.pipeline.TerrariumDataProvider;
+import net.gegy1000.terrarium.server.world.pipeline.component.RegionComponentType;
+import net.gegy1000.terrarium.server.world.pipeline.source.tile.ShortRasterTile;
+import net.gegy1000.terrarium.server.world.region.GenerationRegionHandler;
+import net.gegy1000.terrarium.server.world.region.RegionStageCache;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.client.renderer.BufferBuilder;
 import net.minecraft.init.Biomes;
@@ -24,38 +30,56 @@ import net.minecraft.world.chunk.ChunkPrimer;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
+import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 @SideOnly(Side.CLIENT)
 public class WorldPreview implements IBlockAccess {
     private static final int VIEW_RANGE = 12;
+    private static final int DETAIL_RANGE = 4;
+    private static final int DETAIL_BLOCK_SIZE = 3;
 
-    private final ExecutorService executor = Executors.newFixedThreadPool(3, new ThreadFactoryBuilder().setDaemon(true).setNameFormat("terrarium-preview-%d").build());
+    private final PreviewJobScheduler scheduler = new PreviewJobScheduler();
+    private final PreviewJobScheduler.Token token = this.scheduler.begin();
 
     private final WorldType worldType;
 
     private final BlockingQueue<BufferBuilder> builderQueue;
 
+    private final GenerationSettings settings;
+    private final RegionStageCache stageCache;
+
     private final ComposableChunkGenerator chunkGenerator;
+    private final GenerationRegionHandler regionHandler;
+    private final ChunkCompositionProcedure compositionProcedure;
 
     private final ChunkPos centerPos;
     private final BlockPos centerBlockPos;
 
-    private final Long2ObjectMap<ChunkData> chunkMap = new Long2ObjectOpenHashMap<>(VIEW_RANGE * 2 * VIEW_RANGE * 2);
+    private final Map<ChunkPos, Future<List<PreviewChunk>>> detailBlocks = new HashMap<>();
+    private final Long2ObjectMap<ChunkData> chunkMap = new Long2ObjectOpenHashMap<>((DETAIL_RANGE * 2 + 1) * (DETAIL_RANGE * 2 + 1));
 
-    private List<PreviewChunk> previewChunks = null;
-    private int heightOffset = 64;
+    private final List<PreviewChunk> previewChunks = new CopyOnWriteArrayList<>();
+    private volatile int heightOffset = 64;
 
-    public WorldPreview(WorldType worldType, GenerationSettings settings, BufferBuilder[] builders) {
+    public WorldPreview(WorldType worldType, GenerationSettings settings, BufferBuilder[] builders, @Nullable WorldPreview previous) {
         this.worldType = worldType;
 
         this.builderQueue = new ArrayBlockingQueue<>(builders.length);
@@ -67,7 +91,20 @@ public class WorldPreview implements IBlockAccess {
             throw new IllegalStateException("Failed to get world data capability from preview world");
         }
 
+        this.settings = worldData.getSettings();
         this.chunkGenerator = new ComposableChunkGenerator(world);
+        this.regionHandler = worldData.getRegionHandler();
+        this.compositionProcedure = worldData.getCompositionProcedure();
+
+        TerrariumDataProvider dataProvider = this.regionHandler.getDataProvider();
+        if (previous != null) {
+            Collection<PropertyKey<?>> changedKeys = this.settings.getProperties().getChangedKeys(previous.settings.getProperties());
+            this.stageCache = previous.stageCache.derive(dataProvider, changedKeys);
+        } else {
+            this.stageCache = new RegionStageCache(dataProvider.getStageCount());
+        }
+        this.regionHandler.setStageCache(this.stageCache, this.token::isCancelled);
+
         Coordinate spawnPosition = worldData.getSpawnPosition();
         if (spawnPosition != null) {
             this.centerPos = new ChunkPos(spawnPosition.toBlockPos());
@@ -77,30 +114,25 @@ public class WorldPreview implements IBlockAccess {
 
         this.centerBlockPos = new BlockPos(this.centerPos.x << 4, 0, this.centerPos.z << 4);
 
-        this.executor.submit(() -> {
+        Thread coordinator = new Thread(() -> {
             try {
-                List<PreviewChunk> chunks = this.generateChunks();
-                for (PreviewChunk chunk : chunks) {
-                    if (this.executor.isTerminated() || this.executor.isShutdown()) {
-                        break;
-                    }
-                    chunk.executeBuild(this.executor, this::takeBuilder);
-                }
-                this.previewChunks = chunks;
+                this.generateChunks();
+            } catch (InterruptedException | CancellationException e) {
+                Terrarium.LOGGER.debug("Preview generation was cancelled", e);
             } catch (Exception e) {
                 Terrarium.LOGGER.error("Failed to generate preview chunks", e);
             }
-        });
+        }, "terrarium-preview-coordinator");
+        coordinator.setDaemon(true);
+        coordinator.start();
     }
 
     public void renderChunks() {
         List<PreviewChunk> previewChunks = this.previewChunks;
-        if (previewChunks != null) {
-            this.performUploads(previewChunks);
+        this.performUploads(previewChunks);
 
-            for (PreviewChunk chunk : previewChunks) {
-                chunk.render(this.centerBlockPos.getX(), this.centerBlockPos.getZ());
-            }
+        for (PreviewChunk chunk : previewChunks) {
+            chunk.render(this.centerBlockPos.getX(), this.centerBlockPos.getZ());
         }
     }
 
@@ -117,22 +149,26 @@ public class WorldPreview implements IBlockAccess {
     }
 
     public void delete() {
-        List<PreviewChunk> previewChunks = this.previewChunks;
-        if (previewChunks != null) {
-            for (PreviewChunk chunk : previewChunks) {
-                chunk.cancelGeneration();
-                chunk.delete();
-            }
+        this.token.cancel();
+        for (PreviewChunk chunk : this.previewChunks) {
+            chunk.cancelGeneration();
+            chunk.delete();
         }
-        this.executor.shutdown();
+        this.scheduler.shutdown();
     }
 
     public BufferBuilder takeBuilder() {
         try {
-            return this.builderQueue.take();
+            while (!this.token.isCancelled()) {
+                BufferBuilder builder = this.builderQueue.poll(100, TimeUnit.MILLISECONDS);
+                if (builder != null) {
+                    return builder;
+                }
+            }
         } catch (InterruptedException e) {
-            return null;
+            Terrarium.LOGGER.debug("Interrupted while waiting for preview builder", e);
         }
+        return null;
     }
 
     public void returnBuilder(BufferBuilder builder) {
@@ -144,38 +180,160 @@ public class WorldPreview implements IBlockAccess {
         }
     }
 
-    private List<PreviewChunk> generateChunks() {
-        int totalHeight = 0;
+    private void generateChunks() throws InterruptedException {
+        List<PreviewChunk> pendingBuild = Collections.emptyList();
+        for (int ring = 0; ring <= VIEW_RANGE; ring++) {
+            if (this.token.isCancelled()) {
+                return;
+            }
 
-        List<ChunkPos> chunkPositions = new ArrayList<>();
-        for (int z = -VIEW_RANGE; z <= VIEW_RANGE; z++) {
-            for (int x = -VIEW_RANGE; x <= VIEW_RANGE; x++) {
-                ChunkPos pos = new ChunkPos(this.centerPos.x + x, this.centerPos.z + z);
+            boolean detail = ring <= DETAIL_RANGE || this.compositionProcedure.getHeightComponent() == null;
 
-                ChunkPrimer chunk = this.chunkGenerator.generatePrimer(pos.x, pos.z);
-                Biome[] biomes = Arrays.copyOf(this.chunkGenerator.provideBiomes(pos.x, pos.z), 256);
-                this.chunkMap.put(ChunkPos.asLong(pos.x, pos.z), new ChunkData(chunk, biomes));
+            List<ChunkPos> positions = this.collectRing(ring);
+            Set<Future<List<PreviewChunk>>> results = new LinkedHashSet<>();
+            for (ChunkPos pos : positions) {
+                if (detail) {
+                    results.add(this.submitDetailBlock(pos));
+                } else {
+                    results.add(this.token.submit(this.getPriority(pos), () -> this.generateLodChunk(pos)));
+                }
+            }
+
+            List<PreviewChunk> ringChunks = new ArrayList<>(positions.size());
+            for (Future<List<PreviewChunk>> result : results) {
+                try {
+                    for (PreviewChunk chunk : result.get()) {
+                        if (this.getRing(chunk.pos) == ring) {
+                            ringChunks.add(chunk);
+                        }
+                    }
+                } catch (ExecutionException e) {
+                    if (!this.token.isCancelled()) {
+                        Terrarium.LOGGER.error("Failed to generate preview chunk", e.getCause());
+                    }
+                }
+            }
 
-                chunkPositions.add(pos);
+            if (ring == 1) {
+                this.heightOffset = this.computeHeightOffset();
             }
+
+            this.buildChunks(pendingBuild);
+            pendingBuild = ringChunks;
         }
 
-        chunkPositions.sort(Comparator.comparing(pos -> {
-            int deltaX = pos.x - this.centerPos.x;
-            int deltaZ = pos.z - this.centerPos.z;
-            return deltaX * deltaX + deltaZ * deltaZ;
-        }));
+        this.buildChunks(pendingBuild);
+    }
 
-        List<PreviewChunk> previewChunks = new ArrayList<>();
-        for (ChunkPos pos : chunkPositions) {
-            ChunkData chunk = this.chunkMap.get(ChunkPos.asLong(pos.x, pos.z));
-            totalHeight += chunk.primer.findGroundBlockIdx(8, 8) + 16;
-            previewChunks.add(new PreviewChunk(chunk.primer, chunk.biomes, pos, this));
+    private void buildChunks(List<PreviewChunk> chunks) {
+        for (PreviewChunk chunk : chunks) {
+            if (this.token.isCancelled()) {
+                return;
+            }
+            chunk.executeBuild(this.token, this.getPriority(chunk.pos), this::takeBuilder);
+            this.previewChunks.add(chunk);
         }
+    }
+
+    private int getPriority(ChunkPos pos) {
+        int deltaX = pos.x - this.centerPos.x;
+        int deltaZ = pos.z - this.centerPos.z;
+        return deltaX * deltaX + deltaZ * deltaZ;
+    }
 
-        this.heightOffset = totalHeight / previewChunks.size();
+    private int getRing(ChunkPos pos) {
+        return Math.max(Math.abs(pos.x - this.centerPos.x), Math.abs(pos.z - this.centerPos.z));
+    }
+
+    private List<ChunkPos> collectRing(int ring) {
+        List<ChunkPos> positions = new ArrayList<>(Math.max(ring * 8, 1));
+        for (int offsetZ = -ring; offsetZ <= ring; offsetZ++) {
+            int step = offsetZ == -ring || offsetZ == ring ? 1 : Math.max(ring * 2, 1);
+            for (int offsetX = -ring; offsetX <= ring; offsetX += step) {
+                positions.add(new ChunkPos(this.centerPos.x + offsetX, this.centerPos.z + offsetZ));
+            }
+        }
 
-        return previewChunks;
+        positions.sort(Comparator.comparing(this::getPriority));
+
+        return positions;
+    }
+
+    private Future<List<PreviewChunk>> submitDetailBlock(ChunkPos pos) {
+        int half = DETAIL_BLOCK_SIZE / 2;
+        int originX = this.centerPos.x + Math.floorDiv(pos.x - this.centerPos.x + half, DETAIL_BLOCK_SIZE) * DETAIL_BLOCK_SIZE - half;
+        int originZ = this.centerPos.z + Math.floorDiv(pos.z - this.centerPos.z + half, DETAIL_BLOCK_SIZE) * DETAIL_BLOCK_SIZE - half;
+
+        return this.detailBlocks.computeIfAbsent(new ChunkPos(originX, originZ), origin -> {
+            int priority = this.getPriority(new ChunkPos(origin.x + half, origin.z + half));
+            return this.token.submit(priority, () -> this.generateDetailBlock(origin));
+        });
+    }
+
+    private List<PreviewChunk> generateDetailBlock(ChunkPos origin) {
+        if (this.token.isCancelled()) {
+            return Collections.emptyList();
+        }
+
+        List<PreviewChunk> chunks = this.chunkGenerator.generateChunkBlock(origin.x, origin.z, DETAIL_BLOCK_SIZE, (chunkX, chunkZ, primer, biomes) -> {
+            ChunkData chunk = new ChunkData(primer, Arrays.copyOf(biomes, 256));
+            synchronized (this.chunkMap) {
+                this.chunkMap.put(ChunkPos.asLong(chunkX, chunkZ), chunk);
+            }
+            return new BlockPreviewChunk(chunk.primer, chunk.biomes, new ChunkPos(chunkX, chunkZ), this);
+        });
+
+        if (this.token.isCancelled()) {
+            return Collections.emptyList();
+        }
+
+        return chunks;
+    }
+
+    private List<PreviewChunk> generateLodChunk(ChunkPos pos) {
+        if (this.token.isCancelled()) {
+            return Collections.emptyList();
+        }
+
+        RegionComponentType<ShortRasterTile> heightComponent = this.compositionProcedure.getHeightComponent();
+        int sampleSize = LodPreviewChunk.SAMPLE_SIZE;
+
+        ShortRasterTile heights = heightComponent.createDefaultData(sampleSize, sampleSize);
+        int originX = pos.getXStart() - LodPreviewChunk.BORDER;
+        int originZ = pos.getZStart() - LodPreviewChunk.BORDER;
+        this.regionHandler.fillRaster(heightComponent, heights, originX, originZ, sampleSize, sampleSize);
+        if (this.token.isCancelled()) {
+            return Collections.emptyList();
+        }
+
+        byte[] biomeIds = new byte[16 * 16];
+        this.regionHandler.fillBiomes(this.compositionProcedure, biomeIds, pos.getXStart(), pos.getZStart(), 16, 16);
+
+        Biome[] biomes = new Biome[biomeIds.length];
+        for (int i = 0; i < biomeIds.length; i++) {
+            biomes[i] = Biome.getBiome(biomeIds[i] & 0xFF, Biomes.DEFAULT);
+        }
+
+        return Collections.singletonList(new LodPreviewChunk(heights, biomes, this.compositionProcedure.getOceanLevel(), pos, this));
+    }
+
+    @Nullable
+    private ChunkData getChunkData(int chunkX, int chunkZ) {
+        synchronized (this.chunkMap) {
+            return this.chunkMap.get(ChunkPos.asLong(chunkX, chunkZ));
+        }
+    }
+
+    private int computeHeightOffset() {
+        int totalHeight = 0;
+        int count = 0;
+        synchronized (this.chunkMap) {
+            for (ChunkData chunk : this.chunkMap.values()) {
+                totalHeight += chunk.primer.findGroundBlockIdx(8, 8) + 16;
+                count++;
+            }
+        }
+        return count > 0 ? totalHeight / count : this.heightOffset;
     }
 
     @Override
@@ -193,7 +351,7 @@ public class WorldPreview implements IBlockAccess {
         if (pos.getY() > 255 || pos.getY() < 0) {
             return Blocks.AIR.getDefaultState();
         }
-        ChunkData chunk = this.chunkMap.get(ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4));
+        ChunkData chunk = this.getChunkData(pos.getX() >> 4, pos.getZ() >> 4);
         if (chunk != null) {
             return chunk.primer.getBlockState(pos.getX() & 15, pos.getY() & 255, pos.getZ() & 15);
         }
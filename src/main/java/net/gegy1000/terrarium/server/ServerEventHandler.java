@@ -5,9 +5,12 @@ import net.gegy1000.terrarium.Terrarium;
 import net.gegy1000.terrarium.server.capability.TerrariumCapabilities;
 import net.gegy1000.terrarium.server.capability.TerrariumWorldData;
 import net.gegy1000.terrarium.server.world.TerrariumWorldType;
+import net.gegy1000.terrarium.server.world.chunk.ComposableChunkGenerator;
 import net.gegy1000.terrarium.server.world.coordinate.Coordinate;
 import net.minecraft.world.DimensionType;
 import net.minecraft.world.World;
+import net.minecraft.world.gen.ChunkProviderServer;
+import net.minecraft.world.gen.IChunkGenerator;
 import net.minecraftforge.event.AttachCapabilitiesEvent;
 import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.fml.common.Mod;
@@ -29,6 +32,17 @@ public class ServerEventHandler {
         }
     }
 
+    @SubscribeEvent
+    public static void onWorldUnload(WorldEvent.Unload event) {
+        World world = event.getWorld();
+        if (ServerEventHandler.shouldHandle(world) && world.getChunkProvider() instanceof ChunkProviderServer) {
+            IChunkGenerator generator = ((ChunkProviderServer) world.getChunkProvider()).chunkGenerator;
+            if (generator instanceof ComposableChunkGenerator) {
+                ((ComposableChunkGenerator) generator).shutdown();
+            }
+        }
+    }
+
     @SubscribeEvent
     public static void onAttachWorldCapabilities(AttachCapabilitiesEvent<World> event) {
         World world = event.getObject();
@@ -25,6 +25,7 @@ public interface TerrariumWorldData extends ICapabilityProvider {
     class Implementation implements TerrariumWorldData {
         private final GenerationSettings settings;
         private final TerrariumGenerator generator;
+        private final ThreadLocal<ChunkCompositionProcedure> compositionProcedure;
         private final GenerationRegionHandler regionHandler;
 
         public Implementation(World world, TerrariumWorldType worldType) {
@@ -37,6 +38,7 @@ public interface TerrariumWorldData extends ICapabilityProvider {
 
             TerrariumGeneratorInitializer initializer = worldType.createInitializer(world, this.settings);
             this.generator = initializer.buildGenerator();
+            this.compositionProcedure = ThreadLocal.withInitial(this.generator::createCompositionProcedure);
             this.regionHandler = new GenerationRegionHandler(this.settings, initializer.buildDataProvider());
         }
 
@@ -52,7 +54,7 @@ public interface TerrariumWorldData extends ICapabilityProvider {
 
         @Override
         public ChunkCompositionProcedure getCompositionProcedure() {
-            return this.generator.getCompositionProcedure();
+            return this.compositionProcedure.get();
         }
 
         @Override
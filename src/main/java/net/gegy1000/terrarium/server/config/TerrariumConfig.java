@@ -20,6 +20,12 @@ public class TerrariumConfig {
     @Config.Comment("If true, you will no longer be warned about remote data usage. (Automatically set through GUI)")
     public static boolean acceptedRemoteDataWarning = false;
 
+    @Config.Name("generation_threads")
+    @Config.LangKey("config.terrarium.generation_threads")
+    @Config.Comment("The number of background threads used to generate chunks ahead of time. Set to 0 to generate all chunks on the server thread")
+    @Config.RangeInt(min = 0, max = 16)
+    public static int generationThreads = 2;
+
     @SubscribeEvent
     public static void onConfigChanged(ConfigChangedEvent.OnConfigChangedEvent event) {
         if (event.getModID().equals(Terrarium.MODID)) {
@@ -0,0 +1,155 @@
+package net.gegy1000.terrarium.server.util;
+
+public class DistanceField {
+    public static final int NONE = -1;
+
+    private static final double INFINITY = Double.MAX_VALUE;
+
+    private double[] columnDistances = new double[0];
+    private int[] columnNearest = new int[0];
+
+    private int[] envelopeSites = new int[0];
+    private double[] envelopeBounds = new double[0];
+
+    private int[] distances = new int[0];
+    private int[] nearest = new int[0];
+
+    private int width;
+    private int height;
+
+    public void compute(boolean[] features, int width, int height) {
+        this.prepare(width, height);
+
+        for (int x = 0; x < width; x++) {
+            this.computeColumn(features, x);
+        }
+
+        for (int y = 0; y < height; y++) {
+            this.computeRow(y);
+        }
+    }
+
+    private void computeColumn(boolean[] features, int x) {
+        int width = this.width;
+        int height = this.height;
+
+        int lastFeature = NONE;
+        for (int y = 0; y < height; y++) {
+            int index = x + y * width;
+            if (features[index]) {
+                lastFeature = y;
+            }
+            this.columnNearest[index] = lastFeature;
+        }
+
+        int nextFeature = NONE;
+        for (int y = height - 1; y >= 0; y--) {
+            int index = x + y * width;
+            if (features[index]) {
+                nextFeature = y;
+            }
+
+            int feature = this.columnNearest[index];
+            if (nextFeature != NONE && (feature == NONE || nextFeature - y < y - feature)) {
+                feature = nextFeature;
+            }
+
+            this.columnNearest[index] = feature;
+            if (feature != NONE) {
+                double delta = y - feature;
+                this.columnDistances[index] = delta * delta;
+            } else {
+                this.columnDistances[index] = INFINITY;
+            }
+        }
+    }
+
+    private void computeRow(int y) {
+        int width = this.width;
+        int rowIndex = y * width;
+
+        double[] columnDistances = this.columnDistances;
+        int[] sites = this.envelopeSites;
+        double[] bounds = this.envelopeBounds;
+
+        int top = NONE;
+        for (int q = 0; q < width; q++) {
+            double distance = columnDistances[rowIndex + q];
+            if (distance == INFINITY) {
+                continue;
+            }
+
+            if (top == NONE) {
+                top = 0;
+                sites[0] = q;
+                bounds[0] = -INFINITY;
+                bounds[1] = INFINITY;
+                continue;
+            }
+
+            double intersection = this.intersect(rowIndex, sites[top], q);
+            while (intersection <= bounds[top]) {
+                top--;
+                intersection = this.intersect(rowIndex, sites[top], q);
+            }
+
+            top++;
+            sites[top] = q;
+            bounds[top] = intersection;
+            bounds[top + 1] = INFINITY;
+        }
+
+        if (top == NONE) {
+            for (int x = 0; x < width; x++) {
+                this.distances[rowIndex + x] = Integer.MAX_VALUE;
+                this.nearest[rowIndex + x] = NONE;
+            }
+            return;
+        }
+
+        int segment = 0;
+        for (int x = 0; x < width; x++) {
+            while (bounds[segment + 1] < x) {
+                segment++;
+            }
+
+            int site = sites[segment];
+            int deltaX = x - site;
+            int siteIndex = rowIndex + site;
+
+            this.distances[rowIndex + x] = deltaX * deltaX + (int) columnDistances[siteIndex];
+            this.nearest[rowIndex + x] = site + this.columnNearest[siteIndex] * width;
+        }
+    }
+
+    private double intersect(int rowIndex, int p, int q) {
+        double distanceP = this.columnDistances[rowIndex + p];
+        double distanceQ = this.columnDistances[rowIndex + q];
+        return ((distanceQ + q * q) - (distanceP + p * p)) / (2.0 * q - 2.0 * p);
+    }
+
+    private void prepare(int width, int height) {
+        this.width = width;
+        this.height = height;
+
+        int size = width * height;
+        if (this.distances.length < size) {
+            this.columnDistances = new double[size];
+            this.columnNearest = new int[size];
+            this.distances = new int[size];
+            this.nearest = new int[size];
+        }
+        if (this.envelopeSites.length < width) {
+            this.envelopeSites = new int[width];
+            this.envelopeBounds = new double[width + 1];
+        }
+    }
+
+    public int getDistanceSquared(int index) {
+        return this.distances[index];
+    }
+
+    public int getNearest(int index) {
+        return this.nearest[index];
+    }
+}
@@ -1,116 +1,291 @@
 package net.gegy1000.terrarium.server.util;
 
-import com.google.common.collect.Sets;
-
-import java.util.LinkedList;
-import java.util.Queue;
-import java.util.Set;
+import java.util.Arrays;
 
 public class FloodFill {
+    private static final ThreadLocal<FloodFill> ENGINE = ThreadLocal.withInitial(FloodFill::new);
+
+    private long[] visited = new long[0];
+    private int[] spanStack = new int[64];
+    private int stackSize;
+
+    private int width;
+
+    private boolean active;
+
     public static void floodVisit(int[] map, int width, int height, Point origin, IntVisitor visitor) {
-        Set<Point> visitedPoints = Sets.newHashSet(origin);
-        Queue<Point> points = new LinkedList<>();
-        points.add(origin);
-
-        while (!points.isEmpty()) {
-            Point currentPoint = points.poll();
-            int index = currentPoint.x + currentPoint.y * width;
-            int value = map[index];
-            int visited = visitor.visit(currentPoint, value);
-            if (value != visited) {
-                map[index] = visited;
-            }
-
-            for (Offset offset : Offset.VALUES) {
-                Point neighbourPoint = offset.offset(currentPoint);
-                if (neighbourPoint.x >= 0 && neighbourPoint.y >= 0 && neighbourPoint.x < width && neighbourPoint.y < height) {
-                    int sampled = map[neighbourPoint.x + neighbourPoint.y * width];
-                    if (visitor.canVisit(neighbourPoint, sampled)) {
-                        FloodFill.visitNeighbour(points, visitedPoints, neighbourPoint);
-                    }
+        FloodFill engine = FloodFill.acquire();
+        try {
+            engine.fill(map, width, height, origin.x, origin.y, visitor);
+        } finally {
+            engine.active = false;
+        }
+    }
+
+    public static void floodVisit(short[] map, int width, int height, Point origin, ShortVisitor visitor) {
+        FloodFill engine = FloodFill.acquire();
+        try {
+            engine.fill(map, width, height, origin.x, origin.y, visitor);
+        } finally {
+            engine.active = false;
+        }
+    }
+
+    public static <T> void floodVisit(T[] map, int width, int height, Point origin, Visitor<T> visitor) {
+        FloodFill engine = FloodFill.acquire();
+        try {
+            engine.fill(map, width, height, origin.x, origin.y, visitor);
+        } finally {
+            engine.active = false;
+        }
+    }
+
+    private static FloodFill acquire() {
+        FloodFill engine = ENGINE.get();
+        if (engine.active) {
+            engine = new FloodFill();
+        }
+        engine.active = true;
+        return engine;
+    }
+
+    public void fill(int[] map, int width, int height, int originX, int originY, IntVisitor visitor) {
+        this.prepare(width, height);
+        this.push(originX + originY * width);
+
+        while (this.stackSize > 0) {
+            int seed = this.spanStack[--this.stackSize];
+            if (this.isVisited(seed)) {
+                continue;
+            }
+
+            int y = seed / width;
+            int x = seed - y * width;
+            int rowIndex = y * width;
+
+            int minX = x;
+            while (minX > 0 && this.canVisit(map, rowIndex + minX - 1, minX - 1, y, visitor)) {
+                minX--;
+            }
+            int maxX = x;
+            while (maxX < width - 1 && this.canVisit(map, rowIndex + maxX + 1, maxX + 1, y, visitor)) {
+                maxX++;
+            }
+
+            for (int spanX = minX; spanX <= maxX; spanX++) {
+                int index = rowIndex + spanX;
+                this.markVisited(index);
+
+                int value = map[index];
+                int visited = visitor.visit(spanX, y, value);
+                if (value != visited) {
+                    map[index] = visited;
                 }
             }
+
+            if (y > 0) {
+                this.scanRow(map, y - 1, minX, maxX, visitor);
+            }
+            if (y < height - 1) {
+                this.scanRow(map, y + 1, minX, maxX, visitor);
+            }
         }
     }
 
-    public static void floodVisit(short[] map, int width, int height, Point origin, ShortVisitor visitor) {
-        Set<Point> visitedPoints = Sets.newHashSet(origin);
-        Queue<Point> points = new LinkedList<>();
-        points.add(origin);
-
-        while (!points.isEmpty()) {
-            Point currentPoint = points.poll();
-            int index = currentPoint.x + currentPoint.y * width;
-            short value = map[index];
-            short visited = visitor.visit(currentPoint, value);
-            if (value != visited) {
-                map[index] = visited;
-            }
-
-            for (Offset offset : Offset.VALUES) {
-                Point neighbourPoint = offset.offset(currentPoint);
-                if (neighbourPoint.x >= 0 && neighbourPoint.y >= 0 && neighbourPoint.x < width && neighbourPoint.y < height) {
-                    short sampled = map[neighbourPoint.x + neighbourPoint.y * width];
-                    if (visitor.canVisit(neighbourPoint, sampled)) {
-                        FloodFill.visitNeighbour(points, visitedPoints, neighbourPoint);
+    public void fill(short[] map, int width, int height, int originX, int originY, ShortVisitor visitor) {
+        this.prepare(width, height);
+        this.push(originX + originY * width);
+
+        while (this.stackSize > 0) {
+            int seed = this.spanStack[--this.stackSize];
+            if (this.isVisited(seed)) {
+                continue;
+            }
+
+            int y = seed / width;
+            int x = seed - y * width;
+            int rowIndex = y * width;
+
+            int minX = x;
+            while (minX > 0 && this.canVisit(map, rowIndex + minX - 1, minX - 1, y, visitor)) {
+                minX--;
+            }
+            int maxX = x;
+            while (maxX < width - 1 && this.canVisit(map, rowIndex + maxX + 1, maxX + 1, y, visitor)) {
+                maxX++;
+            }
+
+            for (int spanX = minX; spanX <= maxX; spanX++) {
+                int index = rowIndex + spanX;
+                this.markVisited(index);
+
+                short value = map[index];
+                short visited = visitor.visit(spanX, y, value);
+                if (value != visited) {
+                    map[index] = visited;
+                }
+            }
+
+            if (y > 0) {
+                this.scanRow(map, y - 1, minX, maxX, visitor);
+            }
+            if (y < height - 1) {
+                this.scanRow(map, y + 1, minX, maxX, visitor);
+            }
+        }
+    }
+
+    public <T> void fill(T[] map, int width, int height, int originX, int originY, Visitor<T> visitor) {
+        this.prepare(width, height);
+        this.push(originX + originY * width);
+
+        while (this.stackSize > 0) {
+            int seed = this.spanStack[--this.stackSize];
+            if (this.isVisited(seed)) {
+                continue;
+            }
+
+            int y = seed / width;
+            int x = seed - y * width;
+            int rowIndex = y * width;
+
+            int minX = x;
+            while (minX > 0 && this.canVisit(map, rowIndex + minX - 1, minX - 1, y, visitor)) {
+                minX--;
+            }
+            int maxX = x;
+            while (maxX < width - 1 && this.canVisit(map, rowIndex + maxX + 1, maxX + 1, y, visitor)) {
+                maxX++;
+            }
+
+            for (int spanX = minX; spanX <= maxX; spanX++) {
+                int index = rowIndex + spanX;
+                this.markVisited(index);
+
+                T value = map[index];
+                T visited = visitor.visit(spanX, y, value);
+                if (value != visited) {
+                    if (visited == null) {
+                        this.stackSize = 0;
+                        return;
                     }
+                    map[index] = visited;
                 }
             }
+
+            if (y > 0) {
+                this.scanRow(map, y - 1, minX, maxX, visitor);
+            }
+            if (y < height - 1) {
+                this.scanRow(map, y + 1, minX, maxX, visitor);
+            }
         }
     }
 
-    public static <T> void floodVisit(T[] map, int width, int height, Point origin, Visitor<T> visitor) {
-        Set<Point> visitedPoints = Sets.newHashSet(origin);
-        Queue<Point> points = new LinkedList<>();
-        points.add(origin);
-
-        while (!points.isEmpty()) {
-            Point currentPoint = points.poll();
-            int index = currentPoint.x + currentPoint.y * width;
-            T value = map[index];
-            T visited = visitor.visit(currentPoint, value);
-            if (value != visited) {
-                if (visited == null) {
-                    return;
+    private void scanRow(int[] map, int y, int minX, int maxX, IntVisitor visitor) {
+        int rowIndex = y * this.width;
+        boolean inSpan = false;
+        for (int x = minX; x <= maxX; x++) {
+            int index = rowIndex + x;
+            if (this.canVisit(map, index, x, y, visitor)) {
+                if (!inSpan) {
+                    this.push(index);
+                    inSpan = true;
                 }
-                map[index] = visited;
+            } else {
+                inSpan = false;
             }
+        }
+    }
 
-            for (Offset offset : Offset.VALUES) {
-                Point neighbourPoint = offset.offset(currentPoint);
-                if (neighbourPoint.x >= 0 && neighbourPoint.y >= 0 && neighbourPoint.x < width && neighbourPoint.y < height) {
-                    T sampled = map[neighbourPoint.x + neighbourPoint.y * width];
-                    if (visitor.canVisit(neighbourPoint, sampled)) {
-                        FloodFill.visitNeighbour(points, visitedPoints, neighbourPoint);
-                    }
+    private void scanRow(short[] map, int y, int minX, int maxX, ShortVisitor visitor) {
+        int rowIndex = y * this.width;
+        boolean inSpan = false;
+        for (int x = minX; x <= maxX; x++) {
+            int index = rowIndex + x;
+            if (this.canVisit(map, index, x, y, visitor)) {
+                if (!inSpan) {
+                    this.push(index);
+                    inSpan = true;
                 }
+            } else {
+                inSpan = false;
             }
         }
     }
 
-    private static void visitNeighbour(Queue<Point> points, Set<Point> visitedPoints, Point neighbourPoint) {
-        if (!visitedPoints.contains(neighbourPoint)) {
-            points.add(neighbourPoint);
-            visitedPoints.add(neighbourPoint);
+    private <T> void scanRow(T[] map, int y, int minX, int maxX, Visitor<T> visitor) {
+        int rowIndex = y * this.width;
+        boolean inSpan = false;
+        for (int x = minX; x <= maxX; x++) {
+            int index = rowIndex + x;
+            if (this.canVisit(map, index, x, y, visitor)) {
+                if (!inSpan) {
+                    this.push(index);
+                    inSpan = true;
+                }
+            } else {
+                inSpan = false;
+            }
         }
     }
 
+    private boolean canVisit(int[] map, int index, int x, int y, IntVisitor visitor) {
+        return !this.isVisited(index) && visitor.canVisit(x, y, map[index]);
+    }
+
+    private boolean canVisit(short[] map, int index, int x, int y, ShortVisitor visitor) {
+        return !this.isVisited(index) && visitor.canVisit(x, y, map[index]);
+    }
+
+    private <T> boolean canVisit(T[] map, int index, int x, int y, Visitor<T> visitor) {
+        return !this.isVisited(index) && visitor.canVisit(x, y, map[index]);
+    }
+
+    private void prepare(int width, int height) {
+        this.width = width;
+
+        int words = (width * height + 63) >>> 6;
+        if (this.visited.length < words) {
+            this.visited = new long[words];
+        } else {
+            Arrays.fill(this.visited, 0, words, 0L);
+        }
+
+        this.stackSize = 0;
+    }
+
+    private void push(int index) {
+        if (this.stackSize >= this.spanStack.length) {
+            this.spanStack = Arrays.copyOf(this.spanStack, this.spanStack.length << 1);
+        }
+        this.spanStack[this.stackSize++] = index;
+    }
+
+    private boolean isVisited(int index) {
+        return (this.visited[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private void markVisited(int index) {
+        this.visited[index >>> 6] |= 1L << index;
+    }
+
     public interface Visitor<T> {
-        T visit(Point point, T sampled);
+        T visit(int x, int y, T sampled);
 
-        boolean canVisit(Point point, T sampled);
+        boolean canVisit(int x, int y, T sampled);
     }
 
     public interface IntVisitor {
-        int visit(Point point, int sampled);
+        int visit(int x, int y, int sampled);
 
-        boolean canVisit(Point point, int sampled);
+        boolean canVisit(int x, int y, int sampled);
     }
 
     public interface ShortVisitor {
-        short visit(Point point, short sampled);
+        short visit(int x, int y, short sampled);
 
-        boolean canVisit(Point point, short sampled);
+        boolean canVisit(int x, int y, short sampled);
     }
 
     public static class Point {
@@ -144,25 +319,4 @@ public class FloodFill {
             return this.x ^ (this.y << 16);
         }
     }
-
-    private enum Offset {
-        UP(0, 1),
-        DOWN(0, -1),
-        LEFT(-1, 0),
-        RIGHT(1, 0);
-
-        private static final Offset[] VALUES = values();
-
-        private final int offsetX;
-        private final int offsetY;
-
-        Offset(int offsetX, int offsetY) {
-            this.offsetX = offsetX;
-            this.offsetY = offsetY;
-        }
-
-        public Point offset(Point point) {
-            return new Point(point.x + this.offsetX, point.y + this.offsetY);
-        }
-    }
 }
@@ -0,0 +1,209 @@
+package net.gegy1000.terrarium.server.util;
+
+import net.minecraft.util.math.MathHelper;
+
+public class SeparableResampler {
+    private final Interpolation.Method method;
+    private final int backward;
+    private final int pointCount;
+
+    private int[] originTable = new int[0];
+    private double[] intermediateTable = new double[0];
+    private double[] easedTable = new double[0];
+    private double[] inverseEasedTable = new double[0];
+
+    private double[] columnBuffer = new double[0];
+
+    private short[] sourceBuffer = new short[0];
+    private short[] resultBuffer = new short[0];
+
+    public SeparableResampler(Interpolation.Method method) {
+        this.method = method;
+        this.backward = method.getBackward();
+        this.pointCount = method.getPointCount();
+    }
+
+    public void resample(byte[] source, int sourceWidth, byte[] result, int resultWidth, int resultHeight,
+                         double scaleFactorX, double scaleFactorZ, double originOffsetX, double originOffsetZ
+    ) {
+        short[] sourceBuffer = this.getSourceBuffer(source.length);
+        for (int i = 0; i < source.length; i++) {
+            sourceBuffer[i] = source[i];
+        }
+
+        short[] resultBuffer = this.getResultBuffer(result.length);
+        this.resample(sourceBuffer, sourceWidth, resultBuffer, resultWidth, resultHeight, scaleFactorX, scaleFactorZ, originOffsetX, originOffsetZ);
+
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (byte) resultBuffer[i];
+        }
+    }
+
+    public void resample(short[] source, int sourceWidth, short[] result, int resultWidth, int resultHeight,
+                         double scaleFactorX, double scaleFactorZ, double originOffsetX, double originOffsetZ
+    ) {
+        if (resultWidth <= 0 || resultHeight <= 0) {
+            return;
+        }
+
+        scaleFactorX = Math.abs(scaleFactorX);
+        scaleFactorZ = Math.abs(scaleFactorZ);
+
+        this.buildTables(resultWidth, scaleFactorX, originOffsetX);
+
+        int minColumn = Integer.MAX_VALUE;
+        int maxColumn = Integer.MIN_VALUE;
+        for (int scaledX = 0; scaledX < resultWidth; scaledX++) {
+            int origin = this.originTable[scaledX];
+            minColumn = Math.min(minColumn, origin - this.backward);
+            maxColumn = Math.max(maxColumn, origin - this.backward + this.pointCount - 1);
+        }
+
+        double[] columnBuffer = this.getColumnBuffer(sourceWidth);
+
+        for (int scaledZ = 0; scaledZ < resultHeight; scaledZ++) {
+            double sampleZ = scaledZ * scaleFactorZ + originOffsetZ + this.backward;
+            int originZ = MathHelper.floor(sampleZ);
+            double intermediateZ = sampleZ - originZ;
+
+            int rowIndex = (originZ - this.backward) * sourceWidth;
+            this.resampleColumns(source, sourceWidth, rowIndex, intermediateZ, minColumn, maxColumn, columnBuffer);
+            this.resampleRow(columnBuffer, result, scaledZ * resultWidth, resultWidth);
+        }
+    }
+
+    private void buildTables(int resultWidth, double scaleFactorX, double originOffsetX) {
+        if (this.originTable.length < resultWidth) {
+            this.originTable = new int[resultWidth];
+            this.intermediateTable = new double[resultWidth];
+            this.easedTable = new double[resultWidth];
+            this.inverseEasedTable = new double[resultWidth];
+        }
+
+        for (int scaledX = 0; scaledX < resultWidth; scaledX++) {
+            double sampleX = scaledX * scaleFactorX + originOffsetX + this.backward;
+            int originX = MathHelper.floor(sampleX);
+            double intermediateX = sampleX - originX;
+
+            this.originTable[scaledX] = originX;
+            this.intermediateTable[scaledX] = intermediateX;
+
+            if (this.method == Interpolation.Method.COSINE) {
+                double eased = ease(intermediateX);
+                this.easedTable[scaledX] = eased;
+                this.inverseEasedTable[scaledX] = 1.0 - eased;
+            }
+        }
+    }
+
+    private void resampleColumns(short[] source, int sourceWidth, int rowIndex, double intermediate, int minColumn, int maxColumn, double[] columnBuffer) {
+        switch (this.method) {
+            case LINEAR: {
+                int row0 = rowIndex;
+                int row1 = row0 + sourceWidth;
+                for (int x = minColumn; x <= maxColumn; x++) {
+                    double p0 = source[row0 + x];
+                    double p1 = source[row1 + x];
+                    columnBuffer[x] = p0 + (p1 - p0) * intermediate;
+                }
+                break;
+            }
+            case COSINE: {
+                double eased = ease(intermediate);
+                double inverseEased = 1.0 - eased;
+                int row0 = rowIndex;
+                int row1 = row0 + sourceWidth;
+                for (int x = minColumn; x <= maxColumn; x++) {
+                    double p0 = source[row0 + x];
+                    double p1 = source[row1 + x];
+                    columnBuffer[x] = p0 * inverseEased + p1 * eased;
+                }
+                break;
+            }
+            case CUBIC: {
+                int row0 = rowIndex;
+                int row1 = row0 + sourceWidth;
+                int row2 = row1 + sourceWidth;
+                int row3 = row2 + sourceWidth;
+                for (int x = minColumn; x <= maxColumn; x++) {
+                    double p0 = source[row0 + x];
+                    double p1 = source[row1 + x];
+                    double p2 = source[row2 + x];
+                    double p3 = source[row3 + x];
+                    columnBuffer[x] = cubic(p0, p1, p2, p3, intermediate);
+                }
+                break;
+            }
+        }
+    }
+
+    private void resampleRow(double[] columnBuffer, short[] result, int resultIndex, int resultWidth) {
+        int[] originTable = this.originTable;
+        int backward = this.backward;
+
+        switch (this.method) {
+            case LINEAR: {
+                double[] intermediateTable = this.intermediateTable;
+                for (int scaledX = 0; scaledX < resultWidth; scaledX++) {
+                    int column = originTable[scaledX] - backward;
+                    double p0 = columnBuffer[column];
+                    double p1 = columnBuffer[column + 1];
+                    result[resultIndex + scaledX] = (short) (p0 + (p1 - p0) * intermediateTable[scaledX]);
+                }
+                break;
+            }
+            case COSINE: {
+                double[] easedTable = this.easedTable;
+                double[] inverseEasedTable = this.inverseEasedTable;
+                for (int scaledX = 0; scaledX < resultWidth; scaledX++) {
+                    int column = originTable[scaledX] - backward;
+                    double p0 = columnBuffer[column];
+                    double p1 = columnBuffer[column + 1];
+                    result[resultIndex + scaledX] = (short) (p0 * inverseEasedTable[scaledX] + p1 * easedTable[scaledX]);
+                }
+                break;
+            }
+            case CUBIC: {
+                double[] intermediateTable = this.intermediateTable;
+                for (int scaledX = 0; scaledX < resultWidth; scaledX++) {
+                    int column = originTable[scaledX] - backward;
+                    double p0 = columnBuffer[column];
+                    double p1 = columnBuffer[column + 1];
+                    double p2 = columnBuffer[column + 2];
+                    double p3 = columnBuffer[column + 3];
+                    result[resultIndex + scaledX] = (short) cubic(p0, p1, p2, p3, intermediateTable[scaledX]);
+                }
+                break;
+            }
+        }
+    }
+
+    private static double ease(double intermediate) {
+        return (1.0 - Math.cos(intermediate * Math.PI)) / 2.0;
+    }
+
+    private static double cubic(double p0, double p1, double p2, double p3, double i) {
+        return p1 + 0.5 * i * (p2 - p0 + i * (2.0 * p0 - 5.0 * p1 + 4.0 * p2 - p3 + i * (3.0 * (p1 - p2) + p3 - p0)));
+    }
+
+    private double[] getColumnBuffer(int length) {
+        if (this.columnBuffer.length < length) {
+            this.columnBuffer = new double[length];
+        }
+        return this.columnBuffer;
+    }
+
+    private short[] getSourceBuffer(int length) {
+        if (this.sourceBuffer.length < length) {
+            this.sourceBuffer = new short[length];
+        }
+        return this.sourceBuffer;
+    }
+
+    private short[] getResultBuffer(int length) {
+        if (this.resultBuffer.length < length) {
+            this.resultBuffer = new short[length];
+        }
+        return this.resultBuffer;
+    }
+}
@@ -9,20 +9,28 @@ public class Voronoi {
     private static final long PRIME_1 = 22075533469133L;
     private static final long PRIME_2 = 25293517046197L;
 
-    private final Random random;
+    private static final long RANDOM_MULTIPLIER = 0x5DEECE66DL;
+    private static final long RANDOM_ADDEND = 0xBL;
+    private static final long RANDOM_MASK = (1L << 48) - 1;
 
     private final DistanceFunc distanceFunc;
     private final double fuzzRange;
     private final int gridSize;
     private final long seed;
 
+    private double[] fuzzedTableX = new double[0];
+    private double[] fuzzedTableY = new double[0];
+
+    private int[] originTableX = new int[0];
+    private int[] clampedTableX = new int[0];
+
     public Voronoi(DistanceFunc distanceFunc, double fuzzRange, int gridSize, long seed) {
         this.distanceFunc = distanceFunc;
         this.fuzzRange = fuzzRange;
         this.gridSize = gridSize;
 
-        this.random = new Random(seed);
-        this.seed = this.random.nextLong() ^ this.random.nextLong();
+        Random random = new Random(seed);
+        this.seed = random.nextLong() ^ random.nextLong();
     }
 
     public <T> void scale(T[] input, T[] output, DataView sourceView, DataView scaledView,
@@ -33,58 +41,169 @@ public class Voronoi {
 
         int scaledWidth = scaledView.getWidth();
         int scaledHeight = scaledView.getHeight();
+        if (scaledWidth <= 0 || scaledHeight <= 0) {
+            return;
+        }
+
+        int sourceWidth = sourceView.getWidth();
+        int sourceHeight = sourceView.getHeight();
+
+        int[] originTableX = this.getOriginTableX(scaledWidth);
+        int minOriginX = Integer.MAX_VALUE;
+        int maxOriginX = Integer.MIN_VALUE;
+        for (int scaledX = 0; scaledX < scaledWidth; scaledX++) {
+            int originX = MathHelper.floor(scaledX * scaleFactorX + originOffsetY);
+            originTableX[scaledX] = originX;
+            minOriginX = Math.min(minOriginX, originX);
+            maxOriginX = Math.max(maxOriginX, originX);
+        }
+
+        int minOriginY = Integer.MAX_VALUE;
+        int maxOriginY = Integer.MIN_VALUE;
+        for (int scaledY = 0; scaledY < scaledHeight; scaledY++) {
+            int originY = MathHelper.floor(scaledY * scaleFactorY + originOffsetX);
+            minOriginY = Math.min(minOriginY, originY);
+            maxOriginY = Math.max(maxOriginY, originY);
+        }
+
+        int cellMinX = minOriginX - 1;
+        int cellMinY = minOriginY - 1;
+        int cellWidth = maxOriginX - minOriginX + 3;
+        int cellHeight = maxOriginY - minOriginY + 3;
+
+        this.buildFuzzTables(sourceView, cellMinX, cellMinY, cellWidth, cellHeight, scaleFactorX, scaleFactorY);
+
+        int[] clampedTableX = this.clampedTableX;
+        for (int cellX = 0; cellX < cellWidth; cellX++) {
+            clampedTableX[cellX] = clamp(cellX + cellMinX, sourceWidth);
+        }
+
+        double[] fuzzedTableX = this.fuzzedTableX;
+        double[] fuzzedTableY = this.fuzzedTableY;
+        boolean euclidean = this.distanceFunc == DistanceFunc.EUCLIDEAN;
 
         for (int scaledY = 0; scaledY < scaledHeight; scaledY++) {
             double sampleY = scaledY * scaleFactorY + originOffsetX;
             int originY = MathHelper.floor(sampleY);
+            double pointY = scaledY + scaledOffsetY;
+
+            int baseCellY = originY - 1 - cellMinY;
 
             for (int scaledX = 0; scaledX < scaledWidth; scaledX++) {
-                double sampleX = scaledX * scaleFactorX + originOffsetY;
-                int originX = MathHelper.floor(sampleX);
+                double pointX = scaledX + scaledOffsetX;
+                int baseCellX = originTableX[scaledX] - 1 - cellMinX;
+
+                int selectedCellX = 0;
+                int selectedCellY = 0;
+                double selectionDistance = Double.MAX_VALUE;
+
+                for (int cellY = baseCellY; cellY < baseCellY + 3; cellY++) {
+                    int rowIndex = cellY * cellWidth;
+                    for (int cellX = baseCellX; cellX < baseCellX + 3; cellX++) {
+                        double deltaX = pointX - fuzzedTableX[rowIndex + cellX];
+                        double deltaY = pointY - fuzzedTableY[rowIndex + cellX];
+                        double distance;
+                        if (euclidean) {
+                            distance = deltaX * deltaX + deltaY * deltaY;
+                        } else {
+                            distance = Math.abs(deltaX) + Math.abs(deltaY);
+                        }
+                        if (distance < selectionDistance) {
+                            selectionDistance = distance;
+                            selectedCellX = cellX;
+                            selectedCellY = cellY;
+                        }
+                    }
+                }
 
-                T cellValue = this.getCellValue(input, sourceView, originX, originY, scaledX + scaledOffsetX, scaledY + scaledOffsetY, scaleFactorX, scaleFactorY);
-                output[scaledX + scaledY * scaledWidth] = cellValue;
+                int sourceX = clampedTableX[selectedCellX];
+                int sourceY = clamp(selectedCellY + cellMinY, sourceHeight);
+                output[scaledX + scaledY * scaledWidth] = input[sourceX + sourceY * sourceWidth];
             }
         }
     }
 
-    private <T> T getCellValue(T[] input, DataView sourceView,
-                               int originX, int originY, double scaledX, double scaledY,
-                               double scaleFactorX, double scaleFactorY
-    ) {
-        T cellValue = null;
-        double selectionDistance = Double.MAX_VALUE;
-        for (int neighbourY = originY - 1; neighbourY <= originY + 1; neighbourY++) {
-            for (int neighbourX = originX - 1; neighbourX <= originX + 1; neighbourX++) {
-                this.random.setSeed(this.getCellSeed(neighbourX + sourceView.getX(), neighbourY + sourceView.getY(), this.seed));
-                double fuzzedX = this.fuzzPoint(neighbourX) / scaleFactorX;
-                double fuzzedY = this.fuzzPoint(neighbourY) / scaleFactorY;
-                double distance = this.distanceFunc.get(scaledX, scaledY, fuzzedX, fuzzedY);
-                if (distance < selectionDistance) {
-                    selectionDistance = distance;
-                    cellValue = this.getClamped(input, sourceView.getWidth(), sourceView.getHeight(), neighbourX, neighbourY);
+    private void buildFuzzTables(DataView sourceView, int cellMinX, int cellMinY, int cellWidth, int cellHeight, double scaleFactorX, double scaleFactorY) {
+        int cellCount = cellWidth * cellHeight;
+        if (this.fuzzedTableX.length < cellCount) {
+            this.fuzzedTableX = new double[cellCount];
+            this.fuzzedTableY = new double[cellCount];
+        }
+        if (this.clampedTableX.length < cellWidth) {
+            this.clampedTableX = new int[cellWidth];
+        }
+
+        for (int cellY = 0; cellY < cellHeight; cellY++) {
+            int neighbourY = cellY + cellMinY;
+            for (int cellX = 0; cellX < cellWidth; cellX++) {
+                int neighbourX = cellX + cellMinX;
+
+                long cellSeed = this.getCellSeed(neighbourX + sourceView.getX(), neighbourY + sourceView.getY(), this.seed);
+                long randomState = (cellSeed ^ RANDOM_MULTIPLIER) & RANDOM_MASK;
+
+                randomState = nextRandomState(randomState);
+                int offsetX = this.nextInt(randomState);
+                if (offsetX < 0) {
+                    randomState = this.skipRejected(randomState);
+                    offsetX = this.nextInt(randomState);
                 }
+
+                randomState = nextRandomState(randomState);
+                int offsetY = this.nextInt(randomState);
+                if (offsetY < 0) {
+                    randomState = this.skipRejected(randomState);
+                    offsetY = this.nextInt(randomState);
+                }
+
+                int index = cellX + cellY * cellWidth;
+                this.fuzzedTableX[index] = this.fuzzPoint(neighbourX, offsetX) / scaleFactorX;
+                this.fuzzedTableY[index] = this.fuzzPoint(neighbourY, offsetY) / scaleFactorY;
             }
         }
-        return cellValue;
     }
 
-    private <T> T getClamped(T[] input, int width, int height, int x, int y) {
-        if (x < 0) {
-            x = 0;
-        } else if (x >= width) {
-            x = width - 1;
+    private int nextInt(long randomState) {
+        int bound = this.gridSize;
+        int bits = (int) (randomState >>> 17);
+        if ((bound & -bound) == bound) {
+            return (int) ((bound * (long) bits) >> 31);
         }
-        if (y < 0) {
-            y = 0;
-        } else if (y >= height) {
-            y = height - 1;
+        int value = bits % bound;
+        if (bits - value + (bound - 1) < 0) {
+            return -1;
+        }
+        return value;
+    }
+
+    private long skipRejected(long randomState) {
+        do {
+            randomState = nextRandomState(randomState);
+        } while (this.nextInt(randomState) < 0);
+        return randomState;
+    }
+
+    private static long nextRandomState(long randomState) {
+        return (randomState * RANDOM_MULTIPLIER + RANDOM_ADDEND) & RANDOM_MASK;
+    }
+
+    private static int clamp(int coordinate, int size) {
+        if (coordinate < 0) {
+            return 0;
+        } else if (coordinate >= size) {
+            return size - 1;
+        }
+        return coordinate;
+    }
+
+    private int[] getOriginTableX(int length) {
+        if (this.originTableX.length < length) {
+            this.originTableX = new int[length];
         }
-        return input[x + y * width];
+        return this.originTableX;
     }
 
-    private double fuzzPoint(double point) {
-        double offset = (double) this.random.nextInt(this.gridSize) / this.gridSize;
+    private double fuzzPoint(double point, int randomOffset) {
+        double offset = (double) randomOffset / this.gridSize;
         return point + 0.5 + (offset - 0.5) * this.fuzzRange;
     }
 
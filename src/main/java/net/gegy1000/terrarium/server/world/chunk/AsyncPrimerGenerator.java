@@ -0,0 +1,133 @@
+package net.gegy1000.terrarium.server.world.chunk;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.gegy1000.terrarium.Terrarium;
+import net.gegy1000.terrarium.server.world.generator.ChunkCompositionProcedure;
+import net.gegy1000.terrarium.server.world.region.GenerationRegionHandler;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.biome.Biome;
+import net.minecraft.world.chunk.ChunkPrimer;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.function.Supplier;
+
+public class AsyncPrimerGenerator {
+    private static final int MAX_PENDING = 64;
+
+    private final GenerationRegionHandler regionHandler;
+    private final Supplier<ChunkCompositionProcedure> compositionProcedure;
+
+    private final ExecutorService executor;
+
+    private final Map<Long, GenerationTask> tasks = new LinkedHashMap<Long, GenerationTask>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, GenerationTask> eldest) {
+            if (this.size() > MAX_PENDING) {
+                eldest.getValue().cancel(false);
+                return true;
+            }
+            return false;
+        }
+    };
+
+    public AsyncPrimerGenerator(GenerationRegionHandler regionHandler, Supplier<ChunkCompositionProcedure> compositionProcedure, int threadCount) {
+        this.regionHandler = regionHandler;
+        this.compositionProcedure = compositionProcedure;
+        this.executor = Executors.newFixedThreadPool(threadCount, new ThreadFactoryBuilder().setDaemon(true).setNameFormat("terrarium-generation-%d").build());
+    }
+
+    public synchronized void schedule(int chunkX, int chunkZ) {
+        long key = ChunkPos.asLong(chunkX, chunkZ);
+        if (this.tasks.containsKey(key)) {
+            return;
+        }
+
+        GenerationTask task = new GenerationTask(chunkX, chunkZ);
+        this.tasks.put(key, task);
+        this.executor.execute(task);
+    }
+
+    @Nullable
+    public Result take(int chunkX, int chunkZ) {
+        GenerationTask task;
+        synchronized (this) {
+            task = this.tasks.remove(ChunkPos.asLong(chunkX, chunkZ));
+        }
+        if (task == null) {
+            return null;
+        }
+
+        if (!task.started && task.cancel(false)) {
+            return null;
+        }
+
+        try {
+            return task.get();
+        } catch (InterruptedException | CancellationException e) {
+            return null;
+        } catch (ExecutionException e) {
+            Terrarium.LOGGER.error("Failed to generate chunk primer at {}, {}", chunkX, chunkZ, e.getCause());
+            return null;
+        }
+    }
+
+    public synchronized void shutdown() {
+        for (GenerationTask task : this.tasks.values()) {
+            task.cancel(false);
+        }
+        this.tasks.clear();
+        this.executor.shutdownNow();
+    }
+
+    private Result generate(int chunkX, int chunkZ) {
+        this.regionHandler.prepareChunk(chunkX << 4, chunkZ << 4);
+
+        ChunkCompositionProcedure compositionProcedure = this.compositionProcedure.get();
+
+        ChunkPrimer primer = new ChunkPrimer();
+        compositionProcedure.composeSurface(primer, this.regionHandler, chunkX, chunkZ);
+        Biome[] biomes = compositionProcedure.composeBiomes(this.regionHandler, chunkX, chunkZ);
+
+        return new Result(primer, Arrays.copyOf(biomes, biomes.length));
+    }
+
+    private class GenerationTask extends FutureTask<Result> {
+        private volatile boolean started;
+
+        private GenerationTask(int chunkX, int chunkZ) {
+            super(() -> AsyncPrimerGenerator.this.generate(chunkX, chunkZ));
+        }
+
+        @Override
+        public void run() {
+            this.started = true;
+            super.run();
+        }
+    }
+
+    public static class Result {
+        private final ChunkPrimer primer;
+        private final Biome[] biomes;
+
+        private Result(ChunkPrimer primer, Biome[] biomes) {
+            this.primer = primer;
+            this.biomes = biomes;
+        }
+
+        public ChunkPrimer getPrimer() {
+            return this.primer;
+        }
+
+        public Biome[] getBiomes() {
+            return this.biomes;
+        }
+    }
+}
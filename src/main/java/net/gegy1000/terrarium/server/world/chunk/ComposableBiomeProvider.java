@@ -5,6 +5,7 @@ import net.gegy1000.terrarium.server.capability.TerrariumWorldData;
 import net.gegy1000.terrarium.server.util.Lazy;
 import net.gegy1000.terrarium.server.world.generator.ChunkCompositionProcedure;
 import net.gegy1000.terrarium.server.world.region.GenerationRegionHandler;
+import net.gegy1000.terrarium.server.world.region.RegionBiomeIndex;
 import net.minecraft.init.Biomes;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
@@ -12,6 +13,7 @@ import net.minecraft.world.biome.Biome;
 import net.minecraft.world.biome.BiomeCache;
 import net.minecraft.world.biome.BiomeProvider;
 
+import javax.annotation.Nullable;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
@@ -20,7 +22,7 @@ public class ComposableBiomeProvider extends BiomeProvider {
     private final World world;
 
     private final Lazy<GenerationRegionHandler> regionHandler;
-    private final Lazy<ChunkCompositionProcedure> compositionProcedure;
+    private final Lazy<TerrariumWorldData> worldData;
 
     private final BiomeCache biomeCache = new BiomeCache(this);
 
@@ -35,7 +37,7 @@ public class ComposableBiomeProvider extends BiomeProvider {
             throw new IllegalStateException("Tried to load GenerationRegionHandler before it was present");
         });
 
-        this.compositionProcedure = new Lazy.WorldCap<>(world, TerrariumWorldData::getCompositionProcedure);
+        this.worldData = new Lazy.WorldCap<>(world, worldData -> worldData);
     }
 
     @Override
@@ -80,49 +82,37 @@ public class ComposableBiomeProvider extends BiomeProvider {
 
     @Override
     public boolean areBiomesViable(int x, int z, int radius, List<Biome> allowed) {
-        return true;
+        GenerationRegionHandler regionHandler = this.regionHandler.get();
+        ChunkCompositionProcedure compositionProcedure = this.worldData.get().getCompositionProcedure();
+
+        long[] allowedMask = RegionBiomeIndex.createMask(allowed);
+        return regionHandler.areBiomesContained(compositionProcedure, x - radius, z - radius, x + radius, z + radius, allowedMask);
     }
 
-    // TODO: Implement properly
     @Override
+    @Nullable
     public BlockPos findBiomePosition(int x, int z, int range, List<Biome> biomes, Random random) {
-        return new BlockPos(x, 0, z);
+        GenerationRegionHandler regionHandler = this.regionHandler.get();
+        ChunkCompositionProcedure compositionProcedure = this.worldData.get().getCompositionProcedure();
+
+        long[] biomeMask = RegionBiomeIndex.createMask(biomes);
+        return regionHandler.findNearestBiome(compositionProcedure, x, z, range, biomeMask, random);
     }
 
     private void populateArea(Biome[] biomes, int x, int z, int width, int height) {
-        GenerationRegionHandler regionHandler = this.regionHandler.get();
-        ChunkCompositionProcedure compositionProcedure = this.compositionProcedure.get();
-
-        if (this.isChunkGeneration(x, z, width, height)) {
-            Biome[] biomeBuffer = compositionProcedure.composeBiomes(regionHandler, x >> 4, z >> 4);
-            System.arraycopy(biomeBuffer, 0, biomes, 0, biomeBuffer.length);
-            return;
+        byte[] biomeIds = this.sampleBiomeIds(x, z, width, height);
+        for (int i = 0; i < width * height; i++) {
+            biomes[i] = Biome.getBiome(biomeIds[i] & 0xFF, Biomes.DEFAULT);
         }
+    }
 
-        int chunkMinX = x >> 4;
-        int chunkMinZ = z >> 4;
-        int chunkMaxX = (x + width) >> 4;
-        int chunkMaxZ = (z + height) >> 4;
-
-        for (int chunkZ = chunkMinZ; chunkZ <= chunkMaxZ; chunkZ++) {
-            for (int chunkX = chunkMinX; chunkX <= chunkMaxX; chunkX++) {
-                int minChunkX = chunkX << 4;
-                int minChunkZ = chunkZ << 4;
-
-                int minX = Math.max(minChunkX, x);
-                int maxX = Math.min((chunkX + 1) << 4, x + width);
-                int minZ = Math.max(minChunkZ, z);
-                int maxZ = Math.min((chunkZ + 1) << 4, z + height);
-
-                Biome[] biomeBuffer = compositionProcedure.composeBiomes(regionHandler, chunkX, chunkZ);
+    private byte[] sampleBiomeIds(int x, int z, int width, int height) {
+        GenerationRegionHandler regionHandler = this.regionHandler.get();
+        ChunkCompositionProcedure compositionProcedure = this.worldData.get().getCompositionProcedure();
 
-                for (int localZ = minZ; localZ < maxZ; localZ++) {
-                    int srcPos = (localZ - z) * 16;
-                    int destPos = minX + localZ * width;
-                    System.arraycopy(biomeBuffer, srcPos, biomes, destPos, maxX - minX);
-                }
-            }
-        }
+        byte[] biomeIds = new byte[width * height];
+        regionHandler.fillBiomes(compositionProcedure, biomeIds, x, z, width, height);
+        return biomeIds;
     }
 
     private boolean isChunkGeneration(int x, int z, int width, int height) {
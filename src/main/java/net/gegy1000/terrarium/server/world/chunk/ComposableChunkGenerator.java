@@ -2,8 +2,10 @@ package net.gegy1000.terrarium.server.world.chunk;
 
 import net.gegy1000.terrarium.server.capability.TerrariumCapabilities;
 import net.gegy1000.terrarium.server.capability.TerrariumWorldData;
+import net.gegy1000.terrarium.server.config.TerrariumConfig;
 import net.gegy1000.terrarium.server.util.Lazy;
 import net.gegy1000.terrarium.server.world.generator.ChunkCompositionProcedure;
+import net.gegy1000.terrarium.server.world.pipeline.composer.decoration.DecorationWriteBuffer;
 import net.gegy1000.terrarium.server.world.region.GenerationRegionHandler;
 import net.minecraft.block.BlockFalling;
 import net.minecraft.entity.EnumCreatureType;
@@ -13,11 +15,14 @@ import net.minecraft.world.WorldEntitySpawner;
 import net.minecraft.world.biome.Biome;
 import net.minecraft.world.chunk.Chunk;
 import net.minecraft.world.chunk.ChunkPrimer;
+import net.minecraft.world.chunk.IChunkProvider;
 import net.minecraft.world.gen.IChunkGenerator;
 import net.minecraftforge.event.ForgeEventFactory;
 import net.minecraftforge.event.terraingen.PopulateChunkEvent;
 import net.minecraftforge.event.terraingen.TerrainGen;
 
+import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 
@@ -27,17 +32,20 @@ public class ComposableChunkGenerator implements IChunkGenerator {
     private final World world;
     private final Random random;
 
-    private final Lazy<ChunkCompositionProcedure> compositionProcedure;
+    private final Lazy<TerrariumWorldData> worldData;
 
     private final Lazy<GenerationRegionHandler> regionHandler;
 
-    private final Biome[] biomeBuffer = new Biome[16 * 16];
+    private final DecorationWriteBuffer decorationBuffer;
+
+    private AsyncPrimerGenerator asyncGenerator;
 
     public ComposableChunkGenerator(World world) {
         this.world = world;
         this.random = new Random(world.getWorldInfo().getSeed());
+        this.decorationBuffer = new DecorationWriteBuffer(world);
 
-        this.compositionProcedure = new Lazy.WorldCap<>(world, TerrariumWorldData::getCompositionProcedure);
+        this.worldData = new Lazy.WorldCap<>(world, worldData -> worldData);
 
         this.regionHandler = new Lazy<>(() -> {
             TerrariumWorldData capability = this.world.getCapability(TerrariumCapabilities.worldDataCapability, null);
@@ -50,15 +58,64 @@ public class ComposableChunkGenerator implements IChunkGenerator {
 
     @Override
     public Chunk generateChunk(int chunkX, int chunkZ) {
-        ChunkPrimer primer = this.generatePrimer(chunkX, chunkZ);
+        AsyncPrimerGenerator asyncGenerator = this.getAsyncGenerator();
+        if (asyncGenerator == null) {
+            return this.generateChunkSync(chunkX, chunkZ);
+        }
 
-        Chunk chunk = new Chunk(this.world, primer, chunkX, chunkZ);
+        AsyncPrimerGenerator.Result result = asyncGenerator.take(chunkX, chunkZ);
+
+        Chunk chunk;
+        if (result != null) {
+            chunk = this.createChunk(result.getPrimer(), result.getBiomes(), chunkX, chunkZ);
+        } else {
+            chunk = this.generateChunkSync(chunkX, chunkZ);
+        }
+
+        this.scheduleNeighbours(asyncGenerator, chunkX, chunkZ);
+
+        return chunk;
+    }
+
+    private Chunk generateChunkSync(int chunkX, int chunkZ) {
+        return this.composeChunk(chunkX, chunkZ, (x, z, primer, biomes) -> this.createChunk(primer, biomes, x, z));
+    }
+
+    private void scheduleNeighbours(AsyncPrimerGenerator asyncGenerator, int chunkX, int chunkZ) {
+        IChunkProvider chunkProvider = this.world.getChunkProvider();
+        for (int neighbourZ = chunkZ - 1; neighbourZ <= chunkZ + 1; neighbourZ++) {
+            for (int neighbourX = chunkX - 1; neighbourX <= chunkX + 1; neighbourX++) {
+                if ((neighbourX != chunkX || neighbourZ != chunkZ) && !chunkProvider.isChunkGeneratedAt(neighbourX, neighbourZ)) {
+                    asyncGenerator.schedule(neighbourX, neighbourZ);
+                }
+            }
+        }
+    }
+
+    @Nullable
+    private AsyncPrimerGenerator getAsyncGenerator() {
+        if (this.asyncGenerator == null && TerrariumConfig.generationThreads > 0) {
+            TerrariumWorldData capability = this.world.getCapability(TerrariumCapabilities.worldDataCapability, null);
+            if (capability != null) {
+                this.asyncGenerator = new AsyncPrimerGenerator(capability.getRegionHandler(), capability::getCompositionProcedure, TerrariumConfig.generationThreads);
+            }
+        }
+        return this.asyncGenerator;
+    }
 
-        Biome[] biomeBuffer = this.provideBiomes(chunkX, chunkZ);
+    public void shutdown() {
+        if (this.asyncGenerator != null) {
+            this.asyncGenerator.shutdown();
+            this.asyncGenerator = null;
+        }
+    }
+
+    public Chunk createChunk(ChunkPrimer primer, Biome[] biomes, int chunkX, int chunkZ) {
+        Chunk chunk = new Chunk(this.world, primer, chunkX, chunkZ);
 
         byte[] biomeArray = chunk.getBiomeArray();
-        for (int i = 0; i < biomeBuffer.length; i++) {
-            biomeArray[i] = (byte) Biome.getIdForBiome(biomeBuffer[i]);
+        for (int i = 0; i < biomes.length; i++) {
+            biomeArray[i] = (byte) Biome.getIdForBiome(biomes[i]);
         }
 
         chunk.generateSkylightMap();
@@ -66,20 +123,42 @@ public class ComposableChunkGenerator implements IChunkGenerator {
         return chunk;
     }
 
-    public ChunkPrimer generatePrimer(int chunkX, int chunkZ) {
+    public <T> List<T> generateChunkBlock(int originChunkX, int originChunkZ, int size, ChunkConsumer<T> consumer) {
         GenerationRegionHandler regionHandler = this.regionHandler.get();
-        regionHandler.prepareChunk(chunkX << 4, chunkZ << 4);
+        regionHandler.prepareChunkBlock(originChunkX << 4, originChunkZ << 4, size << 4, size << 4);
 
-        ChunkPrimer primer = new ChunkPrimer();
+        ChunkCompositionProcedure compositionProcedure = this.worldData.get().getCompositionProcedure();
 
-        ChunkCompositionProcedure compositionProcedure = this.compositionProcedure.get();
-        compositionProcedure.composeSurface(primer, regionHandler, chunkX, chunkZ);
+        List<T> results = new ArrayList<>(size * size);
+        for (int offsetZ = 0; offsetZ < size; offsetZ++) {
+            for (int offsetX = 0; offsetX < size; offsetX++) {
+                int chunkX = originChunkX + offsetX;
+                int chunkZ = originChunkZ + offsetZ;
+
+                regionHandler.selectBlockChunk(offsetX << 4, offsetZ << 4);
+
+                ChunkPrimer primer = new ChunkPrimer();
+                compositionProcedure.composeSurface(primer, regionHandler, chunkX, chunkZ);
+                Biome[] biomes = compositionProcedure.composeBiomes(regionHandler, chunkX, chunkZ);
 
-        return primer;
+                results.add(consumer.accept(chunkX, chunkZ, primer, biomes));
+            }
+        }
+
+        return results;
     }
 
-    public Biome[] provideBiomes(int chunkX, int chunkZ) {
-        return this.world.getBiomeProvider().getBiomes(this.biomeBuffer, chunkX << 4, chunkZ << 4, 16, 16);
+    public <T> T composeChunk(int chunkX, int chunkZ, ChunkConsumer<T> consumer) {
+        GenerationRegionHandler regionHandler = this.regionHandler.get();
+        regionHandler.prepareChunk(chunkX << 4, chunkZ << 4);
+
+        ChunkCompositionProcedure compositionProcedure = this.worldData.get().getCompositionProcedure();
+
+        ChunkPrimer primer = new ChunkPrimer();
+        compositionProcedure.composeSurface(primer, regionHandler, chunkX, chunkZ);
+        Biome[] biomes = compositionProcedure.composeBiomes(regionHandler, chunkX, chunkZ);
+
+        return consumer.accept(chunkX, chunkZ, primer, biomes);
     }
 
     @Override
@@ -96,8 +175,9 @@ public class ComposableChunkGenerator implements IChunkGenerator {
 
         ForgeEventFactory.onChunkPopulate(true, this, this.world, this.random, chunkX, chunkZ, false);
 
-        ChunkCompositionProcedure compositionProcedure = this.compositionProcedure.get();
-        compositionProcedure.composeDecoration(this.world, regionHandler, chunkX, chunkZ);
+        ChunkCompositionProcedure compositionProcedure = this.worldData.get().getCompositionProcedure();
+        compositionProcedure.composeDecoration(this.decorationBuffer, regionHandler, chunkX, chunkZ);
+        this.decorationBuffer.flush();
 
         if (TerrainGen.populate(this, this.world, this.random, chunkX, chunkZ, false, PopulateChunkEvent.Populate.EventType.ANIMALS)) {
             Biome biome = this.world.getChunkFromChunkCoords(chunkX, chunkZ).getBiome(DECORATION_CENTER, this.world.getBiomeProvider());
@@ -132,4 +212,8 @@ public class ComposableChunkGenerator implements IChunkGenerator {
     public boolean isInsideStructure(World world, String structureName, BlockPos pos) {
         return false;
     }
+
+    public interface ChunkConsumer<T> {
+        T accept(int chunkX, int chunkZ, ChunkPrimer primer, Biome[] biomes);
+    }
 }
@@ -0,0 +1,83 @@
+package net.gegy1000.terrarium.server.world.chunk;
+
+import net.gegy1000.terrarium.Terrarium;
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.world.chunk.ChunkPrimer;
+import net.minecraftforge.fml.relauncher.ReflectionHelper;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+
+public class RawChunkPrimer {
+    public static final char AIR_ID = 0;
+
+    private static Field dataField;
+
+    private final ChunkPrimer primer;
+    private final char[] data;
+
+    static {
+        try {
+            dataField = ReflectionHelper.findField(ChunkPrimer.class, "data", "field_177860_a");
+        } catch (ReflectionHelper.UnableToFindFieldException e) {
+            Terrarium.LOGGER.error("Failed to find chunk primer data field", e);
+        }
+    }
+
+    private RawChunkPrimer(ChunkPrimer primer, char[] data) {
+        this.primer = primer;
+        this.data = data;
+    }
+
+    public static RawChunkPrimer wrap(ChunkPrimer primer) {
+        char[] data = null;
+        if (dataField != null) {
+            try {
+                data = (char[]) dataField.get(primer);
+            } catch (IllegalAccessException e) {
+                Terrarium.LOGGER.error("Failed to get chunk primer data", e);
+                dataField = null;
+            }
+        }
+        return new RawChunkPrimer(primer, data);
+    }
+
+    public static char getId(IBlockState state) {
+        return (char) Block.BLOCK_STATE_IDS.get(state);
+    }
+
+    public char getId(int x, int y, int z) {
+        if (this.data == null) {
+            return getId(this.primer.getBlockState(x, y, z));
+        }
+        return this.data[getIndex(x, y, z)];
+    }
+
+    public void setId(int x, int y, int z, char id) {
+        if (this.data == null) {
+            this.primer.setBlockState(x, y, z, Block.BLOCK_STATE_IDS.getByValue(id));
+            return;
+        }
+        this.data[getIndex(x, y, z)] = id;
+    }
+
+    public void fillColumn(int x, int z, int minY, int maxY, char id) {
+        if (minY > maxY) {
+            return;
+        }
+        if (this.data == null) {
+            IBlockState state = Block.BLOCK_STATE_IDS.getByValue(id);
+            for (int y = minY; y <= maxY; y++) {
+                this.primer.setBlockState(x, y, z, state);
+            }
+            return;
+        }
+        int columnIndex = getIndex(x, 0, z);
+        Arrays.fill(this.data, columnIndex + minY, columnIndex + maxY + 1, id);
+    }
+
+    private static int getIndex(int x, int y, int z) {
+        return x << 12 | z << 8 | y;
+    }
+}
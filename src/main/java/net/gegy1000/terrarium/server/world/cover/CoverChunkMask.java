@@ -0,0 +1,66 @@
+package net.gegy1000.terrarium.server.world.cover;
+
+import net.gegy1000.terrarium.server.world.pipeline.source.tile.CoverRasterTile;
+
+import java.util.Arrays;
+
+public class CoverChunkMask {
+    public static final int CELL_WORDS = 4;
+
+    private static final int MAX_TYPES = 16 * 16;
+
+    private final CoverType<?>[] types = new CoverType<?>[MAX_TYPES];
+    private int typeCount;
+
+    private final long[] cellMasks = new long[MAX_TYPES * CELL_WORDS];
+
+    public void prepare(CoverRasterTile coverRaster) {
+        Arrays.fill(this.cellMasks, 0, this.typeCount * CELL_WORDS, 0);
+        Arrays.fill(this.types, 0, this.typeCount, null);
+        this.typeCount = 0;
+
+        CoverType<?> lastType = null;
+        int offset = 0;
+        for (int localZ = 0; localZ < 16; localZ++) {
+            for (int localX = 0; localX < 16; localX++) {
+                CoverType<?> type = coverRaster.get(localX, localZ);
+                if (type != lastType) {
+                    offset = this.register(type) * CELL_WORDS;
+                    lastType = type;
+                }
+                int cell = localX + localZ * 16;
+                this.cellMasks[offset + (cell >>> 6)] |= 1L << cell;
+            }
+        }
+    }
+
+    private int register(CoverType<?> type) {
+        int index = this.getIndex(type);
+        if (index == -1) {
+            index = this.typeCount++;
+            this.types[index] = type;
+        }
+        return index;
+    }
+
+    public int getIndex(CoverType<?> type) {
+        for (int i = 0; i < this.typeCount; i++) {
+            if (this.types[i] == type) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int getTypeCount() {
+        return this.typeCount;
+    }
+
+    public CoverType<?> getType(int index) {
+        return this.types[index];
+    }
+
+    public long getCells(int index, int word) {
+        return this.cellMasks[index * CELL_WORDS + word];
+    }
+}
@@ -1,8 +1,8 @@
 package net.gegy1000.terrarium.server.world.cover;
 
+import net.gegy1000.terrarium.server.world.pipeline.composer.decoration.DecorationWriteBuffer;
 import net.gegy1000.terrarium.server.world.pipeline.source.tile.CoverRasterTile;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.world.World;
 
 import java.util.HashSet;
 import java.util.Random;
@@ -16,10 +16,9 @@ public abstract class CoverDecorationGenerator<T extends CoverGenerationContext>
         super(context, coverType);
     }
 
-    public abstract void decorate(int originX, int originZ, Random random);
+    public abstract void decorate(DecorationWriteBuffer writeBuffer, int originX, int originZ, Random random);
 
-    protected void decorateScatter(Random random, int originX, int originZ, int count, ScatterDecorateConsumer decorator) {
-        World world = this.context.getWorld();
+    protected void decorateScatter(DecorationWriteBuffer writeBuffer, Random random, int originX, int originZ, int count, ScatterDecorateConsumer decorator) {
         CoverRasterTile coverRaster = this.context.getCoverRaster();
 
         for (int i = 0; i < count; i++) {
@@ -30,9 +29,11 @@ public abstract class CoverDecorationGenerator<T extends CoverGenerationContext>
                 this.mutablePos.setPos(originX + scatterX, 0, originZ + scatterZ);
 
                 if (this.tryPlace(random, this.mutablePos, scatterX, scatterZ)) {
-                    BlockPos topBlock = world.getHeight(this.mutablePos);
-                    if (!world.isAirBlock(topBlock)) {
-                        world.setBlockToAir(topBlock);
+                    int globalX = this.mutablePos.getX();
+                    int globalZ = this.mutablePos.getZ();
+                    BlockPos topBlock = new BlockPos(globalX, writeBuffer.getHeight(globalX, globalZ), globalZ);
+                    if (!writeBuffer.isAirBlock(topBlock)) {
+                        writeBuffer.setBlockToAir(topBlock);
                     }
                     decorator.handlePoint(topBlock, scatterX, scatterZ);
                 }
@@ -81,7 +82,7 @@ public abstract class CoverDecorationGenerator<T extends CoverGenerationContext>
         }
 
         @Override
-        public void decorate(int originX, int originZ, Random random) {
+        public void decorate(DecorationWriteBuffer writeBuffer, int originX, int originZ, Random random) {
         }
     }
 }
@@ -11,16 +11,22 @@ public interface CoverGenerationContext {
 
     long getSeed();
 
-    void prepareChunk(GenerationRegionHandler regionHandler);
+    void prepareChunk(GenerationRegionHandler regionHandler, CoverChunkMask coverMask);
+
+    GenerationRegionHandler getRegionHandler();
 
     ShortRasterTile getHeightRaster();
 
     CoverRasterTile getCoverRaster();
 
+    CoverChunkMask getCoverMask();
+
     class Default implements CoverGenerationContext {
         private final World world;
         private final RegionComponentType<ShortRasterTile> heightComponent;
         private final RegionComponentType<CoverRasterTile> coverComponent;
+        private GenerationRegionHandler regionHandler;
+        private CoverChunkMask coverMask;
         private ShortRasterTile heightTile;
         private CoverRasterTile coverTile;
 
@@ -41,11 +47,18 @@ public interface CoverGenerationContext {
         }
 
         @Override
-        public void prepareChunk(GenerationRegionHandler regionHandler) {
+        public void prepareChunk(GenerationRegionHandler regionHandler, CoverChunkMask coverMask) {
+            this.regionHandler = regionHandler;
+            this.coverMask = coverMask;
             this.heightTile = regionHandler.getCachedChunkRaster(this.heightComponent);
             this.coverTile = regionHandler.getCachedChunkRaster(this.coverComponent);
         }
 
+        @Override
+        public GenerationRegionHandler getRegionHandler() {
+            return this.regionHandler;
+        }
+
         @Override
         public ShortRasterTile getHeightRaster() {
             return this.heightTile;
@@ -55,5 +68,10 @@ public interface CoverGenerationContext {
         public CoverRasterTile getCoverRaster() {
             return this.coverTile;
         }
+
+        @Override
+        public CoverChunkMask getCoverMask() {
+            return this.coverMask;
+        }
     }
 }
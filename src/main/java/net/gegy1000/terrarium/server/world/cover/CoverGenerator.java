@@ -1,11 +1,12 @@
 package net.gegy1000.terrarium.server.world.cover;
 
+import net.gegy1000.terrarium.server.world.cover.generator.layer.SelectionContext;
+import net.gegy1000.terrarium.server.world.cover.generator.layer.SelectionStack;
 import net.gegy1000.terrarium.server.world.feature.tree.GenerousDenseShrubGenerator;
 import net.gegy1000.terrarium.server.world.feature.tree.GenerousPineGenerator;
 import net.gegy1000.terrarium.server.world.feature.tree.GenerousTaigaGenerator;
 import net.gegy1000.terrarium.server.world.feature.tree.SmallShrubGenerator;
 import net.gegy1000.terrarium.server.world.feature.tree.TallShrubGenerator;
-import net.gegy1000.terrarium.server.world.pipeline.source.tile.CoverRasterTile;
 import net.minecraft.block.BlockDirt;
 import net.minecraft.block.BlockDoublePlant;
 import net.minecraft.block.BlockLeaves;
@@ -19,8 +20,6 @@ import net.minecraft.block.state.IBlockState;
 import net.minecraft.init.Blocks;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.gen.feature.WorldGenerator;
-import net.minecraft.world.gen.layer.GenLayer;
-import net.minecraft.world.gen.layer.IntCache;
 
 import java.util.Random;
 
@@ -80,6 +79,7 @@ public abstract class CoverGenerator<T extends CoverGenerationContext> {
     protected static final WorldGenerator JUNGLE_DENSE_SHRUB = new GenerousDenseShrubGenerator(JUNGLE_LOG, JUNGLE_LEAF);
 
     protected final BlockPos.MutableBlockPos mutablePos = new BlockPos.MutableBlockPos();
+    protected final SelectionContext selectionContext = new SelectionContext();
 
     protected final T context;
 
@@ -91,12 +91,17 @@ public abstract class CoverGenerator<T extends CoverGenerationContext> {
     }
 
     protected final void iterateChunk(PointConsumer handler) {
-        CoverRasterTile coverRaster = this.context.getCoverRaster();
-        for (int localZ = 0; localZ < 16; localZ++) {
-            for (int localX = 0; localX < 16; localX++) {
-                if (coverRaster.get(localX, localZ) == this.coverType) {
-                    handler.handlePoint(localX, localZ);
-                }
+        CoverChunkMask coverMask = this.context.getCoverMask();
+        int index = coverMask.getIndex(this.coverType);
+        if (index == -1) {
+            return;
+        }
+        for (int word = 0; word < CoverChunkMask.CELL_WORDS; word++) {
+            long cells = coverMask.getCells(index, word);
+            while (cells != 0) {
+                int cell = (word << 6) + Long.numberOfTrailingZeros(cells);
+                handler.handlePoint(cell & 15, cell >> 4);
+                cells &= cells - 1;
             }
         }
     }
@@ -105,9 +110,9 @@ public abstract class CoverGenerator<T extends CoverGenerationContext> {
         return random.nextInt((maximum - minimum) + 1) + minimum;
     }
 
-    protected final int[] sampleChunk(GenLayer layer, int x, int z) {
-        IntCache.resetIntCache();
-        return layer.getInts(x, z, 16, 16);
+    protected final int[] sampleChunk(SelectionStack selector, int[] result, int x, int z) {
+        this.context.getRegionHandler().fillSelectorLayer(selector, this.selectionContext, result, x, z, 16, 16);
+        return result;
     }
 
     protected interface PointConsumer {
@@ -1,13 +1,15 @@
 package net.gegy1000.terrarium.server.world.cover;
 
+import net.gegy1000.terrarium.server.world.cover.generator.layer.SelectionStack;
 import net.gegy1000.terrarium.server.world.cover.generator.primer.CoverPrimer;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.world.biome.Biome;
-import net.minecraft.world.gen.layer.GenLayer;
 
 import java.util.Random;
 
 public abstract class CoverSurfaceGenerator<T extends CoverGenerationContext> extends CoverGenerator<T> {
+    private final int[] layerBuffer = new int[16 * 16];
+
     protected CoverSurfaceGenerator(T context, CoverType<T> coverType) {
         super(context, coverType);
     }
@@ -29,8 +31,8 @@ public abstract class CoverSurfaceGenerator<T extends CoverGenerationContext> ex
     public void decorate(int originX, int originZ, CoverPrimer primer, Random random) {
     }
 
-    protected void coverFromLayer(IBlockState[] blockBuffer, int originX, int originZ, GenLayer layer, BlockProvider blockProvider) {
-        int[] sampledLayer = this.sampleChunk(layer, originX, originZ);
+    protected void coverFromLayer(IBlockState[] blockBuffer, int originX, int originZ, SelectionStack selector, BlockProvider blockProvider) {
+        int[] sampledLayer = this.sampleChunk(selector, this.layerBuffer, originX, originZ);
 
         this.iterateChunk((localX, localZ) -> {
             int bufferIndex = localX + localZ * 16;
@@ -1,40 +1,29 @@
 package net.gegy1000.terrarium.server.world.cover.generator.layer;
 
-import net.minecraft.world.gen.layer.GenLayer;
-import net.minecraft.world.gen.layer.IntCache;
-
-public class ConnectHorizontalLayer extends GenLayer {
+public class ConnectHorizontalLayer extends SelectionLayer {
     private final int connect;
 
-    public ConnectHorizontalLayer(int connect, long seed, GenLayer parent) {
-        super(seed);
+    public ConnectHorizontalLayer(int connect, long seed, SelectionLayer parent) {
+        super(seed, parent);
         this.connect = connect;
-        this.parent = parent;
     }
 
     @Override
-    public int[] getInts(int areaX, int areaY, int areaWidth, int areaHeight) {
-        int sampleX = areaX - 1;
-        int sampleZ = areaY - 1;
-        int sampleWidth = areaWidth + 2;
-        int sampleHeight = areaHeight + 2;
-        int[] parent = this.parent.getInts(sampleX, sampleZ, sampleWidth, sampleHeight);
-        int[] result = IntCache.getIntCache(areaWidth * areaHeight);
-
-        for (int z = 0; z < areaHeight; z++) {
-            for (int x = 0; x < areaWidth; x++) {
-                int parentX = x + 1;
-                int parentZ = z + 1;
+    public void sample(SelectionContext context, int[] parent, int[] result, int x, int z, int width, int height) {
+        int sampleWidth = width + 2;
+
+        for (int localZ = 0; localZ < height; localZ++) {
+            for (int localX = 0; localX < width; localX++) {
+                int parentX = localX + 1;
+                int parentZ = localZ + 1;
                 int sample = parent[parentX + parentZ * sampleWidth];
                 int type = sample;
                 if (sample != this.connect) {
                     type = this.connect(sampleWidth, parent, parentX, parentZ, type);
                 }
-                result[x + z * areaWidth] = type;
+                result[localX + localZ * width] = type;
             }
         }
-
-        return result;
     }
 
     private int connect(int sampleWidth, int[] parent, int parentX, int parentZ, int type) {
@@ -52,4 +41,33 @@ public class ConnectHorizontalLayer extends GenLayer {
         }
         return type;
     }
+
+    @Override
+    public int getParentX(int x) {
+        return x - 1;
+    }
+
+    @Override
+    public int getParentZ(int z) {
+        return z - 1;
+    }
+
+    @Override
+    public int getParentWidth(int width) {
+        return width + 2;
+    }
+
+    @Override
+    public int getParentHeight(int height) {
+        return height + 2;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (super.equals(obj)) {
+            ConnectHorizontalLayer layer = (ConnectHorizontalLayer) obj;
+            return layer.connect == this.connect;
+        }
+        return false;
+    }
 }
@@ -0,0 +1,12 @@
+package net.gegy1000.terrarium.server.world.cover.generator.layer;
+
+public class FuzzyZoomLayer extends ZoomLayer {
+    public FuzzyZoomLayer(long seed, SelectionLayer parent) {
+        super(seed, parent);
+    }
+
+    @Override
+    protected int select(SelectionContext context, int topLeft, int topRight, int bottomLeft, int bottomRight) {
+        return context.selectRandom(topLeft, topRight, bottomLeft, bottomRight);
+    }
+}
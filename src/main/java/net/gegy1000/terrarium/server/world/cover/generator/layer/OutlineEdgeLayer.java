@@ -1,31 +1,20 @@
 package net.gegy1000.terrarium.server.world.cover.generator.layer;
 
-import net.minecraft.world.gen.layer.GenLayer;
-import net.minecraft.world.gen.layer.IntCache;
-
-public class OutlineEdgeLayer extends GenLayer {
+public class OutlineEdgeLayer extends SelectionLayer {
     private final int outline;
 
-    public OutlineEdgeLayer(int outline, long seed, GenLayer parent) {
-        super(seed);
+    public OutlineEdgeLayer(int outline, long seed, SelectionLayer parent) {
+        super(seed, parent);
         this.outline = outline;
-        this.parent = parent;
     }
 
     @Override
-    public int[] getInts(int areaX, int areaY, int areaWidth, int areaHeight) {
-        int sampleX = areaX - 1;
-        int sampleZ = areaY - 1;
-        int sampleWidth = areaWidth + 2;
-        int sampleHeight = areaHeight + 2;
-        int[] parent = this.parent.getInts(sampleX, sampleZ, sampleWidth, sampleHeight);
-
-        int[] result = IntCache.getIntCache(areaWidth * areaHeight);
-
-        this.outlineHorizontal(areaWidth, areaHeight, sampleWidth, sampleHeight, parent, result);
-        this.outlineVertical(areaWidth, areaHeight, sampleWidth, sampleHeight, parent, result);
+    public void sample(SelectionContext context, int[] parent, int[] result, int x, int z, int width, int height) {
+        int sampleWidth = width + 2;
+        int sampleHeight = height + 2;
 
-        return result;
+        this.outlineHorizontal(width, height, sampleWidth, sampleHeight, parent, result);
+        this.outlineVertical(width, height, sampleWidth, sampleHeight, parent, result);
     }
 
     private void outlineHorizontal(int areaWidth, int areaHeight, int sampleWidth, int sampleHeight, int[] parentBuffer, int[] buffer) {
@@ -73,4 +62,33 @@ public class OutlineEdgeLayer extends GenLayer {
             }
         }
     }
+
+    @Override
+    public int getParentX(int x) {
+        return x - 1;
+    }
+
+    @Override
+    public int getParentZ(int z) {
+        return z - 1;
+    }
+
+    @Override
+    public int getParentWidth(int width) {
+        return width + 2;
+    }
+
+    @Override
+    public int getParentHeight(int height) {
+        return height + 2;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (super.equals(obj)) {
+            OutlineEdgeLayer layer = (OutlineEdgeLayer) obj;
+            return layer.outline == this.outline;
+        }
+        return false;
+    }
 }
@@ -1,39 +1,41 @@
 package net.gegy1000.terrarium.server.world.cover.generator.layer;
 
-import net.minecraft.world.gen.layer.GenLayer;
-import net.minecraft.world.gen.layer.IntCache;
-
-public class ReplaceRandomLayer extends GenLayer {
+public class ReplaceRandomLayer extends SelectionLayer {
     private final int replace;
     private final int replacement;
     private final int chance;
 
-    public ReplaceRandomLayer(int replace, int replacement, int chance, long seed, GenLayer parent) {
-        super(seed);
+    public ReplaceRandomLayer(int replace, int replacement, int chance, long seed, SelectionLayer parent) {
+        super(seed, parent);
         this.replace = replace;
         this.replacement = replacement;
         this.chance = chance;
-        this.parent = parent;
     }
 
     @Override
-    public int[] getInts(int areaX, int areaY, int areaWidth, int areaHeight) {
-        int[] parent = this.parent.getInts(areaX, areaY, areaWidth, areaHeight);
-        int[] result = IntCache.getIntCache(areaWidth * areaHeight);
-        for (int z = 0; z < areaHeight; z++) {
-            for (int x = 0; x < areaWidth; x++) {
-                int index = x + z * areaWidth;
+    public void sample(SelectionContext context, int[] parent, int[] result, int x, int z, int width, int height) {
+        for (int localZ = 0; localZ < height; localZ++) {
+            for (int localX = 0; localX < width; localX++) {
+                int index = localX + localZ * width;
                 int sample = parent[index];
-                result[index] = this.shouldReplace(areaX + x, areaY + z, sample) ? this.replacement : sample;
+                result[index] = this.shouldReplace(context, x + localX, z + localZ, sample) ? this.replacement : sample;
             }
         }
-        return result;
     }
 
-    private boolean shouldReplace(long x, long z, int sample) {
+    private boolean shouldReplace(SelectionContext context, long x, long z, int sample) {
         if (sample == this.replace) {
-            this.initChunkSeed(x, z);
-            return this.nextInt(this.chance) == 0;
+            context.initChunkSeed(x, z);
+            return context.nextInt(this.chance) == 0;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (super.equals(obj)) {
+            ReplaceRandomLayer layer = (ReplaceRandomLayer) obj;
+            return layer.replace == this.replace && layer.replacement == this.replacement && layer.chance == this.chance;
         }
         return false;
     }
@@ -1,9 +1,8 @@
 package net.gegy1000.terrarium.server.world.cover.generator.layer;
 
-import net.minecraft.world.gen.layer.GenLayer;
-import net.minecraft.world.gen.layer.IntCache;
+import java.util.Arrays;
 
-public class SelectWeightedLayer extends GenLayer {
+public class SelectWeightedLayer extends SelectionLayer {
     private final Entry[] entries;
     private final int totalWeight;
 
@@ -19,15 +18,13 @@ public class SelectWeightedLayer extends GenLayer {
     }
 
     @Override
-    public int[] getInts(int areaX, int areaY, int areaWidth, int areaHeight) {
-        int[] result = IntCache.getIntCache(areaWidth * areaHeight);
-        for (int z = 0; z < areaHeight; z++) {
-            for (int x = 0; x < areaWidth; x++) {
-                this.initChunkSeed(areaX + x, areaY + z);
-                result[x + z * areaWidth] = this.getSelection(this.nextInt(this.totalWeight));
+    public void sample(SelectionContext context, int[] parent, int[] result, int x, int z, int width, int height) {
+        for (int localZ = 0; localZ < height; localZ++) {
+            for (int localX = 0; localX < width; localX++) {
+                context.initChunkSeed(x + localX, z + localZ);
+                result[localX + localZ * width] = this.getSelection(context.nextInt(this.totalWeight));
             }
         }
-        return result;
     }
 
     private int getSelection(int weight) {
@@ -41,6 +38,15 @@ public class SelectWeightedLayer extends GenLayer {
         return 0;
     }
 
+    @Override
+    public boolean equals(Object obj) {
+        if (super.equals(obj)) {
+            SelectWeightedLayer layer = (SelectWeightedLayer) obj;
+            return Arrays.equals(layer.entries, this.entries);
+        }
+        return false;
+    }
+
     public static class Entry {
         private final int value;
         private final int weight;
@@ -49,5 +55,19 @@ public class SelectWeightedLayer extends GenLayer {
             this.value = value;
             this.weight = weight;
         }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj instanceof Entry) {
+                Entry entry = (Entry) obj;
+                return entry.value == this.value && entry.weight == this.weight;
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return this.value * 31 + this.weight;
+        }
     }
 }
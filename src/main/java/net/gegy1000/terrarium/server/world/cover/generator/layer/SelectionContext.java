@@ -0,0 +1,93 @@
+package net.gegy1000.terrarium.server.world.cover.generator.layer;
+
+public class SelectionContext {
+    private final int[][] buffers = new int[4][0];
+    private int[] areas = new int[0];
+
+    private long worldSeed;
+    private long chunkSeed;
+
+    void initWorldSeed(long worldSeed) {
+        this.worldSeed = worldSeed;
+    }
+
+    int[] getAreas(int layerCount) {
+        if (this.areas.length < layerCount * 4) {
+            this.areas = new int[layerCount * 4];
+        }
+        return this.areas;
+    }
+
+    int[] getBuffer(int slot, int size) {
+        int[] buffer = this.buffers[slot];
+        if (buffer.length < size) {
+            buffer = new int[size];
+            this.buffers[slot] = buffer;
+        }
+        return buffer;
+    }
+
+    public int[] getScratch(int size) {
+        return this.getBuffer(2, size);
+    }
+
+    public void initChunkSeed(long x, long z) {
+        long chunkSeed = this.worldSeed;
+        chunkSeed = SelectionLayer.mixSeed(chunkSeed, x);
+        chunkSeed = SelectionLayer.mixSeed(chunkSeed, z);
+        chunkSeed = SelectionLayer.mixSeed(chunkSeed, x);
+        chunkSeed = SelectionLayer.mixSeed(chunkSeed, z);
+        this.chunkSeed = chunkSeed;
+    }
+
+    public int nextInt(int bound) {
+        int value = (int) ((this.chunkSeed >> 24) % bound);
+        if (value < 0) {
+            value += bound;
+        }
+        this.chunkSeed = SelectionLayer.mixSeed(this.chunkSeed, this.worldSeed);
+        return value;
+    }
+
+    public int selectRandom(int a, int b) {
+        return this.nextInt(2) == 0 ? a : b;
+    }
+
+    public int selectRandom(int a, int b, int c, int d) {
+        switch (this.nextInt(4)) {
+            case 0:
+                return a;
+            case 1:
+                return b;
+            case 2:
+                return c;
+            default:
+                return d;
+        }
+    }
+
+    public int selectModeOrRandom(int a, int b, int c, int d) {
+        if (b == c && c == d) {
+            return b;
+        } else if (a == b && a == c) {
+            return a;
+        } else if (a == b && a == d) {
+            return a;
+        } else if (a == c && a == d) {
+            return a;
+        } else if (a == b && c != d) {
+            return a;
+        } else if (a == c && b != d) {
+            return a;
+        } else if (a == d && b != c) {
+            return a;
+        } else if (b == c && a != d) {
+            return b;
+        } else if (b == d && a != c) {
+            return b;
+        } else if (c == d && a != b) {
+            return c;
+        }
+        return this.selectRandom(a, b, c, d);
+    }
+}
@@ -0,0 +1,71 @@
+package net.gegy1000.terrarium.server.world.cover.generator.layer;
+
+import javax.annotation.Nullable;
+
+public abstract class SelectionLayer {
+    private final long baseSeed;
+    private final SelectionLayer parent;
+
+    protected SelectionLayer(long seed, @Nullable SelectionLayer parent) {
+        long baseSeed = seed;
+        baseSeed = mixSeed(baseSeed, seed);
+        baseSeed = mixSeed(baseSeed, seed);
+        baseSeed = mixSeed(baseSeed, seed);
+        this.baseSeed = baseSeed;
+        this.parent = parent;
+    }
+
+    protected SelectionLayer(long seed) {
+        this(seed, null);
+    }
+
+    static long mixSeed(long seed, long salt) {
+        seed *= seed * 6364136223846793005L + 1442695040888963407L;
+        seed += salt;
+        return seed;
+    }
+
+    long getWorldSeed(long seed) {
+        long worldSeed = seed;
+        worldSeed = mixSeed(worldSeed, this.baseSeed);
+        worldSeed = mixSeed(worldSeed, this.baseSeed);
+        worldSeed = mixSeed(worldSeed, this.baseSeed);
+        return worldSeed;
+    }
+
+    @Nullable
+    public SelectionLayer getParent() {
+        return this.parent;
+    }
+
+    public abstract void sample(SelectionContext context, int[] parent, int[] result, int x, int z, int width, int height);
+
+    public int getParentX(int x) {
+        return x;
+    }
+
+    public int getParentZ(int z) {
+        return z;
+    }
+
+    public int getParentWidth(int width) {
+        return width;
+    }
+
+    public int getParentHeight(int height) {
+        return height;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj != null && obj.getClass() == this.getClass()) {
+            return ((SelectionLayer) obj).baseSeed == this.baseSeed;
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return this.getClass().hashCode() * 31 + Long.hashCode(this.baseSeed);
+    }
+}
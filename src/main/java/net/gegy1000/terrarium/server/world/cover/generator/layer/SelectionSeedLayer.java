@@ -1,9 +1,6 @@
 package net.gegy1000.terrarium.server.world.cover.generator.layer;
 
-import net.minecraft.world.gen.layer.GenLayer;
-import net.minecraft.world.gen.layer.IntCache;
-
-public class SelectionSeedLayer extends GenLayer {
+public class SelectionSeedLayer extends SelectionLayer {
     private final int range;
 
     public SelectionSeedLayer(int range, long seed) {
@@ -12,14 +9,21 @@ public class SelectionSeedLayer extends GenLayer {
     }
 
     @Override
-    public int[] getInts(int areaX, int areaY, int areaWidth, int areaHeight) {
-        int[] result = IntCache.getIntCache(areaWidth * areaHeight);
-        for (int z = 0; z < areaHeight; z++) {
-            for (int x = 0; x < areaWidth; x++) {
-                this.initChunkSeed(areaX + x, areaY + z);
-                result[x + z * areaWidth] = this.nextInt(this.range);
+    public void sample(SelectionContext context, int[] parent, int[] result, int x, int z, int width, int height) {
+        for (int localZ = 0; localZ < height; localZ++) {
+            for (int localX = 0; localX < width; localX++) {
+                context.initChunkSeed(x + localX, z + localZ);
+                result[localX + localZ * width] = context.nextInt(this.range);
             }
         }
-        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (super.equals(obj)) {
+            SelectionSeedLayer layer = (SelectionSeedLayer) obj;
+            return layer.range == this.range;
+        }
+        return false;
     }
 }
@@ -0,0 +1,89 @@
+package net.gegy1000.terrarium.server.world.cover.generator.layer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class SelectionStack {
+    private final SelectionLayer[] layers;
+    private final long[] worldSeeds;
+    private final int hashCode;
+
+    private SelectionStack(SelectionLayer[] layers, long[] worldSeeds) {
+        this.layers = layers;
+        this.worldSeeds = worldSeeds;
+        this.hashCode = Arrays.hashCode(layers) * 31 + Arrays.hashCode(worldSeeds);
+    }
+
+    public static SelectionStack compile(SelectionLayer layer, long seed) {
+        List<SelectionLayer> layers = new ArrayList<>();
+        for (SelectionLayer current = layer; current != null; current = current.getParent()) {
+            layers.add(current);
+        }
+        Collections.reverse(layers);
+
+        long[] worldSeeds = new long[layers.size()];
+        for (int i = 0; i < worldSeeds.length; i++) {
+            worldSeeds[i] = layers.get(i).getWorldSeed(seed);
+        }
+
+        return new SelectionStack(layers.toArray(new SelectionLayer[0]), worldSeeds);
+    }
+
+    public void sample(SelectionContext context, int[] result, int x, int z, int width, int height) {
+        int top = this.layers.length - 1;
+
+        int[] areas = context.getAreas(this.layers.length);
+        areas[top * 4] = x;
+        areas[top * 4 + 1] = z;
+        areas[top * 4 + 2] = width;
+        areas[top * 4 + 3] = height;
+
+        for (int i = top; i > 0; i--) {
+            SelectionLayer layer = this.layers[i];
+            int area = i * 4;
+            int parentArea = area - 4;
+            areas[parentArea] = layer.getParentX(areas[area]);
+            areas[parentArea + 1] = layer.getParentZ(areas[area + 1]);
+            areas[parentArea + 2] = layer.getParentWidth(areas[area + 2]);
+            areas[parentArea + 3] = layer.getParentHeight(areas[area + 3]);
+        }
+
+        int[] parent = null;
+        for (int i = 0; i <= top; i++) {
+            int area = i * 4;
+            int areaWidth = areas[area + 2];
+            int areaHeight = areas[area + 3];
+
+            int[] output = i == top ? result : context.getBuffer(i & 1, areaWidth * areaHeight);
+
+            context.initWorldSeed(this.worldSeeds[i]);
+            this.layers[i].sample(context, parent, output, areas[area], areas[area + 1], areaWidth, areaHeight);
+
+            parent = output;
+        }
+    }
+
+    public void sample(SelectionContext context, byte[] result, int x, int z, int width, int height) {
+        int[] values = context.getBuffer(3, width * height);
+        this.sample(context, values, x, z, width, height);
+        for (int i = 0; i < width * height; i++) {
+            result[i] = (byte) values[i];
+        }
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof SelectionStack) {
+            SelectionStack stack = (SelectionStack) obj;
+            return stack.hashCode == this.hashCode && Arrays.equals(stack.worldSeeds, this.worldSeeds) && Arrays.equals(stack.layers, this.layers);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return this.hashCode;
+    }
+}
@@ -0,0 +1,111 @@
+package net.gegy1000.terrarium.server.world.cover.generator.layer;
+
+import java.util.Arrays;
+
+public class VoronoiZoomLayer extends SelectionLayer {
+    private static final double JITTER = 3.6;
+
+    public VoronoiZoomLayer(long seed, SelectionLayer parent) {
+        super(seed, parent);
+    }
+
+    @Override
+    public void sample(SelectionContext context, int[] parent, int[] result, int x, int z, int width, int height) {
+        x -= 2;
+        z -= 2;
+        int parentX = x >> 2;
+        int parentZ = z >> 2;
+        int parentWidth = this.getParentWidth(width);
+        int parentHeight = this.getParentHeight(height);
+
+        int zoomedWidth = (parentWidth - 1) << 2;
+        int zoomedHeight = (parentHeight - 1) << 2;
+        int zoomedSize = zoomedWidth * zoomedHeight;
+        int copyExtent = (height - 1 + (z & 3)) * zoomedWidth + (x & 3) + width;
+        int[] zoomed = context.getScratch(Math.max(zoomedSize, copyExtent));
+        if (copyExtent > zoomedSize) {
+            Arrays.fill(zoomed, zoomedSize, copyExtent, 0);
+        }
+
+        for (int offsetZ = 0; offsetZ < parentHeight - 1; offsetZ++) {
+            int topLeft = parent[offsetZ * parentWidth] & 255;
+            int bottomLeft = parent[(offsetZ + 1) * parentWidth] & 255;
+
+            for (int offsetX = 0; offsetX < parentWidth - 1; offsetX++) {
+                context.initChunkSeed((offsetX + parentX) << 2, (offsetZ + parentZ) << 2);
+                double topLeftX = this.nextJitter(context);
+                double topLeftZ = this.nextJitter(context);
+                context.initChunkSeed((offsetX + parentX + 1) << 2, (offsetZ + parentZ) << 2);
+                double topRightX = this.nextJitter(context) + 4.0;
+                double topRightZ = this.nextJitter(context);
+                context.initChunkSeed((offsetX + parentX) << 2, (offsetZ + parentZ + 1) << 2);
+                double bottomLeftX = this.nextJitter(context);
+                double bottomLeftZ = this.nextJitter(context) + 4.0;
+                context.initChunkSeed((offsetX + parentX + 1) << 2, (offsetZ + parentZ + 1) << 2);
+                double bottomRightX = this.nextJitter(context) + 4.0;
+                double bottomRightZ = this.nextJitter(context) + 4.0;
+
+                int topRight = parent[offsetX + 1 + offsetZ * parentWidth] & 255;
+                int bottomRight = parent[offsetX + 1 + (offsetZ + 1) * parentWidth] & 255;
+
+                for (int cellZ = 0; cellZ < 4; cellZ++) {
+                    int index = ((offsetZ << 2) + cellZ) * zoomedWidth + (offsetX << 2);
+
+                    for (int cellX = 0; cellX < 4; cellX++) {
+                        double topLeftDistance = distance(cellX, cellZ, topLeftX, topLeftZ);
+                        double topRightDistance = distance(cellX, cellZ, topRightX, topRightZ);
+                        double bottomLeftDistance = distance(cellX, cellZ, bottomLeftX, bottomLeftZ);
+                        double bottomRightDistance = distance(cellX, cellZ, bottomRightX, bottomRightZ);
+
+                        if (topLeftDistance < topRightDistance && topLeftDistance < bottomLeftDistance && topLeftDistance < bottomRightDistance) {
+                            zoomed[index++] = topLeft;
+                        } else if (topRightDistance < topLeftDistance && topRightDistance < bottomLeftDistance && topRightDistance < bottomRightDistance) {
+                            zoomed[index++] = topRight;
+                        } else if (bottomLeftDistance < topLeftDistance && bottomLeftDistance < topRightDistance && bottomLeftDistance < bottomRightDistance) {
+                            zoomed[index++] = bottomLeft;
+                        } else {
+                            zoomed[index++] = bottomRight;
+                        }
+                    }
+                }
+
+                topLeft = topRight;
+                bottomLeft = bottomRight;
+            }
+        }
+
+        for (int localZ = 0; localZ < height; localZ++) {
+            System.arraycopy(zoomed, (localZ + (z & 3)) * zoomedWidth + (x & 3), result, localZ * width, width);
+        }
+    }
+
+    private double nextJitter(SelectionContext context) {
+        return (context.nextInt(1024) / 1024.0 - 0.5) * JITTER;
+    }
+
+    private static double distance(int cellX, int cellZ, double pointX, double pointZ) {
+        double deltaX = cellX - pointX;
+        double deltaZ = cellZ - pointZ;
+        return deltaZ * deltaZ + deltaX * deltaX;
+    }
+
+    @Override
+    public int getParentX(int x) {
+        return (x - 2) >> 2;
+    }
+
+    @Override
+    public int getParentZ(int z) {
+        return (z - 2) >> 2;
+    }
+
+    @Override
+    public int getParentWidth(int width) {
+        return (width >> 2) + 2;
+    }
+
+    @Override
+    public int getParentHeight(int height) {
+        return (height >> 2) + 2;
+    }
+}
@@ -0,0 +1,67 @@
+package net.gegy1000.terrarium.server.world.cover.generator.layer;
+
+public class ZoomLayer extends SelectionLayer {
+    public ZoomLayer(long seed, SelectionLayer parent) {
+        super(seed, parent);
+    }
+
+    @Override
+    public void sample(SelectionContext context, int[] parent, int[] result, int x, int z, int width, int height) {
+        int parentX = x >> 1;
+        int parentZ = z >> 1;
+        int parentWidth = this.getParentWidth(width);
+        int parentHeight = this.getParentHeight(height);
+
+        int zoomedWidth = (parentWidth - 1) << 1;
+        int zoomedHeight = (parentHeight - 1) << 1;
+        int[] zoomed = context.getScratch(zoomedWidth * zoomedHeight);
+
+        for (int offsetZ = 0; offsetZ < parentHeight - 1; offsetZ++) {
+            int index = (offsetZ << 1) * zoomedWidth;
+            int topLeft = parent[offsetZ * parentWidth];
+            int bottomLeft = parent[(offsetZ + 1) * parentWidth];
+
+            for (int offsetX = 0; offsetX < parentWidth - 1; offsetX++) {
+                context.initChunkSeed((offsetX + parentX) << 1, (offsetZ + parentZ) << 1);
+                int topRight = parent[offsetX + 1 + offsetZ * parentWidth];
+                int bottomRight = parent[offsetX + 1 + (offsetZ + 1) * parentWidth];
+
+                zoomed[index] = topLeft;
+                zoomed[index++ + zoomedWidth] = context.selectRandom(topLeft, bottomLeft);
+                zoomed[index] = context.selectRandom(topLeft, topRight);
+                zoomed[index++ + zoomedWidth] = this.select(context, topLeft, topRight, bottomLeft, bottomRight);
+
+                topLeft = topRight;
+                bottomLeft = bottomRight;
+            }
+        }
+
+        for (int localZ = 0; localZ < height; localZ++) {
+            System.arraycopy(zoomed, (localZ + (z & 1)) * zoomedWidth + (x & 1), result, localZ * width, width);
+        }
+    }
+
+    protected int select(SelectionContext context, int topLeft, int topRight, int bottomLeft, int bottomRight) {
+        return context.selectModeOrRandom(topLeft, topRight, bottomLeft, bottomRight);
+    }
+
+    @Override
+    public int getParentX(int x) {
+        return x >> 1;
+    }
+
+    @Override
+    public int getParentZ(int z) {
+        return z >> 1;
+    }
+
+    @Override
+    public int getParentWidth(int width) {
+        return (width >> 1) + 2;
+    }
+
+    @Override
+    public int getParentHeight(int height) {
+        return (height >> 1) + 2;
+    }
+}
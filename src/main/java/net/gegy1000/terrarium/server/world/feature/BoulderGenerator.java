@@ -1,13 +1,15 @@
 package net.gegy1000.terrarium.server.world.feature;
 
+import net.gegy1000.terrarium.server.world.pipeline.composer.decoration.DecorationWriteBuffer;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import net.minecraft.world.gen.feature.WorldGenerator;
 
+import javax.annotation.Nullable;
 import java.util.Random;
 
-public class BoulderGenerator extends WorldGenerator {
+public class BoulderGenerator extends WorldGenerator implements BufferedFeature {
     private final IBlockState state;
     private final int baseRadius;
 
@@ -17,8 +19,17 @@ public class BoulderGenerator extends WorldGenerator {
         this.baseRadius = baseRadius;
     }
 
+    @Override
+    public boolean generate(DecorationWriteBuffer writeBuffer, Random random, BlockPos position) {
+        return this.generate(writeBuffer.getWorld(), writeBuffer, random, position);
+    }
+
     @Override
     public boolean generate(World world, Random rand, BlockPos position) {
+        return this.generate(world, null, rand, position);
+    }
+
+    private boolean generate(World world, @Nullable DecorationWriteBuffer writeBuffer, Random rand, BlockPos position) {
         while (world.isAirBlock(position.down())) {
             if (position.getY() <= 3) {
                 return false;
@@ -27,7 +38,7 @@ public class BoulderGenerator extends WorldGenerator {
         }
 
         for (int i = 0; i < 3; ++i) {
-            this.generateBlob(world, rand, position);
+            this.generateBlob(world, writeBuffer, rand, position);
 
             int offsetX = -(this.baseRadius + 1) + rand.nextInt(2 + this.baseRadius * 2);
             int offsetY = -rand.nextInt(2);
@@ -38,7 +49,7 @@ public class BoulderGenerator extends WorldGenerator {
         return true;
     }
 
-    private void generateBlob(World world, Random rand, BlockPos position) {
+    private void generateBlob(World world, @Nullable DecorationWriteBuffer writeBuffer, Random rand, BlockPos position) {
         int sizeX = this.baseRadius + rand.nextInt(2);
         int sizeY = this.baseRadius + rand.nextInt(2);
         int sizeZ = this.baseRadius + rand.nextInt(2);
@@ -46,7 +57,11 @@ public class BoulderGenerator extends WorldGenerator {
 
         for (BlockPos pos : BlockPos.getAllInBox(position.add(-sizeX, -sizeY, -sizeZ), position.add(sizeX, sizeY, sizeZ))) {
             if (pos.distanceSq(position) <= range * range) {
-                world.setBlockState(pos, this.state, 4);
+                if (writeBuffer != null) {
+                    writeBuffer.setBlockState(pos, this.state);
+                } else {
+                    world.setBlockState(pos, this.state, 4);
+                }
             }
         }
     }
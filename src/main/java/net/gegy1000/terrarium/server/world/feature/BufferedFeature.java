@@ -0,0 +1,10 @@
+package net.gegy1000.terrarium.server.world.feature;
+
+import net.gegy1000.terrarium.server.world.pipeline.composer.decoration.DecorationWriteBuffer;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.Random;
+
+public interface BufferedFeature {
+    boolean generate(DecorationWriteBuffer writeBuffer, Random random, BlockPos position);
+}
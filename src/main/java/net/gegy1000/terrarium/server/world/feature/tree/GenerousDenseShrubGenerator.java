@@ -1,5 +1,7 @@
 package net.gegy1000.terrarium.server.world.feature.tree;
 
+import net.gegy1000.terrarium.server.world.feature.BufferedFeature;
+import net.gegy1000.terrarium.server.world.pipeline.composer.decoration.DecorationWriteBuffer;
 import net.minecraft.block.BlockSapling;
 import net.minecraft.block.material.Material;
 import net.minecraft.block.state.IBlockState;
@@ -9,9 +11,10 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import net.minecraft.world.gen.feature.WorldGenShrub;
 
+import javax.annotation.Nullable;
 import java.util.Random;
 
-public class GenerousDenseShrubGenerator extends WorldGenShrub {
+public class GenerousDenseShrubGenerator extends WorldGenShrub implements BufferedFeature {
     private final IBlockState wood;
     private final IBlockState leaves;
 
@@ -21,8 +24,17 @@ public class GenerousDenseShrubGenerator extends WorldGenShrub {
         this.leaves = leaves;
     }
 
+    @Override
+    public boolean generate(DecorationWriteBuffer writeBuffer, Random random, BlockPos position) {
+        return this.generate(writeBuffer.getWorld(), writeBuffer, random, position);
+    }
+
     @Override
     public boolean generate(World world, Random rand, BlockPos position) {
+        return this.generate(world, null, rand, position);
+    }
+
+    private boolean generate(World world, @Nullable DecorationWriteBuffer writeBuffer, Random rand, BlockPos position) {
         IBlockState ground = world.getBlockState(position);
         while ((ground.getBlock().isAir(ground, world, position) || ground.getBlock().isLeaves(ground, world, position)) && position.getY() > 0) {
             position = position.down();
@@ -31,41 +43,44 @@ public class GenerousDenseShrubGenerator extends WorldGenShrub {
 
         if (ground.getBlock().canSustainPlant(ground, world, position, EnumFacing.UP, (BlockSapling) Blocks.SAPLING)) {
             position = position.up();
-            this.setBlockAndNotifyAdequately(world, position, this.wood);
+            this.setBlock(world, writeBuffer, position, this.wood);
 
             for (int y = position.getY(); y <= position.getY() + 2; ++y) {
                 int height = y - position.getY();
                 int size = 2 - height;
-                this.generateLeafLayer(world, rand, position, y, size);
+                this.generateLeafLayer(world, writeBuffer, rand, position, y, size);
             }
         }
 
         return true;
     }
 
-    private void generateLeafLayer(World world, Random rand, BlockPos position, int y, int size) {
+    private void generateLeafLayer(World world, @Nullable DecorationWriteBuffer writeBuffer, Random rand, BlockPos position, int y, int size) {
         for (int x = position.getX() - size; x <= position.getX() + size; x++) {
             int deltaX = x - position.getX();
             for (int z = position.getZ() - size; z <= position.getZ() + size; z++) {
                 int deltaZ = z - position.getZ();
                 if (Math.abs(deltaX) != size || Math.abs(deltaZ) != size || rand.nextInt(2) != 0) {
                     BlockPos pos = new BlockPos(x, y, z);
-                    this.placeLeaves(world, pos);
+                    this.placeLeaves(world, writeBuffer, pos);
                 }
             }
         }
     }
 
-    private void placeLeaves(World world, BlockPos pos) {
+    private void placeLeaves(World world, @Nullable DecorationWriteBuffer writeBuffer, BlockPos pos) {
         IBlockState state = world.getBlockState(pos);
         Material material = state.getMaterial();
         if (material == Material.PLANTS || material == Material.VINE || state.getBlock().canBeReplacedByLeaves(state, world, pos)) {
-            this.setBlockAndNotifyAdequately(world, pos, this.leaves);
+            this.setBlock(world, writeBuffer, pos, this.leaves);
         }
     }
 
-    @Override
-    protected void setBlockAndNotifyAdequately(World world, BlockPos pos, IBlockState state) {
-        world.setBlockState(pos, state, 3);
+    private void setBlock(World world, @Nullable DecorationWriteBuffer writeBuffer, BlockPos pos, IBlockState state) {
+        if (writeBuffer != null) {
+            writeBuffer.setBlockState(pos, state);
+        } else {
+            world.setBlockState(pos, state, 3);
+        }
     }
 }
@@ -1,12 +1,69 @@
 package net.gegy1000.terrarium.server.world.feature.tree;
 
+import net.gegy1000.terrarium.server.world.feature.BufferedFeature;
+import net.gegy1000.terrarium.server.world.pipeline.composer.decoration.DecorationWriteBuffer;
 import net.minecraft.block.Block;
+import net.minecraft.block.BlockLeaves;
+import net.minecraft.block.BlockOldLeaf;
+import net.minecraft.block.BlockOldLog;
+import net.minecraft.block.BlockPlanks;
 import net.minecraft.block.material.Material;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.gen.feature.WorldGenTaiga1;
 
-public class GenerousPineGenerator extends WorldGenTaiga1 {
+import java.util.Random;
+
+public class GenerousPineGenerator extends WorldGenTaiga1 implements BufferedFeature {
+    private static final long TEMPLATE_SEED = 6159375418365271549L;
+
+    private static final IBlockState TRUNK = Blocks.LOG.getDefaultState().withProperty(BlockOldLog.VARIANT, BlockPlanks.EnumType.SPRUCE);
+    private static final IBlockState LEAF = Blocks.LEAVES.getDefaultState().withProperty(BlockOldLeaf.VARIANT, BlockPlanks.EnumType.SPRUCE).withProperty(BlockLeaves.CHECK_DECAY, false);
+
+    private final TreeTemplatePool templates;
+
     public GenerousPineGenerator() {
         super();
+        this.templates = new TreeTemplatePool(TEMPLATE_SEED, false, GenerousPineGenerator::createTemplate);
+    }
+
+    private static TreeTemplate createTemplate(Random random) {
+        int height = random.nextInt(5) + 7;
+        int leafStart = height - random.nextInt(2) - 3;
+        int maxRadius = 1 + random.nextInt(height - leafStart + 1);
+
+        TreeTemplate.Builder builder = TreeTemplate.builder(height);
+        for (int y = 0; y <= height + 1; y++) {
+            builder.clearLayer(y, y < leafStart ? 0 : maxRadius);
+        }
+
+        int radius = 0;
+        for (int y = height; y >= leafStart; y--) {
+            for (int x = -radius; x <= radius; x++) {
+                for (int z = -radius; z <= radius; z++) {
+                    if (Math.abs(x) != radius || Math.abs(z) != radius || radius <= 0) {
+                        builder.place(x, y, z, LEAF, TreeTemplate.PLACE_SOFT);
+                    }
+                }
+            }
+            if (radius >= 1 && y == leafStart + 1) {
+                radius--;
+            } else if (radius < maxRadius) {
+                radius++;
+            }
+        }
+
+        for (int y = 0; y < height - 1; y++) {
+            builder.place(0, y, 0, TRUNK, TreeTemplate.PLACE_SOFT);
+        }
+
+        return builder.build();
+    }
+
+    @Override
+    public boolean generate(DecorationWriteBuffer writeBuffer, Random random, BlockPos position) {
+        return this.templates.generate(writeBuffer, random, position);
     }
 
     @Override
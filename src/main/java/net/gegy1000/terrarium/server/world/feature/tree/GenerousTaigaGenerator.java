@@ -1,12 +1,76 @@
 package net.gegy1000.terrarium.server.world.feature.tree;
 
+import net.gegy1000.terrarium.server.world.feature.BufferedFeature;
+import net.gegy1000.terrarium.server.world.pipeline.composer.decoration.DecorationWriteBuffer;
 import net.minecraft.block.Block;
+import net.minecraft.block.BlockLeaves;
+import net.minecraft.block.BlockOldLeaf;
+import net.minecraft.block.BlockOldLog;
+import net.minecraft.block.BlockPlanks;
 import net.minecraft.block.material.Material;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.gen.feature.WorldGenTaiga2;
 
-public class GenerousTaigaGenerator extends WorldGenTaiga2 {
+import java.util.Random;
+
+public class GenerousTaigaGenerator extends WorldGenTaiga2 implements BufferedFeature {
+    private static final long TEMPLATE_SEED = 2861027395713750383L;
+
+    private static final IBlockState TRUNK = Blocks.LOG.getDefaultState().withProperty(BlockOldLog.VARIANT, BlockPlanks.EnumType.SPRUCE);
+    private static final IBlockState LEAF = Blocks.LEAVES.getDefaultState().withProperty(BlockOldLeaf.VARIANT, BlockPlanks.EnumType.SPRUCE).withProperty(BlockLeaves.CHECK_DECAY, false);
+
+    private final TreeTemplatePool templates;
+
     public GenerousTaigaGenerator(boolean notify) {
         super(notify);
+        this.templates = new TreeTemplatePool(TEMPLATE_SEED, false, GenerousTaigaGenerator::createTemplate);
+    }
+
+    private static TreeTemplate createTemplate(Random random) {
+        int height = random.nextInt(4) + 6;
+        int bareHeight = 1 + random.nextInt(2);
+        int leafHeight = height - bareHeight;
+        int maxRadius = 2 + random.nextInt(2);
+
+        TreeTemplate.Builder builder = TreeTemplate.builder(height);
+        for (int y = 0; y <= height + 1; y++) {
+            builder.clearLayer(y, y < bareHeight ? 0 : maxRadius);
+        }
+
+        int radius = random.nextInt(2);
+        int targetRadius = 1;
+        int resetRadius = 0;
+        for (int i = 0; i <= leafHeight; i++) {
+            int y = height - i;
+            for (int x = -radius; x <= radius; x++) {
+                for (int z = -radius; z <= radius; z++) {
+                    if (Math.abs(x) != radius || Math.abs(z) != radius || radius <= 0) {
+                        builder.place(x, y, z, LEAF, TreeTemplate.PLACE_SOFT);
+                    }
+                }
+            }
+            if (radius >= targetRadius) {
+                radius = resetRadius;
+                resetRadius = 1;
+                targetRadius = Math.min(targetRadius + 1, maxRadius);
+            } else {
+                radius++;
+            }
+        }
+
+        int trunkHeight = height - random.nextInt(3);
+        for (int y = 0; y < trunkHeight; y++) {
+            builder.place(0, y, 0, TRUNK, TreeTemplate.PLACE_SOFT);
+        }
+
+        return builder.build();
+    }
+
+    @Override
+    public boolean generate(DecorationWriteBuffer writeBuffer, Random random, BlockPos position) {
+        return this.templates.generate(writeBuffer, random, position);
     }
 
     @Override
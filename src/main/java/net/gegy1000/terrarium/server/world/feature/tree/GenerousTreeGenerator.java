@@ -1,23 +1,43 @@
 package net.gegy1000.terrarium.server.world.feature.tree;
 
+import net.gegy1000.terrarium.server.world.feature.BufferedFeature;
+import net.gegy1000.terrarium.server.world.pipeline.composer.decoration.DecorationWriteBuffer;
 import net.minecraft.block.Block;
+import net.minecraft.block.BlockCocoa;
+import net.minecraft.block.BlockVine;
 import net.minecraft.block.material.Material;
+import net.minecraft.block.properties.PropertyBool;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.init.Blocks;
+import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import net.minecraft.world.gen.feature.WorldGenTrees;
 
+import java.util.Map;
+import java.util.Objects;
 import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
 
-public class GenerousTreeGenerator extends WorldGenTrees {
+public class GenerousTreeGenerator extends WorldGenTrees implements BufferedFeature {
+    private static final long TEMPLATE_SEED = 4473162058931460177L;
+    private static final Map<TemplateKey, TreeTemplatePool> TEMPLATE_POOLS = new ConcurrentHashMap<>();
+
+    private final TemplateKey templateKey;
     private final boolean beans;
 
     public GenerousTreeGenerator(boolean notify, int height, IBlockState wood, IBlockState leaves, boolean vines, boolean beans) {
         super(notify, height, wood, leaves, vines);
+        this.templateKey = new TemplateKey(height, wood, leaves, vines, beans);
         this.beans = beans;
     }
 
+    @Override
+    public boolean generate(DecorationWriteBuffer writeBuffer, Random random, BlockPos position) {
+        TreeTemplatePool templates = TEMPLATE_POOLS.computeIfAbsent(this.templateKey, TemplateKey::createPool);
+        return templates.generate(writeBuffer, random, position);
+    }
+
     @Override
     public boolean generate(World world, Random rand, BlockPos position) {
         IBlockState previousGround = world.getBlockState(position.down());
@@ -48,4 +68,135 @@ public class GenerousTreeGenerator extends WorldGenTrees {
             super.setBlockAndNotifyAdequately(world, pos, state);
         }
     }
+
+    private static class TemplateKey {
+        private final int minHeight;
+        private final IBlockState wood;
+        private final IBlockState leaves;
+        private final boolean vines;
+        private final boolean beans;
+
+        private TemplateKey(int minHeight, IBlockState wood, IBlockState leaves, boolean vines, boolean beans) {
+            this.minHeight = minHeight;
+            this.wood = wood;
+            this.leaves = leaves;
+            this.vines = vines;
+            this.beans = beans;
+        }
+
+        private TreeTemplatePool createPool() {
+            long seed = TEMPLATE_SEED ^ ((long) Block.getStateId(this.wood) << 32 | Block.getStateId(this.leaves));
+            seed = seed * 31 + this.minHeight;
+            seed = seed * 31 + (this.vines ? 1 : 0) + (this.beans ? 2 : 0);
+            return new TreeTemplatePool(seed, true, this::createTemplate);
+        }
+
+        private TreeTemplate createTemplate(Random random) {
+            int height = random.nextInt(3) + this.minHeight;
+
+            TreeTemplate.Builder builder = TreeTemplate.builder(height);
+            for (int y = 0; y <= height + 1; y++) {
+                int radius = 1;
+                if (y == 0) {
+                    radius = 0;
+                } else if (y >= height - 1) {
+                    radius = 2;
+                }
+                builder.clearLayer(y, radius);
+            }
+
+            for (int y = height - 3; y <= height; y++) {
+                int offsetY = y - height;
+                int radius = 1 - offsetY / 2;
+                for (int x = -radius; x <= radius; x++) {
+                    for (int z = -radius; z <= radius; z++) {
+                        if (Math.abs(x) != radius || Math.abs(z) != radius || random.nextInt(2) != 0 && offsetY != 0) {
+                            builder.place(x, y, z, this.leaves, TreeTemplate.PLACE_SOFT);
+                        }
+                    }
+                }
+            }
+
+            for (int y = 0; y < height; y++) {
+                builder.place(0, y, 0, this.wood, TreeTemplate.PLACE_SOFT);
+                if (this.vines && y > 0) {
+                    for (EnumFacing facing : EnumFacing.HORIZONTALS) {
+                        BlockPos offset = BlockPos.ORIGIN.offset(facing.getOpposite());
+                        if (random.nextInt(3) > 0 && builder.isEmpty(offset.getX(), y, offset.getZ())) {
+                            builder.place(offset.getX(), y, offset.getZ(), vine(facing), TreeTemplate.PLACE_AIR);
+                        }
+                    }
+                }
+            }
+
+            if (this.vines) {
+                this.addHangingVines(builder, random, height);
+                if (this.beans && random.nextInt(5) == 0 && height > 5) {
+                    this.addCocoa(builder, random, height);
+                }
+            }
+
+            return builder.build();
+        }
+
+        private void addHangingVines(TreeTemplate.Builder builder, Random random, int height) {
+            for (int y = height - 3; y <= height; y++) {
+                int offsetY = y - height;
+                int radius = 2 - offsetY / 2;
+                for (int x = -radius; x <= radius; x++) {
+                    for (int z = -radius; z <= radius; z++) {
+                        if (builder.get(x, y, z) != this.leaves) {
+                            continue;
+                        }
+                        for (EnumFacing facing : EnumFacing.HORIZONTALS) {
+                            BlockPos offset = BlockPos.ORIGIN.offset(facing.getOpposite());
+                            int vineX = x + offset.getX();
+                            int vineZ = z + offset.getZ();
+                            if (random.nextInt(4) == 0 && builder.isEmpty(vineX, y, vineZ)) {
+                                IBlockState vine = vine(facing);
+                                builder.place(vineX, y, vineZ, vine, TreeTemplate.PLACE_AIR);
+                                for (int hangY = y - 1; hangY >= y - 4 && builder.isEmpty(vineX, hangY, vineZ); hangY--) {
+                                    builder.place(vineX, hangY, vineZ, vine, TreeTemplate.PLACE_HANGING);
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        private void addCocoa(TreeTemplate.Builder builder, Random random, int height) {
+            for (int layer = 0; layer < 2; layer++) {
+                for (EnumFacing facing : EnumFacing.HORIZONTALS) {
+                    if (random.nextInt(4 - layer) == 0) {
+                        IBlockState cocoa = Blocks.COCOA.getDefaultState()
+                                .withProperty(BlockCocoa.AGE, random.nextInt(3))
+                                .withProperty(BlockCocoa.FACING, facing);
+                        BlockPos offset = BlockPos.ORIGIN.offset(facing.getOpposite());
+                        builder.place(offset.getX(), height - 5 + layer, offset.getZ(), cocoa, TreeTemplate.PLACE_AIR);
+                    }
+                }
+            }
+        }
+
+        private static IBlockState vine(EnumFacing facing) {
+            PropertyBool property = BlockVine.getPropertyFor(facing);
+            return Blocks.VINE.getDefaultState().withProperty(property, true);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj instanceof TemplateKey) {
+                TemplateKey key = (TemplateKey) obj;
+                return key.minHeight == this.minHeight && key.wood == this.wood && key.leaves == this.leaves
+                        && key.vines == this.vines && key.beans == this.beans;
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.minHeight, this.wood, this.leaves, this.vines, this.beans);
+        }
+    }
 }
@@ -1,5 +1,7 @@
 package net.gegy1000.terrarium.server.world.feature.tree;
 
+import net.gegy1000.terrarium.server.world.feature.BufferedFeature;
+import net.gegy1000.terrarium.server.world.pipeline.composer.decoration.DecorationWriteBuffer;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockSapling;
 import net.minecraft.block.material.Material;
@@ -12,14 +14,49 @@ import net.minecraft.world.gen.feature.WorldGenAbstractTree;
 
 import java.util.Random;
 
-public class SmallShrubGenerator extends WorldGenAbstractTree {
+public class SmallShrubGenerator extends WorldGenAbstractTree implements BufferedFeature {
+    private static final long TEMPLATE_SEED = 3519840276691573049L;
+
     private final IBlockState wood;
     private final IBlockState leaves;
 
+    private final TreeTemplatePool templates;
+
     public SmallShrubGenerator(IBlockState wood, IBlockState leaves) {
         super(true);
         this.wood = wood;
         this.leaves = leaves;
+
+        long seed = TEMPLATE_SEED ^ ((long) Block.getStateId(wood) << 32 | Block.getStateId(leaves));
+        this.templates = new TreeTemplatePool(seed, false, this::createTemplate);
+    }
+
+    private TreeTemplate createTemplate(Random random) {
+        int height = random.nextInt(2) + 1;
+
+        TreeTemplate.Builder builder = TreeTemplate.builder(height);
+        for (int y = 0; y < height; y++) {
+            builder.place(0, y, 0, this.wood, TreeTemplate.PLACE_ALWAYS);
+        }
+        builder.place(0, height, 0, this.leaves, TreeTemplate.PLACE_ALWAYS);
+
+        for (int z = -1; z <= 1; z++) {
+            for (int x = -1; x <= 1; x++) {
+                if (Math.abs(x) != Math.abs(z) || random.nextInt(4) == 0) {
+                    if (x == 0 && z == 0) {
+                        continue;
+                    }
+                    builder.place(x, height - 1, z, this.leaves, TreeTemplate.PLACE_GROWABLE);
+                }
+            }
+        }
+
+        return builder.build();
+    }
+
+    @Override
+    public boolean generate(DecorationWriteBuffer writeBuffer, Random random, BlockPos position) {
+        return this.templates.generate(writeBuffer, random, position);
     }
 
     @Override
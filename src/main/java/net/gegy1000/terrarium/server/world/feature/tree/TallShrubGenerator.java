@@ -1,5 +1,7 @@
 package net.gegy1000.terrarium.server.world.feature.tree;
 
+import net.gegy1000.terrarium.server.world.feature.BufferedFeature;
+import net.gegy1000.terrarium.server.world.pipeline.composer.decoration.DecorationWriteBuffer;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockSapling;
 import net.minecraft.block.material.Material;
@@ -12,14 +14,66 @@ import net.minecraft.world.gen.feature.WorldGenAbstractTree;
 
 import java.util.Random;
 
-public class TallShrubGenerator extends WorldGenAbstractTree {
+public class TallShrubGenerator extends WorldGenAbstractTree implements BufferedFeature {
+    private static final long TEMPLATE_SEED = 8030214712957648321L;
+
     private final IBlockState log;
     private final IBlockState leaves;
 
+    private final TreeTemplatePool templates;
+
     public TallShrubGenerator(IBlockState log, IBlockState leaves) {
         super(false);
         this.log = log;
         this.leaves = leaves;
+
+        long seed = TEMPLATE_SEED ^ ((long) Block.getStateId(log) << 32 | Block.getStateId(leaves));
+        this.templates = new TreeTemplatePool(seed, true, this::createTemplate);
+    }
+
+    private TreeTemplate createTemplate(Random random) {
+        int height = random.nextInt(2) + 3;
+        int leavesOrigin = height - random.nextInt(2) - 1;
+        int baseHeight = 1;
+
+        TreeTemplate.Builder builder = TreeTemplate.builder(height);
+        for (int y = 0; y <= height + 1; y++) {
+            builder.clearLayer(y, y < baseHeight ? 0 : 3);
+        }
+
+        for (int z = -1; z <= 1; z++) {
+            for (int x = -1; x <= 1; x++) {
+                this.placeLeaves(builder, x, leavesOrigin, z, height, baseHeight);
+            }
+        }
+
+        for (int y = -1; y <= 1; y++) {
+            for (int x = -1; x <= 1; x++) {
+                this.placeLeaves(builder, x, leavesOrigin + y, 0, height, baseHeight);
+            }
+            for (int z = -1; z <= 1; z++) {
+                this.placeLeaves(builder, 0, leavesOrigin + y, z, height, baseHeight);
+            }
+        }
+
+        this.placeLeaves(builder, 0, height, 0, height, baseHeight);
+
+        for (int y = 0; y < height; y++) {
+            builder.place(0, y, 0, this.log, TreeTemplate.PLACE_SOFT);
+        }
+
+        return builder.build();
+    }
+
+    private void placeLeaves(TreeTemplate.Builder builder, int x, int y, int z, int height, int baseHeight) {
+        if (y <= height + 1 && y >= baseHeight && (x != 0 || z != 0 || y >= height)) {
+            builder.place(x, y, z, this.leaves, TreeTemplate.PLACE_SOFT);
+        }
+    }
+
+    @Override
+    public boolean generate(DecorationWriteBuffer writeBuffer, Random random, BlockPos position) {
+        return this.templates.generate(writeBuffer, random, position);
     }
 
     @Override
@@ -0,0 +1,173 @@
+package net.gegy1000.terrarium.server.world.feature.tree;
+
+import it.unimi.dsi.fastutil.bytes.ByteArrayList;
+import it.unimi.dsi.fastutil.bytes.ByteList;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import net.gegy1000.terrarium.server.world.pipeline.composer.decoration.DecorationWriteBuffer;
+import net.minecraft.block.Block;
+import net.minecraft.block.material.Material;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.math.BlockPos;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+
+public class TreeTemplate {
+    public static final byte PLACE_ALWAYS = 0;
+    public static final byte PLACE_SOFT = 1;
+    public static final byte PLACE_GROWABLE = 2;
+    public static final byte PLACE_AIR = 3;
+    public static final byte PLACE_HANGING = 4;
+
+    private final int height;
+    private final int[] clearance;
+    private final int[] positions;
+    private final IBlockState[] states;
+    private final byte[] placements;
+
+    private TreeTemplate(int height, int[] clearance, int[] positions, IBlockState[] states, byte[] placements) {
+        this.height = height;
+        this.clearance = clearance;
+        this.positions = positions;
+        this.states = states;
+        this.placements = placements;
+    }
+
+    public static Builder builder(int height) {
+        return new Builder(height);
+    }
+
+    public int getHeight() {
+        return this.height;
+    }
+
+    public boolean canStamp(DecorationWriteBuffer writeBuffer, BlockPos origin) {
+        if (origin.getY() < 1 || origin.getY() + this.height + 1 > 256) {
+            return false;
+        }
+
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        for (int packed : this.clearance) {
+            offset(pos, origin, packed);
+            if (!writeBuffer.isClear(pos) && !canGrowInto(writeBuffer.getBlockState(pos))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public void stamp(DecorationWriteBuffer writeBuffer, BlockPos origin) {
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        boolean placedLast = false;
+
+        for (int i = 0; i < this.positions.length; i++) {
+            offset(pos, origin, this.positions[i]);
+
+            IBlockState current = writeBuffer.getBlockState(pos);
+            boolean place;
+            switch (this.placements[i]) {
+                case PLACE_SOFT:
+                    Material material = current.getMaterial();
+                    place = material == Material.AIR || material == Material.LEAVES || material == Material.VINE;
+                    break;
+                case PLACE_GROWABLE:
+                    place = canGrowInto(current);
+                    break;
+                case PLACE_AIR:
+                    place = current.getMaterial() == Material.AIR;
+                    break;
+                case PLACE_HANGING:
+                    place = placedLast && current.getMaterial() == Material.AIR;
+                    break;
+                default:
+                    place = true;
+                    break;
+            }
+
+            if (place) {
+                writeBuffer.setBlockState(pos, this.states[i]);
+            }
+            placedLast = place;
+        }
+    }
+
+    public static boolean canGrowInto(IBlockState state) {
+        Material material = state.getMaterial();
+        if (material == Material.AIR || material == Material.LEAVES || material == Material.PLANTS || material == Material.VINE) {
+            return true;
+        }
+        Block block = state.getBlock();
+        return block == Blocks.GRASS || block == Blocks.DIRT || block == Blocks.LOG || block == Blocks.LOG2 || block == Blocks.SAPLING;
+    }
+
+    private static void offset(BlockPos.MutableBlockPos pos, BlockPos origin, int packed) {
+        pos.setPos(origin.getX() + (byte) packed, origin.getY() + (byte) (packed >> 8), origin.getZ() + (byte) (packed >> 16));
+    }
+
+    private static int pack(int x, int y, int z) {
+        return (x & 0xFF) | (y & 0xFF) << 8 | (z & 0xFF) << 16;
+    }
+
+    public static class Builder {
+        private final int height;
+
+        private final IntList clearance = new IntArrayList();
+        private final IntList positions = new IntArrayList();
+        private final List<IBlockState> states = new ArrayList<>();
+        private final ByteList placements = new ByteArrayList();
+
+        private final Int2ObjectMap<IBlockState> occupied = new Int2ObjectOpenHashMap<>();
+
+        private Builder(int height) {
+            this.height = height;
+        }
+
+        public Builder clear(int x, int y, int z) {
+            this.clearance.add(pack(x, y, z));
+            return this;
+        }
+
+        public Builder clearLayer(int y, int radius) {
+            for (int z = -radius; z <= radius; z++) {
+                for (int x = -radius; x <= radius; x++) {
+                    this.clear(x, y, z);
+                }
+            }
+            return this;
+        }
+
+        public Builder place(int x, int y, int z, IBlockState state, byte placement) {
+            int packed = pack(x, y, z);
+            this.positions.add(packed);
+            this.states.add(state);
+            this.placements.add(placement);
+            this.occupied.put(packed, state);
+            return this;
+        }
+
+        @Nullable
+        public IBlockState get(int x, int y, int z) {
+            return this.occupied.get(pack(x, y, z));
+        }
+
+        public boolean isEmpty(int x, int y, int z) {
+            return !this.occupied.containsKey(pack(x, y, z));
+        }
+
+        public TreeTemplate build() {
+            return new TreeTemplate(
+                    this.height,
+                    this.clearance.toIntArray(),
+                    this.positions.toIntArray(),
+                    this.states.toArray(new IBlockState[0]),
+                    this.placements.toByteArray()
+            );
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package net.gegy1000.terrarium.server.world.feature.tree;
+
+import net.gegy1000.terrarium.server.world.pipeline.composer.decoration.DecorationWriteBuffer;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockSapling;
+import net.minecraft.block.material.Material;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.Random;
+import java.util.function.Function;
+
+public class TreeTemplatePool {
+    private static final int VARIANT_COUNT = 32;
+
+    private final TreeTemplate[] variants = new TreeTemplate[VARIANT_COUNT];
+    private final boolean sandSoil;
+
+    public TreeTemplatePool(long seed, boolean sandSoil, Function<Random, TreeTemplate> factory) {
+        this.sandSoil = sandSoil;
+
+        Random random = new Random(seed);
+        for (int i = 0; i < VARIANT_COUNT; i++) {
+            this.variants[i] = factory.apply(random);
+        }
+    }
+
+    public TreeTemplate select(Random random) {
+        return this.variants[random.nextInt(VARIANT_COUNT)];
+    }
+
+    public boolean generate(DecorationWriteBuffer writeBuffer, Random random, BlockPos position) {
+        TreeTemplate template = this.select(random);
+        if (!template.canStamp(writeBuffer, position)) {
+            return false;
+        }
+
+        BlockPos groundPos = position.down();
+        IBlockState ground = writeBuffer.getBlockState(groundPos);
+        if (!this.isSoil(writeBuffer, groundPos, ground)) {
+            return false;
+        }
+
+        Block groundBlock = ground.getBlock();
+        if (groundBlock == Blocks.GRASS || groundBlock == Blocks.MYCELIUM || groundBlock == Blocks.FARMLAND) {
+            writeBuffer.setBlockState(groundPos, Blocks.DIRT.getDefaultState());
+        }
+
+        template.stamp(writeBuffer, position);
+
+        return true;
+    }
+
+    private boolean isSoil(DecorationWriteBuffer writeBuffer, BlockPos pos, IBlockState state) {
+        if (this.sandSoil && state.getMaterial() == Material.SAND) {
+            return true;
+        }
+        return state.getBlock().canSustainPlant(state, writeBuffer.getWorld(), pos, EnumFacing.UP, (BlockSapling) Blocks.SAPLING);
+    }
+}
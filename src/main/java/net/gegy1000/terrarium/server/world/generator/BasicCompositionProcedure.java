@@ -0,0 +1,127 @@
+package net.gegy1000.terrarium.server.world.generator;
+
+import com.google.common.collect.ImmutableList;
+import net.gegy1000.terrarium.server.util.ArrayUtils;
+import net.gegy1000.terrarium.server.world.pipeline.component.RegionComponentType;
+import net.gegy1000.terrarium.server.world.pipeline.composer.biome.BiomeComposer;
+import net.gegy1000.terrarium.server.world.pipeline.composer.decoration.DecorationComposer;
+import net.gegy1000.terrarium.server.world.pipeline.composer.decoration.DecorationWriteBuffer;
+import net.gegy1000.terrarium.server.world.pipeline.composer.surface.SurfaceComposer;
+import net.gegy1000.terrarium.server.world.pipeline.source.tile.ShortRasterTile;
+import net.gegy1000.terrarium.server.world.region.GenerationRegion;
+import net.gegy1000.terrarium.server.world.region.GenerationRegionHandler;
+import net.minecraft.init.Biomes;
+import net.minecraft.world.biome.Biome;
+import net.minecraft.world.chunk.ChunkPrimer;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+
+public class BasicCompositionProcedure implements ChunkCompositionProcedure {
+    private final ImmutableList<SurfaceComposer> surfaceComposers;
+    private final ImmutableList<DecorationComposer> decorationComposers;
+    @Nullable
+    private final BiomeComposer biomeComposer;
+    @Nullable
+    private final RegionComponentType<ShortRasterTile> heightComponent;
+    private final int oceanLevel;
+
+    private BasicCompositionProcedure(ImmutableList<SurfaceComposer> surfaceComposers, ImmutableList<DecorationComposer> decorationComposers, BiomeComposer biomeComposer, RegionComponentType<ShortRasterTile> heightComponent, int oceanLevel) {
+        this.surfaceComposers = surfaceComposers;
+        this.decorationComposers = decorationComposers;
+        this.biomeComposer = biomeComposer;
+        this.heightComponent = heightComponent;
+        this.oceanLevel = oceanLevel;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public void composeSurface(ChunkPrimer primer, GenerationRegionHandler regionHandler, int chunkX, int chunkZ) {
+        for (SurfaceComposer composer : this.surfaceComposers) {
+            composer.composeSurface(primer, regionHandler, chunkX, chunkZ);
+        }
+    }
+
+    @Override
+    public void composeDecoration(DecorationWriteBuffer writeBuffer, GenerationRegionHandler regionHandler, int chunkX, int chunkZ) {
+        if (this.heightComponent != null) {
+            writeBuffer.prepareSurface(regionHandler.getCachedChunkRaster(this.heightComponent), (chunkX << 4) + 8, (chunkZ << 4) + 8);
+        }
+        for (DecorationComposer composer : this.decorationComposers) {
+            composer.composeDecoration(writeBuffer, regionHandler, chunkX, chunkZ);
+        }
+    }
+
+    @Override
+    public Biome[] composeBiomes(GenerationRegionHandler regionHandler, int chunkX, int chunkZ) {
+        if (this.biomeComposer == null) {
+            return ArrayUtils.defaulted(new Biome[16 * 16], Biomes.DEFAULT);
+        }
+        return this.biomeComposer.composeBiomes(regionHandler, chunkX, chunkZ);
+    }
+
+    @Override
+    public void composeRegionBiomes(GenerationRegion region, byte[] biomeIds) {
+        if (this.biomeComposer == null) {
+            Arrays.fill(biomeIds, (byte) Biome.getIdForBiome(Biomes.DEFAULT));
+            return;
+        }
+        this.biomeComposer.composeRegionBiomes(region, biomeIds);
+    }
+
+    @Nullable
+    @Override
+    public RegionComponentType<ShortRasterTile> getHeightComponent() {
+        return this.heightComponent;
+    }
+
+    @Override
+    public int getOceanLevel() {
+        return this.oceanLevel;
+    }
+
+    public static class Builder {
+        private final ImmutableList.Builder<SurfaceComposer> surfaceComposers = new ImmutableList.Builder<>();
+        private final ImmutableList.Builder<DecorationComposer> decorationComposers = new ImmutableList.Builder<>();
+        @Nullable
+        private BiomeComposer biomeComposer;
+        @Nullable
+        private RegionComponentType<ShortRasterTile> heightComponent;
+        private int oceanLevel;
+
+        private Builder() {
+        }
+
+        public Builder withSurfaceComposer(SurfaceComposer composer) {
+            this.surfaceComposers.add(composer);
+            return this;
+        }
+
+        public Builder withDecorationComposer(DecorationComposer composer) {
+            this.decorationComposers.add(composer);
+            return this;
+        }
+
+        public Builder withBiomeComposer(BiomeComposer composer) {
+            this.biomeComposer = composer;
+            return this;
+        }
+
+        public Builder withHeightComponent(RegionComponentType<ShortRasterTile> heightComponent) {
+            this.heightComponent = heightComponent;
+            return this;
+        }
+
+        public Builder withOceanLevel(int oceanLevel) {
+            this.oceanLevel = oceanLevel;
+            return this;
+        }
+
+        public BasicCompositionProcedure build() {
+            return new BasicCompositionProcedure(this.surfaceComposers.build(), this.decorationComposers.build(), this.biomeComposer, this.heightComponent, this.oceanLevel);
+        }
+    }
+}
@@ -1,17 +1,7 @@
 package net.gegy1000.terrarium.server.world.generator;
 
-import com.google.common.collect.ImmutableList;
-import net.gegy1000.terrarium.server.util.ArrayUtils;
 import net.gegy1000.terrarium.server.world.coordinate.Coordinate;
-import net.gegy1000.terrarium.server.world.pipeline.composer.biome.BiomeComposer;
-import net.gegy1000.terrarium.server.world.pipeline.composer.decoration.DecorationComposer;
-import net.gegy1000.terrarium.server.world.pipeline.composer.surface.SurfaceComposer;
-import net.gegy1000.terrarium.server.world.region.GenerationRegionHandler;
-import net.minecraft.init.Biomes;
 import net.minecraft.util.EnumFacing;
-import net.minecraft.world.World;
-import net.minecraft.world.biome.Biome;
-import net.minecraft.world.chunk.ChunkPrimer;
 import net.minecraftforge.common.capabilities.Capability;
 import net.minecraftforge.common.capabilities.ICapabilityProvider;
 
@@ -19,13 +9,14 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 
 public class BasicTerrariumGenerator implements TerrariumGenerator {
-    private final ChunkCompositionProcedure compositionProcedure;
+    private final Supplier<ChunkCompositionProcedure> compositionProcedure;
     private final Coordinate spawnPosition;
     private final ICapabilityProvider[] capabilities;
 
-    private BasicTerrariumGenerator(ChunkCompositionProcedure compositionProcedure, Coordinate spawnPosition, ICapabilityProvider[] capabilities) {
+    private BasicTerrariumGenerator(Supplier<ChunkCompositionProcedure> compositionProcedure, Coordinate spawnPosition, ICapabilityProvider[] capabilities) {
         this.compositionProcedure = compositionProcedure;
         this.spawnPosition = spawnPosition;
         this.capabilities = capabilities;
@@ -36,8 +27,8 @@ public class BasicTerrariumGenerator implements TerrariumGenerator {
     }
 
     @Override
-    public ChunkCompositionProcedure getCompositionProcedure() {
-        return this.compositionProcedure;
+    public ChunkCompositionProcedure createCompositionProcedure() {
+        return this.compositionProcedure.get();
     }
 
     @Override
@@ -68,10 +59,7 @@ public class BasicTerrariumGenerator implements TerrariumGenerator {
     }
 
     public static class Builder {
-        private final ImmutableList.Builder<SurfaceComposer> surfaceComposers = new ImmutableList.Builder<>();
-        private final ImmutableList.Builder<DecorationComposer> decorationComposers = new ImmutableList.Builder<>();
-        @Nullable
-        private BiomeComposer biomeComposer;
+        private Supplier<ChunkCompositionProcedure> compositionProcedure;
 
         private final List<ICapabilityProvider> capabilities = new ArrayList<>();
 
@@ -80,18 +68,8 @@ public class BasicTerrariumGenerator implements TerrariumGenerator {
         private Builder() {
         }
 
-        public Builder withSurfaceComposer(SurfaceComposer composer) {
-            this.surfaceComposers.add(composer);
-            return this;
-        }
-
-        public Builder withDecorationComposer(DecorationComposer composer) {
-            this.decorationComposers.add(composer);
-            return this;
-        }
-
-        public Builder withBiomeComposer(BiomeComposer composer) {
-            this.biomeComposer = composer;
+        public Builder withCompositionProcedure(Supplier<ChunkCompositionProcedure> compositionProcedure) {
+            this.compositionProcedure = compositionProcedure;
             return this;
         }
 
@@ -106,44 +84,11 @@ public class BasicTerrariumGenerator implements TerrariumGenerator {
         }
 
         public BasicTerrariumGenerator build() {
-            CompositionProcedure compositionProcedure = new CompositionProcedure(this.surfaceComposers.build(), this.decorationComposers.build(), this.biomeComposer);
-            ICapabilityProvider[] capabilities = this.capabilities.toArray(new ICapabilityProvider[0]);
-            return new BasicTerrariumGenerator(compositionProcedure, this.spawnPosition, capabilities);
-        }
-    }
-
-    private static class CompositionProcedure implements ChunkCompositionProcedure {
-        private final ImmutableList<SurfaceComposer> surfaceComposers;
-        private final ImmutableList<DecorationComposer> decorationComposers;
-        @Nullable
-        private final BiomeComposer biomeComposer;
-
-        private CompositionProcedure(ImmutableList<SurfaceComposer> surfaceComposers, ImmutableList<DecorationComposer> decorationComposers, BiomeComposer biomeComposer) {
-            this.surfaceComposers = surfaceComposers;
-            this.decorationComposers = decorationComposers;
-            this.biomeComposer = biomeComposer;
-        }
-
-        @Override
-        public void composeSurface(ChunkPrimer primer, GenerationRegionHandler regionHandler, int chunkX, int chunkZ) {
-            for (SurfaceComposer composer : this.surfaceComposers) {
-                composer.composeSurface(primer, regionHandler, chunkX, chunkZ);
-            }
-        }
-
-        @Override
-        public void composeDecoration(World world, GenerationRegionHandler regionHandler, int chunkX, int chunkZ) {
-            for (DecorationComposer composer : this.decorationComposers) {
-                composer.composeDecoration(world, regionHandler, chunkX, chunkZ);
+            if (this.compositionProcedure == null) {
+                throw new IllegalStateException("Cannot build generator without composition procedure");
             }
-        }
-
-        @Override
-        public Biome[] composeBiomes(GenerationRegionHandler regionHandler, int chunkX, int chunkZ) {
-            if (this.biomeComposer == null) {
-                return ArrayUtils.defaulted(new Biome[16 * 16], Biomes.DEFAULT);
-            }
-            return this.biomeComposer.composeBiomes(regionHandler, chunkX, chunkZ);
+            ICapabilityProvider[] capabilities = this.capabilities.toArray(new ICapabilityProvider[0]);
+            return new BasicTerrariumGenerator(this.compositionProcedure, this.spawnPosition, capabilities);
         }
     }
 }
@@ -1,14 +1,26 @@
 package net.gegy1000.terrarium.server.world.generator;
 
+import net.gegy1000.terrarium.server.world.pipeline.component.RegionComponentType;
+import net.gegy1000.terrarium.server.world.pipeline.composer.decoration.DecorationWriteBuffer;
+import net.gegy1000.terrarium.server.world.pipeline.source.tile.ShortRasterTile;
+import net.gegy1000.terrarium.server.world.region.GenerationRegion;
 import net.gegy1000.terrarium.server.world.region.GenerationRegionHandler;
-import net.minecraft.world.World;
 import net.minecraft.world.biome.Biome;
 import net.minecraft.world.chunk.ChunkPrimer;
 
+import javax.annotation.Nullable;
+
 public interface ChunkCompositionProcedure {
     void composeSurface(ChunkPrimer primer, GenerationRegionHandler regionHandler, int chunkX, int chunkZ);
 
-    void composeDecoration(World world, GenerationRegionHandler regionHandler, int chunkX, int chunkZ);
+    void composeDecoration(DecorationWriteBuffer writeBuffer, GenerationRegionHandler regionHandler, int chunkX, int chunkZ);
 
     Biome[] composeBiomes(GenerationRegionHandler regionHandler, int chunkX, int chunkZ);
+
+    void composeRegionBiomes(GenerationRegion region, byte[] biomeIds);
+
+    @Nullable
+    RegionComponentType<ShortRasterTile> getHeightComponent();
+
+    int getOceanLevel();
 }
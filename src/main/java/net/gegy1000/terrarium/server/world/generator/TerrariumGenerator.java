@@ -9,7 +9,7 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 public interface TerrariumGenerator extends ICapabilityProvider {
-    ChunkCompositionProcedure getCompositionProcedure();
+    ChunkCompositionProcedure createCompositionProcedure();
 
     Coordinate getSpawnPosition();
 
@@ -1,6 +1,7 @@
 package net.gegy1000.terrarium.server.world.generator.customization;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Sets;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
@@ -13,7 +14,10 @@ import net.minecraft.util.Tuple;
 
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 public class PropertyContainer {
     private final ImmutableMap<String, PropertyKey<?>> keys;
@@ -133,4 +137,23 @@ public class PropertyContainer {
     public Collection<PropertyKey<?>> getKeys() {
         return this.keys.values();
     }
+
+    public Set<PropertyKey<?>> getChangedKeys(PropertyContainer previous) {
+        Set<PropertyKey<?>> changedKeys = new HashSet<>();
+        for (PropertyKey<?> key : Sets.union(this.values.keySet(), previous.values.keySet())) {
+            PropertyValue<?> value = this.values.get(key);
+            PropertyValue<?> previousValue = previous.values.get(key);
+            if (value == null || previousValue == null || !PropertyContainer.valuesEqual(value.get(), previousValue.get())) {
+                changedKeys.add(key);
+            }
+        }
+        return changedKeys;
+    }
+
+    private static boolean valuesEqual(Object value, Object previousValue) {
+        if (value instanceof Number && previousValue instanceof Number) {
+            return ((Number) value).doubleValue() == ((Number) previousValue).doubleValue();
+        }
+        return Objects.equals(value, previousValue);
+    }
 }
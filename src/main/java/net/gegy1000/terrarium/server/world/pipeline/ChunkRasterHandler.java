@@ -39,6 +39,18 @@ public class ChunkRasterHandler {
         }
     }
 
+    public void fillBlockRasters(int originX, int originZ, int width, int height) {
+        for (Data<?, ?> data : this.chunkRasters.values()) {
+            data.fillBlockRaster(originX, originZ, width, height);
+        }
+    }
+
+    public void selectBlockChunk(int offsetX, int offsetZ) {
+        for (Data<?, ?> data : this.chunkRasters.values()) {
+            data.selectBlockChunk(offsetX, offsetZ);
+        }
+    }
+
     @SuppressWarnings("unchecked")
     public <T extends RasterDataAccess<V>, V> T getChunkRaster(RegionComponentType<T> componentType) {
         Data<T, V> data = (Data<T, V>) this.chunkRasters.get(componentType);
@@ -48,6 +60,7 @@ public class ChunkRasterHandler {
     private class Data<T extends RasterDataAccess<V>, V> {
         private final RegionComponentType<T> componentType;
         private final T raster;
+        private T blockRaster;
 
         private Data(RegionComponentType<T> componentType) {
             this.componentType = componentType;
@@ -58,6 +71,17 @@ public class ChunkRasterHandler {
             ChunkRasterHandler.this.regionHandler.fillRaster(this.componentType, this.raster, originX, originZ, 16, 16);
         }
 
+        public void fillBlockRaster(int originX, int originZ, int width, int height) {
+            if (this.blockRaster == null || this.blockRaster.getWidth() != width || this.blockRaster.getHeight() != height) {
+                this.blockRaster = this.componentType.createDefaultData(width, height);
+            }
+            ChunkRasterHandler.this.regionHandler.fillRaster(this.componentType, this.blockRaster, originX, originZ, width, height);
+        }
+
+        public void selectBlockChunk(int offsetX, int offsetZ) {
+            this.raster.copyFrom(this.blockRaster, offsetX, offsetZ, 0, 0, 16, 16);
+        }
+
         public T getRaster() {
             return this.raster;
         }
@@ -6,29 +6,41 @@ import com.google.common.collect.ImmutableSet;
 import net.gegy1000.terrarium.Terrarium;
 import net.gegy1000.terrarium.server.world.coordinate.Coordinate;
 import net.gegy1000.terrarium.server.world.generator.customization.GenerationSettings;
+import net.gegy1000.terrarium.server.world.generator.customization.property.PropertyKey;
+import net.gegy1000.terrarium.server.world.pipeline.adapter.AttachedAdapter;
 import net.gegy1000.terrarium.server.world.pipeline.adapter.RegionAdapter;
 import net.gegy1000.terrarium.server.world.pipeline.component.AttachedComponent;
 import net.gegy1000.terrarium.server.world.pipeline.component.RegionComponent;
 import net.gegy1000.terrarium.server.world.pipeline.component.RegionComponentType;
 import net.gegy1000.terrarium.server.world.pipeline.source.tile.TiledDataAccess;
 import net.gegy1000.terrarium.server.world.region.RegionData;
+import net.gegy1000.terrarium.server.world.region.RegionStageCache;
 import net.gegy1000.terrarium.server.world.region.RegionTilePos;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
 
 public class TerrariumDataProvider {
     private final ImmutableMap<RegionComponentType<?>, AttachedComponent<?>> attachedComponents;
-    private final ImmutableList<RegionAdapter> adapters;
+    private final ImmutableList<AttachedAdapter> adapters;
+    private final ImmutableSet<PropertyKey<?>> independentProperties;
 
     private TerrariumDataProvider(
             ImmutableMap<RegionComponentType<?>, AttachedComponent<?>> attachedComponents,
-            ImmutableList<RegionAdapter> adapters
+            ImmutableList<AttachedAdapter> adapters,
+            ImmutableSet<PropertyKey<?>> independentProperties
     ) {
         this.attachedComponents = attachedComponents;
         this.adapters = adapters;
+        this.independentProperties = independentProperties;
     }
 
     public static Builder builder() {
@@ -36,24 +48,100 @@ public class TerrariumDataProvider {
     }
 
     public RegionData populateData(GenerationSettings settings, RegionTilePos pos, Coordinate regionSize, int width, int height) {
+        RegionData data = this.produceData(pos, width, height);
+        for (AttachedAdapter adapter : this.adapters) {
+            this.applyAdapter(adapter, settings, data, pos, width, height);
+        }
+        return data;
+    }
+
+    public RegionData populateData(GenerationSettings settings, RegionTilePos pos, Coordinate regionSize, int width, int height, RegionStageCache stageCache, BooleanSupplier cancelled) {
+        int finalStage = this.adapters.size();
+        RegionData populated = stageCache.get(pos, finalStage);
+        if (populated != null) {
+            return populated;
+        }
+
+        int restoredStage = finalStage - 1;
+        RegionData checkpoint = null;
+        while (restoredStage >= 0 && (checkpoint = stageCache.get(pos, restoredStage)) == null) {
+            restoredStage--;
+        }
+
+        RegionData data;
+        int startStage;
+        if (checkpoint != null) {
+            data = checkpoint.copy();
+            startStage = restoredStage;
+        } else {
+            TerrariumDataProvider.checkCancelled(cancelled, pos);
+            data = this.produceData(pos, width, height);
+            startStage = 0;
+        }
+
+        for (int stage = startStage; stage < finalStage; stage++) {
+            TerrariumDataProvider.checkCancelled(cancelled, pos);
+            AttachedAdapter adapter = this.adapters.get(stage);
+            if (adapter.hasDependencies() && stage != restoredStage) {
+                stageCache.put(pos, stage, data.copy());
+            }
+            this.applyAdapter(adapter, settings, data, pos, width, height);
+        }
+
+        stageCache.put(pos, finalStage, data);
+        return data;
+    }
+
+    private static void checkCancelled(BooleanSupplier cancelled, RegionTilePos pos) {
+        if (cancelled.getAsBoolean()) {
+            throw new CancellationException("Population of region " + pos + " was cancelled");
+        }
+    }
+
+    private RegionData produceData(RegionTilePos pos, int width, int height) {
         Map<RegionComponentType<?>, RegionComponent<?>> populatedComponents = new HashMap<>();
         for (AttachedComponent<?> attachedComponent : this.attachedComponents.values()) {
             RegionComponent<?> component = attachedComponent.createAndPopulate(pos, width, height);
             populatedComponents.put(attachedComponent.getType(), component);
         }
-        RegionData data = new RegionData(populatedComponents);
-        this.applyAdapters(settings, data, pos, width, height);
-        return data;
+        return new RegionData(populatedComponents);
+    }
+
+    private void applyAdapter(AttachedAdapter attachedAdapter, GenerationSettings settings, RegionData data, RegionTilePos pos, int width, int height) {
+        RegionAdapter adapter = attachedAdapter.getAdapter();
+        try {
+            adapter.adapt(settings, data, pos.getMinBufferedX(), pos.getMinBufferedZ(), width, height);
+        } catch (Exception e) {
+            Terrarium.LOGGER.warn("Failed to run adapter {}", adapter.getClass().getName(), e);
+        }
+    }
+
+    public int getStageCount() {
+        return this.adapters.size() + 1;
     }
 
-    private void applyAdapters(GenerationSettings settings, RegionData data, RegionTilePos pos, int width, int height) {
-        for (RegionAdapter adapter : this.adapters) {
-            try {
-                adapter.adapt(settings, data, pos.getMinBufferedX(), pos.getMinBufferedZ(), width, height);
-            } catch (Exception e) {
-                Terrarium.LOGGER.warn("Failed to run adapter {}", adapter.getClass().getName(), e);
+    public int getReusableStage(Collection<PropertyKey<?>> changedKeys) {
+        int reusableStage = this.adapters.size();
+        for (PropertyKey<?> key : changedKeys) {
+            if (this.independentProperties.contains(key)) {
+                continue;
+            }
+            int dependentStage = this.findDependentStage(key);
+            if (dependentStage == -1) {
+                return -1;
+            }
+            reusableStage = Math.min(reusableStage, dependentStage);
+        }
+        return reusableStage;
+    }
+
+    private int findDependentStage(PropertyKey<?> key) {
+        for (int stage = 0; stage < this.adapters.size(); stage++) {
+            if (this.adapters.get(stage).dependsOn(key)) {
+                return stage;
             }
         }
+        return -1;
     }
 
     public ImmutableSet<RegionComponentType<?>> getAttachedComponentTypes() {
@@ -62,7 +150,8 @@ public class TerrariumDataProvider {
 
     public static class Builder {
         private final Map<RegionComponentType<?>, AttachedComponent<?>> attachedComponents = new HashMap<>();
-        private final List<RegionAdapter> adapters = new ArrayList<>();
+        private final List<AttachedAdapter> adapters = new ArrayList<>();
+        private final Set<PropertyKey<?>> independentProperties = new HashSet<>();
 
         private Builder() {
         }
@@ -72,13 +161,18 @@ public class TerrariumDataProvider {
             return this;
         }
 
-        public Builder withAdapter(RegionAdapter adapter) {
-            this.adapters.add(adapter);
+        public Builder withAdapter(RegionAdapter adapter, PropertyKey<?>... dependencies) {
+            this.adapters.add(new AttachedAdapter(adapter, ImmutableSet.copyOf(dependencies)));
+            return this;
+        }
+
+        public Builder withIndependentProperties(PropertyKey<?>... properties) {
+            Collections.addAll(this.independentProperties, properties);
             return this;
         }
 
         public TerrariumDataProvider build() {
-            return new TerrariumDataProvider(ImmutableMap.copyOf(this.attachedComponents), ImmutableList.copyOf(this.adapters));
+            return new TerrariumDataProvider(ImmutableMap.copyOf(this.attachedComponents), ImmutableList.copyOf(this.adapters), ImmutableSet.copyOf(this.independentProperties));
         }
     }
 }
@@ -0,0 +1,26 @@
+package net.gegy1000.terrarium.server.world.pipeline.adapter;
+
+import com.google.common.collect.ImmutableSet;
+import net.gegy1000.terrarium.server.world.generator.customization.property.PropertyKey;
+
+public final class AttachedAdapter {
+    private final RegionAdapter adapter;
+    private final ImmutableSet<PropertyKey<?>> dependencies;
+
+    public AttachedAdapter(RegionAdapter adapter, ImmutableSet<PropertyKey<?>> dependencies) {
+        this.adapter = adapter;
+        this.dependencies = dependencies;
+    }
+
+    public RegionAdapter getAdapter() {
+        return this.adapter;
+    }
+
+    public boolean hasDependencies() {
+        return !this.dependencies.isEmpty();
+    }
+
+    public boolean dependsOn(PropertyKey<?> key) {
+        return this.dependencies.contains(key);
+    }
+}
@@ -1,5 +1,6 @@
 package net.gegy1000.terrarium.server.world.pipeline.adapter;
 
+import net.gegy1000.terrarium.server.util.DistanceField;
 import net.gegy1000.terrarium.server.world.cover.CoverType;
 import net.gegy1000.terrarium.server.world.generator.customization.GenerationSettings;
 import net.gegy1000.terrarium.server.world.pipeline.component.RegionComponentType;
@@ -9,6 +10,7 @@ import net.gegy1000.terrarium.server.world.region.RegionData;
 import net.minecraft.world.World;
 import net.minecraft.world.gen.NoiseGeneratorImproved;
 
+import java.util.Arrays;
 import java.util.Random;
 
 public class BeachAdapter implements RegionAdapter {
@@ -21,13 +23,20 @@ public class BeachAdapter implements RegionAdapter {
     private final NoiseGeneratorImproved beachNoise;
     private final double[] sampledBeachNoise = new double[GenerationRegion.BUFFERED_SIZE * GenerationRegion.BUFFERED_SIZE];
 
+    private final DistanceField distanceField = new DistanceField();
+    private boolean[] waterMask = new boolean[0];
+
     public BeachAdapter(World world, RegionComponentType<CoverRasterTile> coverComponent, int beachSize, CoverType waterCover, CoverType beachCover) {
+        this(world.getWorldInfo().getSeed(), coverComponent, beachSize, waterCover, beachCover);
+    }
+
+    public BeachAdapter(long seed, RegionComponentType<CoverRasterTile> coverComponent, int beachSize, CoverType waterCover, CoverType beachCover) {
         this.coverComponent = coverComponent;
         this.beachSize = beachSize;
         this.waterCover = waterCover;
         this.beachCover = beachCover;
 
-        Random random = new Random(world.getWorldInfo().getSeed());
+        Random random = new Random(seed);
         this.beachNoise = new NoiseGeneratorImproved(random);
     }
 
@@ -39,39 +48,46 @@ public class BeachAdapter implements RegionAdapter {
         }
 
         double frequency = 0.2;
+        Arrays.fill(this.sampledBeachNoise, 0, width * height, 0.0);
         this.beachNoise.populateNoiseArray(this.sampledBeachNoise, x * frequency, 0.0, z * frequency, width, 1, height, frequency, 1.0, frequency, 1.0);
 
         CoverType[] coverBuffer = coverTile.getData();
 
+        int size = width * height;
+        if (this.waterMask.length < size) {
+            this.waterMask = new boolean[size];
+        }
+        for (int i = 0; i < size; i++) {
+            this.waterMask[i] = coverBuffer[i] == this.waterCover;
+        }
+
+        this.distanceField.compute(this.waterMask, width, height);
+
+        int beachRadius = this.beachSize - 1;
+        double maxWeight = (beachRadius * beachRadius) * 2;
+
         for (int localY = 0; localY < height; localY++) {
-            CoverType last = coverBuffer[localY * width];
-            for (int localX = 1; localX < width; localX++) {
-                CoverType cover = coverBuffer[localX + localY * width];
-                if (last != cover && cover == this.waterCover || last == this.waterCover) {
-                    this.spreadBeach(this.beachSize - 1, width, height, localX, localY, coverBuffer);
+            for (int localX = 0; localX < width; localX++) {
+                int index = localX + localY * width;
+                if (this.waterMask[index]) {
+                    continue;
+                }
+
+                int nearest = this.distanceField.getNearest(index);
+                if (nearest == DistanceField.NONE) {
+                    continue;
+                }
+
+                int deltaX = localX - nearest % width;
+                int deltaY = localY - nearest / width;
+                if (Math.abs(deltaX) > beachRadius || Math.abs(deltaY) > beachRadius) {
+                    continue;
                 }
-                last = cover;
-            }
-        }
-    }
 
-    private void spreadBeach(int beachSize, int width, int height, int localX, int localY, CoverType[] coverBuffer) {
-        double maxWeight = (beachSize * beachSize) * 2;
-        for (int beachY = -beachSize; beachY <= beachSize; beachY++) {
-            int globalY = localY + beachY;
-            if (globalY >= 0 && globalY < height) {
-                for (int beachX = -beachSize; beachX <= beachSize; beachX++) {
-                    int globalX = localX + beachX;
-                    if (globalX >= 0 && globalX < width) {
-                        int beachIndex = globalX + globalY * width;
-                        if (coverBuffer[beachIndex] != this.waterCover) {
-                            double weight = maxWeight - (beachX * beachX + beachY * beachY);
-                            double noise = this.sampledBeachNoise[globalY + globalX * GenerationRegion.BUFFERED_SIZE];
-                            if (weight > noise * noise * 3.0) {
-                                coverBuffer[beachIndex] = this.beachCover;
-                            }
-                        }
-                    }
+                double weight = maxWeight - this.distanceField.getDistanceSquared(index);
+                double noise = this.sampledBeachNoise[localY + localX * height];
+                if (weight > noise * noise * 3.0) {
+                    coverBuffer[index] = this.beachCover;
                 }
             }
         }
@@ -1,5 +1,6 @@
 package net.gegy1000.terrarium.server.world.pipeline.component;
 
+import net.gegy1000.terrarium.server.world.pipeline.source.tile.RasterDataAccess;
 import net.gegy1000.terrarium.server.world.pipeline.source.tile.TiledDataAccess;
 
 public class RegionComponent<T extends TiledDataAccess> {
@@ -18,4 +19,15 @@ public class RegionComponent<T extends TiledDataAccess> {
     public RegionComponentType<T> getType() {
         return this.type;
     }
+
+    @SuppressWarnings("unchecked")
+    public RegionComponent<T> copy() {
+        if (this.data instanceof RasterDataAccess) {
+            RasterDataAccess<Object> source = (RasterDataAccess<Object>) this.data;
+            T copy = this.type.createDefaultData(source.getWidth(), source.getHeight());
+            ((RasterDataAccess<Object>) copy).copyFrom(source, 0, 0, 0, 0, source.getWidth(), source.getHeight());
+            return new RegionComponent<>(this.type, copy);
+        }
+        return this;
+    }
 }
@@ -6,10 +6,12 @@ import net.gegy1000.terrarium.server.world.cover.CoverGenerationContext;
 import net.gegy1000.terrarium.server.world.cover.CoverType;
 import net.gegy1000.terrarium.server.world.pipeline.component.RegionComponentType;
 import net.gegy1000.terrarium.server.world.pipeline.source.tile.CoverRasterTile;
+import net.gegy1000.terrarium.server.world.region.GenerationRegion;
 import net.gegy1000.terrarium.server.world.region.GenerationRegionHandler;
 import net.minecraft.init.Biomes;
 import net.minecraft.world.biome.Biome;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -44,6 +46,26 @@ public class CoverBiomeComposer implements BiomeComposer {
         return this.biomeBuffer;
     }
 
+    @Override
+    public void composeRegionBiomes(GenerationRegion region, byte[] biomeIds) {
+        CoverRasterTile coverTile = region.getData().get(this.coverComponent);
+        if (coverTile == null) {
+            Arrays.fill(biomeIds, (byte) Biome.getIdForBiome(Biomes.DEFAULT));
+            return;
+        }
+
+        int globalX = region.getMinX() + GenerationRegion.BUFFER;
+        int globalZ = region.getMinZ() + GenerationRegion.BUFFER;
+
+        for (int localZ = 0; localZ < GenerationRegion.SIZE; localZ++) {
+            for (int localX = 0; localX < GenerationRegion.SIZE; localX++) {
+                CoverType<?> coverType = coverTile.get(localX + GenerationRegion.BUFFER, localZ + GenerationRegion.BUFFER);
+                Biome biome = this.getBiome(coverType, globalX + localX, globalZ + localZ);
+                biomeIds[localX + localZ * GenerationRegion.SIZE] = (byte) Biome.getIdForBiome(biome);
+            }
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private <T extends CoverGenerationContext> Biome getBiome(CoverType<T> coverType, int globalX, int globalZ) {
         CoverGenerationContext context = this.context.get(coverType);
@@ -3,6 +3,7 @@ package net.gegy1000.terrarium.server.world.pipeline.composer.decoration;
 import net.gegy1000.terrarium.Terrarium;
 import net.gegy1000.terrarium.server.world.chunk.PseudoRandomMap;
 import net.gegy1000.terrarium.server.world.cover.ConstructedCover;
+import net.gegy1000.terrarium.server.world.cover.CoverChunkMask;
 import net.gegy1000.terrarium.server.world.cover.CoverDecorationGenerator;
 import net.gegy1000.terrarium.server.world.cover.CoverGenerationContext;
 import net.gegy1000.terrarium.server.world.cover.CoverType;
@@ -11,11 +12,9 @@ import net.gegy1000.terrarium.server.world.pipeline.source.tile.CoverRasterTile;
 import net.gegy1000.terrarium.server.world.region.GenerationRegionHandler;
 import net.minecraft.world.World;
 
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 public class CoverDecorationComposer implements DecorationComposer {
@@ -28,7 +27,7 @@ public class CoverDecorationComposer implements DecorationComposer {
 
     private final List<CoverGenerationContext> context;
     private final Map<CoverType<?>, CoverDecorationGenerator<?>> generators;
-    private final Set<CoverType<?>> coverTypes = new HashSet<>();
+    private final CoverChunkMask coverMask = new CoverChunkMask();
 
     public CoverDecorationComposer(
             World world,
@@ -40,36 +39,32 @@ public class CoverDecorationComposer implements DecorationComposer {
 
         this.coverComponent = coverComponent;
 
-        this.context = coverTypes.stream().map(ConstructedCover::getContext).collect(Collectors.toList());
+        this.context = coverTypes.stream().map(ConstructedCover::getContext).distinct().collect(Collectors.toList());
         this.generators = coverTypes.stream().collect(Collectors.toMap(ConstructedCover::getType, ConstructedCover::createDecorationGenerator));
     }
 
     @Override
-    public void composeDecoration(World world, GenerationRegionHandler regionHandler, int chunkX, int chunkZ) {
+    public void composeDecoration(DecorationWriteBuffer writeBuffer, GenerationRegionHandler regionHandler, int chunkX, int chunkZ) {
         int globalX = chunkX << 4;
         int globalZ = chunkZ << 4;
 
         CoverRasterTile coverRaster = regionHandler.getCachedChunkRaster(this.coverComponent);
 
-        this.coverTypes.clear();
-        for (int localZ = 0; localZ < 16; localZ++) {
-            for (int localX = 0; localX < 16; localX++) {
-                this.coverTypes.add(coverRaster.get(localX, localZ));
-            }
-        }
+        this.coverMask.prepare(coverRaster);
 
         this.coverMap.initPosSeed(globalX, globalZ);
         long randomSeed = this.coverMap.next();
 
         for (CoverGenerationContext context : this.context) {
-            context.prepareChunk(regionHandler);
+            context.prepareChunk(regionHandler, this.coverMask);
         }
 
-        for (CoverType<?> type : this.coverTypes) {
+        for (int index = 0; index < this.coverMask.getTypeCount(); index++) {
+            CoverType<?> type = this.coverMask.getType(index);
             CoverDecorationGenerator<?> generator = this.generators.get(type);
             if (generator != null) {
                 this.random.setSeed(randomSeed);
-                generator.decorate(globalX + 8, globalZ + 8, this.random);
+                generator.decorate(writeBuffer, globalX + 8, globalZ + 8, this.random);
             } else {
                 Terrarium.LOGGER.warn("Tried to generate with non-registered cover: {}", type);
             }
@@ -0,0 +1,274 @@
+package net.gegy1000.terrarium.server.world.pipeline.composer.decoration;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.gegy1000.terrarium.server.world.feature.BufferedFeature;
+import net.gegy1000.terrarium.server.world.pipeline.source.tile.ShortRasterTile;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+import net.minecraft.world.gen.feature.WorldGenerator;
+
+import javax.annotation.Nullable;
+import java.util.Random;
+
+public class DecorationWriteBuffer {
+    private static final int SECTION_WORDS = 16 * 16 * 16 / 64;
+
+    private final World world;
+
+    private final Long2ObjectMap<ChunkWrites> chunkWrites = new Long2ObjectOpenHashMap<>();
+    private final BlockPos.MutableBlockPos scanPos = new BlockPos.MutableBlockPos();
+
+    private Chunk lastChunk;
+    private ChunkWrites lastWrites;
+
+    private ShortRasterTile heightRaster;
+    private int surfaceOriginX;
+    private int surfaceOriginZ;
+
+    public DecorationWriteBuffer(World world) {
+        this.world = world;
+    }
+
+    public World getWorld() {
+        return this.world;
+    }
+
+    public void prepareSurface(ShortRasterTile heightRaster, int originX, int originZ) {
+        this.heightRaster = heightRaster;
+        this.surfaceOriginX = originX;
+        this.surfaceOriginZ = originZ;
+    }
+
+    public boolean generate(WorldGenerator generator, Random random, BlockPos position) {
+        if (generator instanceof BufferedFeature) {
+            return ((BufferedFeature) generator).generate(this, random, position);
+        }
+        return generator.generate(this.world, random, position);
+    }
+
+    public IBlockState getBlockState(BlockPos pos) {
+        if (pos.getY() < 0 || pos.getY() >= 256) {
+            return Blocks.AIR.getDefaultState();
+        }
+        return this.getChunk(pos.getX() >> 4, pos.getZ() >> 4).getBlockState(pos);
+    }
+
+    public boolean isAirBlock(BlockPos pos) {
+        IBlockState state = this.getBlockState(pos);
+        return state.getBlock().isAir(state, this.world, pos);
+    }
+
+    public boolean isClear(BlockPos pos) {
+        if (pos.getY() < 0 || pos.getY() >= 256) {
+            return false;
+        }
+        Chunk chunk = this.getChunk(pos.getX() >> 4, pos.getZ() >> 4);
+        return pos.getY() > chunk.getHeightValue(pos.getX() & 15, pos.getZ() & 15) && !this.isColumnModified(chunk, pos.getX(), pos.getZ());
+    }
+
+    public int getHeight(int x, int z) {
+        return this.getChunk(x >> 4, z >> 4).getHeightValue(x & 15, z & 15);
+    }
+
+    public int getSurfaceHeight(int x, int z) {
+        Chunk chunk = this.getChunk(x >> 4, z >> 4);
+
+        int localX = x - this.surfaceOriginX;
+        int localZ = z - this.surfaceOriginZ;
+        if (this.heightRaster != null && localX >= 0 && localZ >= 0 && localX < 16 && localZ < 16 && !this.isColumnModified(chunk, x, z)) {
+            int height = Math.max(this.heightRaster.getShort(localX, localZ), chunk.getHeightValue(x & 15, z & 15) - 1);
+            return this.scanSurface(chunk, x, Math.min(height, 255), z);
+        }
+
+        return this.scanSurface(chunk, x, chunk.getTopFilledSegment() + 15, z);
+    }
+
+    public BlockPos getTopSolidBlock(int x, int z) {
+        return new BlockPos(x, this.getSurfaceHeight(x, z) + 1, z);
+    }
+
+    private int scanSurface(Chunk chunk, int x, int startY, int z) {
+        BlockPos.MutableBlockPos pos = this.scanPos;
+        for (int y = startY; y >= 0; y--) {
+            IBlockState state = chunk.getBlockState(pos.setPos(x, y, z));
+            if (state.getMaterial().blocksMovement() && !state.getBlock().isLeaves(state, this.world, pos) && !state.getBlock().isFoliage(this.world, pos)) {
+                return y;
+            }
+        }
+        return -1;
+    }
+
+    private boolean isColumnModified(Chunk chunk, int x, int z) {
+        ChunkWrites writes = this.findWrites(chunk);
+        return writes != null && writes.isColumnModified(x & 15, z & 15);
+    }
+
+    public boolean setBlockToAir(BlockPos pos) {
+        return this.setBlockState(pos, Blocks.AIR.getDefaultState());
+    }
+
+    public boolean setBlockState(BlockPos pos, IBlockState state) {
+        int y = pos.getY();
+        if (y < 0 || y >= 256) {
+            return false;
+        }
+
+        Chunk chunk = this.getChunk(pos.getX() >> 4, pos.getZ() >> 4);
+        IBlockState previous = chunk.getBlockState(pos);
+        if (previous == state) {
+            return false;
+        }
+
+        int localX = pos.getX() & 15;
+        int localZ = pos.getZ() & 15;
+
+        if (previous.getBlock().hasTileEntity(previous) || state.getBlock().hasTileEntity(state)) {
+            this.getWrites(chunk).mark(localX, y, localZ);
+            return this.world.setBlockState(pos, state, 2);
+        }
+
+        ExtendedBlockStorage[] storageArray = chunk.getBlockStorageArray();
+        ExtendedBlockStorage storage = storageArray[y >> 4];
+        if (storage == Chunk.NULL_BLOCK_STORAGE) {
+            storage = new ExtendedBlockStorage(y >> 4 << 4, this.world.provider.hasSkyLight());
+            storageArray[y >> 4] = storage;
+        }
+
+        storage.set(localX, y & 15, localZ, state);
+
+        this.updateHeight(chunk, pos, localX, localZ, state);
+        this.getWrites(chunk).mark(localX, y, localZ);
+
+        return true;
+    }
+
+    private void updateHeight(Chunk chunk, BlockPos pos, int localX, int localZ, IBlockState state) {
+        int[] heightMap = chunk.getHeightMap();
+        int column = localZ << 4 | localX;
+        int height = heightMap[column];
+
+        int y = pos.getY();
+        if (state.getLightOpacity(this.world, pos) > 0) {
+            if (y >= height) {
+                heightMap[column] = y + 1;
+            }
+        } else if (y == height - 1) {
+            BlockPos.MutableBlockPos scanPos = this.scanPos;
+            while (y > 0) {
+                scanPos.setPos(pos.getX(), y - 1, pos.getZ());
+                if (chunk.getBlockState(scanPos).getLightOpacity(this.world, scanPos) > 0) {
+                    break;
+                }
+                y--;
+            }
+            heightMap[column] = y;
+        }
+    }
+
+    public void flush() {
+        for (ChunkWrites writes : this.chunkWrites.values()) {
+            Chunk chunk = writes.chunk;
+            boolean sent = chunk.isPopulated();
+
+            chunk.generateSkylightMap();
+            if (chunk.isLightPopulated()) {
+                chunk.setLightPopulated(false);
+            }
+            chunk.markDirty();
+
+            if (sent) {
+                this.notifyWrites(writes);
+            }
+        }
+
+        this.chunkWrites.clear();
+        this.lastWrites = null;
+        this.lastChunk = null;
+        this.heightRaster = null;
+    }
+
+    private void notifyWrites(ChunkWrites writes) {
+        Chunk chunk = writes.chunk;
+        BlockPos.MutableBlockPos pos = this.scanPos;
+
+        for (int sectionY = 0; sectionY < writes.sectionMasks.length; sectionY++) {
+            long[] mask = writes.sectionMasks[sectionY];
+            if (mask == null) {
+                continue;
+            }
+            for (int word = 0; word < SECTION_WORDS; word++) {
+                for (long bits = mask[word]; bits != 0; bits &= bits - 1) {
+                    int index = word << 6 | Long.numberOfTrailingZeros(bits);
+                    pos.setPos((chunk.x << 4) + (index & 15), sectionY << 4 | index >> 8, (chunk.z << 4) + (index >> 4 & 15));
+                    IBlockState state = chunk.getBlockState(pos);
+                    this.world.notifyBlockUpdate(pos, state, state, 2);
+                }
+            }
+        }
+    }
+
+    private Chunk getChunk(int chunkX, int chunkZ) {
+        Chunk chunk = this.lastChunk;
+        if (chunk == null || chunk.x != chunkX || chunk.z != chunkZ) {
+            chunk = this.world.getChunkFromChunkCoords(chunkX, chunkZ);
+            this.lastChunk = chunk;
+        }
+        return chunk;
+    }
+
+    @Nullable
+    private ChunkWrites findWrites(Chunk chunk) {
+        ChunkWrites writes = this.lastWrites;
+        if (writes == null || writes.chunk != chunk) {
+            writes = this.chunkWrites.get(ChunkPos.asLong(chunk.x, chunk.z));
+            if (writes != null) {
+                this.lastWrites = writes;
+            }
+        }
+        return writes;
+    }
+
+    private ChunkWrites getWrites(Chunk chunk) {
+        ChunkWrites writes = this.findWrites(chunk);
+        if (writes == null) {
+            writes = new ChunkWrites(chunk);
+            this.chunkWrites.put(ChunkPos.asLong(chunk.x, chunk.z), writes);
+            this.lastWrites = writes;
+        }
+        return writes;
+    }
+
+    private static class ChunkWrites {
+        private final Chunk chunk;
+        private final long[][] sectionMasks = new long[16][];
+        private final long[] columnMask = new long[4];
+
+        private ChunkWrites(Chunk chunk) {
+            this.chunk = chunk;
+        }
+
+        private void mark(int localX, int y, int localZ) {
+            long[] mask = this.sectionMasks[y >> 4];
+            if (mask == null) {
+                mask = new long[SECTION_WORDS];
+                this.sectionMasks[y >> 4] = mask;
+            }
+            int index = (y & 15) << 8 | localZ << 4 | localX;
+            mask[index >>> 6] |= 1L << index;
+
+            int column = localZ << 4 | localX;
+            this.columnMask[column >>> 6] |= 1L << column;
+        }
+
+        private boolean isColumnModified(int localX, int localZ) {
+            int column = localZ << 4 | localX;
+            return (this.columnMask[column >>> 6] & (1L << column)) != 0;
+        }
+    }
+}
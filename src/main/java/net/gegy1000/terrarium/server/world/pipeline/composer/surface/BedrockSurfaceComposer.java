@@ -1,6 +1,7 @@
 package net.gegy1000.terrarium.server.world.pipeline.composer.surface;
 
 import net.gegy1000.terrarium.server.world.chunk.PseudoRandomMap;
+import net.gegy1000.terrarium.server.world.chunk.RawChunkPrimer;
 import net.gegy1000.terrarium.server.world.region.GenerationRegionHandler;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.world.World;
@@ -25,12 +26,16 @@ public class BedrockSurfaceComposer implements SurfaceComposer {
     public void composeSurface(ChunkPrimer primer, GenerationRegionHandler regionHandler, int chunkX, int chunkZ) {
         int globalX = chunkX << 4;
         int globalZ = chunkZ << 4;
+
+        RawChunkPrimer rawPrimer = RawChunkPrimer.wrap(primer);
+        char blockId = RawChunkPrimer.getId(this.block);
+
         for (int localZ = 0; localZ < 16; localZ++) {
             for (int localX = 0; localX < 16; localX++) {
                 this.scatterMap.initPosSeed(globalX + localX, globalZ + localZ);
                 for (int localY = 0; localY < this.scatterRange; localY++) {
                     if (localY == 0 || localY <= this.scatterMap.nextInt(this.scatterRange)) {
-                        primer.setBlockState(localX, localY, localZ, this.block);
+                        rawPrimer.setId(localX, localY, localZ, blockId);
                     }
                 }
             }
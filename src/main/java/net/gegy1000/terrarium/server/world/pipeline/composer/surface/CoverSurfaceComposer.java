@@ -3,7 +3,9 @@ package net.gegy1000.terrarium.server.world.pipeline.composer.surface;
 import net.gegy1000.terrarium.Terrarium;
 import net.gegy1000.terrarium.server.util.ArrayUtils;
 import net.gegy1000.terrarium.server.world.chunk.PseudoRandomMap;
+import net.gegy1000.terrarium.server.world.chunk.RawChunkPrimer;
 import net.gegy1000.terrarium.server.world.cover.ConstructedCover;
+import net.gegy1000.terrarium.server.world.cover.CoverChunkMask;
 import net.gegy1000.terrarium.server.world.cover.CoverGenerationContext;
 import net.gegy1000.terrarium.server.world.cover.CoverSurfaceGenerator;
 import net.gegy1000.terrarium.server.world.cover.CoverType;
@@ -17,11 +19,9 @@ import net.minecraft.world.World;
 import net.minecraft.world.chunk.ChunkPrimer;
 import net.minecraft.world.gen.NoiseGeneratorPerlin;
 
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 public class CoverSurfaceComposer implements SurfaceComposer {
@@ -38,14 +38,14 @@ public class CoverSurfaceComposer implements SurfaceComposer {
     private final RegionComponentType<CoverRasterTile> coverComponent;
 
     private final boolean decorate;
-    private final IBlockState replaceBlock;
+    private final char replaceId;
 
     private final IBlockState[] coverBlockBuffer = ArrayUtils.defaulted(new IBlockState[16 * 16], AIR);
     private final IBlockState[] fillerBlockBuffer = ArrayUtils.defaulted(new IBlockState[16 * 16], AIR);
 
     private final List<CoverGenerationContext> context;
     private final Map<CoverType<?>, CoverSurfaceGenerator<?>> generators;
-    private final Set<CoverType<?>> localCoverTypes = new HashSet<>();
+    private final CoverChunkMask coverMask = new CoverChunkMask();
 
     public CoverSurfaceComposer(
             World world,
@@ -61,9 +61,9 @@ public class CoverSurfaceComposer implements SurfaceComposer {
         this.coverComponent = coverComponent;
 
         this.decorate = decorate;
-        this.replaceBlock = replaceBlock;
+        this.replaceId = RawChunkPrimer.getId(replaceBlock);
 
-        this.context = coverTypes.stream().map(ConstructedCover::getContext).collect(Collectors.toList());
+        this.context = coverTypes.stream().map(ConstructedCover::getContext).distinct().collect(Collectors.toList());
         this.generators = coverTypes.stream().collect(Collectors.toMap(ConstructedCover::getType, ConstructedCover::createSurfaceGenerator));
     }
 
@@ -76,16 +76,19 @@ public class CoverSurfaceComposer implements SurfaceComposer {
 
         this.depthBuffer = this.depthNoise.getRegion(this.depthBuffer, globalX, globalZ, 16, 16, 0.0625, 0.0625, 1.0);
 
+        this.coverMask.prepare(coverRaster);
+
         for (CoverGenerationContext context : this.context) {
-            context.prepareChunk(regionHandler);
+            context.prepareChunk(regionHandler, this.coverMask);
         }
 
-        this.populateBlockCover(coverRaster, globalX, globalZ);
+        this.populateBlockCover(globalX, globalZ);
 
+        RawChunkPrimer rawPrimer = RawChunkPrimer.wrap(primer);
         for (int localZ = 0; localZ < 16; localZ++) {
             for (int localX = 0; localX < 16; localX++) {
                 this.coverMap.initPosSeed(localX + globalX, localZ + globalZ);
-                this.coverColumn(primer, localX, localZ, this.depthBuffer[localX + localZ * 16]);
+                this.coverColumn(rawPrimer, localX, localZ, this.depthBuffer[localX + localZ * 16]);
             }
         }
 
@@ -93,7 +96,8 @@ public class CoverSurfaceComposer implements SurfaceComposer {
             this.coverMap.initPosSeed(globalX, globalZ);
             long randomSeed = this.coverMap.next();
 
-            for (CoverType type : this.localCoverTypes) {
+            for (int index = 0; index < this.coverMask.getTypeCount(); index++) {
+                CoverType<?> type = this.coverMask.getType(index);
                 CoverSurfaceGenerator<?> generator = this.generators.get(type);
                 if (generator != null) {
                     this.random.setSeed(randomSeed);
@@ -106,17 +110,11 @@ public class CoverSurfaceComposer implements SurfaceComposer {
         }
     }
 
-    private void populateBlockCover(CoverRasterTile coverBuffer, int globalX, int globalZ) {
-        this.localCoverTypes.clear();
-        for (int localZ = 0; localZ < 16; localZ++) {
-            for (int localX = 0; localX < 16; localX++) {
-                this.localCoverTypes.add(coverBuffer.get(localX, localZ));
-            }
-        }
-
+    private void populateBlockCover(int globalX, int globalZ) {
         this.coverMap.initPosSeed(globalX, globalZ);
         long randomSeed = this.coverMap.next();
-        for (CoverType type : this.localCoverTypes) {
+        for (int index = 0; index < this.coverMask.getTypeCount(); index++) {
+            CoverType<?> type = this.coverMask.getType(index);
             CoverSurfaceGenerator<?> generator = this.generators.get(type);
             if (generator != null) {
                 this.random.setSeed(randomSeed);
@@ -127,32 +125,32 @@ public class CoverSurfaceComposer implements SurfaceComposer {
         }
     }
 
-    private void coverColumn(ChunkPrimer primer, int localX, int localZ, double depthNoise) {
+    private void coverColumn(RawChunkPrimer primer, int localX, int localZ, double depthNoise) {
         int index = localX + localZ * 16;
 
-        IBlockState currentTop = this.coverBlockBuffer[index];
-        IBlockState currentFiller = this.fillerBlockBuffer[index];
+        char currentTop = RawChunkPrimer.getId(this.coverBlockBuffer[index]);
+        char currentFiller = RawChunkPrimer.getId(this.fillerBlockBuffer[index]);
 
         int depth = -1;
         int soilDepth = Math.max((int) (depthNoise / 3.0 + 3.0 + this.coverMap.nextDouble() * 0.25), 1);
 
         for (int localY = 255; localY >= 0; localY--) {
-            IBlockState current = primer.getBlockState(localX, localY, localZ);
-            while (current == AIR && --localY >= 0) {
-                current = primer.getBlockState(localX, localY, localZ);
+            char current = primer.getId(localX, localY, localZ);
+            while (current == RawChunkPrimer.AIR_ID && --localY >= 0) {
+                current = primer.getId(localX, localY, localZ);
                 depth = -1;
             }
-            if (current == this.replaceBlock) {
+            if (current == this.replaceId) {
                 if (depth == -1) {
                     if (soilDepth <= 0) {
-                        currentTop = AIR;
-                        currentFiller = this.replaceBlock;
+                        currentTop = RawChunkPrimer.AIR_ID;
+                        currentFiller = this.replaceId;
                     }
                     depth = soilDepth;
 
-                    primer.setBlockState(localX, localY, localZ, currentTop);
+                    primer.setId(localX, localY, localZ, currentTop);
                 } else if (depth-- > 0) {
-                    primer.setBlockState(localX, localY, localZ, currentFiller);
+                    primer.setId(localX, localY, localZ, currentFiller);
                 } else {
                     break;
                 }
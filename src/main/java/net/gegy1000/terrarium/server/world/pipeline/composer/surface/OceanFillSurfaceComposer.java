@@ -1,5 +1,6 @@
 package net.gegy1000.terrarium.server.world.pipeline.composer.surface;
 
+import net.gegy1000.terrarium.server.world.chunk.RawChunkPrimer;
 import net.gegy1000.terrarium.server.world.pipeline.component.RegionComponentType;
 import net.gegy1000.terrarium.server.world.pipeline.source.tile.ShortRasterTile;
 import net.gegy1000.terrarium.server.world.region.GenerationRegionHandler;
@@ -20,14 +21,15 @@ public class OceanFillSurfaceComposer implements SurfaceComposer {
     @Override
     public void composeSurface(ChunkPrimer primer, GenerationRegionHandler regionHandler, int chunkX, int chunkZ) {
         ShortRasterTile heightRaster = regionHandler.getCachedChunkRaster(this.heightComponent);
+        RawChunkPrimer rawPrimer = RawChunkPrimer.wrap(primer);
+        char blockId = RawChunkPrimer.getId(this.block);
 
+        int maxY = Math.min(this.oceanLevel, 255);
         for (int localZ = 0; localZ < 16; localZ++) {
             for (int localX = 0; localX < 16; localX++) {
                 int height = heightRaster.getShort(localX, localZ);
                 if (height < this.oceanLevel) {
-                    for (int localY = height + 1; localY <= this.oceanLevel; localY++) {
-                        primer.setBlockState(localX, localY, localZ, this.block);
-                    }
+                    rawPrimer.fillColumn(localX, localZ, Math.max(height + 1, 0), maxY, blockId);
                 }
             }
         }
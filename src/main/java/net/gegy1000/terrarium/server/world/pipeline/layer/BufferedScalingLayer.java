@@ -7,23 +7,29 @@ import net.gegy1000.terrarium.server.world.pipeline.DataView;
 import net.gegy1000.terrarium.server.world.pipeline.source.tile.TiledDataAccess;
 import net.minecraft.util.math.MathHelper;
 
-public abstract class BufferedScalingLayer<T extends TiledDataAccess> implements DataLayerProcessor<T, T> {
+public abstract class BufferedScalingLayer<T extends TiledDataAccess, P extends TiledDataAccess> implements DataLayerProcessor<T, P> {
     protected final int lowerSampleBuffer;
     protected final int upperSampleBuffer;
+    protected final int parentBorder;
 
     private final CoordinateState scaledState;
 
     protected BufferedScalingLayer(int lowerSampleBuffer, int upperSampleBuffer, CoordinateState scaledState) {
+        this(lowerSampleBuffer, upperSampleBuffer, 0, scaledState);
+    }
+
+    protected BufferedScalingLayer(int lowerSampleBuffer, int upperSampleBuffer, int parentBorder, CoordinateState scaledState) {
         this.lowerSampleBuffer = lowerSampleBuffer;
         this.upperSampleBuffer = upperSampleBuffer;
+        this.parentBorder = parentBorder;
 
         this.scaledState = scaledState;
     }
 
-    protected abstract T apply(T parent, DataView view, DataView parentView, double scaleFactorX, double scaleFactorY, double originOffsetX, double originOffsetY);
+    protected abstract T apply(P parent, DataView view, DataView parentView, double scaleFactorX, double scaleFactorY, double originOffsetX, double originOffsetY);
 
     @Override
-    public final T apply(DataView view, T parent, DataView parentView) {
+    public final T apply(DataView view, P parent, DataView parentView) {
         double blockSizeX = view.getWidth();
         double blockSizeY = view.getHeight();
 
@@ -35,8 +41,8 @@ public abstract class BufferedScalingLayer<T extends TiledDataAccess> implements
 
         Coordinate minRegionCoordinate = Coordinate.min(minRegionCoordinateBlock, maxRegionCoordinateBlock);
 
-        double originOffsetX = minRegionCoordinate.getX() - parentView.getX();
-        double originOffsetZ = minRegionCoordinate.getZ() - parentView.getY();
+        double originOffsetX = minRegionCoordinate.getX() - (parentView.getX() + this.parentBorder);
+        double originOffsetZ = minRegionCoordinate.getZ() - (parentView.getY() + this.parentBorder);
 
         return this.apply(parent, view, parentView, scaleFactorX, scaleFactorY, originOffsetX, originOffsetZ);
     }
@@ -55,6 +61,7 @@ public abstract class BufferedScalingLayer<T extends TiledDataAccess> implements
         int maxSampleX = MathHelper.ceil(maxRegionCoordinate.getX()) + this.upperSampleBuffer;
         int maxSampleY = MathHelper.ceil(maxRegionCoordinate.getZ()) + this.upperSampleBuffer;
 
-        return new DataView(minSampleX, minSampleY, maxSampleX - minSampleX, maxSampleY - minSampleY);
+        int border = this.parentBorder;
+        return new DataView(minSampleX - border, minSampleY - border, maxSampleX - minSampleX + border * 2, maxSampleY - minSampleY + border * 2);
     }
 }
@@ -13,7 +13,7 @@ public class ScaledByteLayer extends InterpolatingScaleLayer<ByteRasterTile> {
     @Override
     protected ByteRasterTile apply(ByteRasterTile parent, DataView view, DataView parentView, double scaleFactorX, double scaleFactorY, double originOffsetX, double originOffsetY) {
         ByteRasterTile resultHeights = new ByteRasterTile(view);
-        this.scaleRegion(parent, resultHeights, scaleFactorX, scaleFactorY, originOffsetX, originOffsetY);
+        this.resampler.resample(parent.getByteData(), parent.getWidth(), resultHeights.getByteData(), resultHeights.getWidth(), resultHeights.getHeight(), scaleFactorX, scaleFactorY, originOffsetX, originOffsetY);
         return resultHeights;
     }
 }
@@ -5,7 +5,7 @@ import net.gegy1000.terrarium.server.world.coordinate.CoordinateState;
 import net.gegy1000.terrarium.server.world.pipeline.DataView;
 import net.gegy1000.terrarium.server.world.pipeline.source.tile.CoverRasterTile;
 
-public class ScaledCoverLayer extends BufferedScalingLayer<CoverRasterTile> {
+public class ScaledCoverLayer extends BufferedScalingLayer<CoverRasterTile, CoverRasterTile> {
     private final Voronoi voronoi;
 
     public ScaledCoverLayer(CoordinateState coordinateState) {
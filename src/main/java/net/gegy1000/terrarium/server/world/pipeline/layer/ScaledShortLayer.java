@@ -13,7 +13,7 @@ public class ScaledShortLayer extends InterpolatingScaleLayer<ShortRasterTile> {
     @Override
     protected ShortRasterTile apply(ShortRasterTile parent, DataView view, DataView parentView, double scaleFactorX, double scaleFactorY, double originOffsetX, double originOffsetY) {
         ShortRasterTile resultHeights = new ShortRasterTile(view);
-        this.scaleRegion(parent, resultHeights, scaleFactorX, scaleFactorY, originOffsetX, originOffsetY);
+        this.resampler.resample(parent.getShortData(), parent.getWidth(), resultHeights.getShortData(), resultHeights.getWidth(), resultHeights.getHeight(), scaleFactorX, scaleFactorY, originOffsetX, originOffsetY);
         return resultHeights;
     }
 }
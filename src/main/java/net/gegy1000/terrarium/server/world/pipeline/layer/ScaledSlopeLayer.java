@@ -0,0 +1,136 @@
+package net.gegy1000.terrarium.server.world.pipeline.layer;
+
+import net.gegy1000.terrarium.server.world.coordinate.CoordinateState;
+import net.gegy1000.terrarium.server.world.pipeline.DataView;
+import net.gegy1000.terrarium.server.world.pipeline.source.tile.ByteRasterTile;
+import net.gegy1000.terrarium.server.world.pipeline.source.tile.ShortRasterTile;
+import net.minecraft.util.math.MathHelper;
+
+public class ScaledSlopeLayer extends BufferedScalingLayer<ByteRasterTile, ShortRasterTile> {
+    private static final int RING_SIZE = 2;
+
+    private final byte[][] slopeRing = new byte[RING_SIZE][0];
+    private final int[] slopeRingRows = new int[RING_SIZE];
+
+    private int[] originTable = new int[0];
+    private double[] intermediateTable = new double[0];
+    private double[] columnBuffer = new double[0];
+
+    private int minColumn;
+    private int maxColumn;
+
+    public ScaledSlopeLayer(CoordinateState coordinateState) {
+        super(0, 2, 1, coordinateState);
+    }
+
+    @Override
+    protected ByteRasterTile apply(ShortRasterTile parent, DataView view, DataView parentView, double scaleFactorX, double scaleFactorY, double originOffsetX, double originOffsetY) {
+        ByteRasterTile result = new ByteRasterTile(view);
+
+        int resultWidth = view.getWidth();
+        int resultHeight = view.getHeight();
+        if (resultWidth <= 0 || resultHeight <= 0) {
+            return result;
+        }
+
+        scaleFactorX = Math.abs(scaleFactorX);
+        scaleFactorY = Math.abs(scaleFactorY);
+
+        short[] heights = parent.getShortData();
+        int heightWidth = parent.getWidth();
+        int slopeWidth = heightWidth - 2;
+
+        this.buildColumnTables(resultWidth, scaleFactorX, originOffsetX);
+        this.prepareBuffers(slopeWidth);
+
+        int minColumn = this.minColumn;
+        int maxColumn = this.maxColumn;
+
+        byte[] output = result.getByteData();
+        double[] columnBuffer = this.columnBuffer;
+
+        for (int scaledY = 0; scaledY < resultHeight; scaledY++) {
+            double sampleY = scaledY * scaleFactorY + originOffsetY + this.lowerSampleBuffer;
+            int originY = MathHelper.floor(sampleY);
+            double intermediateY = sampleY - originY;
+
+            byte[] slopeRow0 = this.getSlopeRow(heights, heightWidth, originY, minColumn, maxColumn);
+            byte[] slopeRow1 = this.getSlopeRow(heights, heightWidth, originY + 1, minColumn, maxColumn);
+
+            for (int x = minColumn; x <= maxColumn; x++) {
+                double p0 = slopeRow0[x];
+                double p1 = slopeRow1[x];
+                columnBuffer[x] = p0 + (p1 - p0) * intermediateY;
+            }
+
+            int resultIndex = scaledY * resultWidth;
+            for (int scaledX = 0; scaledX < resultWidth; scaledX++) {
+                int column = this.originTable[scaledX];
+                double p0 = columnBuffer[column];
+                double p1 = columnBuffer[column + 1];
+                output[resultIndex + scaledX] = (byte) (short) (p0 + (p1 - p0) * this.intermediateTable[scaledX]);
+            }
+        }
+
+        return result;
+    }
+
+    private void buildColumnTables(int resultWidth, double scaleFactorX, double originOffsetX) {
+        if (this.originTable.length < resultWidth) {
+            this.originTable = new int[resultWidth];
+            this.intermediateTable = new double[resultWidth];
+        }
+
+        int minColumn = Integer.MAX_VALUE;
+        int maxColumn = Integer.MIN_VALUE;
+        for (int scaledX = 0; scaledX < resultWidth; scaledX++) {
+            double sampleX = scaledX * scaleFactorX + originOffsetX + this.lowerSampleBuffer;
+            int originX = MathHelper.floor(sampleX);
+            this.originTable[scaledX] = originX;
+            this.intermediateTable[scaledX] = sampleX - originX;
+            minColumn = Math.min(minColumn, originX);
+            maxColumn = Math.max(maxColumn, originX + 1);
+        }
+
+        this.minColumn = minColumn;
+        this.maxColumn = maxColumn;
+    }
+
+    private void prepareBuffers(int slopeWidth) {
+        if (this.columnBuffer.length < slopeWidth) {
+            this.columnBuffer = new double[slopeWidth];
+            for (int i = 0; i < RING_SIZE; i++) {
+                this.slopeRing[i] = new byte[slopeWidth];
+            }
+        }
+        for (int i = 0; i < RING_SIZE; i++) {
+            this.slopeRingRows[i] = Integer.MIN_VALUE;
+        }
+    }
+
+    private byte[] getSlopeRow(short[] heights, int heightWidth, int slopeY, int minColumn, int maxColumn) {
+        int slot = slopeY & (RING_SIZE - 1);
+        byte[] slopeRow = this.slopeRing[slot];
+        if (this.slopeRingRows[slot] != slopeY) {
+            this.slopeRingRows[slot] = slopeY;
+            computeSlopeRow(heights, heightWidth, slopeY, minColumn, maxColumn, slopeRow);
+        }
+        return slopeRow;
+    }
+
+    private static void computeSlopeRow(short[] heights, int heightWidth, int slopeY, int minColumn, int maxColumn, byte[] slopeRow) {
+        int rowIndex = (slopeY + 1) * heightWidth + 1;
+        for (int slopeX = minColumn; slopeX <= maxColumn; slopeX++) {
+            int index = rowIndex + slopeX;
+            short current = heights[index];
+
+            int left = Math.abs(current - heights[index - 1]);
+            int right = Math.abs(current - heights[index + 1]);
+            int top = Math.abs(current - heights[index - heightWidth]);
+            int bottom = Math.abs(current - heights[index + heightWidth]);
+
+            int maxSlope = Math.max(left, Math.max(right, Math.max(top, bottom)));
+            slopeRow[slopeX] = (byte) MathHelper.clamp(maxSlope, 0, 255);
+        }
+    }
+}
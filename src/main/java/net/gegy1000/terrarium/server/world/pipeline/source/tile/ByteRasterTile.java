@@ -60,6 +60,22 @@ public class ByteRasterTile implements TiledDataAccess, NumberRasterTile<Byte> {
         return this.data;
     }
 
+    @Override
+    public void copyFrom(RasterDataAccess<Byte> source, int sourceX, int sourceZ, int destX, int destZ, int width, int height) {
+        if (!(source instanceof ByteRasterTile)) {
+            NumberRasterTile.super.copyFrom(source, sourceX, sourceZ, destX, destZ, width, height);
+            return;
+        }
+
+        ByteRasterTile sourceTile = (ByteRasterTile) source;
+        byte[] sourceData = sourceTile.getByteData();
+        for (int localZ = 0; localZ < height; localZ++) {
+            int sourceIndex = sourceX + (sourceZ + localZ) * sourceTile.width;
+            int destIndex = destX + (destZ + localZ) * this.width;
+            System.arraycopy(sourceData, sourceIndex, this.data, destIndex, width);
+        }
+    }
+
     @Override
     public int getWidth() {
         return this.width;
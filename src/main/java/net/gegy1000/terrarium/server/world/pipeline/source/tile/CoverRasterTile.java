@@ -63,4 +63,19 @@ public class CoverRasterTile implements RasterDataAccess<CoverType>, TiledDataAc
     public CoverType[] getData() {
         return this.cover;
     }
+
+    @Override
+    public void copyFrom(RasterDataAccess<CoverType> source, int sourceX, int sourceZ, int destX, int destZ, int width, int height) {
+        if (!(source instanceof CoverRasterTile)) {
+            RasterDataAccess.super.copyFrom(source, sourceX, sourceZ, destX, destZ, width, height);
+            return;
+        }
+
+        CoverRasterTile sourceTile = (CoverRasterTile) source;
+        for (int localZ = 0; localZ < height; localZ++) {
+            int sourceIndex = (sourceX - sourceTile.offsetX) + (sourceZ + localZ - sourceTile.offsetZ) * sourceTile.width;
+            int destIndex = (destX - this.offsetX) + (destZ + localZ - this.offsetZ) * this.width;
+            System.arraycopy(sourceTile.cover, sourceIndex, this.cover, destIndex, width);
+        }
+    }
 }
@@ -10,4 +10,12 @@ public interface RasterDataAccess<T> extends TiledDataAccess {
     T get(int x, int z);
 
     T[] getData();
+
+    default void copyFrom(RasterDataAccess<T> source, int sourceX, int sourceZ, int destX, int destZ, int width, int height) {
+        for (int localZ = 0; localZ < height; localZ++) {
+            for (int localX = 0; localX < width; localX++) {
+                this.set(destX + localX, destZ + localZ, source.get(sourceX + localX, sourceZ + localZ));
+            }
+        }
+    }
 }
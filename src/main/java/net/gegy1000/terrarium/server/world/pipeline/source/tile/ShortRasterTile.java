@@ -56,6 +56,22 @@ public class ShortRasterTile implements TiledDataAccess, NumberRasterTile<Short>
         return this.data;
     }
 
+    @Override
+    public void copyFrom(RasterDataAccess<Short> source, int sourceX, int sourceZ, int destX, int destZ, int width, int height) {
+        if (!(source instanceof ShortRasterTile)) {
+            NumberRasterTile.super.copyFrom(source, sourceX, sourceZ, destX, destZ, width, height);
+            return;
+        }
+
+        ShortRasterTile sourceTile = (ShortRasterTile) source;
+        short[] sourceData = sourceTile.getShortData();
+        for (int localZ = 0; localZ < height; localZ++) {
+            int sourceIndex = sourceX + (sourceZ + localZ) * sourceTile.width;
+            int destIndex = destX + (destZ + localZ) * this.width;
+            System.arraycopy(sourceData, sourceIndex, this.data, destIndex, width);
+        }
+    }
+
     @Override
     public int getWidth() {
         return this.width;
@@ -1,5 +1,7 @@
 package net.gegy1000.terrarium.server.world.region;
 
+import net.gegy1000.terrarium.server.world.generator.ChunkCompositionProcedure;
+
 public class GenerationRegion {
     public static final int BUFFER = 16;
 
@@ -11,6 +13,9 @@ public class GenerationRegion {
     private final int minX;
     private final int minZ;
 
+    private byte[] biomeIds;
+    private RegionBiomeIndex biomeIndex;
+
     public GenerationRegion(RegionTilePos pos, RegionData data) {
         this.pos = pos;
         this.data = data;
@@ -33,4 +38,19 @@ public class GenerationRegion {
     public RegionData getData() {
         return this.data;
     }
+
+    public synchronized byte[] getBiomeIds(ChunkCompositionProcedure compositionProcedure) {
+        if (this.biomeIds == null) {
+            byte[] biomeIds = new byte[SIZE * SIZE];
+            compositionProcedure.composeRegionBiomes(this, biomeIds);
+            this.biomeIds = biomeIds;
+            this.biomeIndex = RegionBiomeIndex.build(biomeIds);
+        }
+        return this.biomeIds;
+    }
+
+    public synchronized RegionBiomeIndex getBiomeIndex(ChunkCompositionProcedure compositionProcedure) {
+        this.getBiomeIds(compositionProcedure);
+        return this.biomeIndex;
+    }
 }
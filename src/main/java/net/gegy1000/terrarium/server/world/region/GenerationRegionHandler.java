@@ -3,33 +3,51 @@ package net.gegy1000.terrarium.server.world.region;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import net.gegy1000.terrarium.Terrarium;
 import net.gegy1000.terrarium.server.world.coordinate.Coordinate;
+import net.gegy1000.terrarium.server.world.cover.generator.layer.SelectionContext;
+import net.gegy1000.terrarium.server.world.cover.generator.layer.SelectionStack;
+import net.gegy1000.terrarium.server.world.generator.ChunkCompositionProcedure;
 import net.gegy1000.terrarium.server.world.generator.customization.GenerationSettings;
 import net.gegy1000.terrarium.server.world.pipeline.ChunkRasterHandler;
 import net.gegy1000.terrarium.server.world.pipeline.TerrariumDataProvider;
 import net.gegy1000.terrarium.server.world.pipeline.component.RegionComponentType;
 import net.gegy1000.terrarium.server.world.pipeline.source.tile.RasterDataAccess;
+import net.minecraft.util.math.BlockPos;
 
+import javax.annotation.Nullable;
 import java.util.Collections;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
 
 public class GenerationRegionHandler {
+    private static final int CACHE_SIZE = 12;
+
     private final GenerationSettings settings;
     private final TerrariumDataProvider dataSystem;
-    private final ChunkRasterHandler chunkRasterHandler;
+    private final ThreadLocal<ChunkRasterHandler> chunkRasterHandler;
 
     private final Coordinate bufferedRegionSize;
 
+    private RegionStageCache stageCache;
+    private BooleanSupplier cancelled = () -> false;
+
     private final LoadingCache<RegionTilePos, GenerationRegion> cache = CacheBuilder.newBuilder()
             .expireAfterAccess(2, TimeUnit.MINUTES)
-            .maximumSize(12)
+            .maximumSize(CACHE_SIZE)
             .build(new CacheLoader<RegionTilePos, GenerationRegion>() {
                 @Override
                 public GenerationRegion load(RegionTilePos key) {
                     try {
                         return GenerationRegionHandler.this.generate(key);
+                    } catch (CancellationException e) {
+                        throw e;
                     } catch (Exception e) {
                         Terrarium.LOGGER.error("Failed to load generation region at {}", key, e);
                     }
@@ -37,14 +55,33 @@ public class GenerationRegionHandler {
                 }
             });
 
+    private final LoadingCache<RegionTilePos, Map<SelectionStack, byte[]>> selectorLayers = CacheBuilder.newBuilder()
+            .expireAfterAccess(2, TimeUnit.MINUTES)
+            .maximumSize(CACHE_SIZE)
+            .build(new CacheLoader<RegionTilePos, Map<SelectionStack, byte[]>>() {
+                @Override
+                public Map<SelectionStack, byte[]> load(RegionTilePos key) {
+                    return new ConcurrentHashMap<>();
+                }
+            });
+
     public GenerationRegionHandler(GenerationSettings settings, TerrariumDataProvider dataSystem) {
         this.settings = settings;
         this.dataSystem = dataSystem;
-        this.chunkRasterHandler = new ChunkRasterHandler(this, dataSystem);
+        this.chunkRasterHandler = ThreadLocal.withInitial(() -> new ChunkRasterHandler(this, dataSystem));
 
         this.bufferedRegionSize = Coordinate.fromBlock(GenerationRegion.BUFFERED_SIZE, GenerationRegion.BUFFERED_SIZE);
     }
 
+    public void setStageCache(@Nullable RegionStageCache stageCache, BooleanSupplier cancelled) {
+        this.stageCache = stageCache;
+        this.cancelled = cancelled;
+    }
+
+    public TerrariumDataProvider getDataProvider() {
+        return this.dataSystem;
+    }
+
     public GenerationRegion get(int blockX, int blockZ) {
         return this.get(new RegionTilePos(Math.floorDiv(blockX, GenerationRegion.SIZE), Math.floorDiv(blockZ, GenerationRegion.SIZE)));
     }
@@ -52,6 +89,11 @@ public class GenerationRegionHandler {
     public GenerationRegion get(RegionTilePos pos) {
         try {
             return this.cache.get(pos);
+        } catch (UncheckedExecutionException e) {
+            if (e.getCause() instanceof CancellationException) {
+                throw (CancellationException) e.getCause();
+            }
+            throw e;
         } catch (ExecutionException e) {
             Terrarium.LOGGER.error("Failed to retrieve generation region from cache at {}", pos, e);
         }
@@ -59,23 +101,202 @@ public class GenerationRegionHandler {
     }
 
     public <T extends RasterDataAccess<V>, V> void fillRaster(RegionComponentType<T> componentType, T result, int originX, int originZ, int width, int height) {
-        for (int localZ = 0; localZ < height; localZ++) {
-            int blockZ = originZ + localZ;
+        int minTileX = Math.floorDiv(originX, GenerationRegion.SIZE);
+        int minTileZ = Math.floorDiv(originZ, GenerationRegion.SIZE);
+        int maxTileX = Math.floorDiv(originX + width - 1, GenerationRegion.SIZE);
+        int maxTileZ = Math.floorDiv(originZ + height - 1, GenerationRegion.SIZE);
 
-            for (int localX = 0; localX < width; localX++) {
-                int blockX = originX + localX;
+        for (int tileZ = minTileZ; tileZ <= maxTileZ; tileZ++) {
+            int minZ = Math.max(tileZ * GenerationRegion.SIZE, originZ);
+            int maxZ = Math.min((tileZ + 1) * GenerationRegion.SIZE, originZ + height);
 
-                GenerationRegion region = this.get(blockX, blockZ);
+            for (int tileX = minTileX; tileX <= maxTileX; tileX++) {
+                int minX = Math.max(tileX * GenerationRegion.SIZE, originX);
+                int maxX = Math.min((tileX + 1) * GenerationRegion.SIZE, originX + width);
+
+                GenerationRegion region = this.get(new RegionTilePos(tileX, tileZ));
                 T dataTile = region.getData().getOrExcept(componentType);
 
-                V value = dataTile.get(blockX - region.getMinX(), blockZ - region.getMinZ());
-                result.set(localX, localZ, value);
+                result.copyFrom(dataTile, minX - region.getMinX(), minZ - region.getMinZ(), minX - originX, minZ - originZ, maxX - minX, maxZ - minZ);
+            }
+        }
+    }
+
+    public void fillBiomes(ChunkCompositionProcedure compositionProcedure, byte[] result, int originX, int originZ, int width, int height) {
+        int minTileX = Math.floorDiv(originX, GenerationRegion.SIZE);
+        int minTileZ = Math.floorDiv(originZ, GenerationRegion.SIZE);
+        int maxTileX = Math.floorDiv(originX + width - 1, GenerationRegion.SIZE);
+        int maxTileZ = Math.floorDiv(originZ + height - 1, GenerationRegion.SIZE);
+
+        for (int tileZ = minTileZ; tileZ <= maxTileZ; tileZ++) {
+            int minZ = Math.max(tileZ * GenerationRegion.SIZE, originZ);
+            int maxZ = Math.min((tileZ + 1) * GenerationRegion.SIZE, originZ + height);
+
+            for (int tileX = minTileX; tileX <= maxTileX; tileX++) {
+                int minX = Math.max(tileX * GenerationRegion.SIZE, originX);
+                int maxX = Math.min((tileX + 1) * GenerationRegion.SIZE, originX + width);
+
+                GenerationRegion region = this.get(new RegionTilePos(tileX, tileZ));
+                byte[] biomeIds = region.getBiomeIds(compositionProcedure);
+
+                for (int blockZ = minZ; blockZ < maxZ; blockZ++) {
+                    int sourceIndex = (minX - tileX * GenerationRegion.SIZE) + (blockZ - tileZ * GenerationRegion.SIZE) * GenerationRegion.SIZE;
+                    int destIndex = (minX - originX) + (blockZ - originZ) * width;
+                    System.arraycopy(biomeIds, sourceIndex, result, destIndex, maxX - minX);
+                }
+            }
+        }
+    }
+
+    public void fillSelectorLayer(SelectionStack selector, SelectionContext context, int[] result, int originX, int originZ, int width, int height) {
+        int minTileX = Math.floorDiv(originX, GenerationRegion.SIZE);
+        int minTileZ = Math.floorDiv(originZ, GenerationRegion.SIZE);
+        int maxTileX = Math.floorDiv(originX + width - 1, GenerationRegion.SIZE);
+        int maxTileZ = Math.floorDiv(originZ + height - 1, GenerationRegion.SIZE);
+
+        for (int tileZ = minTileZ; tileZ <= maxTileZ; tileZ++) {
+            int minZ = Math.max(tileZ * GenerationRegion.SIZE, originZ);
+            int maxZ = Math.min((tileZ + 1) * GenerationRegion.SIZE, originZ + height);
+
+            for (int tileX = minTileX; tileX <= maxTileX; tileX++) {
+                int minX = Math.max(tileX * GenerationRegion.SIZE, originX);
+                int maxX = Math.min((tileX + 1) * GenerationRegion.SIZE, originX + width);
+
+                byte[] layer = this.getSelectorLayer(selector, context, new RegionTilePos(tileX, tileZ));
+
+                for (int blockZ = minZ; blockZ < maxZ; blockZ++) {
+                    int sourceIndex = (minX - tileX * GenerationRegion.SIZE) + (blockZ - tileZ * GenerationRegion.SIZE) * GenerationRegion.SIZE;
+                    int destIndex = (minX - originX) + (blockZ - originZ) * width;
+                    for (int i = 0; i < maxX - minX; i++) {
+                        result[destIndex + i] = layer[sourceIndex + i] & 0xFF;
+                    }
+                }
+            }
+        }
+    }
+
+    private byte[] getSelectorLayer(SelectionStack selector, SelectionContext context, RegionTilePos pos) {
+        Map<SelectionStack, byte[]> layers = this.selectorLayers.getUnchecked(pos);
+        byte[] layer = layers.get(selector);
+        if (layer == null) {
+            layer = new byte[GenerationRegion.SIZE * GenerationRegion.SIZE];
+            selector.sample(context, layer, pos.getTileX() * GenerationRegion.SIZE, pos.getTileZ() * GenerationRegion.SIZE, GenerationRegion.SIZE, GenerationRegion.SIZE);
+            byte[] existing = layers.putIfAbsent(selector, layer);
+            if (existing != null) {
+                return existing;
+            }
+        }
+        return layer;
+    }
+
+    public boolean areBiomesContained(ChunkCompositionProcedure compositionProcedure, int minX, int minZ, int maxX, int maxZ, long[] allowedMask) {
+        int minTileX = Math.floorDiv(minX, GenerationRegion.SIZE);
+        int minTileZ = Math.floorDiv(minZ, GenerationRegion.SIZE);
+        int maxTileX = Math.floorDiv(maxX, GenerationRegion.SIZE);
+        int maxTileZ = Math.floorDiv(maxZ, GenerationRegion.SIZE);
+
+        for (int tileZ = minTileZ; tileZ <= maxTileZ; tileZ++) {
+            for (int tileX = minTileX; tileX <= maxTileX; tileX++) {
+                GenerationRegion region = this.get(new RegionTilePos(tileX, tileZ));
+                RegionBiomeIndex biomeIndex = region.getBiomeIndex(compositionProcedure);
+                if (biomeIndex.containedBy(allowedMask)) {
+                    continue;
+                }
+
+                int regionX = tileX * GenerationRegion.SIZE;
+                int regionZ = tileZ * GenerationRegion.SIZE;
+                int regionMinX = Math.max(regionX, minX);
+                int regionMinZ = Math.max(regionZ, minZ);
+                int regionMaxX = Math.min(regionX + GenerationRegion.SIZE - 1, maxX);
+                int regionMaxZ = Math.min(regionZ + GenerationRegion.SIZE - 1, maxZ);
+
+                if (!this.areBlocksContained(compositionProcedure, region, regionMinX, regionMinZ, regionMaxX, regionMaxZ, allowedMask)) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private boolean areBlocksContained(ChunkCompositionProcedure compositionProcedure, GenerationRegion region, int minX, int minZ, int maxX, int maxZ, long[] allowedMask) {
+        RegionBiomeIndex biomeIndex = region.getBiomeIndex(compositionProcedure);
+        byte[] biomeIds = region.getBiomeIds(compositionProcedure);
+        int regionX = region.getPos().getTileX() * GenerationRegion.SIZE;
+        int regionZ = region.getPos().getTileZ() * GenerationRegion.SIZE;
+
+        int minBlockX = Math.floorDiv(minX, RegionBiomeIndex.BLOCK_SIZE);
+        int minBlockZ = Math.floorDiv(minZ, RegionBiomeIndex.BLOCK_SIZE);
+        int maxBlockX = Math.floorDiv(maxX, RegionBiomeIndex.BLOCK_SIZE);
+        int maxBlockZ = Math.floorDiv(maxZ, RegionBiomeIndex.BLOCK_SIZE);
+
+        for (int blockZ = minBlockZ; blockZ <= maxBlockZ; blockZ++) {
+            for (int blockX = minBlockX; blockX <= maxBlockX; blockX++) {
+                int localBlockX = Math.floorMod(blockX, RegionBiomeIndex.BLOCK_COUNT);
+                int localBlockZ = Math.floorMod(blockZ, RegionBiomeIndex.BLOCK_COUNT);
+                if (biomeIndex.blockContainedBy(localBlockX, localBlockZ, allowedMask)) {
+                    continue;
+                }
+
+                int startX = Math.max(blockX * RegionBiomeIndex.BLOCK_SIZE, minX);
+                int startZ = Math.max(blockZ * RegionBiomeIndex.BLOCK_SIZE, minZ);
+                int endX = Math.min((blockX + 1) * RegionBiomeIndex.BLOCK_SIZE - 1, maxX);
+                int endZ = Math.min((blockZ + 1) * RegionBiomeIndex.BLOCK_SIZE - 1, maxZ);
+                for (int globalZ = startZ; globalZ <= endZ; globalZ++) {
+                    int rowIndex = (globalZ - regionZ) * GenerationRegion.SIZE - regionX;
+                    for (int globalX = startX; globalX <= endX; globalX++) {
+                        if (!RegionBiomeIndex.contains(allowedMask, biomeIds[rowIndex + globalX] & 0xFF)) {
+                            return false;
+                        }
+                    }
+                }
+            }
+        }
+
+        return true;
+    }
+
+    @Nullable
+    public BlockPos findNearestBiome(ChunkCompositionProcedure compositionProcedure, int x, int z, int range, long[] biomeMask, Random random) {
+        BiomeSearch search = new BiomeSearch(compositionProcedure, x, z, range, biomeMask, random);
+
+        int centerBlockX = Math.floorDiv(x, RegionBiomeIndex.BLOCK_SIZE);
+        int centerBlockZ = Math.floorDiv(z, RegionBiomeIndex.BLOCK_SIZE);
+        int maxRingX = Math.max(centerBlockX - Math.floorDiv(x - range, RegionBiomeIndex.BLOCK_SIZE), Math.floorDiv(x + range, RegionBiomeIndex.BLOCK_SIZE) - centerBlockX);
+        int maxRingZ = Math.max(centerBlockZ - Math.floorDiv(z - range, RegionBiomeIndex.BLOCK_SIZE), Math.floorDiv(z + range, RegionBiomeIndex.BLOCK_SIZE) - centerBlockZ);
+        int maxRing = Math.max(maxRingX, maxRingZ);
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            if (ring > 0) {
+                long ringDistance = (ring - 1) * RegionBiomeIndex.BLOCK_SIZE + 1;
+                if (ringDistance * ringDistance > search.bestDistance) {
+                    break;
+                }
+            }
+
+            for (int offsetZ = -ring; offsetZ <= ring; offsetZ++) {
+                boolean edgeRow = offsetZ == -ring || offsetZ == ring;
+                int step = edgeRow ? 1 : ring * 2;
+                for (int offsetX = -ring; offsetX <= ring; offsetX += step) {
+                    search.searchBlock(centerBlockX + offsetX, centerBlockZ + offsetZ);
+                }
             }
         }
+
+        return search.getResult();
     }
 
-    private GenerationRegion generate(RegionTilePos pos) {
-        RegionData data = this.dataSystem.populateData(this.settings, pos, this.bufferedRegionSize, GenerationRegion.BUFFERED_SIZE, GenerationRegion.BUFFERED_SIZE);
+    private GenerationRegion getBlockRegion(int blockX, int blockZ) {
+        return this.get(new RegionTilePos(Math.floorDiv(blockX, RegionBiomeIndex.BLOCK_COUNT), Math.floorDiv(blockZ, RegionBiomeIndex.BLOCK_COUNT)));
+    }
+
+    private synchronized GenerationRegion generate(RegionTilePos pos) {
+        RegionData data;
+        if (this.stageCache != null) {
+            data = this.dataSystem.populateData(this.settings, pos, this.bufferedRegionSize, GenerationRegion.BUFFERED_SIZE, GenerationRegion.BUFFERED_SIZE, this.stageCache, this.cancelled);
+        } else {
+            data = this.dataSystem.populateData(this.settings, pos, this.bufferedRegionSize, GenerationRegion.BUFFERED_SIZE, GenerationRegion.BUFFERED_SIZE);
+        }
         return new GenerationRegion(pos, data);
     }
 
@@ -84,10 +305,92 @@ public class GenerationRegionHandler {
     }
 
     public void prepareChunk(int originX, int originZ) {
-        this.chunkRasterHandler.fillRasters(originX, originZ);
+        this.chunkRasterHandler.get().fillRasters(originX, originZ);
+    }
+
+    public void prepareChunkBlock(int originX, int originZ, int width, int height) {
+        this.chunkRasterHandler.get().fillBlockRasters(originX, originZ, width, height);
+    }
+
+    public void selectBlockChunk(int offsetX, int offsetZ) {
+        this.chunkRasterHandler.get().selectBlockChunk(offsetX, offsetZ);
     }
 
     public <T extends RasterDataAccess<V>, V> T getCachedChunkRaster(RegionComponentType<T> componentType) {
-        return this.chunkRasterHandler.getChunkRaster(componentType);
+        return this.chunkRasterHandler.get().getChunkRaster(componentType);
+    }
+
+    private class BiomeSearch {
+        private final ChunkCompositionProcedure compositionProcedure;
+        private final int originX;
+        private final int originZ;
+        private final int range;
+        private final long[] biomeMask;
+        private final Random random;
+
+        private long bestDistance = Long.MAX_VALUE;
+        private int bestCount;
+        private int bestX;
+        private int bestZ;
+
+        private BiomeSearch(ChunkCompositionProcedure compositionProcedure, int originX, int originZ, int range, long[] biomeMask, Random random) {
+            this.compositionProcedure = compositionProcedure;
+            this.originX = originX;
+            this.originZ = originZ;
+            this.range = range;
+            this.biomeMask = biomeMask;
+            this.random = random;
+        }
+
+        private void searchBlock(int blockX, int blockZ) {
+            int startX = Math.max(blockX * RegionBiomeIndex.BLOCK_SIZE, this.originX - this.range);
+            int startZ = Math.max(blockZ * RegionBiomeIndex.BLOCK_SIZE, this.originZ - this.range);
+            int endX = Math.min((blockX + 1) * RegionBiomeIndex.BLOCK_SIZE - 1, this.originX + this.range);
+            int endZ = Math.min((blockZ + 1) * RegionBiomeIndex.BLOCK_SIZE - 1, this.originZ + this.range);
+            if (startX > endX || startZ > endZ) {
+                return;
+            }
+
+            GenerationRegion region = GenerationRegionHandler.this.getBlockRegion(blockX, blockZ);
+            RegionBiomeIndex biomeIndex = region.getBiomeIndex(this.compositionProcedure);
+            if (!biomeIndex.intersects(this.biomeMask)) {
+                return;
+            }
+            if (!biomeIndex.blockIntersects(Math.floorMod(blockX, RegionBiomeIndex.BLOCK_COUNT), Math.floorMod(blockZ, RegionBiomeIndex.BLOCK_COUNT), this.biomeMask)) {
+                return;
+            }
+
+            byte[] biomeIds = region.getBiomeIds(this.compositionProcedure);
+            int regionX = region.getPos().getTileX() * GenerationRegion.SIZE;
+            int regionZ = region.getPos().getTileZ() * GenerationRegion.SIZE;
+
+            for (int globalZ = startZ; globalZ <= endZ; globalZ++) {
+                int rowIndex = (globalZ - regionZ) * GenerationRegion.SIZE - regionX;
+                long deltaZ = globalZ - this.originZ;
+                for (int globalX = startX; globalX <= endX; globalX++) {
+                    if (RegionBiomeIndex.contains(this.biomeMask, biomeIds[rowIndex + globalX] & 0xFF)) {
+                        long deltaX = globalX - this.originX;
+                        long distance = deltaX * deltaX + deltaZ * deltaZ;
+                        if (distance < this.bestDistance) {
+                            this.bestDistance = distance;
+                            this.bestCount = 1;
+                            this.bestX = globalX;
+                            this.bestZ = globalZ;
+                        } else if (distance == this.bestDistance && this.random.nextInt(++this.bestCount) == 0) {
+                            this.bestX = globalX;
+                            this.bestZ = globalZ;
+                        }
+                    }
+                }
+            }
+        }
+
+        @Nullable
+        private BlockPos getResult() {
+            if (this.bestDistance == Long.MAX_VALUE) {
+                return null;
+            }
+            return new BlockPos(this.bestX, 0, this.bestZ);
+        }
     }
 }
@@ -0,0 +1,85 @@
+package net.gegy1000.terrarium.server.world.region;
+
+import net.minecraft.world.biome.Biome;
+
+import java.util.Collection;
+
+public class RegionBiomeIndex {
+    public static final int BLOCK_SIZE = 64;
+    public static final int BLOCK_COUNT = GenerationRegion.SIZE / BLOCK_SIZE;
+
+    private static final int MASK_LENGTH = 4;
+
+    private final long[] regionMask = new long[MASK_LENGTH];
+    private final long[] blockMasks = new long[BLOCK_COUNT * BLOCK_COUNT * MASK_LENGTH];
+
+    private RegionBiomeIndex() {
+    }
+
+    public static RegionBiomeIndex build(byte[] biomeIds) {
+        RegionBiomeIndex index = new RegionBiomeIndex();
+        for (int localZ = 0; localZ < GenerationRegion.SIZE; localZ++) {
+            int blockOffsetZ = (localZ / BLOCK_SIZE) * BLOCK_COUNT;
+            for (int localX = 0; localX < GenerationRegion.SIZE; localX++) {
+                int id = biomeIds[localX + localZ * GenerationRegion.SIZE] & 0xFF;
+                int blockOffset = (blockOffsetZ + localX / BLOCK_SIZE) * MASK_LENGTH;
+                index.blockMasks[blockOffset + (id >>> 6)] |= 1L << id;
+            }
+        }
+
+        for (int block = 0; block < BLOCK_COUNT * BLOCK_COUNT; block++) {
+            for (int i = 0; i < MASK_LENGTH; i++) {
+                index.regionMask[i] |= index.blockMasks[block * MASK_LENGTH + i];
+            }
+        }
+
+        return index;
+    }
+
+    public static long[] createMask(Collection<Biome> biomes) {
+        long[] mask = new long[MASK_LENGTH];
+        for (Biome biome : biomes) {
+            int id = Biome.getIdForBiome(biome) & 0xFF;
+            mask[id >>> 6] |= 1L << id;
+        }
+        return mask;
+    }
+
+    public static boolean contains(long[] mask, int id) {
+        return (mask[id >>> 6] & (1L << id)) != 0;
+    }
+
+    public boolean intersects(long[] mask) {
+        return intersects(this.regionMask, 0, mask);
+    }
+
+    public boolean blockIntersects(int blockX, int blockZ, long[] mask) {
+        return intersects(this.blockMasks, (blockX + blockZ * BLOCK_COUNT) * MASK_LENGTH, mask);
+    }
+
+    public boolean containedBy(long[] mask) {
+        return containedBy(this.regionMask, 0, mask);
+    }
+
+    public boolean blockContainedBy(int blockX, int blockZ, long[] mask) {
+        return containedBy(this.blockMasks, (blockX + blockZ * BLOCK_COUNT) * MASK_LENGTH, mask);
+    }
+
+    private static boolean containedBy(long[] masks, int offset, long[] mask) {
+        for (int i = 0; i < MASK_LENGTH; i++) {
+            if ((masks[offset + i] & ~mask[i]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean intersects(long[] masks, int offset, long[] mask) {
+        for (int i = 0; i < MASK_LENGTH; i++) {
+            if ((masks[offset + i] & mask[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
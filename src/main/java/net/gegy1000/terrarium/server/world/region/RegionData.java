@@ -6,6 +6,7 @@ import net.gegy1000.terrarium.server.world.pipeline.component.RegionComponentTyp
 import net.gegy1000.terrarium.server.world.pipeline.source.tile.TiledDataAccess;
 
 import javax.annotation.Nullable;
+import java.util.HashMap;
 import java.util.Map;
 
 public class RegionData {
@@ -32,4 +33,12 @@ public class RegionData {
         }
         return value;
     }
+
+    public RegionData copy() {
+        Map<RegionComponentType<?>, RegionComponent<?>> components = new HashMap<>();
+        for (RegionComponent<?> component : this.attachedComponents.values()) {
+            components.put(component.getType(), component.copy());
+        }
+        return new RegionData(components);
+    }
 }
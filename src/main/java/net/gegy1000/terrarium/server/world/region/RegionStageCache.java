@@ -0,0 +1,60 @@
+package net.gegy1000.terrarium.server.world.region;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import net.gegy1000.terrarium.server.world.generator.customization.property.PropertyKey;
+import net.gegy1000.terrarium.server.world.pipeline.TerrariumDataProvider;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+
+public class RegionStageCache {
+    private static final int CAPACITY = 12;
+
+    private final int stageCount;
+    private final Cache<RegionTilePos, RegionData[]> stages = CacheBuilder.newBuilder()
+            .maximumSize(CAPACITY)
+            .build();
+
+    public RegionStageCache(int stageCount) {
+        this.stageCount = stageCount;
+    }
+
+    public synchronized RegionStageCache derive(TerrariumDataProvider dataProvider, Collection<PropertyKey<?>> changedKeys) {
+        int stageCount = dataProvider.getStageCount();
+        RegionStageCache derived = new RegionStageCache(stageCount);
+
+        int reusableStage = dataProvider.getReusableStage(changedKeys);
+        if (reusableStage < 0 || stageCount != this.stageCount) {
+            return derived;
+        }
+
+        for (Map.Entry<RegionTilePos, RegionData[]> entry : this.stages.asMap().entrySet()) {
+            RegionData[] retained = Arrays.copyOf(entry.getValue(), stageCount);
+            Arrays.fill(retained, reusableStage + 1, stageCount, null);
+            derived.stages.put(entry.getKey(), retained);
+        }
+
+        return derived;
+    }
+
+    @Nullable
+    public synchronized RegionData get(RegionTilePos pos, int stage) {
+        RegionData[] stages = this.stages.getIfPresent(pos);
+        if (stages != null) {
+            return stages[stage];
+        }
+        return null;
+    }
+
+    public synchronized void put(RegionTilePos pos, int stage, RegionData data) {
+        RegionData[] stages = this.stages.getIfPresent(pos);
+        if (stages == null) {
+            stages = new RegionData[this.stageCount];
+            this.stages.put(pos, stages);
+        }
+        stages[stage] = data;
+    }
+}
@@ -0,0 +1,150 @@
+package net.gegy1000.terrarium.client.preview;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+public class PreviewMesherTest {
+    private static final int COLOR = 0x336699;
+
+    @Test
+    public void testFlatChunkMergesIntoSingleQuad() {
+        PreviewMesher mesher = new PreviewMesher();
+        ByteBuffer buffer = mesher.mesh(new FlatSource(10, 10));
+
+        Assert.assertEquals(4, mesher.getVertexCount());
+        Assert.assertEquals(4 * PreviewMesher.VERTEX_SIZE, buffer.remaining());
+
+        for (int vertex = 0; vertex < 4; vertex++) {
+            Assert.assertEquals(11.0F, buffer.getFloat(vertex * PreviewMesher.VERTEX_SIZE + 4), 0.0F);
+        }
+    }
+
+    @Test
+    public void testVertexLayout() {
+        PreviewMesher mesher = new PreviewMesher();
+        ByteBuffer buffer = mesher.mesh(new FlatSource(10, 10));
+
+        int stride = PreviewMesher.VERTEX_SIZE;
+        Assert.assertEquals(20, stride);
+
+        float minX = Float.MAX_VALUE;
+        float maxX = -Float.MAX_VALUE;
+        float minZ = Float.MAX_VALUE;
+        float maxZ = -Float.MAX_VALUE;
+        for (int vertex = 0; vertex < mesher.getVertexCount(); vertex++) {
+            int offset = vertex * stride;
+            minX = Math.min(minX, buffer.getFloat(offset));
+            maxX = Math.max(maxX, buffer.getFloat(offset));
+            minZ = Math.min(minZ, buffer.getFloat(offset + 8));
+            maxZ = Math.max(maxZ, buffer.getFloat(offset + 8));
+
+            Assert.assertEquals(0x33, buffer.get(offset + 12) & 0xFF);
+            Assert.assertEquals(0x66, buffer.get(offset + 13) & 0xFF);
+            Assert.assertEquals(0x99, buffer.get(offset + 14) & 0xFF);
+            Assert.assertEquals(0xFF, buffer.get(offset + 15) & 0xFF);
+
+            Assert.assertEquals(0, buffer.get(offset + 16));
+            Assert.assertEquals(127, buffer.get(offset + 17));
+            Assert.assertEquals(0, buffer.get(offset + 18));
+        }
+
+        Assert.assertEquals(0.0F, minX, 0.0F);
+        Assert.assertEquals(16.0F, maxX, 0.0F);
+        Assert.assertEquals(0.0F, minZ, 0.0F);
+        Assert.assertEquals(16.0F, maxZ, 0.0F);
+    }
+
+    @Test
+    public void testDifferentColorsAreNotMerged() {
+        PreviewMesher mesher = new PreviewMesher();
+        mesher.mesh(new PreviewColumnSource() {
+            @Override
+            public int getSurface(int x, int z) {
+                return 10;
+            }
+
+            @Override
+            public int getColor(int x, int y, int z) {
+                return (x + z) % 2 == 0 ? COLOR : 0xFFFFFF;
+            }
+        });
+
+        Assert.assertEquals(256 * 4, mesher.getVertexCount());
+    }
+
+    @Test
+    public void testSideFacesAtBorderStep() {
+        PreviewMesher mesher = new PreviewMesher();
+        ByteBuffer buffer = mesher.mesh(new FlatSource(10, 8));
+
+        Assert.assertEquals(5 * 4, mesher.getVertexCount());
+        Assert.assertEquals(5 * 4 * PreviewMesher.VERTEX_SIZE, buffer.remaining());
+
+        for (int vertex = 4; vertex < mesher.getVertexCount(); vertex++) {
+            float y = buffer.getFloat(vertex * PreviewMesher.VERTEX_SIZE + 4);
+            Assert.assertTrue(y == 9.0F || y == 11.0F);
+        }
+    }
+
+    @Test
+    public void testSideFacesAtInteriorStep() {
+        PreviewMesher mesher = new PreviewMesher();
+        ByteBuffer buffer = mesher.mesh(new PreviewColumnSource() {
+            @Override
+            public int getSurface(int x, int z) {
+                return x >= 8 ? 12 : 10;
+            }
+
+            @Override
+            public int getColor(int x, int y, int z) {
+                return COLOR;
+            }
+        });
+
+        Assert.assertEquals(3 * 4, mesher.getVertexCount());
+
+        int stride = PreviewMesher.VERTEX_SIZE;
+        for (int vertex = 8; vertex < 12; vertex++) {
+            int offset = vertex * stride;
+            Assert.assertEquals(8.0F, buffer.getFloat(offset), 0.0F);
+            float y = buffer.getFloat(offset + 4);
+            Assert.assertTrue(y == 11.0F || y == 13.0F);
+            Assert.assertEquals(-127, buffer.get(offset + 16));
+        }
+    }
+
+    @Test
+    public void testMesherIsReusable() {
+        PreviewMesher mesher = new PreviewMesher();
+        mesher.mesh(new FlatSource(10, 8));
+        ByteBuffer buffer = mesher.mesh(new FlatSource(10, 10));
+
+        Assert.assertEquals(4, mesher.getVertexCount());
+        Assert.assertEquals(4 * PreviewMesher.VERTEX_SIZE, buffer.remaining());
+    }
+
+    private static class FlatSource implements PreviewColumnSource {
+        private final int surface;
+        private final int borderSurface;
+
+        private FlatSource(int surface, int borderSurface) {
+            this.surface = surface;
+            this.borderSurface = borderSurface;
+        }
+
+        @Override
+        public int getSurface(int x, int z) {
+            if (x < 0 || z < 0 || x >= 16 || z >= 16) {
+                return this.borderSurface;
+            }
+            return this.surface;
+        }
+
+        @Override
+        public int getColor(int x, int y, int z) {
+            return COLOR;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package net.gegy1000.terrarium.server.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class DistanceFieldTest {
+    @Test
+    public void testMatchesBruteForce() {
+        Random random = new Random(0);
+        DistanceField field = new DistanceField();
+
+        for (int trial = 0; trial < 64; trial++) {
+            int width = random.nextInt(40) + 1;
+            int height = random.nextInt(40) + 1;
+            double density = random.nextDouble() * 0.2;
+
+            boolean[] features = new boolean[width * height];
+            for (int i = 0; i < features.length; i++) {
+                features[i] = random.nextDouble() < density;
+            }
+
+            field.compute(features, width, height);
+            this.assertExact(field, features, width, height);
+        }
+    }
+
+    @Test
+    public void testDiagonalDistanceIsEuclidean() {
+        DistanceField field = new DistanceField();
+
+        boolean[] features = new boolean[16 * 16];
+        features[0] = true;
+        field.compute(features, 16, 16);
+
+        Assert.assertEquals(7 * 7 + 7 * 7, field.getDistanceSquared(7 + 7 * 16));
+        Assert.assertEquals(3 * 3 + 5 * 5, field.getDistanceSquared(3 + 5 * 16));
+        Assert.assertEquals(0, field.getNearest(15 + 15 * 16));
+    }
+
+    @Test
+    public void testEmptyField() {
+        DistanceField field = new DistanceField();
+        field.compute(new boolean[8 * 4], 8, 4);
+
+        for (int i = 0; i < 8 * 4; i++) {
+            Assert.assertEquals(DistanceField.NONE, field.getNearest(i));
+            Assert.assertEquals(Integer.MAX_VALUE, field.getDistanceSquared(i));
+        }
+    }
+
+    @Test
+    public void testReuseWithSmallerSize() {
+        DistanceField field = new DistanceField();
+
+        boolean[] large = new boolean[32 * 32];
+        large[5 + 20 * 32] = true;
+        field.compute(large, 32, 32);
+
+        boolean[] small = new boolean[6 * 3];
+        small[4 + 2 * 6] = true;
+        field.compute(small, 6, 3);
+
+        this.assertExact(field, small, 6, 3);
+    }
+
+    private void assertExact(DistanceField field, boolean[] features, int width, int height) {
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int index = x + y * width;
+                int expected = Integer.MAX_VALUE;
+                for (int i = 0; i < features.length; i++) {
+                    if (features[i]) {
+                        int deltaX = x - i % width;
+                        int deltaY = y - i / width;
+                        expected = Math.min(expected, deltaX * deltaX + deltaY * deltaY);
+                    }
+                }
+
+                Assert.assertEquals(expected, field.getDistanceSquared(index));
+
+                int nearest = field.getNearest(index);
+                if (expected == Integer.MAX_VALUE) {
+                    Assert.assertEquals(DistanceField.NONE, nearest);
+                } else {
+                    Assert.assertTrue(features[nearest]);
+                    int deltaX = x - nearest % width;
+                    int deltaY = y - nearest / width;
+                    Assert.assertEquals(expected, deltaX * deltaX + deltaY * deltaY);
+                }
+            }
+        }
+    }
+}
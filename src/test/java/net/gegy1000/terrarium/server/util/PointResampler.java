@@ -0,0 +1,44 @@
+package net.gegy1000.terrarium.server.util;
+
+import net.minecraft.util.math.MathHelper;
+
+class PointResampler {
+    private final Interpolation.Method method;
+    private final double[][] sampleBuffer;
+
+    PointResampler(Interpolation.Method method) {
+        this.method = method;
+        this.sampleBuffer = new double[method.getPointCount()][method.getPointCount()];
+    }
+
+    void resample(short[] source, int sourceWidth, short[] result, int resultWidth, int resultHeight,
+                  double scaleFactorX, double scaleFactorZ, double originOffsetX, double originOffsetZ
+    ) {
+        int backward = this.method.getBackward();
+        for (int scaledZ = 0; scaledZ < resultHeight; scaledZ++) {
+            double sampleZ = scaledZ * scaleFactorZ + originOffsetZ + backward;
+            int originZ = MathHelper.floor(sampleZ);
+            double intermediateZ = sampleZ - originZ;
+
+            for (int scaledX = 0; scaledX < resultWidth; scaledX++) {
+                double sampleX = scaledX * scaleFactorX + originOffsetX + backward;
+                int originX = MathHelper.floor(sampleX);
+                double intermediateX = sampleX - originX;
+
+                for (int pointZ = 0; pointZ < this.method.getPointCount(); pointZ++) {
+                    int globalZ = originZ + pointZ - backward;
+                    for (int pointX = 0; pointX < this.method.getPointCount(); pointX++) {
+                        int globalX = originX + pointX - backward;
+                        this.sampleBuffer[pointX][pointZ] = source[globalX + globalZ * sourceWidth];
+                    }
+                }
+
+                result[scaledX + scaledZ * resultWidth] = (short) this.method.lerp2d(this.sampleBuffer, intermediateX, intermediateZ);
+            }
+        }
+    }
+
+    static int getSourceSize(Interpolation.Method method, int resultSize, double scaleFactor, double originOffset) {
+        return (int) Math.ceil((resultSize - 1) * scaleFactor + originOffset) + method.getPointCount() + 1;
+    }
+}
@@ -0,0 +1,66 @@
+package net.gegy1000.terrarium.server.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SeparableResamplerBenchmark {
+    private static final int RESULT_SIZE = 288;
+    private static final double SCALE_FACTOR = 0.35;
+    private static final double ORIGIN_OFFSET = 0.4;
+
+    @Param({ "LINEAR", "COSINE", "CUBIC" })
+    public Interpolation.Method method;
+
+    private SeparableResampler separable;
+    private PointResampler pointwise;
+
+    private short[] source;
+    private int sourceWidth;
+    private short[] result;
+
+    @Setup
+    public void setup() {
+        this.separable = new SeparableResampler(this.method);
+        this.pointwise = new PointResampler(this.method);
+
+        this.sourceWidth = PointResampler.getSourceSize(this.method, RESULT_SIZE, SCALE_FACTOR, ORIGIN_OFFSET);
+        this.source = new short[this.sourceWidth * this.sourceWidth];
+
+        Random random = new Random(0);
+        for (int i = 0; i < this.source.length; i++) {
+            this.source[i] = (short) random.nextInt(1024);
+        }
+
+        this.result = new short[RESULT_SIZE * RESULT_SIZE];
+    }
+
+    @Benchmark
+    public short[] separable() {
+        this.separable.resample(this.source, this.sourceWidth, this.result, RESULT_SIZE, RESULT_SIZE, SCALE_FACTOR, SCALE_FACTOR, ORIGIN_OFFSET, ORIGIN_OFFSET);
+        return this.result;
+    }
+
+    @Benchmark
+    public short[] pointwise() {
+        this.pointwise.resample(this.source, this.sourceWidth, this.result, RESULT_SIZE, RESULT_SIZE, SCALE_FACTOR, SCALE_FACTOR, ORIGIN_OFFSET, ORIGIN_OFFSET);
+        return this.result;
+    }
+}
@@ -0,0 +1,72 @@
+package net.gegy1000.terrarium.server.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class SeparableResamplerTest {
+    @Test
+    public void testLinearMatchesPointwise() {
+        this.assertMatchesPointwise(Interpolation.Method.LINEAR);
+    }
+
+    @Test
+    public void testCosineMatchesPointwise() {
+        this.assertMatchesPointwise(Interpolation.Method.COSINE);
+    }
+
+    @Test
+    public void testCubicMatchesPointwise() {
+        this.assertMatchesPointwise(Interpolation.Method.CUBIC);
+    }
+
+    @Test
+    public void testByteResample() {
+        Interpolation.Method method = Interpolation.Method.LINEAR;
+        int sourceWidth = PointResampler.getSourceSize(method, 16, 0.25, 0.0);
+
+        byte[] source = new byte[sourceWidth * sourceWidth];
+        for (int i = 0; i < source.length; i++) {
+            source[i] = 50;
+        }
+
+        byte[] result = new byte[16 * 16];
+        new SeparableResampler(method).resample(source, sourceWidth, result, 16, 16, 0.25, 0.25, 0.0, 0.0);
+
+        for (byte value : result) {
+            Assert.assertEquals(50, value);
+        }
+    }
+
+    private void assertMatchesPointwise(Interpolation.Method method) {
+        Random random = new Random(method.ordinal());
+        SeparableResampler resampler = new SeparableResampler(method);
+        PointResampler reference = new PointResampler(method);
+
+        for (int trial = 0; trial < 32; trial++) {
+            int resultWidth = random.nextInt(48) + 1;
+            int resultHeight = random.nextInt(48) + 1;
+            double scaleFactorX = random.nextDouble() * 2.0 + 0.05;
+            double scaleFactorZ = random.nextDouble() * 2.0 + 0.05;
+            double originOffsetX = random.nextDouble();
+            double originOffsetZ = random.nextDouble();
+
+            int sourceWidth = PointResampler.getSourceSize(method, resultWidth, scaleFactorX, originOffsetX);
+            int sourceHeight = PointResampler.getSourceSize(method, resultHeight, scaleFactorZ, originOffsetZ);
+
+            short[] source = new short[sourceWidth * sourceHeight];
+            for (int i = 0; i < source.length; i++) {
+                source[i] = (short) (random.nextInt(512) - 64);
+            }
+
+            short[] expected = new short[resultWidth * resultHeight];
+            reference.resample(source, sourceWidth, expected, resultWidth, resultHeight, scaleFactorX, scaleFactorZ, originOffsetX, originOffsetZ);
+
+            short[] result = new short[resultWidth * resultHeight];
+            resampler.resample(source, sourceWidth, result, resultWidth, resultHeight, scaleFactorX, scaleFactorZ, originOffsetX, originOffsetZ);
+
+            Assert.assertArrayEquals(expected, result);
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package net.gegy1000.terrarium.server.world.pipeline.adapter;
+
+import net.gegy1000.terrarium.server.world.cover.CoverType;
+import net.gegy1000.terrarium.server.world.cover.generator.PlaceholderCover;
+import net.gegy1000.terrarium.server.world.pipeline.component.RegionComponent;
+import net.gegy1000.terrarium.server.world.pipeline.component.RegionComponentType;
+import net.gegy1000.terrarium.server.world.pipeline.source.tile.CoverRasterTile;
+import net.gegy1000.terrarium.server.world.region.GenerationRegion;
+import net.gegy1000.terrarium.server.world.region.RegionData;
+import net.minecraft.world.gen.NoiseGeneratorImproved;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Random;
+
+public class BeachAdapterTest {
+    private static final long SEED = 8192L;
+    private static final double FREQUENCY = 0.2;
+
+    private static final CoverType LAND = new PlaceholderCover();
+    private static final CoverType WATER = new PlaceholderCover();
+    private static final CoverType BEACH = new PlaceholderCover();
+
+    @Test
+    public void testMatchesWaterKernel() {
+        int size = GenerationRegion.BUFFERED_SIZE;
+        CoverType[] cover = createWaterMask(size, size);
+
+        CoverType[] expected = spreadFromWater(cover, 576, -864, size, size, 3);
+        CoverType[] actual = adapt(cover, 576, -864, size, size, 3);
+
+        Assert.assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    public void testNoiseIndexingOnNonSquareRegion() {
+        int width = GenerationRegion.BUFFERED_SIZE;
+        int height = GenerationRegion.BUFFERED_SIZE / 3;
+        CoverType[] cover = createWaterMask(width, height);
+
+        CoverType[] expected = spreadFromWater(cover, -288, 288, width, height, 3);
+        CoverType[] actual = adapt(cover, -288, 288, width, height, 3);
+
+        Assert.assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    public void testWithinLegacySpread() {
+        int size = GenerationRegion.BUFFERED_SIZE;
+        CoverType[] cover = createWaterMask(size, size);
+
+        for (int beachSize = 2; beachSize <= 6; beachSize++) {
+            CoverType[] legacy = spreadLegacy(cover, 0, 0, size, beachSize);
+            CoverType[] actual = adapt(cover, 0, 0, size, size, beachSize);
+
+            int beachCount = 0;
+            int legacyCount = 0;
+            for (int i = 0; i < cover.length; i++) {
+                if (actual[i] == BEACH) {
+                    Assert.assertEquals(BEACH, legacy[i]);
+                    Assert.assertTrue(getWaterDistance(cover, size, size, i, beachSize - 1) <= beachSize - 1);
+                    beachCount++;
+                }
+                if (legacy[i] == BEACH) {
+                    legacyCount++;
+                }
+            }
+
+            Assert.assertTrue(beachCount > 0);
+            Assert.assertTrue(beachCount <= legacyCount);
+        }
+    }
+
+    @Test
+    public void testNoiseThinsBeach() {
+        int size = GenerationRegion.BUFFERED_SIZE;
+        CoverType[] cover = createWaterMask(size, size);
+
+        CoverType[] actual = adapt(cover, 0, 0, size, size, 3);
+
+        int candidateCount = 0;
+        int beachCount = 0;
+        for (int i = 0; i < cover.length; i++) {
+            if (cover[i] != WATER && getWaterDistance(cover, size, size, i, 2) <= 2) {
+                candidateCount++;
+            }
+            if (actual[i] == BEACH) {
+                beachCount++;
+            }
+        }
+
+        Assert.assertTrue(beachCount > 0);
+        Assert.assertTrue(beachCount < candidateCount);
+    }
+
+    @Test
+    public void testRepeatedAdaptIsStable() {
+        int size = GenerationRegion.BUFFERED_SIZE;
+        CoverType[] cover = createWaterMask(size, size);
+
+        BeachAdapter adapter = new BeachAdapter(SEED, RegionComponentType.COVER, 3, WATER, BEACH);
+        CoverType[] first = adapt(adapter, cover, 0, 0, size, size);
+        CoverType[] second = adapt(adapter, cover, 0, 0, size, size);
+
+        Assert.assertArrayEquals(first, second);
+    }
+
+    private static CoverType[] adapt(CoverType[] cover, int x, int z, int width, int height, int beachSize) {
+        BeachAdapter adapter = new BeachAdapter(SEED, RegionComponentType.COVER, beachSize, WATER, BEACH);
+        return adapt(adapter, cover, x, z, width, height);
+    }
+
+    private static CoverType[] adapt(BeachAdapter adapter, CoverType[] cover, int x, int z, int width, int height) {
+        CoverRasterTile tile = new CoverRasterTile(cover.clone(), width, height);
+        RegionData data = new RegionData(Collections.singletonMap(RegionComponentType.COVER, new RegionComponent<>(RegionComponentType.COVER, tile)));
+        adapter.adapt(null, data, x, z, width, height);
+        return tile.getData();
+    }
+
+    private static CoverType[] createWaterMask(int width, int height) {
+        Random random = new Random(7);
+
+        CoverType[] cover = new CoverType[width * height];
+        for (int localY = 0; localY < height; localY++) {
+            for (int localX = 0; localX < width; localX++) {
+                boolean water = false;
+                if (localX > 0) {
+                    int lakeX = localX - 100;
+                    int lakeY = localY - 60;
+                    double riverY = localX * 0.5 + 20 + Math.sin(localX / 9.0) * 6.0;
+                    water = lakeX * lakeX + lakeY * lakeY < 30 * 30
+                            || Math.abs(localY - riverY) < 2.0
+                            || random.nextDouble() < 0.005;
+                }
+                cover[localX + localY * width] = water ? WATER : LAND;
+            }
+        }
+
+        return cover;
+    }
+
+    private static CoverType[] spreadFromWater(CoverType[] cover, int x, int z, int width, int height, int beachSize) {
+        NoiseGeneratorImproved noise = new NoiseGeneratorImproved(new Random(SEED));
+        double[] sample = new double[1];
+
+        int radius = beachSize - 1;
+        double maxWeight = (radius * radius) * 2;
+
+        CoverType[] result = cover.clone();
+        for (int localY = 0; localY < height; localY++) {
+            for (int localX = 0; localX < width; localX++) {
+                if (cover[localX + localY * width] != WATER) {
+                    continue;
+                }
+                for (int beachY = -radius; beachY <= radius; beachY++) {
+                    for (int beachX = -radius; beachX <= radius; beachX++) {
+                        int targetX = localX + beachX;
+                        int targetY = localY + beachY;
+                        if (targetX < 0 || targetY < 0 || targetX >= width || targetY >= height || cover[targetX + targetY * width] == WATER) {
+                            continue;
+                        }
+
+                        sample[0] = 0.0;
+                        noise.populateNoiseArray(sample, x * FREQUENCY + targetX * FREQUENCY, 0.0, z * FREQUENCY + targetY * FREQUENCY, 1, 1, 1, FREQUENCY, 1.0, FREQUENCY, 1.0);
+
+                        double weight = maxWeight - (beachX * beachX + beachY * beachY);
+                        if (weight > sample[0] * sample[0] * 3.0) {
+                            result[targetX + targetY * width] = BEACH;
+                        }
+                    }
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private static CoverType[] spreadLegacy(CoverType[] cover, int x, int z, int size, int beachSize) {
+        NoiseGeneratorImproved noise = new NoiseGeneratorImproved(new Random(SEED));
+        double[] sampledNoise = new double[size * size];
+        noise.populateNoiseArray(sampledNoise, x * FREQUENCY, 0.0, z * FREQUENCY, size, 1, size, FREQUENCY, 1.0, FREQUENCY, 1.0);
+
+        int radius = beachSize - 1;
+        double maxWeight = (radius * radius) * 2;
+
+        CoverType[] result = cover.clone();
+        for (int localY = 0; localY < size; localY++) {
+            CoverType last = result[localY * size];
+            for (int localX = 1; localX < size; localX++) {
+                CoverType current = result[localX + localY * size];
+                if (last != current && current == WATER || last == WATER) {
+                    for (int beachY = -radius; beachY <= radius; beachY++) {
+                        for (int beachX = -radius; beachX <= radius; beachX++) {
+                            int targetX = localX + beachX;
+                            int targetY = localY + beachY;
+                            if (targetX < 0 || targetY < 0 || targetX >= size || targetY >= size || result[targetX + targetY * size] == WATER) {
+                                continue;
+                            }
+                            double weight = maxWeight - (beachX * beachX + beachY * beachY);
+                            double sample = sampledNoise[targetY + targetX * size];
+                            if (weight > sample * sample * 3.0) {
+                                result[targetX + targetY * size] = BEACH;
+                            }
+                        }
+                    }
+                }
+                last = current;
+            }
+        }
+
+        return result;
+    }
+
+    private static int getWaterDistance(CoverType[] cover, int width, int height, int index, int radius) {
+        int localX = index % width;
+        int localY = index / width;
+        for (int distance = 0; distance <= radius; distance++) {
+            for (int offsetY = -distance; offsetY <= distance; offsetY++) {
+                for (int offsetX = -distance; offsetX <= distance; offsetX++) {
+                    int sampleX = localX + offsetX;
+                    int sampleY = localY + offsetY;
+                    if (sampleX >= 0 && sampleY >= 0 && sampleX < width && sampleY < height && cover[sampleX + sampleY * width] == WATER) {
+                        return distance;
+                    }
+                }
+            }
+        }
+        return Integer.MAX_VALUE;
+    }
+}